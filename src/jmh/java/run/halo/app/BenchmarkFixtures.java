@@ -0,0 +1,125 @@
+package run.halo.app;
+
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] WORDS = {"halo", "blog", "theme", "post", "markdown", "render",
+        "cache", "comment", "category", "tag", "journal", "attachment", "option", "template",
+        "freemarker", "spring", "java", "database", "index", "archive", "博客", "主题", "文章",
+        "评论", "分类", "标签"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a markdown post of about the given size, mixing the elements real posts use:
+     * headings, paragraphs with inline markup and links, lists, block quotes, code blocks,
+     * tables and images.
+     *
+     * @param sizeInBytes approximate size of the post
+     * @return markdown document
+     */
+    public static String markdown(int sizeInBytes) {
+        Random random = new Random(sizeInBytes);
+        StringBuilder markdown = new StringBuilder(sizeInBytes + 1024);
+        int section = 0;
+        while (markdown.length() < sizeInBytes) {
+            section++;
+            markdown.append("## ").append(sentence(random, 4)).append(' ').append(section)
+                .append("\n\n");
+            for (int i = 0; i < 3; i++) {
+                markdown.append(sentence(random, 20)).append(" **").append(sentence(random, 3))
+                    .append("** and `inline code` with a [link](https://halo.run/").append(section)
+                    .append(") and ~~").append(sentence(random, 2)).append("~~. ")
+                    .append(sentence(random, 30)).append("\n\n");
+            }
+            switch (section % 4) {
+                case 0:
+                    markdown.append("```java\npublic class Section").append(section)
+                        .append(" {\n    public static void main(String[] args) {\n")
+                        .append("        System.out.println(\"").append(sentence(random, 5))
+                        .append("\");\n    }\n}\n```\n\n");
+                    break;
+                case 1:
+                    markdown.append("| Name | Value | Description |\n| --- | --- | --- |\n");
+                    for (int i = 0; i < 5; i++) {
+                        markdown.append("| ").append(word(random)).append(" | ").append(i)
+                            .append(" | ").append(sentence(random, 6)).append(" |\n");
+                    }
+                    markdown.append('\n');
+                    break;
+                case 2:
+                    for (int i = 0; i < 5; i++) {
+                        markdown.append("- [").append(i % 2 == 0 ? 'x' : ' ').append("] ")
+                            .append(sentence(random, 8)).append('\n');
+                    }
+                    markdown.append("\n> ").append(sentence(random, 25)).append("\n\n");
+                    break;
+                default:
+                    markdown.append("![").append(word(random)).append("](/upload/2022/01/image-")
+                        .append(section).append(".png)\n\n");
+                    break;
+            }
+        }
+        return markdown.toString();
+    }
+
+    /**
+     * Revises the given document by changing, inserting and deleting about the given share of
+     * its lines.
+     *
+     * @param document original document
+     * @param ratio share of lines to revise, between 0 and 1
+     * @return revised document
+     */
+    public static String revise(String document, double ratio) {
+        Random random = new Random(document.length());
+        String[] lines = document.split("\n", -1);
+        StringBuilder revised = new StringBuilder(document.length() + 1024);
+        for (String line : lines) {
+            if (random.nextDouble() < ratio) {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        revised.append(line).append(' ').append(sentence(random, 5)).append('\n');
+                        break;
+                    case 1:
+                        revised.append(sentence(random, 10)).append('\n').append(line)
+                            .append('\n');
+                        break;
+                    default:
+                        // deleted
+                        break;
+                }
+            } else {
+                revised.append(line).append('\n');
+            }
+        }
+        return revised.toString();
+    }
+
+    /**
+     * Builds a sentence of random words.
+     *
+     * @param random random
+     * @param words number of words
+     * @return sentence
+     */
+    public static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(word(random));
+        }
+        return sentence.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,131 @@
+package run.halo.app.cache;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.utils.FileUtils;
+
+/**
+ * Gets and puts of every string cache store under contention. The redis stores run against an
+ * embedded redis server, with and without the near cache.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CacheStoreBenchmark {
+
+    private static final int REDIS_PORT = 6390;
+
+    private static final int KEYS = 1024;
+
+    @Param({"memory", "level", "redis", "redis-near"})
+    String store;
+
+    AbstractStringCacheStore cacheStore;
+
+    List<String> keys;
+
+    String value;
+
+    RedisServer redisServer;
+
+    LettuceConnectionFactory connectionFactory;
+
+    File workDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        switch (store) {
+            case "level":
+                workDir = FileUtils.createTempDirectory().toFile();
+                HaloProperties haloProperties = new HaloProperties();
+                haloProperties.setWorkDir(workDir.getAbsolutePath() + File.separator);
+                LevelCacheStore levelCacheStore = new LevelCacheStore(haloProperties);
+                levelCacheStore.init();
+                cacheStore = levelCacheStore;
+                break;
+            case "redis":
+            case "redis-near":
+                redisServer = RedisServer.builder().port(REDIS_PORT).build();
+                redisServer.start();
+                connectionFactory =
+                    new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost",
+                        REDIS_PORT));
+                connectionFactory.afterPropertiesSet();
+                StringRedisTemplate redisTemplate = new StringRedisTemplate(connectionFactory);
+                cacheStore = "redis".equals(store) ? new RedisCacheStore(redisTemplate)
+                    : new RedisCacheStore(redisTemplate, 10000, Duration.ofMinutes(1));
+                break;
+            default:
+                cacheStore = new InMemoryCacheStore();
+                break;
+        }
+
+        value = "{\"id\":1,\"title\":\"Hello Halo\",\"summary\":\"" + "x".repeat(512) + "\"}";
+        keys = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            String key = "benchmark.key." + i;
+            keys.add(key);
+            cacheStore.put(key, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (cacheStore instanceof InMemoryCacheStore) {
+            ((InMemoryCacheStore) cacheStore).preDestroy();
+        } else if (cacheStore instanceof LevelCacheStore) {
+            ((LevelCacheStore) cacheStore).preDestroy();
+            FileUtils.deleteFolderQuietly(workDir.toPath());
+        } else if (cacheStore instanceof RedisCacheStore) {
+            ((RedisCacheStore) cacheStore).preDestroy();
+            connectionFactory.destroy();
+            redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return cacheStore.get(randomKey());
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return cacheStore.get("benchmark.missing." + ThreadLocalRandom.current().nextInt(KEYS));
+    }
+
+    @Benchmark
+    public void put() {
+        cacheStore.put(randomKey(), value);
+    }
+
+    @Benchmark
+    public Object getAll() {
+        int from = ThreadLocalRandom.current().nextInt(KEYS - 16);
+        return cacheStore.getAll(keys.subList(from, from + 16));
+    }
+
+    private String randomKey() {
+        return keys.get(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+}
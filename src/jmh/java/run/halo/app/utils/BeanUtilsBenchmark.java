@@ -0,0 +1,76 @@
+package run.halo.app.utils;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.BenchmarkFixtures;
+import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostEditorType;
+import run.halo.app.model.enums.PostStatus;
+
+/**
+ * Bean copying and json round trips of posts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BeanUtilsBenchmark {
+
+    Post post;
+
+    String postJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        String markdown = BenchmarkFixtures.markdown(16 * 1024);
+        post = new Post();
+        post.setId(1);
+        post.setTitle("Hello Halo");
+        post.setSlug("hello-halo");
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setEditorType(PostEditorType.MARKDOWN);
+        post.setOriginalContent(markdown);
+        post.setFormatContent(MarkdownUtils.renderHtml(markdown));
+        post.setSummary(BenchmarkFixtures.sentence(new Random(1), 50));
+        post.setVisits(100L);
+        post.setLikes(10L);
+        post.setTopPriority(0);
+        post.setDisallowComment(false);
+        post.setWordCount((long) markdown.length());
+        post.setCreateTime(new Date());
+        post.setUpdateTime(new Date());
+        post.setEditTime(new Date());
+
+        postJson = JsonUtils.objectToJson(BeanUtils.transformFrom(post, BasePostDetailDTO.class));
+    }
+
+    @Benchmark
+    public Post updateProperties() {
+        Post target = new Post();
+        BeanUtils.updateProperties(post, target);
+        return target;
+    }
+
+    @Benchmark
+    public BasePostDetailDTO transformFrom() {
+        return BeanUtils.transformFrom(post, BasePostDetailDTO.class);
+    }
+
+    @Benchmark
+    public String objectToJson() throws Exception {
+        return JsonUtils.objectToJson(BeanUtils.transformFrom(post, BasePostDetailDTO.class));
+    }
+
+    @Benchmark
+    public BasePostDetailDTO jsonToObject() throws Exception {
+        return JsonUtils.jsonToObject(postJson, BasePostDetailDTO.class);
+    }
+}
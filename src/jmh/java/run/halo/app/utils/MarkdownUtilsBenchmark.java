@@ -0,0 +1,44 @@
+package run.halo.app.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.BenchmarkFixtures;
+
+/**
+ * Markdown rendering and html cleaning of posts of common sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MarkdownUtilsBenchmark {
+
+    @Param({"2048", "16384", "102400"})
+    int size;
+
+    String markdown;
+
+    String html;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkFixtures.markdown(size);
+        html = MarkdownUtils.renderHtml(markdown);
+    }
+
+    @Benchmark
+    public String renderHtml() {
+        return MarkdownUtils.renderHtml(markdown);
+    }
+
+    @Benchmark
+    public String cleanHtmlTag() {
+        return HaloUtils.cleanHtmlTag(html);
+    }
+}
@@ -0,0 +1,50 @@
+package run.halo.app.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import run.halo.app.BenchmarkFixtures;
+
+/**
+ * Content patches of a 100 KB document, as saved on every post revision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PatchUtilsBenchmark {
+
+    /**
+     * Share of revised lines.
+     */
+    @Param({"0.01", "0.1"})
+    double ratio;
+
+    String original;
+
+    String revised;
+
+    String patch;
+
+    @Setup
+    public void setUp() {
+        original = BenchmarkFixtures.markdown(100 * 1024);
+        revised = BenchmarkFixtures.revise(original, ratio);
+        patch = PatchUtils.diffToJsonPatch(original, revised);
+    }
+
+    @Benchmark
+    public String diffToJsonPatch() {
+        return PatchUtils.diffToJsonPatch(original, revised);
+    }
+
+    @Benchmark
+    public String restoreContent() {
+        return PatchUtils.restoreContent(patch, original);
+    }
+}
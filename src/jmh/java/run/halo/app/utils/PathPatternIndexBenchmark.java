@@ -0,0 +1,74 @@
+package run.halo.app.utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Url pattern matching of the admin authentication filter, compared with matching every
+ * pattern in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathPatternIndexBenchmark {
+
+    static final List<String> EXCLUDES = List.of("/api/admin/login", "/api/admin/refresh/*",
+        "/api/admin/installations", "/api/admin/migrations/halo", "/api/admin/is_installed",
+        "/api/admin/password/code", "/api/admin/password/reset", "/api/admin/login/precheck");
+
+    static final List<String> INCLUDES = List.of("/api/admin/**", "/api/content/comments");
+
+    static final List<String> PATHS = List.of("/", "/api/admin/login",
+        "/api/admin/refresh/token", "/api/admin/posts", "/api/admin/posts/1",
+        "/api/content/comments", "/api/content/posts/1/comments", "/archives/hello-world",
+        "/themes/anatole/source/css/style.css", "/upload/2022/01/a.png");
+
+    final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    PathPatternIndex<Boolean> index;
+
+    @Setup
+    public void setUp() {
+        Map<String, Boolean> patterns = new LinkedHashMap<>();
+        EXCLUDES.forEach(pattern -> patterns.put(pattern, true));
+        INCLUDES.forEach(pattern -> patterns.putIfAbsent(pattern, false));
+        index = PathPatternIndex.compile(patterns);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public int antPathMatcher() {
+        int skipped = 0;
+        for (String path : PATHS) {
+            if (EXCLUDES.stream().anyMatch(p -> antPathMatcher.match(p, path))
+                || INCLUDES.stream().noneMatch(p -> antPathMatcher.match(p, path))) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10)
+    public int pathPatternIndex() {
+        int skipped = 0;
+        for (String path : PATHS) {
+            Boolean excluded = index.match(path);
+            if (excluded == null || excluded) {
+                skipped++;
+            }
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,28 @@
+package run.halo.app.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Slugs of post titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlugUtilsBenchmark {
+
+    @Param({"Getting Started With Halo 1.6: Themes, Plugins & More!",
+        "Halo 博客系统使用指南：主题、插件与更多"})
+    String title;
+
+    @Benchmark
+    public String slugify() {
+        return SlugUtils.slugify(title);
+    }
+}
@@ -0,0 +1,30 @@
+package run.halo.app.load;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Endpoint requested by the load generator.
+ */
+class Endpoint {
+
+    final String name;
+
+    /**
+     * Share of the endpoint in the mixed workload.
+     */
+    final int weight;
+
+    private final Function<Random, HttpRequest> requestFactory;
+
+    Endpoint(String name, int weight, Function<Random, HttpRequest> requestFactory) {
+        this.name = name;
+        this.weight = weight;
+        this.requestFactory = requestFactory;
+    }
+
+    HttpRequest newRequest(Random random) {
+        return requestFactory.apply(random);
+    }
+}
@@ -0,0 +1,62 @@
+package run.halo.app.load;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurements of an endpoint in a phase of the load test.
+ */
+class EndpointResult {
+
+    final String phase;
+
+    final String endpoint;
+
+    final int requests;
+
+    final int errors;
+
+    final double throughput;
+
+    /**
+     * Average number of queries per request, NaN if the phase mixes endpoints.
+     */
+    final double queriesPerRequest;
+
+    /**
+     * Average number of bytes allocated by the server per request, NaN if the phase mixes
+     * endpoints.
+     */
+    final double allocatedBytesPerRequest;
+
+    private final long[] latencies;
+
+    EndpointResult(String phase, String endpoint, long[] latencies, int errors,
+        long elapsedNanos, double queriesPerRequest, double allocatedBytes) {
+        this.phase = phase;
+        this.endpoint = endpoint;
+        this.latencies = latencies.clone();
+        Arrays.sort(this.latencies);
+        this.requests = latencies.length;
+        this.errors = errors;
+        this.throughput = requests * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        this.queriesPerRequest = queriesPerRequest;
+        this.allocatedBytesPerRequest = requests == 0 ? Double.NaN : allocatedBytes / requests;
+    }
+
+    /**
+     * Gets a latency percentile.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in milliseconds, or NaN if there is no request
+     */
+    double percentile(double percentile) {
+        if (latencies.length == 0) {
+            return Double.NaN;
+        }
+        // nearest rank
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        long nanos = latencies[Math.min(Math.max(rank, 1), latencies.length) - 1];
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,263 @@
+package run.halo.app.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closed-loop load generator: each client thread sends a request, waits for the whole response
+ * and sends the next one right away.
+ *
+ * <p>A phase runs a warmup first, then measures for the given duration. Latencies are recorded
+ * by each client thread on its own and merged once the phase is over, so that the clients do
+ * not contend on the measurements.
+ */
+@Slf4j
+class LoadGenerator implements AutoCloseable {
+
+    private final int threads;
+
+    private final long seed;
+
+    private final ExecutorService httpExecutor;
+
+    private final HttpClient httpClient;
+
+    LoadGenerator(int threads, long seed) {
+        this.threads = threads;
+        this.seed = seed;
+        this.httpExecutor = Executors.newCachedThreadPool(
+            threadFactory(ServerProbe.CLIENT_THREAD_PREFIX + "http-"));
+        this.httpClient = HttpClient.newBuilder()
+            .executor(httpExecutor)
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    }
+
+    /**
+     * Runs a phase where every endpoint is requested on its own, so that the queries and
+     * allocations of the server can be attributed to it.
+     *
+     * @param phase name of the phase
+     * @param endpoint endpoint to request
+     * @param warmup warmup duration
+     * @param duration measured duration
+     * @return result of the endpoint
+     */
+    EndpointResult runIsolated(String phase, Endpoint endpoint, Duration warmup,
+        Duration duration) throws InterruptedException {
+        Phase result = run(List.of(endpoint), warmup, duration);
+        return new EndpointResult(phase, endpoint.name, result.latencies[0], result.errors[0],
+            result.elapsedNanos, result.after.queriesPerRequest(result.before),
+            result.after.allocatedBytes(result.before));
+    }
+
+    /**
+     * Runs a phase mixing the given endpoints by their weights.
+     *
+     * @param phase name of the phase
+     * @param endpoints endpoints to request
+     * @param warmup warmup duration
+     * @param duration measured duration
+     * @return results of the endpoints, followed by the result of the whole phase
+     */
+    List<EndpointResult> runMixed(String phase, List<Endpoint> endpoints, Duration warmup,
+        Duration duration) throws InterruptedException {
+        Phase result = run(endpoints, warmup, duration);
+        List<EndpointResult> results = new ArrayList<>(endpoints.size() + 1);
+        long[] all = new long[0];
+        int errors = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            results.add(new EndpointResult(phase, endpoints.get(i).name, result.latencies[i],
+                result.errors[i], result.elapsedNanos, Double.NaN, Double.NaN));
+            all = concat(all, result.latencies[i]);
+            errors += result.errors[i];
+        }
+        results.add(new EndpointResult(phase, "total", all, errors, result.elapsedNanos,
+            result.after.queriesPerRequest(result.before),
+            result.after.allocatedBytes(result.before)));
+        return results;
+    }
+
+    @Override
+    public void close() {
+        httpExecutor.shutdownNow();
+    }
+
+    private Phase run(List<Endpoint> endpoints, Duration warmup, Duration duration)
+        throws InterruptedException {
+        int[] cumulativeWeights = new int[endpoints.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            totalWeight += Math.max(endpoints.get(i).weight, 1);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        Client[] clients = new Client[threads];
+        Thread[] clientThreads = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            clients[i] = new Client(endpoints, cumulativeWeights, new Random(seed + i));
+            clientThreads[i] = new Thread(clients[i], ServerProbe.CLIENT_THREAD_PREFIX + i);
+            clientThreads[i].start();
+        }
+
+        Phase phase = new Phase();
+        try {
+            TimeUnit.NANOSECONDS.sleep(warmup.toNanos());
+            phase.before = ServerProbe.snapshot();
+            long start = System.nanoTime();
+            for (Client client : clients) {
+                client.measuring = true;
+            }
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+            for (Client client : clients) {
+                client.measuring = false;
+            }
+            phase.elapsedNanos = System.nanoTime() - start;
+            phase.after = ServerProbe.snapshot();
+        } finally {
+            for (Client client : clients) {
+                client.stopped = true;
+            }
+            for (Thread clientThread : clientThreads) {
+                clientThread.join();
+            }
+        }
+
+        phase.latencies = new long[endpoints.size()][];
+        phase.errors = new int[endpoints.size()];
+        for (int i = 0; i < endpoints.size(); i++) {
+            long[] latencies = new long[0];
+            for (Client client : clients) {
+                latencies = concat(latencies, client.latencies[i].toArray());
+                phase.errors[i] += client.errors[i];
+            }
+            phase.latencies[i] = latencies;
+        }
+        return phase;
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Phase {
+
+        private ServerProbe before;
+
+        private ServerProbe after;
+
+        private long elapsedNanos;
+
+        private long[][] latencies;
+
+        private int[] errors;
+    }
+
+    private class Client implements Runnable {
+
+        private final List<Endpoint> endpoints;
+
+        private final int[] cumulativeWeights;
+
+        private final Random random;
+
+        private final LongList[] latencies;
+
+        private final int[] errors;
+
+        private volatile boolean measuring;
+
+        private volatile boolean stopped;
+
+        private Client(List<Endpoint> endpoints, int[] cumulativeWeights, Random random) {
+            this.endpoints = endpoints;
+            this.cumulativeWeights = cumulativeWeights;
+            this.random = random;
+            this.latencies = new LongList[endpoints.size()];
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LongList();
+            }
+            this.errors = new int[endpoints.size()];
+        }
+
+        @Override
+        public void run() {
+            int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+            while (!stopped) {
+                int index = Arrays.binarySearch(cumulativeWeights, random.nextInt(totalWeight));
+                // the insertion point of a missing key is the endpoint with the next weight
+                index = index < 0 ? -index - 1 : index + 1;
+                HttpRequest request = endpoints.get(index).newRequest(random);
+
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    HttpResponse<Void> response =
+                        httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    failed = response.statusCode() >= 400;
+                    if (failed) {
+                        log.debug("Request [{}] failed with status {}", request.uri(),
+                            response.statusCode());
+                    }
+                } catch (IOException e) {
+                    failed = true;
+                    log.debug("Request [{}] failed", request.uri(), e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long elapsed = System.nanoTime() - start;
+
+                if (measuring) {
+                    latencies[index].add(elapsed);
+                    if (failed) {
+                        errors[index]++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static class LongList {
+
+        private long[] values = new long[1024];
+
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package run.halo.app.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Report of a load test run, printed as a table and written as csv.
+ */
+class LoadReport {
+
+    private static final String HEADER = "phase,endpoint,requests,errors,throughput,p50,p90,p99,"
+        + "p999,max,queries,allocated_kb";
+
+    private final List<EndpointResult> results = new ArrayList<>();
+
+    void add(EndpointResult result) {
+        results.add(result);
+    }
+
+    void addAll(List<EndpointResult> results) {
+        this.results.addAll(results);
+    }
+
+    /**
+     * Formats the report as a table, latencies in milliseconds and throughput in requests per
+     * second.
+     *
+     * @return table
+     */
+    String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT,
+            "%-8s %-16s %9s %7s %9s %9s %9s %9s %9s %9s %8s %12s%n", "phase", "endpoint",
+            "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max", "queries",
+            "alloc KB/req"));
+        for (EndpointResult result : results) {
+            table.append(String.format(Locale.ROOT,
+                "%-8s %-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8.1f %12.1f%n",
+                result.phase, result.endpoint, result.requests, result.errors,
+                result.throughput, result.percentile(50), result.percentile(90),
+                result.percentile(99), result.percentile(99.9), result.percentile(100),
+                result.queriesPerRequest, result.allocatedBytesPerRequest / 1024));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Writes the report as csv into the given directory.
+     *
+     * @param directory report directory
+     * @return path of the report
+     * @throws IOException if the report cannot be written
+     */
+    Path write(String directory) throws IOException {
+        List<String> lines = new ArrayList<>(results.size() + 1);
+        lines.add(HEADER);
+        for (EndpointResult result : results) {
+            lines.add(String.format(Locale.ROOT,
+                "%s,%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", result.phase,
+                result.endpoint, result.requests, result.errors, result.throughput,
+                result.percentile(50), result.percentile(90), result.percentile(99),
+                result.percentile(99.9), result.percentile(100), result.queriesPerRequest,
+                result.allocatedBytesPerRequest / 1024));
+        }
+        Path reportDir = Files.createDirectories(Paths.get(directory));
+        Path report = reportDir.resolve("load-test-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        return Files.write(report, lines, StandardCharsets.UTF_8);
+    }
+}
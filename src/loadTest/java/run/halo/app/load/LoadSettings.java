@@ -0,0 +1,99 @@
+package run.halo.app.load;
+
+import java.time.Duration;
+import lombok.Data;
+
+/**
+ * Settings of a load test run, read from {@code halo.load.*} system properties.
+ *
+ * <table>
+ *   <tr><th>Property</th><th>Default</th><th>Description</th></tr>
+ *   <tr><td>posts</td><td>1000</td><td>number of published posts</td></tr>
+ *   <tr><td>post-size</td><td>8192</td><td>approximate markdown size of a post in bytes</td></tr>
+ *   <tr><td>tags</td><td>200</td><td>number of tags</td></tr>
+ *   <tr><td>categories</td><td>60</td><td>number of categories, a tenth of them roots</td></tr>
+ *   <tr><td>comments</td><td>20000</td><td>number of published post comments</td></tr>
+ *   <tr><td>comment-depth</td><td>10</td><td>maximum depth of the reply trees</td></tr>
+ *   <tr><td>attachments</td><td>2000</td><td>number of attachments</td></tr>
+ *   <tr><td>journals</td><td>500</td><td>number of journals</td></tr>
+ *   <tr><td>threads</td><td>8</td><td>number of concurrent clients</td></tr>
+ *   <tr><td>warmup</td><td>10</td><td>warmup of each phase in seconds</td></tr>
+ *   <tr><td>duration</td><td>30</td><td>measured duration of each phase in seconds</td></tr>
+ *   <tr><td>datasource-url</td><td></td><td>jdbc url of another database, such as a local
+ *   MySQL, instead of a fresh H2 file database</td></tr>
+ *   <tr><td>datasource-username</td><td>root</td><td>username of the other database</td></tr>
+ *   <tr><td>datasource-password</td><td></td><td>password of the other database</td></tr>
+ *   <tr><td>report-dir</td><td>.</td><td>directory of the csv report</td></tr>
+ *   <tr><td>seed</td><td>42</td><td>seed of the generated site and workload</td></tr>
+ * </table>
+ */
+@Data
+public class LoadSettings {
+
+    private static final String PREFIX = "halo.load.";
+
+    private int posts = 1000;
+
+    private int postSize = 8192;
+
+    private int tags = 200;
+
+    private int categories = 60;
+
+    private int comments = 20000;
+
+    private int commentDepth = 10;
+
+    private int attachments = 2000;
+
+    private int journals = 500;
+
+    private int threads = 8;
+
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(30);
+
+    private String datasourceUrl;
+
+    private String datasourceUsername = "root";
+
+    private String datasourcePassword = "";
+
+    private String reportDir = ".";
+
+    private long seed = 42;
+
+    /**
+     * Reads the settings from system properties.
+     *
+     * @return settings
+     */
+    public static LoadSettings fromSystemProperties() {
+        LoadSettings settings = new LoadSettings();
+        settings.posts = getInt("posts", settings.posts);
+        settings.postSize = getInt("post-size", settings.postSize);
+        settings.tags = getInt("tags", settings.tags);
+        settings.categories = getInt("categories", settings.categories);
+        settings.comments = getInt("comments", settings.comments);
+        settings.commentDepth = getInt("comment-depth", settings.commentDepth);
+        settings.attachments = getInt("attachments", settings.attachments);
+        settings.journals = getInt("journals", settings.journals);
+        settings.threads = getInt("threads", settings.threads);
+        settings.warmup = Duration.ofSeconds(getInt("warmup", (int) settings.warmup.toSeconds()));
+        settings.duration =
+            Duration.ofSeconds(getInt("duration", (int) settings.duration.toSeconds()));
+        settings.datasourceUrl = System.getProperty(PREFIX + "datasource-url");
+        settings.datasourceUsername =
+            System.getProperty(PREFIX + "datasource-username", settings.datasourceUsername);
+        settings.datasourcePassword =
+            System.getProperty(PREFIX + "datasource-password", settings.datasourcePassword);
+        settings.reportDir = System.getProperty(PREFIX + "report-dir", settings.reportDir);
+        settings.seed = Long.getLong(PREFIX + "seed", settings.seed);
+        return settings;
+    }
+
+    private static int getInt(String name, int defaultValue) {
+        return Integer.getInteger(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,208 @@
+package run.halo.app.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import run.halo.app.Application;
+import run.halo.app.model.params.InstallParam;
+import run.halo.app.model.params.LoginParam;
+import run.halo.app.model.params.PostCommentParam;
+import run.halo.app.model.support.HaloConst;
+import run.halo.app.utils.FileUtils;
+
+/**
+ * End-to-end load test.
+ *
+ * <p>Boots Halo on a random port with a fresh work directory and database, installs the blog
+ * and seeds a synthetic site through the application itself, then requests every endpoint on
+ * its own and finally all of them mixed by weight. Run it with {@code ./gradlew loadTest}, see
+ * {@link LoadSettings} for the settings.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String USERNAME = "load";
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final String[] KEYWORDS =
+        {"halo", "cache", "markdown", "theme", "博客", "评论"};
+
+    private final LoadSettings settings;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final String blogUrl;
+
+    private String accessToken;
+
+    private LoadTestRunner(LoadSettings settings, ObjectMapper objectMapper, int port) {
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.blogUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        log.info("Running load test with {}", settings);
+
+        Path workDir = Files.createTempDirectory("halo-load-test-");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+            Application.class).properties(applicationProperties(settings, workDir)).run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestRunner runner =
+                new LoadTestRunner(settings, context.getBean(ObjectMapper.class), port);
+            runner.install();
+
+            SiteSeeder.Site site = new SiteSeeder(settings, context).seed();
+            LoadReport report = runner.run(site);
+
+            log.info("Load test results, latencies in ms:{}{}", System.lineSeparator(),
+                report.toTable());
+            log.info("Wrote load test report to {}", report.write(settings.getReportDir()));
+        } finally {
+            FileUtils.deleteFolderQuietly(workDir);
+        }
+    }
+
+    private static Map<String, Object> applicationProperties(LoadSettings settings,
+        Path workDir) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("halo.work-dir", workDir.toAbsolutePath() + "/");
+        if (settings.getDatasourceUrl() == null) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.url",
+                "jdbc:h2:file:" + workDir.toAbsolutePath() + "/db/halo");
+            properties.put("spring.datasource.username", "admin");
+            properties.put("spring.datasource.password", "123456");
+        } else {
+            // let the driver be deduced from the url
+            properties.put("spring.datasource.driver-class-name", "");
+            properties.put("spring.datasource.url", settings.getDatasourceUrl());
+            properties.put("spring.datasource.username", settings.getDatasourceUsername());
+            properties.put("spring.datasource.password", settings.getDatasourcePassword());
+        }
+        properties.put("logging.level.run.halo.app", "WARN");
+        properties.put("logging.level.run.halo.app.load", "INFO");
+        return properties;
+    }
+
+    private void install() throws IOException, InterruptedException {
+        InstallParam installParam = new InstallParam();
+        installParam.setUsername(USERNAME);
+        installParam.setNickname(USERNAME);
+        installParam.setEmail("load@halo.run");
+        installParam.setPassword(PASSWORD);
+        installParam.setUrl(blogUrl);
+        installParam.setTitle("Load Test");
+        post("/api/admin/installations", installParam);
+
+        LoginParam loginParam = new LoginParam();
+        loginParam.setUsername(USERNAME);
+        loginParam.setPassword(PASSWORD);
+        accessToken = post("/api/admin/login", loginParam).path("data").path("access_token")
+            .asText();
+    }
+
+    private LoadReport run(SiteSeeder.Site site) throws InterruptedException {
+        List<Endpoint> endpoints = List.of(
+            new Endpoint("index", 20, random -> request("/").build()),
+            new Endpoint("post", 40, random -> request("/archives/"
+                + site.postSlugs.get(random.nextInt(site.postSlugs.size()))).build()),
+            new Endpoint("comment-tree", 10, random -> request("/api/content/posts/"
+                + site.postIds.get(random.nextInt(site.postIds.size()))
+                + "/comments/tree_view").build()),
+            new Endpoint("search", 5, random -> request("/search?keyword="
+                + URLEncoder.encode(KEYWORDS[random.nextInt(KEYWORDS.length)],
+                StandardCharsets.UTF_8)).build()),
+            new Endpoint("feed", 5, random -> request("/feed").build()),
+            new Endpoint("atom", 2, random -> request("/atom").build()),
+            new Endpoint("comment-post", 3, random -> newComment(site, random)),
+            new Endpoint("admin-posts", 3, random -> request("/api/admin/posts?page=0&size=20")
+                .header(HaloConst.ADMIN_TOKEN_HEADER_NAME, accessToken).build()),
+            new Endpoint("admin-comments", 2, random -> request(
+                "/api/admin/posts/comments?page=0&size=20")
+                .header(HaloConst.ADMIN_TOKEN_HEADER_NAME, accessToken).build()));
+
+        LoadReport report = new LoadReport();
+        try (LoadGenerator generator =
+                 new LoadGenerator(settings.getThreads(), settings.getSeed())) {
+            for (Endpoint endpoint : endpoints) {
+                log.info("Requesting endpoint {}", endpoint.name);
+                report.add(generator.runIsolated("isolated", endpoint, settings.getWarmup(),
+                    settings.getDuration()));
+            }
+            log.info("Requesting all endpoints");
+            report.addAll(generator.runMixed("mixed", endpoints, settings.getWarmup(),
+                settings.getDuration()));
+        }
+        return report;
+    }
+
+    private HttpRequest newComment(SiteSeeder.Site site, Random random) {
+        PostCommentParam commentParam = new PostCommentParam();
+        commentParam.setAuthor("load-visitor");
+        commentParam.setEmail("visitor@halo.run");
+        commentParam.setContent("Comment " + random.nextLong());
+        commentParam.setPostId(site.postIds.get(random.nextInt(site.postIds.size())));
+        // every comment comes from another visitor, so that none is rate limited
+        String ipAddress = "172.16." + random.nextInt(256) + "." + random.nextInt(256);
+        return request("/api/content/posts/comments")
+            .header("X-Forwarded-For", ipAddress)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofString(toJson(commentParam)))
+            .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(blogUrl + path))
+            .timeout(Duration.ofSeconds(30));
+    }
+
+    private JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(path)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+            .build();
+        HttpResponse<String> response =
+            httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(
+                "Request " + path + " failed with status " + response.statusCode() + ": "
+                    + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
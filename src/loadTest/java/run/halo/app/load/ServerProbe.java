@@ -0,0 +1,84 @@
+package run.halo.app.load;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.Map;
+import run.halo.app.core.metrics.HaloMetrics;
+
+/**
+ * Snapshot of the work done by the server threads of this jvm.
+ *
+ * <p>Queries are read from the {@link HaloMetrics#HTTP_QUERIES} meters, allocations from the
+ * per-thread allocation counters of HotSpot. Threads of the load generator are named with the
+ * {@link #CLIENT_THREAD_PREFIX} and excluded. Allocations of threads terminating between two
+ * snapshots are lost, which is fine as long as the server runs requests on pooled threads.
+ */
+class ServerProbe {
+
+    static final String CLIENT_THREAD_PREFIX = "load-";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final long requests;
+
+    private final double queries;
+
+    private final Map<Long, Long> allocatedBytes;
+
+    private ServerProbe(long requests, double queries, Map<Long, Long> allocatedBytes) {
+        this.requests = requests;
+        this.queries = queries;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    static ServerProbe snapshot() {
+        long requests = 0;
+        double queries = 0;
+        for (DistributionSummary summary : Metrics.globalRegistry.find(HaloMetrics.HTTP_QUERIES)
+            .summaries()) {
+            requests += summary.count();
+            queries += summary.totalAmount();
+        }
+
+        long[] threadIds = THREAD_MX_BEAN.getAllThreadIds();
+        long[] allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadIds);
+        ThreadInfo[] threadInfos = THREAD_MX_BEAN.getThreadInfo(threadIds);
+        Map<Long, Long> allocatedBytes = new HashMap<>(threadIds.length * 2);
+        for (int i = 0; i < threadIds.length; i++) {
+            if (threadInfos[i] != null && allocated[i] > 0
+                && !threadInfos[i].getThreadName().startsWith(CLIENT_THREAD_PREFIX)) {
+                allocatedBytes.put(threadIds[i], allocated[i]);
+            }
+        }
+        return new ServerProbe(requests, queries, allocatedBytes);
+    }
+
+    /**
+     * Gets the average number of queries per request since the given snapshot.
+     *
+     * @param since earlier snapshot
+     * @return queries per request or NaN if no request has been recorded
+     */
+    double queriesPerRequest(ServerProbe since) {
+        long count = requests - since.requests;
+        return count == 0 ? Double.NaN : (queries - since.queries) / count;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the server since the given snapshot.
+     *
+     * @param since earlier snapshot
+     * @return allocated bytes
+     */
+    long allocatedBytes(ServerProbe since) {
+        long bytes = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytes.entrySet()) {
+            bytes += thread.getValue() - since.allocatedBytes.getOrDefault(thread.getKey(), 0L);
+        }
+        return bytes;
+    }
+}
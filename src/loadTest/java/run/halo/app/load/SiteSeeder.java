@@ -0,0 +1,273 @@
+package run.halo.app.load;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import run.halo.app.BenchmarkFixtures;
+import run.halo.app.model.entity.Attachment;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.entity.PostComment;
+import run.halo.app.model.entity.Tag;
+import run.halo.app.model.enums.AttachmentType;
+import run.halo.app.model.enums.CommentStatus;
+import run.halo.app.model.enums.JournalType;
+import run.halo.app.model.enums.PostEditorType;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.params.CategoryParam;
+import run.halo.app.model.params.JournalParam;
+import run.halo.app.model.params.PostParam;
+import run.halo.app.model.params.TagParam;
+import run.halo.app.repository.AttachmentRepository;
+import run.halo.app.repository.PostCommentRepository;
+import run.halo.app.service.CategoryService;
+import run.halo.app.service.JournalService;
+import run.halo.app.service.PostService;
+import run.halo.app.service.TagService;
+
+/**
+ * Seeds a synthetic site into a running application.
+ *
+ * <p>Tags, categories, posts and journals go through the services, so that content is
+ * rendered and relations are created the way the admin api does it. Comments and attachments
+ * are plain rows and are inserted in batches through the repositories.
+ */
+@Slf4j
+class SiteSeeder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final LoadSettings settings;
+
+    private final ApplicationContext context;
+
+    private final Random random;
+
+    SiteSeeder(LoadSettings settings, ApplicationContext context) {
+        this.settings = settings;
+        this.context = context;
+        this.random = new Random(settings.getSeed());
+    }
+
+    /**
+     * Seeds the site.
+     *
+     * @return seeded site
+     */
+    Site seed() {
+        long start = System.nanoTime();
+        List<Integer> tagIds = seedTags();
+        List<Integer> categoryIds = seedCategories();
+        Site site = seedPosts(tagIds, categoryIds);
+        seedComments(site);
+        seedAttachments();
+        seedJournals();
+        log.info("Seeded {} posts, {} tags, {} categories, {} comments, {} attachments and {} "
+                + "journals in {} s", settings.getPosts(), settings.getTags(),
+            settings.getCategories(), settings.getComments(), settings.getAttachments(),
+            settings.getJournals(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+        return site;
+    }
+
+    private List<Integer> seedTags() {
+        TagService tagService = context.getBean(TagService.class);
+        List<Integer> tagIds = new ArrayList<>(settings.getTags());
+        for (int i = 0; i < settings.getTags(); i++) {
+            TagParam tagParam = new TagParam();
+            tagParam.setName(BenchmarkFixtures.sentence(random, 2) + " " + i);
+            tagParam.setSlug("load-tag-" + i);
+            Tag tag = tagService.create(tagParam.convertTo());
+            tagIds.add(tag.getId());
+        }
+        return tagIds;
+    }
+
+    private List<Integer> seedCategories() {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        List<Integer> categoryIds = new ArrayList<>(settings.getCategories());
+        // the first tenth are roots, the others hang below an earlier category
+        int roots = Math.max(1, settings.getCategories() / 10);
+        for (int i = 0; i < settings.getCategories(); i++) {
+            CategoryParam categoryParam = new CategoryParam();
+            categoryParam.setName(BenchmarkFixtures.sentence(random, 2) + " " + i);
+            categoryParam.setSlug("load-category-" + i);
+            categoryParam.setDescription(BenchmarkFixtures.sentence(random, 12));
+            if (i >= roots) {
+                categoryParam.setParentId(categoryIds.get(random.nextInt(i) / 3));
+            }
+            Category category = categoryService.create(categoryParam.convertTo());
+            categoryIds.add(category.getId());
+        }
+        return categoryIds;
+    }
+
+    private Site seedPosts(List<Integer> tagIds, List<Integer> categoryIds) {
+        PostService postService = context.getBean(PostService.class);
+        Site site = new Site(settings.getPosts());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < settings.getPosts(); i++) {
+            // vary the size around the configured one, and the markdown with it
+            String markdown =
+                BenchmarkFixtures.markdown(settings.getPostSize() / 2
+                    + random.nextInt(settings.getPostSize() + 1));
+
+            PostParam postParam = new PostParam();
+            postParam.setTitle(BenchmarkFixtures.sentence(random, 6) + " " + i);
+            postParam.setSlug("load-post-" + i);
+            postParam.setStatus(PostStatus.PUBLISHED);
+            postParam.setEditorType(PostEditorType.MARKDOWN);
+            postParam.setOriginalContent(markdown);
+            postParam.setSummary(BenchmarkFixtures.sentence(random, 40));
+            // spread the posts over three years for the archives
+            postParam.setCreateTime(new Date(now - TimeUnit.DAYS.toMillis(random.nextInt(1095))));
+            Post post = postParam.convertTo();
+
+            Set<Integer> postTagIds = pick(tagIds, 1 + random.nextInt(5));
+            Set<Integer> postCategoryIds = pick(categoryIds, 1 + random.nextInt(2));
+            Integer postId = postService.createBy(post, postTagIds, postCategoryIds, true).getId();
+            site.postIds.add(postId);
+            site.postSlugs.add(post.getSlug());
+            if ((i + 1) % 100 == 0) {
+                log.info("Seeded {}/{} posts", i + 1, settings.getPosts());
+            }
+        }
+        return site;
+    }
+
+    private void seedComments(Site site) {
+        if (site.postIds.isEmpty()) {
+            return;
+        }
+        PostCommentRepository postCommentRepository =
+            context.getBean(PostCommentRepository.class);
+
+        // plan the trees first: a comment replies to an earlier comment of the same post
+        int total = settings.getComments();
+        int[] posts = new int[total];
+        int[] parents = new int[total];
+        int[] depths = new int[total];
+        List<List<Integer>> commentsOfPosts = new ArrayList<>(site.postIds.size());
+        for (int i = 0; i < site.postIds.size(); i++) {
+            commentsOfPosts.add(new ArrayList<>());
+        }
+        int maxDepth = 0;
+        for (int i = 0; i < total; i++) {
+            int post = random.nextInt(site.postIds.size());
+            List<Integer> siblings = commentsOfPosts.get(post);
+            posts[i] = post;
+            parents[i] = -1;
+            if (!siblings.isEmpty() && random.nextInt(3) > 0) {
+                // prefer the latest comments, which makes the trees deep rather than wide
+                int parent = siblings.get(siblings.size() - 1 - random.nextInt(
+                    Math.min(siblings.size(), 3)));
+                if (depths[parent] + 1 < settings.getCommentDepth()) {
+                    parents[i] = parent;
+                    depths[i] = depths[parent] + 1;
+                }
+            }
+            maxDepth = Math.max(maxDepth, depths[i]);
+            siblings.add(i);
+        }
+
+        // then insert them level by level, so that the parents have ids
+        long[] ids = new long[total];
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            List<Integer> indexes = new ArrayList<>(BATCH_SIZE);
+            List<PostComment> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < total; i++) {
+                if (depths[i] != depth) {
+                    continue;
+                }
+                PostComment comment = new PostComment();
+                comment.setAuthor("visitor-" + i % 1000);
+                comment.setEmail("visitor-" + i % 1000 + "@halo.run");
+                comment.setIpAddress("10.0." + i % 250 + "." + i / 250 % 250);
+                comment.setContent(BenchmarkFixtures.sentence(random, 10 + random.nextInt(60)));
+                comment.setStatus(CommentStatus.PUBLISHED);
+                comment.setPostId(site.postIds.get(posts[i]));
+                comment.setParentId(parents[i] < 0 ? 0L : ids[parents[i]]);
+                indexes.add(i);
+                batch.add(comment);
+                if (batch.size() == BATCH_SIZE) {
+                    saveComments(postCommentRepository, batch, indexes, ids);
+                }
+            }
+            saveComments(postCommentRepository, batch, indexes, ids);
+        }
+        log.info("Seeded {} comments with reply trees up to {} levels", total, maxDepth + 1);
+    }
+
+    private void saveComments(PostCommentRepository postCommentRepository,
+        List<PostComment> batch, List<Integer> indexes, long[] ids) {
+        List<PostComment> saved = postCommentRepository.saveAll(batch);
+        for (int i = 0; i < saved.size(); i++) {
+            ids[indexes.get(i)] = saved.get(i).getId();
+        }
+        batch.clear();
+        indexes.clear();
+    }
+
+    private void seedAttachments() {
+        AttachmentRepository attachmentRepository = context.getBean(AttachmentRepository.class);
+        List<Attachment> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.getAttachments(); i++) {
+            String path = "upload/2022/01/load-" + i + ".png";
+            Attachment attachment = new Attachment();
+            attachment.setName("load-" + i + ".png");
+            attachment.setPath(path);
+            attachment.setFileKey(path);
+            attachment.setThumbPath("upload/2022/01/load-" + i + "-thumbnail.png");
+            attachment.setMediaType("image/png");
+            attachment.setSuffix("png");
+            attachment.setWidth(1920);
+            attachment.setHeight(1080);
+            attachment.setSize(50_000L + random.nextInt(2_000_000));
+            attachment.setType(AttachmentType.LOCAL);
+            batch.add(attachment);
+            if (batch.size() == BATCH_SIZE) {
+                attachmentRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        attachmentRepository.saveAll(batch);
+    }
+
+    private void seedJournals() {
+        JournalService journalService = context.getBean(JournalService.class);
+        for (int i = 0; i < settings.getJournals(); i++) {
+            JournalParam journalParam = new JournalParam();
+            journalParam.setSourceContent(BenchmarkFixtures.markdown(200 + random.nextInt(800)));
+            journalParam.setType(i % 10 == 0 ? JournalType.INTIMATE : JournalType.PUBLIC);
+            journalService.createBy(journalParam);
+        }
+    }
+
+    private Set<Integer> pick(List<Integer> ids, int count) {
+        Set<Integer> picked = new LinkedHashSet<>(count * 2);
+        for (int i = 0; i < count && !ids.isEmpty(); i++) {
+            picked.add(ids.get(random.nextInt(ids.size())));
+        }
+        return picked;
+    }
+
+    /**
+     * Posts of a seeded site, which the workload requests.
+     */
+    static class Site {
+
+        final List<Integer> postIds;
+
+        final List<String> postSlugs;
+
+        private Site(int posts) {
+            this.postIds = new ArrayList<>(posts);
+            this.postSlugs = new ArrayList<>(posts);
+        }
+    }
+}
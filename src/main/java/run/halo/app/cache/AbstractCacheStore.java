@@ -1,6 +1,13 @@
 package run.halo.app.cache;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +15,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.HaloMetrics;
 import run.halo.app.utils.DateUtils;
 
 /**
@@ -21,6 +29,25 @@ public abstract class AbstractCacheStore<K, V> implements CacheStore<K, V> {
 
     protected HaloProperties haloProperties;
 
+    private final Timer hitTimer;
+
+    private final Timer missTimer;
+
+    private final Timer bulkGetTimer;
+
+    private final Timer putTimer;
+
+    protected AbstractCacheStore() {
+        String cache = getClass().getSimpleName();
+        this.hitTimer = Metrics.timer(HaloMetrics.CACHE_GETS,
+            HaloMetrics.TAG_CACHE, cache, HaloMetrics.TAG_RESULT, HaloMetrics.RESULT_HIT);
+        this.missTimer = Metrics.timer(HaloMetrics.CACHE_GETS,
+            HaloMetrics.TAG_CACHE, cache, HaloMetrics.TAG_RESULT, HaloMetrics.RESULT_MISS);
+        this.bulkGetTimer =
+            Metrics.timer(HaloMetrics.CACHE_BULK_GETS, HaloMetrics.TAG_CACHE, cache);
+        this.putTimer = Metrics.timer(HaloMetrics.CACHE_PUTS, HaloMetrics.TAG_CACHE, cache);
+    }
+
     /**
      * Get cache wrapper by key.
      *
@@ -48,11 +75,37 @@ public abstract class AbstractCacheStore<K, V> implements CacheStore<K, V> {
      */
     abstract Boolean putInternalIfAbsent(@NonNull K key, @NonNull CacheWrapper<V> cacheWrapper);
 
+    /**
+     * Gets cache wrappers by keys in bulk. Implementations should override it with a bulk
+     * operation if possible.
+     *
+     * @param keys keys must not be null
+     * @return a map of present keys and cache wrappers
+     */
+    @NonNull
+    Map<K, CacheWrapper<V>> getAllInternal(@NonNull Collection<K> keys) {
+        Map<K, CacheWrapper<V>> cacheWrappers = new LinkedHashMap<>();
+        keys.forEach(key -> getInternal(key)
+            .ifPresent(cacheWrapper -> cacheWrappers.put(key, cacheWrapper)));
+        return cacheWrappers;
+    }
+
+    /**
+     * Puts cache wrappers in bulk. Implementations should override it with a bulk operation if
+     * possible.
+     *
+     * @param cacheWrappers keys and cache wrappers must not be null
+     */
+    void putAllInternal(@NonNull Map<K, CacheWrapper<V>> cacheWrappers) {
+        cacheWrappers.forEach(this::putInternal);
+    }
+
     @Override
     public Optional<V> get(K key) {
         Assert.notNull(key, "Cache key must not be blank");
 
-        return getInternal(key).map(cacheWrapper -> {
+        long start = System.nanoTime();
+        Optional<V> value = getInternal(key).map(cacheWrapper -> {
             // Check expiration
             if (cacheWrapper.getExpireAt() != null
                 && cacheWrapper.getExpireAt().before(run.halo.app.utils.DateUtils.now())) {
@@ -68,21 +121,97 @@ public abstract class AbstractCacheStore<K, V> implements CacheStore<K, V> {
 
             return cacheWrapper.getData();
         });
+        return recordGet(start, value);
+    }
+
+    /**
+     * Records the latency and the result of a get.
+     *
+     * @param start start time of the get in nanoseconds
+     * @param value value got
+     * @return the value
+     */
+    @NonNull
+    Optional<V> recordGet(long start, @NonNull Optional<V> value) {
+        (value.isPresent() ? hitTimer : missTimer)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        Map<K, V> values = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+
+        long start = System.nanoTime();
+        Date now = run.halo.app.utils.DateUtils.now();
+        List<K> expiredKeys = new ArrayList<>();
+        getAllInternal(keys).forEach((key, cacheWrapper) -> {
+            if (cacheWrapper.getExpireAt() != null && cacheWrapper.getExpireAt().before(now)) {
+                expiredKeys.add(key);
+            } else if (cacheWrapper.getData() != null) {
+                values.put(key, cacheWrapper.getData());
+            }
+        });
+
+        if (!expiredKeys.isEmpty()) {
+            log.warn("Cache keys: {} have been expired", expiredKeys);
+            deleteAll(expiredKeys);
+        }
+        bulkGetTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries, long timeout, TimeUnit timeUnit) {
+        putAllWithExpiration(entries, timeout, timeUnit);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        putAllWithExpiration(entries, 0, null);
+    }
+
+    private void putAllWithExpiration(@NonNull Map<K, V> entries, long timeout,
+        @Nullable TimeUnit timeUnit) {
+        Assert.notNull(entries, "Cache entries must not be null");
+
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<K, CacheWrapper<V>> cacheWrappers = new LinkedHashMap<>(entries.size() << 1);
+        entries.forEach(
+            (key, value) -> cacheWrappers.put(key, buildCacheWrapper(value, timeout, timeUnit)));
+        putTimer.record(() -> putAllInternal(cacheWrappers));
+    }
+
+    @Override
+    public void deleteAll(Collection<K> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        keys.forEach(this::delete);
     }
 
     @Override
     public void put(K key, V value, long timeout, TimeUnit timeUnit) {
-        putInternal(key, buildCacheWrapper(value, timeout, timeUnit));
+        CacheWrapper<V> cacheWrapper = buildCacheWrapper(value, timeout, timeUnit);
+        putTimer.record(() -> putInternal(key, cacheWrapper));
     }
 
     @Override
     public void put(K key, V value) {
-        putInternal(key, buildCacheWrapper(value, 0, null));
+        CacheWrapper<V> cacheWrapper = buildCacheWrapper(value, 0, null);
+        putTimer.record(() -> putInternal(key, cacheWrapper));
     }
 
     @Override
     public Boolean putIfAbsent(K key, V value, long timeout, TimeUnit timeUnit) {
-        return putInternalIfAbsent(key, buildCacheWrapper(value, timeout, timeUnit));
+        CacheWrapper<V> cacheWrapper = buildCacheWrapper(value, timeout, timeUnit);
+        return putTimer.record(() -> putInternalIfAbsent(key, cacheWrapper));
     }
 
     /**
@@ -3,6 +3,9 @@ package run.halo.app.cache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
@@ -62,4 +65,35 @@ public abstract class AbstractStringCacheStore extends AbstractCacheStore<String
             }
         });
     }
+
+    public <T> void putAllAny(@NonNull Map<String, T> entries, long timeout,
+        @NonNull TimeUnit timeUnit) {
+        Assert.notNull(entries, "Cache entries must not be null");
+
+        Map<String, String> jsonEntries = new LinkedHashMap<>(entries.size() << 1);
+        entries.forEach((key, value) -> {
+            try {
+                jsonEntries.put(key, JsonUtils.objectToJson(value));
+            } catch (JsonProcessingException e) {
+                throw new ServiceException("Failed to convert " + value + " to json", e);
+            }
+        });
+        putAll(jsonEntries, timeout, timeUnit);
+    }
+
+    @NonNull
+    public <T> Map<String, T> getAllAny(@NonNull Collection<String> keys,
+        @NonNull Class<T> type) {
+        Assert.notNull(type, "Type must not be null");
+
+        Map<String, T> values = new LinkedHashMap<>();
+        getAll(keys).forEach((key, value) -> {
+            try {
+                values.put(key, JsonUtils.jsonToObject(value, type));
+            } catch (IOException e) {
+                log.error("Failed to convert json to type: " + type.getName(), e);
+            }
+        });
+        return values;
+    }
 }
@@ -1,8 +1,11 @@
 package run.halo.app.cache;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import org.springframework.lang.NonNull;
 
 /**
@@ -62,6 +65,47 @@ public interface CacheStore<K, V> {
      */
     void delete(@NonNull K key);
 
+    /**
+     * Gets values by cache keys in bulk.
+     *
+     * @param keys cache keys must not be null
+     * @return a map of present keys and values
+     */
+    @NonNull
+    Map<K, V> getAll(@NonNull Collection<K> keys);
+
+    /**
+     * Puts caches which will be expired in bulk.
+     *
+     * @param entries cache keys and values must not be null
+     * @param timeout the key expiration must not be less than 1
+     * @param timeUnit timeout unit must not be null
+     */
+    void putAll(@NonNull Map<K, V> entries, long timeout, @NonNull TimeUnit timeUnit);
+
+    /**
+     * Puts non-expired caches in bulk.
+     *
+     * @param entries cache keys and values must not be null
+     */
+    void putAll(@NonNull Map<K, V> entries);
+
+    /**
+     * Deletes keys in bulk.
+     *
+     * @param keys cache keys must not be null
+     */
+    void deleteAll(@NonNull Collection<K> keys);
+
+    /**
+     * Iterates over the entries whose keys start with the prefix. Entries are fetched in batches
+     * rather than all at once, and entries changed during the iteration may be missed.
+     *
+     * @param prefix key prefix must not be null, empty prefix matches all keys
+     * @param consumer entry consumer must not be null
+     */
+    void scan(@NonNull String prefix, @NonNull BiConsumer<K, V> consumer);
+
     /**
      * Returns a view of the entries stored in this cache as a none thread-safe map.
      * Modifications made to the map do not directly affect the cache.
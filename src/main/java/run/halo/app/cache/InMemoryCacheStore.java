@@ -1,16 +1,20 @@
 package run.halo.app.cache;
 
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
+import run.halo.app.utils.DateUtils;
 
 /**
  * In-memory cache store.
@@ -98,6 +102,36 @@ public class InMemoryCacheStore extends AbstractStringCacheStore {
         log.debug("Removed key: [{}]", key);
     }
 
+    @Override
+    void putAllInternal(@NonNull Map<String, CacheWrapper<String>> cacheWrappers) {
+        Assert.notNull(cacheWrappers, "Cache wrappers must not be null");
+
+        CACHE_CONTAINER.putAll(cacheWrappers);
+        log.debug("Put caches: {}", cacheWrappers.keySet());
+    }
+
+    @Override
+    public void deleteAll(@NonNull Collection<String> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        keys.forEach(CACHE_CONTAINER::remove);
+        log.debug("Removed keys: {}", keys);
+    }
+
+    @Override
+    public void scan(@NonNull String prefix, @NonNull BiConsumer<String, String> consumer) {
+        Assert.notNull(prefix, "Key prefix must not be null");
+        Assert.notNull(consumer, "Entry consumer must not be null");
+
+        CACHE_CONTAINER.forEach((key, cacheWrapper) -> {
+            if (key.startsWith(prefix)
+                && (cacheWrapper.getExpireAt() == null
+                || !cacheWrapper.getExpireAt().before(DateUtils.now()))) {
+                consumer.accept(key, cacheWrapper.getData());
+            }
+        });
+    }
+
     @Override
     public LinkedHashMap<String, String> toMap() {
         LinkedHashMap<String, String> map = new LinkedHashMap<>();
@@ -1,15 +1,20 @@
 package run.halo.app.cache;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
@@ -20,14 +25,18 @@ import org.iq80.leveldb.Options;
 import org.iq80.leveldb.WriteBatch;
 import org.iq80.leveldb.impl.Iq80DBFactory;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 import run.halo.app.config.properties.HaloProperties;
-import run.halo.app.utils.JsonUtils;
 
 /**
  * level-db cache store
  * Create by Pencilso on 2020/1/9 7:20 下午
+ *
+ * <p>Values are stored as binary records: a version byte, the expiration timestamp in
+ * milliseconds (0 if never expired) and the UTF-8 encoded data. Keys with expiration are also
+ * indexed by expiration time, so the cleaner only visits expired keys. Records in the former
+ * JSON format are converted on read and once on start up.
  */
 @Slf4j
 public class LevelCacheStore extends AbstractStringCacheStore {
@@ -36,6 +45,36 @@ public class LevelCacheStore extends AbstractStringCacheStore {
      */
     private static final long PERIOD = 60 * 1000;
 
+    /**
+     * Version byte of binary records. Former JSON records start with '{'.
+     */
+    private static final byte RECORD_VERSION = 1;
+
+    private static final int RECORD_HEADER_LENGTH = 1 + Long.BYTES;
+
+    /**
+     * Internal keys start with a NUL byte, so they sort before and never clash with cache keys.
+     */
+    private static final byte INTERNAL_KEY_MARKER = 0;
+
+    /**
+     * Prefix of expiry index keys, which are followed by the big-endian expiration timestamp and
+     * the cache key.
+     */
+    private static final byte[] EXPIRY_INDEX_PREFIX = {INTERNAL_KEY_MARKER, 'e', 'x', 'p', 0};
+
+    /**
+     * Key of the record format version of the whole store.
+     */
+    private static final byte[] FORMAT_KEY = {INTERNAL_KEY_MARKER, 'f', 'm', 't', 0};
+
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+
+    /**
+     * Lock of read-modify-write operations.
+     */
+    private static final Object WRITE_LOCK = new Object();
+
     private static DB LEVEL_DB;
 
     private Timer timer;
@@ -57,6 +96,7 @@ public class LevelCacheStore extends AbstractStringCacheStore {
             options.createIfMissing(true);
             //open leveldb store folder
             LEVEL_DB = factory.open(folder, options);
+            migrateJsonRecords();
             timer = new Timer();
             timer.scheduleAtFixedRate(new CacheExpiryCleaner(), 0, PERIOD);
         } catch (Exception ex) {
@@ -81,13 +121,19 @@ public class LevelCacheStore extends AbstractStringCacheStore {
     @NonNull
     Optional<CacheWrapper<String>> getInternal(@NonNull String key) {
         Assert.hasText(key, "Cache key must not be blank");
-        byte[] bytes = LEVEL_DB.get(stringToBytes(key));
-        if (bytes != null) {
-            String valueJson = bytesToString(bytes);
-            return StringUtils.isEmpty(valueJson) ? Optional.empty() :
-                jsonToCacheWrapper(valueJson);
+        byte[] keyBytes = stringToBytes(key);
+        byte[] bytes = LEVEL_DB.get(keyBytes);
+        if (bytes == null) {
+            return Optional.empty();
+        }
+        if (isBinaryRecord(bytes)) {
+            return Optional.of(decodeRecord(bytes));
         }
-        return Optional.empty();
+
+        // Convert the former JSON record
+        Optional<CacheWrapper<String>> cacheWrapper = jsonToCacheWrapper(bytesToString(bytes));
+        cacheWrapper.ifPresent(wrapper -> migrateRecord(keyBytes, bytes, wrapper));
+        return cacheWrapper;
     }
 
     @Override
@@ -99,41 +145,282 @@ public class LevelCacheStore extends AbstractStringCacheStore {
     Boolean putInternalIfAbsent(@NonNull String key, @NonNull CacheWrapper<String> cacheWrapper) {
         Assert.hasText(key, "Cache key must not be blank");
         Assert.notNull(cacheWrapper, "Cache wrapper must not be null");
-        try {
-            LEVEL_DB.put(
-                stringToBytes(key),
-                stringToBytes(JsonUtils.objectToJson(cacheWrapper))
-            );
-            return true;
-        } catch (JsonProcessingException e) {
-            log.warn("Put cache fail json2object key: [{}] value:[{}]", key, cacheWrapper);
+        synchronized (WRITE_LOCK) {
+            writeInBatch(writeBatch -> putRecord(writeBatch, stringToBytes(key), cacheWrapper));
         }
         log.debug("Cache key: [{}], original cache wrapper: [{}]", key, cacheWrapper);
-        return false;
+        return true;
+    }
+
+    @Override
+    void putAllInternal(@NonNull Map<String, CacheWrapper<String>> cacheWrappers) {
+        Assert.notNull(cacheWrappers, "Cache wrappers must not be null");
+
+        synchronized (WRITE_LOCK) {
+            writeInBatch(writeBatch -> cacheWrappers.forEach((key, cacheWrapper) -> {
+                Assert.hasText(key, "Cache key must not be blank");
+                putRecord(writeBatch, stringToBytes(key), cacheWrapper);
+            }));
+        }
     }
 
     @Override
     public void delete(@NonNull String key) {
-        LEVEL_DB.delete(stringToBytes(key));
+        synchronized (WRITE_LOCK) {
+            writeInBatch(writeBatch -> deleteRecord(writeBatch, stringToBytes(key)));
+        }
         log.debug("cache remove key: [{}]", key);
     }
 
+    @Override
+    public void deleteAll(@NonNull Collection<String> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        synchronized (WRITE_LOCK) {
+            writeInBatch(writeBatch ->
+                keys.forEach(key -> deleteRecord(writeBatch, stringToBytes(key))));
+        }
+        log.debug("cache remove keys: {}", keys);
+    }
+
+    @Override
+    public void scan(@NonNull String prefix, @NonNull BiConsumer<String, String> consumer) {
+        Assert.notNull(prefix, "Key prefix must not be null");
+        Assert.notNull(consumer, "Entry consumer must not be null");
+
+        byte[] prefixBytes = stringToBytes(prefix);
+        long currentTimeMillis = System.currentTimeMillis();
+        // Keys are sorted, so seek to the prefix and stop at the first key without it
+        try (DBIterator iterator = LEVEL_DB.iterator()) {
+            iterator.seek(prefixBytes);
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> next = iterator.next();
+                if (!startsWith(next.getKey(), prefixBytes)) {
+                    break;
+                }
+                if (isInternalKey(next.getKey())) {
+                    continue;
+                }
+                decode(next.getValue())
+                    .filter(cacheWrapper -> cacheWrapper.getExpireAt() == null
+                        || cacheWrapper.getExpireAt().getTime() >= currentTimeMillis)
+                    .ifPresent(cacheWrapper ->
+                        consumer.accept(bytesToString(next.getKey()), cacheWrapper.getData()));
+            }
+        } catch (IOException e) {
+            log.error("close leveldb iterator error ", e);
+        }
+    }
+
     @Override
     public LinkedHashMap<String, String> toMap() {
         LinkedHashMap<String, String> map = new LinkedHashMap<>();
         LEVEL_DB.forEach(entry -> {
-            String key = bytesToString(entry.getKey());
-            String valueJson = bytesToString(entry.getValue());
-            Optional<CacheWrapper<String>> cacheWrapperOptional = jsonToCacheWrapper(valueJson);
-            if (cacheWrapperOptional.isPresent()) {
-                map.put(key, cacheWrapperOptional.get().getData());
-            } else {
-                map.put(key, null);
+            if (isInternalKey(entry.getKey())) {
+                return;
             }
+            String key = bytesToString(entry.getKey());
+            map.put(key, decode(entry.getValue()).map(CacheWrapper::getData).orElse(null));
         });
         return map;
     }
 
+    /**
+     * Removes expired records by the expiry index.
+     *
+     * @return number of removed records
+     */
+    int cleanExpired() {
+        long currentTimeMillis = System.currentTimeMillis();
+        int count = 0;
+        synchronized (WRITE_LOCK) {
+            try (DBIterator iterator = LEVEL_DB.iterator();
+                 WriteBatch writeBatch = LEVEL_DB.createWriteBatch()) {
+                iterator.seek(EXPIRY_INDEX_PREFIX);
+                while (iterator.hasNext()) {
+                    byte[] indexKey = iterator.next().getKey();
+                    if (!startsWith(indexKey, EXPIRY_INDEX_PREFIX)) {
+                        break;
+                    }
+                    long expireAt =
+                        ByteBuffer.wrap(indexKey, EXPIRY_INDEX_PREFIX.length, Long.BYTES)
+                            .getLong();
+                    if (expireAt > currentTimeMillis) {
+                        // The rest are not expired yet
+                        break;
+                    }
+
+                    byte[] key = Arrays.copyOfRange(indexKey,
+                        EXPIRY_INDEX_PREFIX.length + Long.BYTES, indexKey.length);
+                    byte[] bytes = LEVEL_DB.get(key);
+                    if (bytes != null && isBinaryRecord(bytes)
+                        && readExpireAt(bytes) == expireAt) {
+                        writeBatch.delete(key);
+                        log.debug("deleted the cache: [{}] for expiration", bytesToString(key));
+                    }
+                    writeBatch.delete(indexKey);
+                    count++;
+                }
+                if (count > 0) {
+                    LEVEL_DB.write(writeBatch);
+                }
+            } catch (IOException e) {
+                log.error("close leveldb iterator error ", e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Converts all former JSON records into binary records once.
+     */
+    private void migrateJsonRecords() throws IOException {
+        byte[] format = LEVEL_DB.get(FORMAT_KEY);
+        if (format != null && format.length > 0 && format[0] == RECORD_VERSION) {
+            return;
+        }
+
+        int migrated = 0;
+        synchronized (WRITE_LOCK) {
+            try (DBIterator iterator = LEVEL_DB.iterator()) {
+                WriteBatch writeBatch = LEVEL_DB.createWriteBatch();
+                int batchSize = 0;
+                long currentTimeMillis = System.currentTimeMillis();
+                while (iterator.hasNext()) {
+                    Map.Entry<byte[], byte[]> next = iterator.next();
+                    if (isInternalKey(next.getKey()) || isBinaryRecord(next.getValue())) {
+                        continue;
+                    }
+                    Optional<CacheWrapper<String>> cacheWrapper =
+                        jsonToCacheWrapper(bytesToString(next.getValue()));
+                    if (cacheWrapper.isEmpty()) {
+                        continue;
+                    }
+
+                    CacheWrapper<String> wrapper = cacheWrapper.get();
+                    if (wrapper.getExpireAt() != null
+                        && wrapper.getExpireAt().getTime() < currentTimeMillis) {
+                        writeBatch.delete(next.getKey());
+                    } else {
+                        putRecord(writeBatch, next.getKey(), wrapper);
+                    }
+                    migrated++;
+                    if (++batchSize >= MIGRATION_BATCH_SIZE) {
+                        LEVEL_DB.write(writeBatch);
+                        writeBatch.close();
+                        writeBatch = LEVEL_DB.createWriteBatch();
+                        batchSize = 0;
+                    }
+                }
+                writeBatch.put(FORMAT_KEY, new byte[] {RECORD_VERSION});
+                LEVEL_DB.write(writeBatch);
+                writeBatch.close();
+            }
+        }
+        log.info("Converted {} leveldb cache records into binary format", migrated);
+    }
+
+    private void migrateRecord(byte[] key, byte[] jsonBytes, CacheWrapper<String> cacheWrapper) {
+        synchronized (WRITE_LOCK) {
+            // Skip if the record was changed in the meantime
+            if (Arrays.equals(jsonBytes, LEVEL_DB.get(key))) {
+                writeInBatch(writeBatch -> putRecord(writeBatch, key, cacheWrapper));
+            }
+        }
+    }
+
+    /**
+     * Puts the record and its expiry index entry, and removes the index entry of the previous
+     * record. Must be called with the write lock held.
+     */
+    private void putRecord(WriteBatch writeBatch, byte[] key, CacheWrapper<String> cacheWrapper) {
+        deleteExpiryIndex(writeBatch, key, LEVEL_DB.get(key));
+        writeBatch.put(key, encodeRecord(cacheWrapper));
+        if (cacheWrapper.getExpireAt() != null) {
+            writeBatch.put(buildExpiryIndexKey(cacheWrapper.getExpireAt().getTime(), key),
+                new byte[0]);
+        }
+    }
+
+    /**
+     * Deletes the record and its expiry index entry. Must be called with the write lock held.
+     */
+    private void deleteRecord(WriteBatch writeBatch, byte[] key) {
+        deleteExpiryIndex(writeBatch, key, LEVEL_DB.get(key));
+        writeBatch.delete(key);
+    }
+
+    private void deleteExpiryIndex(WriteBatch writeBatch, byte[] key, @Nullable byte[] bytes) {
+        if (bytes != null && isBinaryRecord(bytes)) {
+            long expireAt = readExpireAt(bytes);
+            if (expireAt > 0) {
+                writeBatch.delete(buildExpiryIndexKey(expireAt, key));
+            }
+        }
+    }
+
+    private void writeInBatch(Consumer<WriteBatch> writer) {
+        try (WriteBatch writeBatch = LEVEL_DB.createWriteBatch()) {
+            writer.accept(writeBatch);
+            LEVEL_DB.write(writeBatch);
+        } catch (IOException e) {
+            log.error("close leveldb write batch error ", e);
+        }
+    }
+
+    @NonNull
+    private Optional<CacheWrapper<String>> decode(@NonNull byte[] bytes) {
+        return isBinaryRecord(bytes) ? Optional.of(decodeRecord(bytes)) :
+            jsonToCacheWrapper(bytesToString(bytes));
+    }
+
+    private static byte[] encodeRecord(CacheWrapper<String> cacheWrapper) {
+        byte[] data = cacheWrapper.getData() == null ? new byte[0] :
+            cacheWrapper.getData().getBytes(StandardCharsets.UTF_8);
+        long expireAt =
+            cacheWrapper.getExpireAt() == null ? 0L : cacheWrapper.getExpireAt().getTime();
+        return ByteBuffer.allocate(RECORD_HEADER_LENGTH + data.length)
+            .put(RECORD_VERSION)
+            .putLong(expireAt)
+            .put(data)
+            .array();
+    }
+
+    private static CacheWrapper<String> decodeRecord(byte[] bytes) {
+        CacheWrapper<String> cacheWrapper = new CacheWrapper<>();
+        long expireAt = readExpireAt(bytes);
+        if (expireAt > 0) {
+            cacheWrapper.setExpireAt(new Date(expireAt));
+        }
+        cacheWrapper.setData(new String(bytes, RECORD_HEADER_LENGTH,
+            bytes.length - RECORD_HEADER_LENGTH, StandardCharsets.UTF_8));
+        return cacheWrapper;
+    }
+
+    private static boolean isBinaryRecord(byte[] bytes) {
+        return bytes.length >= RECORD_HEADER_LENGTH && bytes[0] == RECORD_VERSION;
+    }
+
+    private static long readExpireAt(byte[] bytes) {
+        return ByteBuffer.wrap(bytes, 1, Long.BYTES).getLong();
+    }
+
+    private static byte[] buildExpiryIndexKey(long expireAt, byte[] key) {
+        return ByteBuffer.allocate(EXPIRY_INDEX_PREFIX.length + Long.BYTES + key.length)
+            .put(EXPIRY_INDEX_PREFIX)
+            .putLong(expireAt)
+            .put(key)
+            .array();
+    }
+
+    private static boolean isInternalKey(byte[] key) {
+        return key.length > 0 && key[0] == INTERNAL_KEY_MARKER;
+    }
+
+    private boolean startsWith(byte[] bytes, byte[] prefix) {
+        return bytes.length >= prefix.length
+            && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+    }
 
     private byte[] stringToBytes(String str) {
         return str.getBytes(Charset.defaultCharset());
@@ -147,36 +434,10 @@ public class LevelCacheStore extends AbstractStringCacheStore {
 
         @Override
         public void run() {
-            //batch
-            WriteBatch writeBatch = LEVEL_DB.createWriteBatch();
-
-            DBIterator iterator = LEVEL_DB.iterator();
-            long currentTimeMillis = System.currentTimeMillis();
-            while (iterator.hasNext()) {
-                Map.Entry<byte[], byte[]> next = iterator.next();
-                if (next.getKey() == null || next.getValue() == null) {
-                    continue;
-                }
-
-                String valueJson = bytesToString(next.getValue());
-                Optional<CacheWrapper<String>> stringCacheWrapper =
-                    StringUtils.isEmpty(valueJson) ? Optional.empty() :
-                        jsonToCacheWrapper(valueJson);
-                if (stringCacheWrapper.isPresent()) {
-                    //get expireat time
-                    long expireAtTime = stringCacheWrapper.map(CacheWrapper::getExpireAt)
-                        .map(Date::getTime)
-                        .orElse(0L);
-                    //if expire
-                    if (expireAtTime != 0 && currentTimeMillis > expireAtTime) {
-                        writeBatch.delete(next.getKey());
-                        log.debug("deleted the cache: [{}] for expiration",
-                            bytesToString(next.getKey()));
-                    }
-                }
+            int count = cleanExpired();
+            if (count > 0) {
+                log.debug("Cleaned {} expired cache index entries", count);
             }
-            LEVEL_DB.write(writeBatch);
         }
     }
 }
-
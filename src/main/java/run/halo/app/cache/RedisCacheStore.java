@@ -1,40 +1,239 @@
 package run.halo.app.cache;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.CollectionUtils;
+import run.halo.app.utils.DateUtils;
 
 /**
  * redis cache store.
  *
+ * <p>If a near cache is enabled, values read from redis are kept in a bounded in-process cache
+ * (L1) in front of redis (L2). Every write deletes the L1 entry locally and broadcasts the key
+ * over redis pub/sub, so that other nodes drop their L1 entries as well. L1 entries never
+ * outlive the redis expiration of the key, and expire after the near cache ttl anyway in case
+ * an invalidation message is lost.
+ *
  * @author luoxx
  */
 @Slf4j
-public class RedisCacheStore extends AbstractStringCacheStore {
+public class RedisCacheStore extends AbstractStringCacheStore implements MessageListener {
 
     private static final String REDIS_PREFIX = "halo.redis.";
 
+    /**
+     * Pub/sub channel of near cache invalidation, messages are formatted as
+     * {@code <node id> <key>[\n<key>...]}.
+     */
+    static final String INVALIDATION_CHANNEL = REDIS_PREFIX + "invalidation";
+
+    /**
+     * Number of keys fetched per SCAN and MGET.
+     */
+    private static final int SCAN_BATCH_SIZE = 200;
+
     private final StringRedisTemplate redisTemplate;
 
+    /**
+     * Near cache, or null if disabled. Values with null data are cached misses.
+     */
+    @Nullable
+    private final Cache<String, CacheWrapper<String>> nearCache;
+
+    @Nullable
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Increased on every invalidation, loads racing with an invalidation are not cached.
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
     public RedisCacheStore(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, 0, Duration.ZERO);
+    }
+
+    /**
+     * Creates a redis cache store with a near cache.
+     *
+     * @param redisTemplate redis template must not be null
+     * @param nearCacheSize maximum size of the near cache, 0 to disable the near cache
+     * @param nearCacheTtl ttl of near cache entries must not be null
+     */
+    public RedisCacheStore(StringRedisTemplate redisTemplate, long nearCacheSize,
+        @NonNull Duration nearCacheTtl) {
+        Assert.notNull(redisTemplate, "Redis template must not be null");
+        Assert.notNull(nearCacheTtl, "Near cache ttl must not be null");
+
         this.redisTemplate = redisTemplate;
+        if (nearCacheSize <= 0) {
+            this.nearCache = null;
+            this.listenerContainer = null;
+            return;
+        }
+
+        this.nearCache = CacheBuilder.newBuilder()
+            .maximumSize(nearCacheSize)
+            .expireAfterWrite(nearCacheTtl)
+            .build();
+
+        RedisConnectionFactory connectionFactory = redisTemplate.getRequiredConnectionFactory();
+        this.listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        log.info("Enabled redis near cache, node id: [{}], size: [{}], ttl: [{}]", nodeId,
+            nearCacheSize, nearCacheTtl);
     }
 
     @Override
     @NonNull
     Optional<CacheWrapper<String>> getInternal(@NonNull String key) {
         Assert.hasText(key, "Cache key must not be blank");
-        String value = redisTemplate.opsForValue().get(REDIS_PREFIX + key);
-        CacheWrapper<String> cacheStore = new CacheWrapper<>();
-        cacheStore.setData(value);
-        return Optional.of(cacheStore);
+
+        if (nearCache == null) {
+            String value = redisTemplate.opsForValue().get(REDIS_PREFIX + key);
+            CacheWrapper<String> cacheStore = new CacheWrapper<>();
+            cacheStore.setData(value);
+            return Optional.of(cacheStore);
+        }
+
+        CacheWrapper<String> cacheWrapper = nearCache.getIfPresent(key);
+        if (cacheWrapper != null && !isExpired(cacheWrapper)) {
+            return Optional.of(cacheWrapper);
+        }
+
+        return Optional.of(loadIntoNearCache(Collections.singletonList(key)).get(key));
+    }
+
+    @Override
+    @NonNull
+    Map<String, CacheWrapper<String>> getAllInternal(@NonNull Collection<String> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        Map<String, CacheWrapper<String>> cacheWrappers = new LinkedHashMap<>();
+        List<String> keysToLoad = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Assert.hasText(key, "Cache key must not be blank");
+            CacheWrapper<String> cacheWrapper =
+                nearCache == null ? null : nearCache.getIfPresent(key);
+            if (cacheWrapper == null || isExpired(cacheWrapper)) {
+                keysToLoad.add(key);
+            } else if (cacheWrapper.getData() != null) {
+                cacheWrappers.put(key, cacheWrapper);
+            }
+        }
+        if (keysToLoad.isEmpty()) {
+            return cacheWrappers;
+        }
+
+        if (nearCache != null) {
+            loadIntoNearCache(keysToLoad).forEach((key, cacheWrapper) -> {
+                if (cacheWrapper.getData() != null) {
+                    cacheWrappers.put(key, cacheWrapper);
+                }
+            });
+            return cacheWrappers;
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(prefixKeys(keysToLoad));
+        if (values == null) {
+            return cacheWrappers;
+        }
+        for (int i = 0; i < keysToLoad.size(); i++) {
+            if (values.get(i) != null) {
+                CacheWrapper<String> cacheWrapper = new CacheWrapper<>();
+                cacheWrapper.setData(values.get(i));
+                cacheWrappers.put(keysToLoad.get(i), cacheWrapper);
+            }
+        }
+        return cacheWrappers;
+    }
+
+    /**
+     * Loads values with their expiration from redis into near cache.
+     *
+     * @param keys keys must not be empty
+     * @return loaded cache wrappers of all keys, with null data for absent keys
+     */
+    @NonNull
+    private Map<String, CacheWrapper<String>> loadIntoNearCache(@NonNull List<String> keys) {
+        Assert.state(nearCache != null, "Near cache must be enabled");
+
+        long invalidationCountBeforeLoad = invalidationCount.get();
+        Map<String, CacheWrapper<String>> cacheWrappers = loadWithExpiration(keys);
+        nearCache.putAll(cacheWrappers);
+        if (invalidationCount.get() != invalidationCountBeforeLoad) {
+            // The loaded values may be stale
+            nearCache.invalidateAll(keys);
+        }
+        return cacheWrappers;
+    }
+
+    /**
+     * Loads values and their expiration from redis in one round-trip.
+     */
+    @NonNull
+    private Map<String, CacheWrapper<String>> loadWithExpiration(@NonNull List<String> keys) {
+        List<Object> results =
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    byte[] rawKey = serialize(REDIS_PREFIX + key);
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                }
+                return null;
+            });
+
+        Map<String, CacheWrapper<String>> cacheWrappers = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < keys.size(); i++) {
+            CacheWrapper<String> cacheWrapper = new CacheWrapper<>();
+            cacheWrapper.setData((String) results.get(i * 2));
+            Long ttl = (Long) results.get(i * 2 + 1);
+            if (ttl != null && ttl > 0) {
+                cacheWrapper.setExpireAt(new Date(now + ttl));
+            }
+            cacheWrappers.put(keys.get(i), cacheWrapper);
+        }
+        return cacheWrappers;
+    }
+
+    private boolean isExpired(@NonNull CacheWrapper<String> cacheWrapper) {
+        return cacheWrapper.getExpireAt() != null
+            && cacheWrapper.getExpireAt().before(DateUtils.now());
     }
 
     @Override
@@ -48,6 +247,7 @@ public class RedisCacheStore extends AbstractStringCacheStore {
         } else {
             redisTemplate.opsForValue().set(REDIS_PREFIX + key, cacheWrapper.getData());
         }
+        invalidate(key);
 
         log.debug("Put [{}] cache : [{}]", key, cacheWrapper);
     }
@@ -59,48 +259,208 @@ public class RedisCacheStore extends AbstractStringCacheStore {
 
         log.debug("Preparing to put key: [{}], value: [{}]", key, cacheWrapper);
 
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+        Boolean absent;
+        if (cacheWrapper.getExpireAt() != null) {
+            long expire = cacheWrapper.getExpireAt().getTime() - System.currentTimeMillis();
+            absent = redisTemplate.opsForValue().setIfAbsent(
+                REDIS_PREFIX + key, cacheWrapper.getData(), expire, TimeUnit.MILLISECONDS);
+        } else {
+            absent = redisTemplate.opsForValue()
+                .setIfAbsent(REDIS_PREFIX + key, cacheWrapper.getData());
+        }
+
+        if (!Boolean.TRUE.equals(absent)) {
             log.warn("Failed to put the cache, the key: [{}] has been present already", key);
-            return false;
+            return absent;
         }
 
-        putInternal(key, cacheWrapper);
+        // Drop cached misses
+        invalidate(key);
         log.debug("Put successfully");
         return true;
-
     }
 
     @Override
     public Optional<String> get(String key) {
         Assert.notNull(key, "Cache key must not be blank");
 
-        return getInternal(key).map(CacheWrapper::getData);
+        long start = System.nanoTime();
+        return recordGet(start, getInternal(key).map(CacheWrapper::getData));
     }
 
     @Override
     public void delete(@NonNull String key) {
         Assert.hasText(key, "Cache key must not be blank");
 
-        if (Boolean.TRUE.equals(redisTemplate.hasKey(REDIS_PREFIX + key))) {
-            redisTemplate.delete(REDIS_PREFIX + key);
+        if (Boolean.TRUE.equals(redisTemplate.delete(REDIS_PREFIX + key))) {
             log.debug("Removed key: [{}]", key);
         }
+        invalidate(key);
+    }
+
+    @Override
+    void putAllInternal(@NonNull Map<String, CacheWrapper<String>> cacheWrappers) {
+        Assert.notNull(cacheWrappers, "Cache wrappers must not be null");
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            cacheWrappers.forEach((key, cacheWrapper) -> {
+                Assert.hasText(key, "Cache key must not be blank");
+                byte[] rawKey = serialize(REDIS_PREFIX + key);
+                byte[] rawValue = serialize(cacheWrapper.getData());
+                if (cacheWrapper.getExpireAt() != null) {
+                    long expire =
+                        cacheWrapper.getExpireAt().getTime() - System.currentTimeMillis();
+                    connection.stringCommands().pSetEx(rawKey, Math.max(expire, 1L), rawValue);
+                } else {
+                    connection.stringCommands().set(rawKey, rawValue);
+                }
+            });
+            return null;
+        });
+        invalidate(cacheWrappers.keySet());
+
+        log.debug("Put caches: {}", cacheWrappers.keySet());
+    }
+
+    @Override
+    public void deleteAll(@NonNull Collection<String> keys) {
+        Assert.notNull(keys, "Cache keys must not be null");
+
+        if (keys.isEmpty()) {
+            return;
+        }
+        Long deleted = redisTemplate.delete(prefixKeys(keys));
+        invalidate(keys);
+        log.debug("Removed {} of keys: {}", deleted, keys);
+    }
+
+    @Override
+    public void scan(@NonNull String prefix, @NonNull BiConsumer<String, String> consumer) {
+        Assert.notNull(prefix, "Key prefix must not be null");
+        Assert.notNull(consumer, "Entry consumer must not be null");
+
+        ScanOptions scanOptions = ScanOptions.scanOptions()
+            .match(escapeGlob(REDIS_PREFIX + prefix) + "*")
+            .count(SCAN_BATCH_SIZE)
+            .build();
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            Cursor<byte[]> cursor = connection.keyCommands().scan(scanOptions);
+            try {
+                List<byte[]> rawKeys = new ArrayList<>(SCAN_BATCH_SIZE);
+                while (cursor.hasNext()) {
+                    rawKeys.add(cursor.next());
+                    if (rawKeys.size() >= SCAN_BATCH_SIZE) {
+                        consumeEntries(connection, rawKeys, consumer);
+                        rawKeys.clear();
+                    }
+                }
+                consumeEntries(connection, rawKeys, consumer);
+            } finally {
+                closeQuietly(cursor);
+            }
+            return null;
+        });
+    }
+
+    private void consumeEntries(@NonNull RedisConnection connection,
+        @NonNull List<byte[]> rawKeys, @NonNull BiConsumer<String, String> consumer) {
+        if (rawKeys.isEmpty()) {
+            return;
+        }
+        List<byte[]> rawValues =
+            connection.stringCommands().mGet(rawKeys.toArray(new byte[0][]));
+        if (rawValues == null) {
+            return;
+        }
+        for (int i = 0; i < rawKeys.size(); i++) {
+            String value = deserialize(rawValues.get(i));
+            if (value != null) {
+                String key = deserialize(rawKeys.get(i));
+                consumer.accept(StringUtils.removeStart(key, REDIS_PREFIX), value);
+            }
+        }
     }
 
     @Override
     public LinkedHashMap<String, String> toMap() {
         LinkedHashMap<String, String> map = new LinkedHashMap<>();
-        Set<String> keys = redisTemplate.keys(REDIS_PREFIX + "*");
-        if (CollectionUtils.isEmpty(keys)) {
-            return map;
-        }
-        keys.forEach(key -> map.put(key, redisTemplate.opsForValue().get(key)));
+        scan("", (key, value) -> map.put(REDIS_PREFIX + key, value));
         return map;
     }
 
+    private void invalidate(@NonNull String key) {
+        invalidate(Collections.singletonList(key));
+    }
+
+    /**
+     * Drops the near cache entries of the keys on this node and broadcasts the invalidation to
+     * other nodes.
+     *
+     * @param keys cache keys must not be null
+     */
+    private void invalidate(@NonNull Collection<String> keys) {
+        if (nearCache == null || keys.isEmpty()) {
+            return;
+        }
+        invalidateLocally(keys);
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+            nodeId + " " + String.join(StringUtils.LF, keys));
+    }
+
+    private void invalidateLocally(@NonNull Collection<String> keys) {
+        invalidationCount.incrementAndGet();
+        if (nearCache != null) {
+            nearCache.invalidateAll(keys);
+        }
+    }
+
+    @NonNull
+    private List<String> prefixKeys(@NonNull Collection<String> keys) {
+        return keys.stream().map(key -> REDIS_PREFIX + key).collect(Collectors.toList());
+    }
+
+    private byte[] serialize(@Nullable String value) {
+        return redisTemplate.getStringSerializer().serialize(value);
+    }
+
+    @Nullable
+    private String deserialize(@Nullable byte[] bytes) {
+        return redisTemplate.getStringSerializer().deserialize(bytes);
+    }
+
+    /**
+     * Escapes special characters of redis glob-style patterns.
+     */
+    private static String escapeGlob(String value) {
+        return value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+
+    private static void closeQuietly(Cursor<?> cursor) {
+        try {
+            cursor.close();
+        } catch (Exception e) {
+            log.warn("Failed to close redis cursor", e);
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = deserialize(message.getBody());
+        String sourceNodeId = StringUtils.substringBefore(body, " ");
+        if (body == null || nodeId.equals(sourceNodeId)) {
+            return;
+        }
+
+        List<String> keys = List.of(StringUtils.substringAfter(body, " ").split(StringUtils.LF));
+        invalidateLocally(keys);
+        log.debug("Invalidated near cache keys: {} from node: [{}]", keys, sourceNodeId);
+    }
+
     @PreDestroy
-    public void preDestroy() {
-        //do nothing
+    public void preDestroy() throws Exception {
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
     }
 
 }
@@ -5,7 +5,9 @@ import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cache.annotation.EnableCaching;
@@ -25,6 +27,7 @@ import run.halo.app.cache.LevelCacheStore;
 import run.halo.app.cache.RedisCacheStore;
 import run.halo.app.config.attributeconverter.AttributeConverterAutoGenerateConfiguration;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.QueryCountInspector;
 import run.halo.app.repository.base.BaseRepositoryImpl;
 import run.halo.app.utils.HttpClientUtils;
 
@@ -70,6 +73,12 @@ public class HaloConfiguration {
         return httpsRestTemplate;
     }
 
+    @Bean
+    HibernatePropertiesCustomizer queryCountHibernatePropertiesCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+            new QueryCountInspector());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     AbstractStringCacheStore stringCacheStore() {
@@ -79,7 +88,8 @@ public class HaloConfiguration {
                 stringCacheStore = new LevelCacheStore(this.haloProperties);
                 break;
             case "redis":
-                stringCacheStore = new RedisCacheStore(stringRedisTemplate);
+                stringCacheStore = new RedisCacheStore(stringRedisTemplate,
+                    haloProperties.getRedisNearCacheSize(), haloProperties.getRedisNearCacheTtl());
                 break;
             case "memory":
             default:
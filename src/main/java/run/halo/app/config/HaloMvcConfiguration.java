@@ -19,6 +19,7 @@ import kr.pe.kwonnam.freemarker.inheritance.PutDirective;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.fileupload.FileUploadBase;
 import org.apache.commons.fileupload.servlet.ServletRequestContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -27,6 +28,8 @@ import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jackson.JsonComponentModule;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileUrlResource;
@@ -43,13 +46,19 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.core.PageJacksonSerializer;
+import run.halo.app.core.ThemeAssetCacheInterceptor;
 import run.halo.app.core.freemarker.inheritance.ThemeExtendsDirective;
+import run.halo.app.core.metrics.TemplateRenderInterceptor;
 import run.halo.app.factory.StringToEnumConverterFactory;
 import run.halo.app.security.resolver.AuthenticationArgumentResolver;
 
@@ -66,18 +75,27 @@ import run.halo.app.security.resolver.AuthenticationArgumentResolver;
 public class HaloMvcConfiguration implements WebMvcConfigurer {
 
     private static final String FILE_PROTOCOL = "file:///";
+
+    /**
+     * Name of the cache holding resolved theme resources and their versioned urls.
+     */
+    public static final String THEME_RESOURCE_CACHE_NAME = "themeResourceChainCache";
+
     private final PageableHandlerMethodArgumentResolver pageableResolver;
     private final SortHandlerMethodArgumentResolver sortResolver;
     private final HaloProperties haloProperties;
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
     @Value("${springfox.documentation.swagger-ui.base-url:}")
     private String swaggerBaseUrl;
 
     public HaloMvcConfiguration(PageableHandlerMethodArgumentResolver pageableResolver,
         SortHandlerMethodArgumentResolver sortResolver,
-        HaloProperties haloProperties) {
+        HaloProperties haloProperties,
+        ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
         this.pageableResolver = pageableResolver;
         this.sortResolver = sortResolver;
         this.haloProperties = haloProperties;
+        this.resourceUrlProvider = resourceUrlProvider;
     }
 
     // @Bean
@@ -127,6 +145,16 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
         return resolver;
     }
 
+    /**
+     * Cache of the theme resource chain, cleared when themes are updated.
+     *
+     * @return theme resource chain cache
+     */
+    @Bean(THEME_RESOURCE_CACHE_NAME)
+    Cache themeResourceChainCache() {
+        return new ConcurrentMapCache(THEME_RESOURCE_CACHE_NAME);
+    }
+
     @Bean
     WebMvcRegistrations webMvcRegistrations() {
         return new WebMvcRegistrations() {
@@ -160,6 +188,13 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
         resolvers.add(sortResolver);
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ThemeAssetCacheInterceptor(resourceUrlProvider))
+            .addPathPatterns("/themes/**");
+        registry.addInterceptor(new TemplateRenderInterceptor());
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // for backward compatibility
@@ -182,8 +217,12 @@ public class HaloMvcConfiguration implements WebMvcConfigurer {
             .addResourceLocations(workDir + "static/");
 
         // register /themes/** resource handler.
+        // cache headers are applied by ThemeAssetCacheInterceptor
         registry.addResourceHandler("/themes/**")
-            .addResourceLocations(workDir + "templates/themes/");
+            .addResourceLocations(workDir + "templates/themes/")
+            .resourceChain(true, themeResourceChainCache())
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
 
         String uploadUrlPattern =
             ensureBoth(haloProperties.getUploadUrlPrefix(), URL_SEPARATOR) + "**";
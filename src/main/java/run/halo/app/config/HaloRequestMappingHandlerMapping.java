@@ -6,20 +6,30 @@ import static run.halo.app.utils.HaloUtils.ensureBoth;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 import javax.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationListener;
-import org.springframework.util.AntPathMatcher;
-import org.springframework.util.PathMatcher;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.event.StaticStorageChangedEvent;
+import run.halo.app.utils.PathPatternIndex;
 
 /**
+ * Request mapping handler mapping skipping the paths served as resources.
+ *
+ * <p>The skipped paths are kept in an immutable black list, which is replaced as a whole when
+ * the static storage changes, so that request threads never see it half built. A file at the
+ * root of the static storage covers its own path and a directory covers all paths below it, so
+ * they are indexed by name and looked up by the first path segment without any pattern
+ * matching. Only the fixed patterns go through a {@link PathPatternIndex}.
+ *
  * @author ryanwang
  * @date 2020-03-24
  */
@@ -27,76 +37,119 @@ import run.halo.app.event.StaticStorageChangedEvent;
 public class HaloRequestMappingHandlerMapping extends RequestMappingHandlerMapping
     implements ApplicationListener<StaticStorageChangedEvent> {
 
-    private final Set<String> blackPatterns = new HashSet<>(16);
+    private final PathPatternIndex<Boolean> blackPatterns;
 
-    private final PathMatcher pathMatcher;
-
-    private final HaloProperties haloProperties;
+    private volatile StaticRoot staticRoot = StaticRoot.EMPTY;
 
     public HaloRequestMappingHandlerMapping(HaloProperties haloProperties) {
-        this.haloProperties = haloProperties;
-        this.initBlackPatterns();
-        pathMatcher = new AntPathMatcher();
+        this.blackPatterns = compileBlackPatterns(haloProperties);
     }
 
     @Override
     protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request)
         throws Exception {
         log.debug("Looking path: [{}]", lookupPath);
-        for (String blackPattern : blackPatterns) {
-            if (this.pathMatcher.match(blackPattern, lookupPath)) {
-                log.debug("Skipped path [{}] with pattern: [{}]", lookupPath, blackPattern);
-                return null;
-            }
+        if (isBlacklisted(lookupPath)) {
+            log.debug("Skipped path [{}]", lookupPath);
+            return null;
         }
         return super.lookupHandlerMethod(lookupPath, request);
     }
 
-    private void initBlackPatterns() {
+    /**
+     * Checks whether the given path is served as a resource rather than by a handler.
+     *
+     * @param lookupPath lookup path
+     * @return true if the path should be skipped, false otherwise
+     */
+    boolean isBlacklisted(String lookupPath) {
+        return staticRoot.contains(lookupPath) || blackPatterns.matches(lookupPath);
+    }
+
+    private static PathPatternIndex<Boolean> compileBlackPatterns(HaloProperties haloProperties) {
         String uploadUrlPattern =
             ensureBoth(haloProperties.getUploadUrlPrefix(), URL_SEPARATOR) + "**";
         String adminPathPattern =
             ensureBoth(haloProperties.getAdminPath(), URL_SEPARATOR) + "?*/**";
 
-        blackPatterns.add("/themes/**");
-        blackPatterns.add("/js/**");
-        blackPatterns.add("/images/**");
-        blackPatterns.add("/fonts/**");
-        blackPatterns.add("/css/**");
-        blackPatterns.add("/assets/**");
-        blackPatterns.add("/color.less");
-        blackPatterns.add("/swagger-ui.html");
-        blackPatterns.add("/swagger-ui/**");
-        blackPatterns.add("/csrf");
-        blackPatterns.add("/webjars/**");
-        blackPatterns.add(uploadUrlPattern);
-        blackPatterns.add(adminPathPattern);
+        Map<String, Boolean> blackPatterns = new LinkedHashMap<>(16);
+        blackPatterns.put("/themes/**", true);
+        blackPatterns.put("/js/**", true);
+        blackPatterns.put("/images/**", true);
+        blackPatterns.put("/fonts/**", true);
+        blackPatterns.put("/css/**", true);
+        blackPatterns.put("/assets/**", true);
+        blackPatterns.put("/color.less", true);
+        blackPatterns.put("/swagger-ui.html", true);
+        blackPatterns.put("/swagger-ui/**", true);
+        blackPatterns.put("/csrf", true);
+        blackPatterns.put("/webjars/**", true);
+        blackPatterns.put(uploadUrlPattern, true);
+        blackPatterns.put(adminPathPattern, true);
+        return PathPatternIndex.compile(blackPatterns);
     }
 
     @Override
     public void onApplicationEvent(StaticStorageChangedEvent event) {
         Path staticPath = event.getStaticPath();
+        Set<String> files = new HashSet<>();
+        Set<String> directories = new HashSet<>();
         try (Stream<Path> rootPathStream = Files.list(staticPath)) {
-            synchronized (this) {
-                blackPatterns.clear();
-                initBlackPatterns();
-                rootPathStream.forEach(rootPath -> {
-                        if (Files.isDirectory(rootPath)) {
-                            String directoryPattern = "/" + rootPath.getFileName().toString()
-                                + "/**";
-                            blackPatterns.add(directoryPattern);
-                            log.debug("Exclude for folder path pattern: [{}]", directoryPattern);
-                        } else {
-                            String pathPattern = "/" + rootPath.getFileName().toString();
-                            blackPatterns.add(pathPattern);
-                            log.debug("Exclude for file path pattern: [{}]", pathPattern);
-                        }
-                    }
-                );
-            }
+            rootPathStream.forEach(rootPath -> {
+                String name = rootPath.getFileName().toString();
+                if (Files.isDirectory(rootPath)) {
+                    directories.add(name);
+                    log.debug("Exclude for folder path: [/{}/**]", name);
+                } else {
+                    files.add(name);
+                    log.debug("Exclude for file path: [/{}]", name);
+                }
+            });
         } catch (IOException e) {
             log.error("Failed to refresh static directory mapping", e);
+            return;
         }
+        staticRoot = new StaticRoot(files, directories);
     }
 
+    /**
+     * Immutable index of the entries at the root of the static storage.
+     */
+    private static final class StaticRoot {
+
+        private static final StaticRoot EMPTY =
+            new StaticRoot(Collections.emptySet(), Collections.emptySet());
+
+        private final Set<String> files;
+
+        private final Set<String> directories;
+
+        private StaticRoot(Set<String> files, Set<String> directories) {
+            this.files = Collections.unmodifiableSet(files);
+            this.directories = Collections.unmodifiableSet(directories);
+        }
+
+        /**
+         * Checks whether the given path is a root file or lies in a root directory, the same way
+         * as matching it against {@code /<file>} and {@code /<directory>/**} patterns.
+         */
+        private boolean contains(String path) {
+            if (!path.startsWith(URL_SEPARATOR)) {
+                return false;
+            }
+            int start = 0;
+            while (path.startsWith(URL_SEPARATOR, start)) {
+                start++;
+            }
+            if (start == path.length()) {
+                return false;
+            }
+            int end = path.indexOf(URL_SEPARATOR, start);
+            if (end < 0) {
+                String name = path.substring(start);
+                return files.contains(name) || directories.contains(name);
+            }
+            return directories.contains(path.substring(start, end));
+        }
+    }
 }
@@ -76,4 +76,56 @@ public class HaloProperties {
      * level
      */
     private String cache = "memory";
+
+    /**
+     * Maximum size of the in-process near cache in front of redis cache store, 0 to disable it.
+     */
+    private long redisNearCacheSize = 10000;
+
+    /**
+     * Maximum time to live of near cache entries, in case of lost invalidation messages.
+     */
+    private Duration redisNearCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of operation logs buffered in memory before being written. When the buffer
+     * is full, the oldest buffered logs are dropped.
+     */
+    private int logBufferCapacity = 4096;
+
+    /**
+     * Maximum number of operation logs written in a single batch.
+     */
+    private int logBatchSize = 100;
+
+    /**
+     * Interval of writing buffered operation logs.
+     */
+    private Duration logFlushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Retention of operation logs, older logs will be deleted.
+     */
+    private Duration logRetention = Duration.ofDays(180);
+
+    /**
+     * Maximum number of operation logs kept in database, older logs will be deleted.
+     */
+    private int logMaxCount = 100000;
+
+    /**
+     * Maximum number of authenticated admin principals cached in process, 0 to disable it.
+     */
+    private long principalCacheSize = 256;
+
+    /**
+     * Time to live of cached principals, which bounds how long a token revoked on another
+     * instance keeps working on this one.
+     */
+    private Duration principalCacheTtl = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of ip addresses whose recent comments are tracked in process.
+     */
+    private long commentRateLimiterSize = 10000;
 }
@@ -4,6 +4,7 @@ import io.swagger.annotations.ApiOperation;
 import javax.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import run.halo.app.annotation.DisableOnCondition;
 import run.halo.app.cache.lock.CacheLock;
 import run.halo.app.model.dto.EnvironmentDTO;
@@ -26,6 +28,7 @@ import run.halo.app.model.support.BaseResponse;
 import run.halo.app.security.token.AuthToken;
 import run.halo.app.service.AdminService;
 import run.halo.app.service.OptionService;
+import run.halo.app.service.support.LogFileFollower;
 
 /**
  * Admin controller.
@@ -43,9 +46,13 @@ public class AdminController {
 
     private final OptionService optionService;
 
-    public AdminController(AdminService adminService, OptionService optionService) {
+    private final LogFileFollower logFileFollower;
+
+    public AdminController(AdminService adminService, OptionService optionService,
+        LogFileFollower logFileFollower) {
         this.adminService = adminService;
         this.optionService = optionService;
+        this.logFileFollower = logFileFollower;
     }
 
     @GetMapping(value = "/is_installed")
@@ -116,4 +123,12 @@ public class AdminController {
     public BaseResponse<String> getLogFiles(@RequestParam("lines") Long lines) {
         return BaseResponse.ok(HttpStatus.OK.getReasonPhrase(), adminService.getLogFiles(lines));
     }
+
+    @GetMapping(value = "halo/logfile/follow", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation("Follows halo log file, new lines are sent as server-sent events")
+    @DisableOnCondition
+    public SseEmitter followLogFile(
+        @RequestParam(value = "lines", defaultValue = "100") Long lines) {
+        return logFileFollower.follow(lines);
+    }
 }
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -36,9 +37,12 @@ import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.NotFoundException;
 import run.halo.app.model.dto.BackupDTO;
+import run.halo.app.model.dto.BackupJobDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.params.BackupParam;
 import run.halo.app.model.params.PostMarkdownParam;
 import run.halo.app.service.BackupService;
+import run.halo.app.service.support.WorkDirBackupExecutor;
 
 /**
  * Backup controller
@@ -93,6 +97,31 @@ public class BackupController {
         return backupService.backupWorkDirectory(options);
     }
 
+    @PostMapping("work-dir/jobs")
+    @ApiOperation("Starts a backup job of work directory")
+    @DisableOnCondition
+    public BackupJobDTO startBackupJob(@RequestBody @Valid BackupParam backupParam) {
+        return backupService.startWorkDirectoryBackup(backupParam);
+    }
+
+    @GetMapping("work-dir/jobs")
+    @ApiOperation("Lists recent backup jobs of work directory")
+    public List<BackupJobDTO> listBackupJobs() {
+        return backupService.listWorkDirectoryBackupJobs();
+    }
+
+    @GetMapping("work-dir/jobs/{jobId}")
+    @ApiOperation("Gets a backup job of work directory")
+    public BackupJobDTO getBackupJob(@PathVariable("jobId") String jobId) {
+        return backupService.getWorkDirectoryBackupJob(jobId);
+    }
+
+    @DeleteMapping("work-dir/jobs/{jobId}")
+    @ApiOperation("Cancels a backup job of work directory")
+    public BackupJobDTO cancelBackupJob(@PathVariable("jobId") String jobId) {
+        return backupService.cancelWorkDirectoryBackupJob(jobId);
+    }
+
     @GetMapping("work-dir/options")
     @ApiOperation("Gets items that can be backed up")
     public List<String> listBackupItems() throws IOException {
@@ -100,6 +129,7 @@ public class BackupController {
             .map(Path::getFileName)
             .filter(Objects::nonNull)
             .map(Path::toString)
+            .filter(item -> !WorkDirBackupExecutor.EXCLUDED_ITEMS.contains(item))
             .sorted()
             .collect(Collectors.toList());
     }
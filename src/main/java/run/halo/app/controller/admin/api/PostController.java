@@ -75,11 +75,12 @@ public class PostController {
         @PageableDefault(sort = {"topPriority", "createTime"}, direction = DESC) Pageable pageable,
         PostQuery postQuery,
         @RequestParam(value = "more", defaultValue = "true") Boolean more) {
-        Page<Post> postPage = postService.pageBy(postQuery, pageable);
         if (more) {
-            return postAssembler.convertToListVo(postPage);
+            return postAssembler.convertProjectionToListVo(
+                postService.pageListBy(postQuery, pageable));
         }
 
+        Page<Post> postPage = postService.pageBy(postQuery, pageable);
         return postAssembler.convertToSimple(postPage);
     }
 
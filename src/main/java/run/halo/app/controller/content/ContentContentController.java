@@ -46,6 +46,7 @@ import run.halo.app.service.PostService;
 import run.halo.app.service.SheetService;
 import run.halo.app.service.ThemeService;
 import run.halo.app.service.assembler.PostRenderAssembler;
+import run.halo.app.service.support.ContentRouteTable;
 
 /**
  * @author ryanwang
@@ -85,6 +86,8 @@ public class ContentContentController {
 
     private final ContentAuthenticationManager providerManager;
 
+    private final ContentRouteTable contentRouteTable;
+
     public ContentContentController(PostModel postModel,
         SheetModel sheetModel,
         CategoryModel categoryModel,
@@ -98,7 +101,8 @@ public class ContentContentController {
         CategoryService categoryService,
         ThemeService themeService,
         PostRenderAssembler postRenderAssembler,
-        ContentAuthenticationManager providerManager) {
+        ContentAuthenticationManager providerManager,
+        ContentRouteTable contentRouteTable) {
         this.postModel = postModel;
         this.sheetModel = sheetModel;
         this.categoryModel = categoryModel;
@@ -113,31 +117,34 @@ public class ContentContentController {
         this.themeService = themeService;
         this.postRenderAssembler = postRenderAssembler;
         this.providerManager = providerManager;
+        this.contentRouteTable = contentRouteTable;
     }
 
     @GetMapping("{prefix}")
     public String content(@PathVariable("prefix") String prefix,
         @RequestParam(value = "token", required = false) String token,
         Model model) {
-        if (optionService.getArchivesPrefix().equals(prefix)) {
-            return postModel.archives(1, model);
-        }
-        if (optionService.getCategoriesPrefix().equals(prefix)) {
-            return categoryModel.list(model);
-        }
-        if (optionService.getTagsPrefix().equals(prefix)) {
-            return tagModel.list(model);
-        }
-        if (optionService.getJournalsPrefix().equals(prefix)) {
-            return journalModel.list(1, model);
-        }
-        if (optionService.getPhotosPrefix().equals(prefix)) {
-            return photoModel.list(1, model);
-        }
-        if (optionService.getLinksPrefix().equals(prefix)) {
-            return linkModel.list(model);
+        ContentRouteTable.Route route = contentRouteTable.getRoute(prefix);
+        if (route != null) {
+            switch (route) {
+                case ARCHIVES:
+                    return postModel.archives(1, model);
+                case CATEGORIES:
+                    return categoryModel.list(model);
+                case TAGS:
+                    return tagModel.list(model);
+                case JOURNALS:
+                    return journalModel.list(1, model);
+                case PHOTOS:
+                    return photoModel.list(1, model);
+                case LINKS:
+                    return linkModel.list(model);
+                default:
+                    break;
+            }
         }
-        if (optionService.getSheetPermalinkType().equals(SheetPermalinkType.ROOT)) {
+        if (contentRouteTable.getSheetPermalinkType().equals(SheetPermalinkType.ROOT)
+            && contentRouteTable.containsSheet(prefix)) {
             Sheet sheet = sheetService.getBySlug(prefix);
             return sheetModel.content(sheet, token, model);
         }
@@ -150,15 +157,16 @@ public class ContentContentController {
         @PathVariable(value = "page") Integer page,
         HttpServletRequest request,
         Model model) {
-        if (optionService.getArchivesPrefix().equals(prefix)) {
+        ContentRouteTable.Route route = contentRouteTable.getRoute(prefix);
+        if (route == ContentRouteTable.Route.ARCHIVES) {
             return postModel.archives(page, model);
         }
 
-        if (optionService.getJournalsPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.JOURNALS) {
             return journalModel.list(page, model);
         }
 
-        if (optionService.getPhotosPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.PHOTOS) {
             return photoModel.list(page, model);
         }
 
@@ -170,35 +178,37 @@ public class ContentContentController {
         @PathVariable("slug") String slug,
         @RequestParam(value = "token", required = false) String token,
         Model model) {
-        PostPermalinkType postPermalinkType = optionService.getPostPermalinkType();
-        if (optionService.getArchivesPrefix().equals(prefix)) {
-            if (postPermalinkType.equals(PostPermalinkType.DEFAULT)) {
+        PostPermalinkType postPermalinkType = contentRouteTable.getPostPermalinkType();
+        ContentRouteTable.Route route = contentRouteTable.getRoute(prefix);
+        if (route == ContentRouteTable.Route.ARCHIVES) {
+            if (postPermalinkType.equals(PostPermalinkType.DEFAULT)
+                && contentRouteTable.containsPost(slug)) {
                 Post post = postService.getBySlug(slug);
                 return postModel.content(post, token, model);
             }
             if (postPermalinkType.equals(PostPermalinkType.ID_SLUG)
-                && StringUtils.isNumeric(slug)) {
+                && StringUtils.isNumeric(slug)
+                && contentRouteTable.containsPost(Integer.parseInt(slug))) {
                 Post post = postService.getById(Integer.parseInt(slug));
                 return postModel.content(post, token, model);
             }
         }
 
-        if (optionService.getCategoriesPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.CATEGORIES) {
             return categoryModel.listPost(model, slug, 1);
         }
 
-        if (optionService.getTagsPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.TAGS) {
             return tagModel.listPost(model, slug, 1);
         }
 
         if (postPermalinkType.equals(PostPermalinkType.YEAR) && prefix.length() == 4
-            && StringUtils.isNumeric(prefix)) {
+            && StringUtils.isNumeric(prefix) && contentRouteTable.containsPost(slug)) {
             Post post = postService.getBy(Integer.parseInt(prefix), slug);
             return postModel.content(post, token, model);
         }
 
-        if (optionService.getSheetPermalinkType().equals(SheetPermalinkType.SECONDARY)
-            && optionService.getSheetPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.SHEETS && contentRouteTable.containsSheet(slug)) {
             Sheet sheet = sheetService.getBySlug(slug);
             return sheetModel.content(sheet, token, model);
         }
@@ -211,11 +221,12 @@ public class ContentContentController {
         @PathVariable("slug") String slug,
         @PathVariable("page") Integer page,
         Model model) {
-        if (optionService.getCategoriesPrefix().equals(prefix)) {
+        ContentRouteTable.Route route = contentRouteTable.getRoute(prefix);
+        if (route == ContentRouteTable.Route.CATEGORIES) {
             return categoryModel.listPost(model, slug, page);
         }
 
-        if (optionService.getTagsPrefix().equals(prefix)) {
+        if (route == ContentRouteTable.Route.TAGS) {
             return tagModel.listPost(model, slug, page);
         }
 
@@ -228,8 +239,9 @@ public class ContentContentController {
         @PathVariable("slug") String slug,
         @RequestParam(value = "token", required = false) String token,
         Model model) {
-        PostPermalinkType postPermalinkType = optionService.getPostPermalinkType();
-        if (postPermalinkType.equals(PostPermalinkType.DATE)) {
+        PostPermalinkType postPermalinkType = contentRouteTable.getPostPermalinkType();
+        if (postPermalinkType.equals(PostPermalinkType.DATE)
+            && contentRouteTable.containsPost(slug)) {
             Post post = postService.getBy(year, month, slug);
             return postModel.content(post, token, model);
         }
@@ -244,8 +256,9 @@ public class ContentContentController {
         @PathVariable("slug") String slug,
         @RequestParam(value = "token", required = false) String token,
         Model model) {
-        PostPermalinkType postPermalinkType = optionService.getPostPermalinkType();
-        if (postPermalinkType.equals(PostPermalinkType.DAY)) {
+        PostPermalinkType postPermalinkType = contentRouteTable.getPostPermalinkType();
+        if (postPermalinkType.equals(PostPermalinkType.DAY)
+            && contentRouteTable.containsPost(slug)) {
             Post post = postService.getBy(year, month, day, slug);
             return postModel.content(post, token, model);
         }
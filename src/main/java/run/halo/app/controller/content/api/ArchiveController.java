@@ -1,6 +1,9 @@
 package run.halo.app.controller.content.api;
 
 import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,4 +36,14 @@ public class ArchiveController {
     public List<ArchiveMonthVO> listMonthArchives() {
         return postService.listMonthArchives();
     }
+
+    @GetMapping("years/page")
+    public Page<ArchiveYearVO> pageYearArchives(@PageableDefault Pageable pageable) {
+        return postService.pageYearArchives(pageable);
+    }
+
+    @GetMapping("months/page")
+    public Page<ArchiveMonthVO> pageMonthArchives(@PageableDefault Pageable pageable) {
+        return postService.pageMonthArchives(pageable);
+    }
 }
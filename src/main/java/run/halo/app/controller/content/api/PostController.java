@@ -41,6 +41,7 @@ import run.halo.app.model.vo.PostListVO;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostService;
+import run.halo.app.service.PostTagService;
 import run.halo.app.service.assembler.PostRenderAssembler;
 import run.halo.app.service.assembler.comment.PostCommentRenderAssembler;
 
@@ -68,17 +69,20 @@ public class PostController {
 
     private final PostAuthentication postAuthentication;
 
+    private final PostTagService postTagService;
+
     public PostController(PostService postService,
         PostCommentRenderAssembler postCommentRenderAssembler,
         PostCommentService postCommentService,
         OptionService optionService, PostRenderAssembler postRenderAssembler,
-        PostAuthentication postAuthentication) {
+        PostAuthentication postAuthentication, PostTagService postTagService) {
         this.postService = postService;
         this.postCommentRenderAssembler = postCommentRenderAssembler;
         this.postCommentService = postCommentService;
         this.optionService = optionService;
         this.postRenderAssembler = postRenderAssembler;
         this.postAuthentication = postAuthentication;
+        this.postTagService = postTagService;
     }
 
     //CS304 issue for https://github.com/halo-dev/halo/issues/1351
@@ -189,6 +193,14 @@ public class PostController {
         return postRenderAssembler.convertToDetailVo(nextPost);
     }
 
+    @GetMapping("{postId:\\d+}/related")
+    @ApiOperation("Lists related posts by shared tags")
+    public List<PostListVO> listRelatedPosts(@PathVariable("postId") Integer postId,
+        @RequestParam(value = "top", required = false, defaultValue = "5") int top) {
+        checkAuthenticate(postId);
+        return postRenderAssembler.convertToListVo(postTagService.listRelatedPosts(postId, top));
+    }
+
     @GetMapping("{postId:\\d+}/comments/top_view")
     public Page<CommentWithHasChildrenVO> listTopComments(@PathVariable("postId") Integer postId,
         @RequestParam(name = "page", required = false, defaultValue = "0") int page,
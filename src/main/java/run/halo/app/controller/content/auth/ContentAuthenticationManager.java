@@ -8,6 +8,7 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import run.halo.app.event.category.CategoryUpdatedEvent;
+import run.halo.app.event.post.PostRemovedEvent;
 import run.halo.app.event.post.PostUpdatedEvent;
 import run.halo.app.exception.AuthenticationException;
 import run.halo.app.exception.NotFoundException;
@@ -76,6 +77,11 @@ public class ContentAuthenticationManager {
         }
     }
 
+    @EventListener(PostRemovedEvent.class)
+    public void postRemovedListener(PostRemovedEvent event) {
+        event.getPostIds().forEach(postAuthentication::clearByResourceId);
+    }
+
     private PostAuthentication authenticatePost(ContentAuthenticationRequest authRequest) {
         Post post = postService.getById(authRequest.getId());
         if (StringUtils.isNotBlank(post.getPassword())) {
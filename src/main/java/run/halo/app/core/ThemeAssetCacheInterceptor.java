@@ -0,0 +1,79 @@
+package run.halo.app.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Cache headers for theme assets.
+ *
+ * <p>Content-hash versioned urls (see {@code themeAsset} in templates) are cached for a year as
+ * immutable. Plain urls must be revalidated and are answered with {@code 304 Not Modified}
+ * when the {@code ETag} (the content hash) still matches.
+ */
+public class ThemeAssetCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * Matches the md5 version appended by
+     * {@link org.springframework.web.servlet.resource.ContentVersionStrategy}.
+     */
+    private static final Pattern VERSION_PATTERN =
+        Pattern.compile("-([0-9a-f]{32})(\\.[^./]+)?$");
+
+    private static final String VERSIONED_CACHE_CONTROL =
+        CacheControl.maxAge(365L, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
+    private static final String REVALIDATE_CACHE_CONTROL =
+        CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    public ThemeAssetCacheInterceptor(ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
+        this.resourceUrlProvider = resourceUrlProvider;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())
+            && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+
+        String lookupPath = UrlPathHelper.defaultInstance.getLookupPathForRequest(request);
+        if (VERSION_PATTERN.matcher(lookupPath).find()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, VERSIONED_CACHE_CONTROL);
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE_CACHE_CONTROL);
+
+        ResourceUrlProvider urlProvider = resourceUrlProvider.getIfAvailable();
+        if (urlProvider == null) {
+            return true;
+        }
+        // the versioned url is cached by the resource chain, so this is cheap
+        String versionedPath = urlProvider.getForLookupPath(lookupPath);
+        if (versionedPath == null) {
+            return true;
+        }
+        Matcher matcher = VERSION_PATTERN.matcher(versionedPath);
+        if (!matcher.find()) {
+            return true;
+        }
+
+        String etag = "W/\"" + matcher.group(1) + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
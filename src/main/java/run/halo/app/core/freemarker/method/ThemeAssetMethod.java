@@ -0,0 +1,54 @@
+package run.halo.app.core.freemarker.method;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateMethodModelEx;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import run.halo.app.service.ClientOptionService;
+import run.halo.app.service.ThemeService;
+
+/**
+ * Freemarker template method resolving content-hash versioned urls of theme assets.
+ *
+ * <p>Usage: {@code ${themeAsset('source/css/style.css')}} will be resolved to
+ * {@code /themes/{theme}/source/css/style-{md5}.css}, which can be cached forever.
+ */
+@Component
+public class ThemeAssetMethod implements TemplateMethodModelEx {
+
+    private final ResourceUrlProvider resourceUrlProvider;
+
+    private final ThemeService themeService;
+
+    private final ClientOptionService optionService;
+
+    public ThemeAssetMethod(Configuration configuration,
+        ResourceUrlProvider resourceUrlProvider,
+        ThemeService themeService,
+        ClientOptionService optionService) {
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.themeService = themeService;
+        this.optionService = optionService;
+        configuration.setSharedVariable("themeAsset", this);
+    }
+
+    @Override
+    public Object exec(List arguments) throws TemplateModelException {
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof TemplateScalarModel)) {
+            throw new TemplateModelException("Wrong arguments! 1 string argument is needed");
+        }
+        String assetPath = ((TemplateScalarModel) arguments.get(0)).getAsString();
+
+        String lookupPath = "/themes/" + themeService.getActivatedTheme().getFolderName()
+            + "/" + StringUtils.removeStart(assetPath, "/");
+        String versionedPath = resourceUrlProvider.getForLookupPath(lookupPath);
+
+        String basePath = optionService.isEnabledAbsolutePath() ? optionService.getBlogBaseUrl()
+            : "";
+        return basePath + (versionedPath == null ? lookupPath : versionedPath);
+    }
+}
@@ -5,6 +5,7 @@ import static org.springframework.data.domain.Sort.Direction.ASC;
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.ObjectWrapper;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -12,6 +13,7 @@ import freemarker.template.TemplateModel;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import run.halo.app.model.entity.Category;
@@ -28,43 +30,50 @@ import run.halo.app.service.PostCategoryService;
 @Component
 public class CategoryTagDirective implements TemplateDirectiveModel {
 
+    private static final String DIRECTIVE_NAME = "categoryTag";
+
+    private static final ObjectWrapper OBJECT_WRAPPER =
+        new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25).build();
+
     private final CategoryService categoryService;
 
     private final PostCategoryService postCategoryService;
 
+    private final TemplateDirectiveCache directiveCache;
+
     public CategoryTagDirective(Configuration configuration,
         CategoryService categoryService,
-        PostCategoryService postCategoryService) {
+        PostCategoryService postCategoryService,
+        TemplateDirectiveCache directiveCache) {
         this.categoryService = categoryService;
         this.postCategoryService = postCategoryService;
-        configuration.setSharedVariable("categoryTag", this);
+        this.directiveCache = directiveCache;
+        configuration.setSharedVariable(DIRECTIVE_NAME, this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
-
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "list":
-                    env.setVariable("categories", builder.build().wrap(postCategoryService
+                    env.setVariable("categories", wrap(params, () -> postCategoryService
                         .listCategoryWithPostCountDto(Sort.by(ASC, "priority"))));
                     break;
                 case "tree":
-                    env.setVariable("categories", builder.build()
-                        .wrap(categoryService.listAsTree(Sort.by(ASC, "priority"))));
+                    env.setVariable("categories", wrap(params,
+                        () -> categoryService.listAsTree(Sort.by(ASC, "priority"))));
                     break;
                 case "listByPostId":
                     Integer postId = Integer.parseInt(params.get("postId").toString());
-                    List<Category> categories = postCategoryService.listCategoriesBy(postId);
-                    env.setVariable("categories",
-                        builder.build().wrap(categoryService.convertTo(categories)));
+                    env.setVariable("categories", wrap(params, () -> {
+                        List<Category> categories = postCategoryService.listCategoriesBy(postId);
+                        return categoryService.convertTo(categories);
+                    }));
                     break;
                 case "count":
-                    env.setVariable("count", builder.build().wrap(categoryService.count()));
+                    env.setVariable("count", wrap(params, categoryService::count));
                     break;
                 default:
                     break;
@@ -72,4 +81,9 @@ public class CategoryTagDirective implements TemplateDirectiveModel {
         }
         body.render(env.getOut());
     }
+
+    private TemplateModel wrap(Map params, Supplier<Object> loader)
+        throws TemplateException {
+        return OBJECT_WRAPPER.wrap(directiveCache.get(DIRECTIVE_NAME, params, loader));
+    }
 }
@@ -3,6 +3,7 @@ package run.halo.app.core.freemarker.tag;
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.ObjectWrapper;
 import freemarker.template.TemplateDirectiveBody;
 import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
@@ -10,24 +11,46 @@ import freemarker.template.TemplateModel;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.support.HaloConst;
+import run.halo.app.model.vo.ArchiveMonthVO;
+import run.halo.app.model.vo.ArchiveYearVO;
+import run.halo.app.service.CategoryService;
+import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCategoryService;
 import run.halo.app.service.PostService;
 import run.halo.app.service.PostTagService;
+import run.halo.app.service.TagService;
 import run.halo.app.service.assembler.PostRenderAssembler;
 
 /**
  * Freemarker custom tag of post.
  *
+ * <p>The {@code listBy*} methods accept either {@code top} (the first n posts) or {@code page}
+ * (1-based, with an optional {@code size}) to bound the result. With {@code page}, {@code posts}
+ * is a page of posts instead of a list. {@code listRelated} lists the published posts sharing the
+ * most tags with {@code postId}, the first {@code top} (5 by default) of them.
+ *
  * @author ryanwang
  * @date 2018-04-26
  */
 @Component
 public class PostTagDirective implements TemplateDirectiveModel {
 
+    private static final String DIRECTIVE_NAME = "postTag";
+
+    private static final int RELATED_POSTS_TOP = 5;
+
+    private static final ObjectWrapper OBJECT_WRAPPER =
+        new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25).build();
+
     private final PostService postService;
 
     private final PostRenderAssembler postRenderAssembler;
@@ -36,76 +59,98 @@ public class PostTagDirective implements TemplateDirectiveModel {
 
     private final PostCategoryService postCategoryService;
 
+    private final TagService tagService;
+
+    private final CategoryService categoryService;
+
+    private final OptionService optionService;
+
+    private final TemplateDirectiveCache directiveCache;
+
     public PostTagDirective(Configuration configuration,
         PostService postService,
         PostRenderAssembler postRenderAssembler,
         PostTagService postTagService,
-        PostCategoryService postCategoryService) {
+        PostCategoryService postCategoryService,
+        TagService tagService,
+        CategoryService categoryService,
+        OptionService optionService,
+        TemplateDirectiveCache directiveCache) {
         this.postService = postService;
         this.postRenderAssembler = postRenderAssembler;
         this.postTagService = postTagService;
         this.postCategoryService = postCategoryService;
-        configuration.setSharedVariable("postTag", this);
+        this.tagService = tagService;
+        this.categoryService = categoryService;
+        this.optionService = optionService;
+        this.directiveCache = directiveCache;
+        configuration.setSharedVariable(DIRECTIVE_NAME, this);
     }
 
     @Override
     public void execute(Environment env, Map params, TemplateModel[] loopVars,
         TemplateDirectiveBody body) throws TemplateException, IOException {
-        final DefaultObjectWrapperBuilder builder =
-            new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_25);
         if (params.containsKey(HaloConst.METHOD_KEY)) {
             String method = params.get(HaloConst.METHOD_KEY).toString();
             switch (method) {
                 case "latest":
                     int top = Integer.parseInt(params.get("top").toString());
-                    env.setVariable("posts", builder.build()
-                        .wrap(postRenderAssembler.convertToListVo(postService.listLatest(top))));
+                    env.setVariable("posts", wrap(params,
+                        () -> postRenderAssembler.convertToListVo(postService.listLatest(top))));
                     break;
                 case "count":
                     env.setVariable("count",
-                        builder.build().wrap(postService.countByStatus(PostStatus.PUBLISHED)));
+                        wrap(params, () -> postService.countByStatus(PostStatus.PUBLISHED)));
                     break;
                 case "archiveYear":
-                    env.setVariable("archives",
-                        builder.build().wrap(postService.listYearArchives()));
+                    env.setVariable("archives", wrap(params, () -> listYearArchives(params)));
                     break;
                 case "archiveMonth":
-                    env.setVariable("archives",
-                        builder.build().wrap(postService.listMonthArchives()));
+                    env.setVariable("archives", wrap(params, () -> listMonthArchives(params)));
                     break;
                 case "archive":
                     String type = params.get("type").toString();
-                    env.setVariable("archives", builder.build().wrap(
-                        "year".equals(type) ? postService.listYearArchives() :
-                            postService.listMonthArchives()));
+                    env.setVariable("archives", wrap(params,
+                        () -> "year".equals(type) ? listYearArchives(params) :
+                            listMonthArchives(params)));
                     break;
                 case "listByCategoryId":
                     Integer categoryId = Integer.parseInt(params.get("categoryId").toString());
-                    env.setVariable("posts", builder.build()
-                        .wrap(postRenderAssembler.convertToListVo(
-                            postCategoryService.listPostBy(categoryId, PostStatus.PUBLISHED))));
+                    env.setVariable("posts", wrap(params, () -> listPosts(params,
+                        pageable -> postCategoryService.pagePostBy(categoryId,
+                            PostStatus.PUBLISHED, pageable),
+                        () -> postCategoryService.listPostBy(categoryId, PostStatus.PUBLISHED))));
                     break;
                 case "listByCategorySlug":
                     String categorySlug = params.get("categorySlug").toString();
-                    List<Post> posts =
-                        postCategoryService.listPostBy(categorySlug, PostStatus.PUBLISHED);
-                    env.setVariable("posts",
-                        builder.build().wrap(postRenderAssembler.convertToListVo(posts)));
+                    env.setVariable("posts", wrap(params, () -> listPosts(params,
+                        pageable -> postCategoryService.pagePostBy(
+                            categoryService.getBySlugOfNonNull(categorySlug).getId(),
+                            PostStatus.PUBLISHED, pageable),
+                        () -> postCategoryService.listPostBy(categorySlug,
+                            PostStatus.PUBLISHED))));
                     break;
                 case "listByTagId":
                     Integer tagId = Integer.parseInt(params.get("tagId").toString());
-                    env.setVariable("posts", builder.build().wrap(postRenderAssembler
-                        .convertToListVo(postTagService.listPostsBy(tagId, PostStatus.PUBLISHED))));
+                    env.setVariable("posts", wrap(params, () -> listPosts(params,
+                        pageable -> postTagService.pagePostsBy(tagId, PostStatus.PUBLISHED,
+                            pageable),
+                        () -> postTagService.listPostsBy(tagId, PostStatus.PUBLISHED))));
                     break;
                 case "listByTagSlug":
                     String tagSlug = params.get("tagSlug").toString();
-                    env.setVariable("posts", builder.build()
-                        .wrap(
-                            postRenderAssembler.convertToListVo(
-                                postTagService.listPostsBy(tagSlug, PostStatus.PUBLISHED)
-                            )
-                        )
-                    );
+                    env.setVariable("posts", wrap(params, () -> listPosts(params,
+                        pageable -> postTagService.pagePostsBy(
+                            tagService.getBySlugOfNonNull(tagSlug).getId(),
+                            PostStatus.PUBLISHED, pageable),
+                        () -> postTagService.listPostsBy(tagSlug, PostStatus.PUBLISHED))));
+                    break;
+                case "listRelated":
+                    Integer postId = Integer.parseInt(params.get("postId").toString());
+                    int relatedTop = params.containsKey("top")
+                        ? Integer.parseInt(params.get("top").toString()) : RELATED_POSTS_TOP;
+                    env.setVariable("posts", wrap(params, () -> postRenderAssembler
+                        .convertToListVo(postTagService.listRelatedPosts(postId, relatedTop))));
                     break;
                 default:
                     break;
@@ -114,4 +159,52 @@ public class PostTagDirective implements TemplateDirectiveModel {
         body.render(env.getOut());
     }
 
+    private TemplateModel wrap(Map params, Supplier<Object> loader)
+        throws TemplateException {
+        return OBJECT_WRAPPER.wrap(directiveCache.get(DIRECTIVE_NAME, params, loader));
+    }
+
+    /**
+     * Lists posts bounded by {@code top} or {@code page} parameters if present.
+     */
+    private Object listPosts(Map params, Function<Pageable, Page<Post>> pager,
+        Supplier<List<Post>> lister) {
+        if (params.containsKey("page")) {
+            int page = Integer.parseInt(params.get("page").toString());
+            int size = params.containsKey("size")
+                ? Integer.parseInt(params.get("size").toString())
+                : optionService.getPostPageSize();
+            Pageable pageable =
+                PageRequest.of(Math.max(page - 1, 0), size, postService.getPostDefaultSort());
+            return postRenderAssembler.convertToListVo(pager.apply(pageable));
+        }
+        if (params.containsKey("top")) {
+            int top = Integer.parseInt(params.get("top").toString());
+            Pageable pageable = PageRequest.of(0, top, postService.getPostDefaultSort());
+            return postRenderAssembler.convertToListVo(pager.apply(pageable).getContent());
+        }
+        return postRenderAssembler.convertToListVo(lister.get());
+    }
+
+    /**
+     * Lists year archives, limited to the latest {@code top} years if present.
+     */
+    private List<ArchiveYearVO> listYearArchives(Map params) {
+        if (!params.containsKey("top")) {
+            return postService.listYearArchives();
+        }
+        int top = Integer.parseInt(params.get("top").toString());
+        return postService.pageYearArchives(PageRequest.of(0, top)).getContent();
+    }
+
+    /**
+     * Lists month archives, limited to the latest {@code top} months if present.
+     */
+    private List<ArchiveMonthVO> listMonthArchives(Map params) {
+        if (!params.containsKey("top")) {
+            return postService.listMonthArchives();
+        }
+        int top = Integer.parseInt(params.get("top").toString());
+        return postService.pageMonthArchives(PageRequest.of(0, top)).getContent();
+    }
 }
@@ -0,0 +1,186 @@
+package run.halo.app.core.freemarker.tag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import run.halo.app.event.category.CategoryUpdatedEvent;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.event.theme.ThemeUpdatedEvent;
+import run.halo.app.utils.JsonUtils;
+
+/**
+ * Result cache of template directives, keyed by directive name and parameters.
+ *
+ * <p>All entries are dropped on content events. Changes without events (tag edits, visits and
+ * comment counts) are picked up when entries expire.
+ *
+ * <p>Results are kept as serialized snapshots and every read gets its own copy, so that a
+ * template or assembler mutating a result never affects other requests. Null results are not
+ * cached.
+ */
+@Slf4j
+@Component
+public class TemplateDirectiveCache {
+
+    private static final long MAXIMUM_SIZE = 512L;
+
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private static final ObjectMapper SNAPSHOT_MAPPER = JsonUtils.createDefaultJsonMapper()
+        // copy every property, including those hidden from api responses
+        .configure(MapperFeature.USE_ANNOTATIONS, false);
+
+    private final Cache<String, Snapshot> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .expireAfterWrite(EXPIRE_AFTER_WRITE)
+        .build();
+
+    /**
+     * Gets a copy of the cached result of the directive or loads it.
+     *
+     * @param directive directive name must not be null
+     * @param params directive parameters must not be null
+     * @param loader result loader
+     * @return directive result or null if the loader returned null
+     */
+    @Nullable
+    public Object get(@NonNull String directive, @NonNull Map<?, ?> params,
+        @NonNull Supplier<Object> loader) {
+        String key = buildKey(directive, params);
+        Snapshot snapshot = cache.getIfPresent(key);
+        if (snapshot != null) {
+            return snapshot.restore();
+        }
+
+        Object result = loader.get();
+        if (result == null) {
+            return null;
+        }
+        try {
+            cache.put(key, Snapshot.of(result));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to cache result of template directive {}", key, e);
+        }
+        // the loaded result is not shared, so it can be handed out as is
+        return result;
+    }
+    /**
+     * Clears all cached results.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        log.debug("Cleared template directive cache");
+    }
+
+    @EventListener({PostUpdatedEvent.class, PostRemovedEvent.class, CategoryUpdatedEvent.class,
+        OptionUpdatedEvent.class, ThemeUpdatedEvent.class})
+    public void onContentUpdated() {
+        clear();
+    }
+
+    private String buildKey(String directive, Map<?, ?> params) {
+        // template models print their values
+        Map<String, String> sortedParams = new TreeMap<>();
+        params.forEach((key, value) -> sortedParams.put(String.valueOf(key), String.valueOf(value)));
+        return directive + sortedParams;
+    }
+
+    /**
+     * Serialized snapshot of a directive result.
+     */
+    private static class Snapshot {
+
+        @Nullable
+        private final Object value;
+
+        @Nullable
+        private final byte[] content;
+
+        @Nullable
+        private final JavaType contentType;
+
+        @Nullable
+        private final Pageable pageable;
+
+        private final long total;
+
+        private Snapshot(@Nullable Object value, @Nullable byte[] content,
+            @Nullable JavaType contentType, @Nullable Pageable pageable, long total) {
+            this.value = value;
+            this.content = content;
+            this.contentType = contentType;
+            this.pageable = pageable;
+            this.total = total;
+        }
+
+        static Snapshot of(@NonNull Object result) throws JsonProcessingException {
+            if (result instanceof Number || result instanceof CharSequence
+                || result instanceof Boolean) {
+                return new Snapshot(result, null, null, null, 0L);
+            }
+            if (result instanceof Page) {
+                Page<?> page = (Page<?>) result;
+                return new Snapshot(null, serialize(page.getContent()),
+                    typeOf(page.getContent()), page.getPageable(), page.getTotalElements());
+            }
+            return new Snapshot(null, serialize(result), typeOf(result), null, 0L);
+        }
+
+        @NonNull
+        Object restore() {
+            if (value != null) {
+                return value;
+            }
+            try {
+                Object restored = SNAPSHOT_MAPPER.readValue(content, contentType);
+                if (pageable != null) {
+                    return new PageImpl<>((List<?>) restored, pageable, total);
+                }
+                return restored;
+            } catch (IOException e) {
+                // serialized by the same mapper, never happens
+                throw new IllegalStateException("Failed to restore template directive result", e);
+            }
+        }
+
+        private static byte[] serialize(Object result) throws JsonProcessingException {
+            return SNAPSHOT_MAPPER.writeValueAsBytes(result);
+        }
+
+        private static JavaType typeOf(Object result) {
+            TypeFactory typeFactory = SNAPSHOT_MAPPER.getTypeFactory();
+            if (result instanceof Collection) {
+                // elements of directive results share the same type
+                Class<?> elementType = ((Collection<?>) result).stream()
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .<Class<?>>map(Object::getClass)
+                    .orElse(Object.class);
+                return typeFactory.constructCollectionType(List.class, elementType);
+            }
+            return typeFactory.constructType(result.getClass());
+        }
+    }
+}
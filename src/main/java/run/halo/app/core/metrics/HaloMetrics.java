@@ -0,0 +1,93 @@
+package run.halo.app.core.metrics;
+
+/**
+ * Names and tags of the meters registered by Halo.
+ *
+ * <p>Meters are registered to {@link io.micrometer.core.instrument.Metrics#globalRegistry},
+ * which Spring Boot backs with the application registry, so that the components creating them
+ * need no wiring and stay usable without a registry in tests. All names share the
+ * {@code halo.} prefix and are listed by the {@code metrics} actuator endpoint.
+ */
+public final class HaloMetrics {
+
+    /**
+     * Timer of cache store gets, tagged with {@link #TAG_CACHE} and {@link #TAG_RESULT}.
+     */
+    public static final String CACHE_GETS = "halo.cache.gets";
+
+    /**
+     * Timer of cache store bulk gets, tagged with {@link #TAG_CACHE}.
+     */
+    public static final String CACHE_BULK_GETS = "halo.cache.bulk.gets";
+
+    /**
+     * Timer of cache store puts, tagged with {@link #TAG_CACHE}.
+     */
+    public static final String CACHE_PUTS = "halo.cache.puts";
+
+    /**
+     * Timer of template rendering, tagged with {@link #TAG_TEMPLATE}.
+     */
+    public static final String TEMPLATE_RENDER = "halo.template.render";
+
+    /**
+     * Distribution of the number of sql statements per request, tagged with {@link #TAG_METHOD}
+     * and {@link #TAG_URI}.
+     */
+    public static final String HTTP_QUERIES = "halo.http.queries";
+
+    /**
+     * Gauge of tasks waiting in an executor, tagged with {@link #TAG_EXECUTOR}.
+     */
+    public static final String EXECUTOR_QUEUED = "halo.executor.queued";
+
+    /**
+     * Counter of tasks dropped by an executor, tagged with {@link #TAG_EXECUTOR}.
+     */
+    public static final String EXECUTOR_DROPPED = "halo.executor.dropped";
+
+    /**
+     * Timer of attachment uploads, tagged with {@link #TAG_TYPE}.
+     */
+    public static final String ATTACHMENT_UPLOAD = "halo.attachment.upload";
+
+    /**
+     * Timer of thumbnail generation, tagged with {@link #TAG_RESULT}.
+     */
+    public static final String ATTACHMENT_THUMBNAIL = "halo.attachment.thumbnail";
+
+    /**
+     * Timer of the stages of markdown rendering, tagged with {@link #TAG_PIPELINE} and
+     * {@link #TAG_STAGE}.
+     */
+    public static final String MARKDOWN_STAGE = "halo.markdown.stage";
+
+    public static final String TAG_CACHE = "cache";
+
+    public static final String TAG_RESULT = "result";
+
+    public static final String TAG_TEMPLATE = "template";
+
+    public static final String TAG_METHOD = "method";
+
+    public static final String TAG_URI = "uri";
+
+    public static final String TAG_EXECUTOR = "executor";
+
+    public static final String TAG_TYPE = "type";
+
+    public static final String TAG_PIPELINE = "pipeline";
+
+    public static final String TAG_STAGE = "stage";
+
+    public static final String RESULT_HIT = "hit";
+
+    public static final String RESULT_MISS = "miss";
+
+    public static final String RESULT_SUCCESS = "success";
+
+    public static final String RESULT_FAILURE = "failure";
+
+    private HaloMetrics() {
+    }
+}
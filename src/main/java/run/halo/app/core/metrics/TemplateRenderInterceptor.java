@@ -0,0 +1,54 @@
+package run.halo.app.core.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.view.UrlBasedViewResolver;
+
+/**
+ * Records the time spent rendering each template, which is the time between the handler
+ * returning its view and the completion of the request.
+ */
+public class TemplateRenderInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE =
+        TemplateRenderInterceptor.class.getName() + ".START";
+
+    private static final String TEMPLATE_ATTRIBUTE =
+        TemplateRenderInterceptor.class.getName() + ".TEMPLATE";
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable ModelAndView modelAndView) {
+        if (modelAndView == null || modelAndView.getViewName() == null) {
+            return;
+        }
+        String viewName = modelAndView.getViewName();
+        if (viewName.startsWith(UrlBasedViewResolver.REDIRECT_URL_PREFIX)
+            || viewName.startsWith(UrlBasedViewResolver.FORWARD_URL_PREFIX)) {
+            // not a template, and the url would make the tag unbounded
+            return;
+        }
+        request.setAttribute(TEMPLATE_ATTRIBUTE, viewName);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response, @NonNull Object handler,
+        @Nullable Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Metrics.timer(HaloMetrics.TEMPLATE_RENDER,
+                HaloMetrics.TAG_TEMPLATE, (String) request.getAttribute(TEMPLATE_ATTRIBUTE))
+            .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package run.halo.app.event.comment;
+
+import java.util.Date;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.lang.NonNull;
+
+/**
+ * Event published when an ip address is banned from commenting.
+ */
+public class CommentBannedEvent extends ApplicationEvent {
+
+    private final String ipAddress;
+
+    private final Date banTime;
+
+    /**
+     * Create a new ApplicationEvent.
+     *
+     * @param source the object on which the event initially occurred (never {@code null})
+     * @param ipAddress banned ip address
+     * @param banTime time the ban ends
+     */
+    public CommentBannedEvent(Object source, @NonNull String ipAddress, @NonNull Date banTime) {
+        super(source);
+        this.ipAddress = ipAddress;
+        this.banTime = banTime;
+    }
+
+    @NonNull
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    @NonNull
+    public Date getBanTime() {
+        return banTime;
+    }
+}
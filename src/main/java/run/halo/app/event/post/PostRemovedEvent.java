@@ -0,0 +1,22 @@
+package run.halo.app.event.post;
+
+import java.util.Collection;
+import java.util.Collections;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published after posts were removed in batch, carrying ids only.
+ */
+public class PostRemovedEvent extends ApplicationEvent {
+
+    private final Collection<Integer> postIds;
+
+    public PostRemovedEvent(Object source, Collection<Integer> postIds) {
+        super(source);
+        this.postIds = Collections.unmodifiableCollection(postIds);
+    }
+
+    public Collection<Integer> getPostIds() {
+        return postIds;
+    }
+}
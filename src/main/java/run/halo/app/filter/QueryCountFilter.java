@@ -0,0 +1,46 @@
+package run.halo.app.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import run.halo.app.core.metrics.HaloMetrics;
+import run.halo.app.core.metrics.QueryCountInspector;
+
+/**
+ * Filter recording the number of sql statements executed by each request.
+ *
+ * <p>Requests are tagged with the matched handler pattern rather than the raw uri, so that the
+ * number of meters stays bounded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountInspector.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(HaloMetrics.HTTP_QUERIES)
+                .tag(HaloMetrics.TAG_METHOD, request.getMethod())
+                .tag(HaloMetrics.TAG_URI, pattern == null ? UNKNOWN_URI : pattern.toString())
+                .register(Metrics.globalRegistry)
+                .record(queries);
+        }
+    }
+}
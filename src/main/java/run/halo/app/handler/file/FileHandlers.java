@@ -1,5 +1,6 @@
 package run.halo.app.handler.file;
 
+import io.micrometer.core.instrument.Metrics;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
+import run.halo.app.core.metrics.HaloMetrics;
 import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.FileOperationException;
 import run.halo.app.exception.RepeatTypeException;
@@ -65,7 +67,10 @@ public class FileHandlers {
         } catch (IOException e) {
             throw new BadRequestException("Get file bytes for preprocess failed", e);
         }
-        return getSupportedType(attachmentType).upload(file);
+        MultipartFile fileToUpload = file;
+        return Metrics.timer(HaloMetrics.ATTACHMENT_UPLOAD,
+                HaloMetrics.TAG_TYPE, attachmentType.name())
+            .record(() -> getSupportedType(attachmentType).upload(fileToUpload));
     }
 
     /**
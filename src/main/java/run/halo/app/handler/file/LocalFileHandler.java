@@ -2,6 +2,7 @@ package run.halo.app.handler.file;
 
 import static run.halo.app.model.support.HaloConst.FILE_SEPARATOR;
 
+import io.micrometer.core.instrument.Metrics;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -10,6 +11,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Calendar;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.http.MediaType;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.HaloMetrics;
 import run.halo.app.exception.FileOperationException;
 import run.halo.app.model.enums.AttachmentType;
 import run.halo.app.model.support.UploadResult;
@@ -215,6 +218,7 @@ public class LocalFileHandler implements FileHandler {
         Assert.notNull(thumbPath, "Thumb path must not be null");
 
         boolean result = false;
+        long start = System.nanoTime();
         // Create the thumbnail
         try {
             Files.createFile(thumbPath);
@@ -230,6 +234,9 @@ public class LocalFileHandler implements FileHandler {
         } finally {
             // Disposes of this graphics context and releases any system resources that it is using.
             originalImage.getGraphics().dispose();
+            Metrics.timer(HaloMetrics.ATTACHMENT_THUMBNAIL, HaloMetrics.TAG_RESULT,
+                    result ? HaloMetrics.RESULT_SUCCESS : HaloMetrics.RESULT_FAILURE)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
         return result;
     }
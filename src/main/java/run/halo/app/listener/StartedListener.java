@@ -35,6 +35,7 @@ import run.halo.app.model.properties.PrimaryProperties;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.ThemeService;
+import run.halo.app.theme.ThemeAssetPrecompressor;
 import run.halo.app.utils.FileUtils;
 
 /**
@@ -171,6 +172,9 @@ public class StartedListener implements ApplicationListener<ApplicationStartedEv
                 FileUtils.copyFolder(source.resolve(HaloConst.DEFAULT_THEME_DIR_NAME), themePath);
                 log.info("Copied theme folder from [{}] to [{}]", source, themePath);
             }
+
+            // Precompress theme assets
+            ThemeAssetPrecompressor.INSTANCE.precompress(themeService.getBasePath());
         } catch (Exception e) {
             if (e instanceof FileNotFoundException) {
                 log.error("Please check location: classpath:{}", ThemeService.THEME_FOLDER);
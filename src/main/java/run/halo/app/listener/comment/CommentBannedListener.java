@@ -0,0 +1,26 @@
+package run.halo.app.listener.comment;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import run.halo.app.event.comment.CommentBannedEvent;
+import run.halo.app.service.CommentBlackListService;
+
+/**
+ * Records banned ip addresses in the comment black list, off the request thread.
+ */
+@Component
+public class CommentBannedListener {
+
+    private final CommentBlackListService commentBlackListService;
+
+    public CommentBannedListener(CommentBlackListService commentBlackListService) {
+        this.commentBlackListService = commentBlackListService;
+    }
+
+    @Async
+    @EventListener
+    public void handleCommentBannedEvent(CommentBannedEvent event) {
+        commentBlackListService.ban(event.getIpAddress(), event.getBanTime());
+    }
+}
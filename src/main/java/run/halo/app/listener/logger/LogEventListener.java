@@ -1,11 +1,10 @@
 package run.halo.app.listener.logger;
 
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import run.halo.app.event.logger.LogEvent;
 import run.halo.app.model.entity.Log;
-import run.halo.app.service.LogService;
+import run.halo.app.service.support.LogBatchWriter;
 
 /**
  * Log event listener.
@@ -16,19 +15,18 @@ import run.halo.app.service.LogService;
 @Component
 public class LogEventListener {
 
-    private final LogService logService;
+    private final LogBatchWriter logBatchWriter;
 
-    public LogEventListener(LogService logService) {
-        this.logService = logService;
+    public LogEventListener(LogBatchWriter logBatchWriter) {
+        this.logBatchWriter = logBatchWriter;
     }
 
     @EventListener
-    @Async
     public void onApplicationEvent(LogEvent event) {
         // Convert to log
         Log logToCreate = event.getLogParam().convertTo();
 
-        // Create log
-        logService.create(logToCreate);
+        // Buffer log, it will be written in batch
+        logBatchWriter.write(logToCreate);
     }
 }
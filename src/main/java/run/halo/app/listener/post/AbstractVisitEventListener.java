@@ -1,5 +1,7 @@
 package run.halo.app.listener.post;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -9,6 +11,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.Assert;
+import run.halo.app.core.metrics.HaloMetrics;
 import run.halo.app.event.post.AbstractVisitEvent;
 import run.halo.app.service.base.BasePostService;
 
@@ -29,7 +32,13 @@ public abstract class AbstractVisitEventListener {
 
     private final ExecutorService executor;
 
-    protected AbstractVisitEventListener(BasePostService basePostService) {
+    /**
+     * Creates a visit event listener.
+     *
+     * @param basePostService base post service
+     * @param executorName name of the visit executor in metrics
+     */
+    protected AbstractVisitEventListener(BasePostService basePostService, String executorName) {
         this.basePostService = basePostService;
 
         int initCapacity = 8;
@@ -44,6 +53,11 @@ public abstract class AbstractVisitEventListener {
         visitTaskMap = new ConcurrentHashMap<>(initCapacity << 1);
 
         this.executor = Executors.newCachedThreadPool();
+
+        Gauge.builder(HaloMetrics.EXECUTOR_QUEUED, visitQueueMap,
+                queues -> queues.values().stream().mapToInt(BlockingQueue::size).sum())
+            .tag(HaloMetrics.TAG_EXECUTOR, executorName)
+            .register(Metrics.globalRegistry);
     }
 
     /**
@@ -0,0 +1,33 @@
+package run.halo.app.listener.post;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import run.halo.app.model.entity.Content;
+import run.halo.app.service.support.PublishedContentStore;
+
+/**
+ * Entity listener of post contents, which stores the rendered artifact of a content whenever
+ * it is saved, e.g. when a post is published, and removes it when the content is deleted.
+ */
+public class ContentArtifactEntityListener {
+
+    private final ObjectProvider<PublishedContentStore> publishedContentStore;
+
+    public ContentArtifactEntityListener(
+        ObjectProvider<PublishedContentStore> publishedContentStore) {
+        this.publishedContentStore = publishedContentStore;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onContentSaved(Content content) {
+        publishedContentStore.ifAvailable(store -> store.save(content));
+    }
+
+    @PostRemove
+    public void onContentRemoved(Content content) {
+        publishedContentStore.ifAvailable(store -> store.remove(content.getId()));
+    }
+}
@@ -0,0 +1,31 @@
+package run.halo.app.listener.post;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import run.halo.app.model.entity.BasePost;
+import run.halo.app.service.support.ContentRouteTable;
+
+/**
+ * Entity listener of posts and sheets, which invalidates the slug index of the content route
+ * table whenever one of them is saved or deleted.
+ *
+ * <p>It is instantiated by Hibernate through the Spring bean container, and the route table is
+ * resolved lazily because it depends on the repositories being built with the entity manager.
+ */
+public class ContentRouteEntityListener {
+
+    private final ObjectProvider<ContentRouteTable> contentRouteTable;
+
+    public ContentRouteEntityListener(ObjectProvider<ContentRouteTable> contentRouteTable) {
+        this.contentRouteTable = contentRouteTable;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPostChanged(BasePost post) {
+        contentRouteTable.ifAvailable(ContentRouteTable::invalidateSlugs);
+    }
+}
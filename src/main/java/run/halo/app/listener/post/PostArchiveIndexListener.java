@@ -0,0 +1,41 @@
+package run.halo.app.listener.post;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.service.support.PostArchiveIndex;
+
+/**
+ * Keeps the post archive index up to date.
+ */
+@Component
+public class PostArchiveIndexListener {
+
+    private final PostArchiveIndex postArchiveIndex;
+
+    public PostArchiveIndexListener(PostArchiveIndex postArchiveIndex) {
+        this.postArchiveIndex = postArchiveIndex;
+    }
+
+    /**
+     * Refreshes the archive entry of the updated (or deleted) post once the change has been
+     * committed, so that status refreshed by other listeners is taken into account.
+     *
+     * @param event post updated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        postArchiveIndex.refresh(event.getPost().getId());
+    }
+
+    /**
+     * Invalidates the index after posts were removed in batch.
+     *
+     * @param event post removed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRemoved(PostRemovedEvent event) {
+        postArchiveIndex.invalidate();
+    }
+}
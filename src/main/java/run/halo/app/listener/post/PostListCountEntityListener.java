@@ -0,0 +1,30 @@
+package run.halo.app.listener.post;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import run.halo.app.service.support.PostListCountCache;
+
+/**
+ * Entity listener of posts and post categories, which invalidates the cached counts of the
+ * admin post list whenever one of them is saved or deleted.
+ *
+ * <p>It is instantiated by Hibernate through the Spring bean container, and the cache is
+ * resolved lazily like the other entity listeners.
+ */
+public class PostListCountEntityListener {
+
+    private final ObjectProvider<PostListCountCache> postListCountCache;
+
+    public PostListCountEntityListener(ObjectProvider<PostListCountCache> postListCountCache) {
+        this.postListCountCache = postListCountCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onPostChanged(Object entity) {
+        postListCountCache.ifAvailable(PostListCountCache::invalidate);
+    }
+}
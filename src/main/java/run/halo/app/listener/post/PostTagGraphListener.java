@@ -0,0 +1,41 @@
+package run.halo.app.listener.post;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.event.post.PostUpdatedEvent;
+import run.halo.app.service.support.PostTagGraph;
+
+/**
+ * Keeps the post tag graph up to date.
+ */
+@Component
+public class PostTagGraphListener {
+
+    private final PostTagGraph postTagGraph;
+
+    public PostTagGraphListener(PostTagGraph postTagGraph) {
+        this.postTagGraph = postTagGraph;
+    }
+
+    /**
+     * Refreshes the tags and status of the updated (or deleted) post once the change has been
+     * committed.
+     *
+     * @param event post updated event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostUpdated(PostUpdatedEvent event) {
+        postTagGraph.refresh(event.getPost().getId());
+    }
+
+    /**
+     * Invalidates the graph after posts were removed in batch.
+     *
+     * @param event post removed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRemoved(PostRemovedEvent event) {
+        postTagGraph.invalidate();
+    }
+}
@@ -16,7 +16,7 @@ import run.halo.app.service.PostService;
 public class PostVisitEventListener extends AbstractVisitEventListener {
 
     public PostVisitEventListener(PostService postService) {
-        super(postService);
+        super(postService, "post-visit");
     }
 
     @Async
@@ -0,0 +1,30 @@
+package run.halo.app.listener.post;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.service.support.PublishedContentStore;
+
+/**
+ * Removes the rendered content artifacts of posts removed in batch, whose contents are deleted
+ * without entity callbacks.
+ */
+@Component
+public class PublishedContentListener {
+
+    private final PublishedContentStore publishedContentStore;
+
+    public PublishedContentListener(PublishedContentStore publishedContentStore) {
+        this.publishedContentStore = publishedContentStore;
+    }
+
+    /**
+     * Removes the artifacts of the removed posts once the removal has been committed.
+     *
+     * @param event post removed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRemoved(PostRemovedEvent event) {
+        event.getPostIds().forEach(publishedContentStore::remove);
+    }
+}
@@ -16,7 +16,7 @@ import run.halo.app.service.SheetService;
 public class SheetVisitEventListener extends AbstractVisitEventListener {
 
     protected SheetVisitEventListener(SheetService sheetService) {
-        super(sheetService);
+        super(sheetService, "sheet-visit");
     }
 
     @Async
@@ -0,0 +1,30 @@
+package run.halo.app.listener.taxonomy;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import run.halo.app.service.support.TaxonomyDictionary;
+
+/**
+ * Entity listener of tags and categories, which invalidates the taxonomy dictionary whenever
+ * one of them is saved or deleted.
+ *
+ * <p>It is instantiated by Hibernate through the Spring bean container, and the dictionary is
+ * resolved lazily because it depends on the repositories being built with the entity manager.
+ */
+public class TaxonomyEntityListener {
+
+    private final ObjectProvider<TaxonomyDictionary> taxonomyDictionary;
+
+    public TaxonomyEntityListener(ObjectProvider<TaxonomyDictionary> taxonomyDictionary) {
+        this.taxonomyDictionary = taxonomyDictionary;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onTaxonomyChanged(Object taxonomy) {
+        taxonomyDictionary.ifAvailable(TaxonomyDictionary::invalidate);
+    }
+}
@@ -1,11 +1,20 @@
 package run.halo.app.listener.theme;
 
+import static run.halo.app.config.HaloMvcConfiguration.THEME_RESOURCE_CACHE_NAME;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import run.halo.app.cache.AbstractStringCacheStore;
 import run.halo.app.event.options.OptionUpdatedEvent;
 import run.halo.app.event.theme.ThemeUpdatedEvent;
 import run.halo.app.service.ThemeService;
+import run.halo.app.theme.ThemeAssetPrecompressor;
 
 /**
  * Theme updated listener.
@@ -18,17 +27,56 @@ public class ThemeUpdatedListener {
 
     private final AbstractStringCacheStore cacheStore;
 
-    public ThemeUpdatedListener(AbstractStringCacheStore cacheStore) {
+    private final ThemeService themeService;
+
+    private final Cache themeResourceCache;
+
+    /**
+     * Precompresses the assets of all themes in background, since it walks every theme.
+     */
+    private final ExecutorService precompressExecutor;
+
+    /**
+     * Whether a precompression is scheduled and not started yet, so that a burst of updates
+     * walks the themes once.
+     */
+    private final AtomicBoolean precompressScheduled = new AtomicBoolean();
+
+    public ThemeUpdatedListener(AbstractStringCacheStore cacheStore,
+        ThemeService themeService,
+        @Qualifier(THEME_RESOURCE_CACHE_NAME) Cache themeResourceCache) {
         this.cacheStore = cacheStore;
+        this.themeService = themeService;
+        this.themeResourceCache = themeResourceCache;
+        this.precompressExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "theme-precompressor");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @EventListener
     public void onApplicationEvent(ThemeUpdatedEvent event) {
         cacheStore.delete(ThemeService.THEMES_CACHE_KEY);
+        themeResourceCache.clear();
+
+        // regenerate stale precompressed assets, then drop the resolved asset versions again
+        if (precompressScheduled.compareAndSet(false, true)) {
+            precompressExecutor.execute(() -> {
+                precompressScheduled.set(false);
+                ThemeAssetPrecompressor.INSTANCE.precompress(themeService.getBasePath());
+                themeResourceCache.clear();
+            });
+        }
     }
 
     @EventListener
     public void onOptionUpdatedEvent(OptionUpdatedEvent optionUpdatedEvent) {
         cacheStore.delete(ThemeService.THEMES_CACHE_KEY);
     }
+
+    @PreDestroy
+    public void shutdown() {
+        precompressExecutor.shutdownNow();
+    }
 }
@@ -1,11 +1,14 @@
 package run.halo.app.mail;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import java.io.UnsupportedEncodingException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Consumer;
 import javax.mail.MessagingException;
 import javax.mail.internet.InternetAddress;
@@ -18,6 +21,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.util.Assert;
+import run.halo.app.core.metrics.HaloMetrics;
 import run.halo.app.exception.EmailException;
 import run.halo.app.model.properties.EmailProperties;
 import run.halo.app.service.OptionService;
@@ -45,6 +49,9 @@ public abstract class AbstractMailService implements MailService {
 
     protected AbstractMailService(OptionService optionService) {
         this.optionService = optionService;
+        Gauge.builder(HaloMetrics.EXECUTOR_QUEUED, this, AbstractMailService::getQueuedCount)
+            .tag(HaloMetrics.TAG_EXECUTOR, "mail")
+            .register(Metrics.globalRegistry);
     }
 
     @NonNull
@@ -59,6 +66,14 @@ public abstract class AbstractMailService implements MailService {
         this.executorService = executorService;
     }
 
+    private int getQueuedCount() {
+        ExecutorService executorService = this.executorService;
+        if (executorService instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executorService).getQueue().size();
+        }
+        return 0;
+    }
+
     /**
      * Test connection with email server.
      */
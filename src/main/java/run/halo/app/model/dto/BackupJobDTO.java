@@ -0,0 +1,54 @@
+package run.halo.app.model.dto;
+
+import java.util.List;
+import lombok.Data;
+import run.halo.app.model.enums.BackupJobStatus;
+
+/**
+ * Work directory backup job output dto.
+ */
+@Data
+public class BackupJobDTO {
+
+    private String id;
+
+    private BackupJobStatus status;
+
+    private List<String> options;
+
+    private Boolean incremental;
+
+    /**
+     * Number of files to archive.
+     */
+    private Long totalFiles;
+
+    /**
+     * Number of files archived so far.
+     */
+    private Long archivedFiles;
+
+    /**
+     * Size in bytes of the files to archive.
+     */
+    private Long totalBytes;
+
+    /**
+     * Size in bytes of the files archived so far.
+     */
+    private Long archivedBytes;
+
+    private Long startTime;
+
+    private Long finishTime;
+
+    /**
+     * Failure message, only available when the job failed.
+     */
+    private String error;
+
+    /**
+     * Backup archive, only available when the job succeeded.
+     */
+    private BackupDTO backup;
+}
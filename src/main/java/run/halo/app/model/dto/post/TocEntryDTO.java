@@ -0,0 +1,24 @@
+package run.halo.app.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Table of contents entry of a post, i.e. one of its headings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TocEntryDTO {
+
+    /**
+     * Heading level, from 1 to 6.
+     */
+    private Integer level;
+
+    /**
+     * Heading text without markup.
+     */
+    private String title;
+}
@@ -30,7 +30,7 @@ import run.halo.app.model.enums.AttachmentType;
 public class Attachment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id", strategy = "run.halo.app.model.entity.support"
         + ".CustomIdGenerator")
     private Integer id;
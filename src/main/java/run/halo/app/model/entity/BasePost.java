@@ -5,6 +5,7 @@ import javax.persistence.Column;
 import javax.persistence.DiscriminatorColumn;
 import javax.persistence.DiscriminatorType;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -21,6 +22,7 @@ import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
+import run.halo.app.listener.post.ContentRouteEntityListener;
 import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.enums.PostEditorType;
 import run.halo.app.model.enums.PostStatus;
@@ -45,6 +47,7 @@ import run.halo.app.model.enums.PostStatus;
     @Index(name = "posts_create_time", columnList = "create_time")})
 @DiscriminatorColumn(name = "type", discriminatorType = DiscriminatorType.INTEGER,
     columnDefinition = "int default 0")
+@EntityListeners(ContentRouteEntityListener.class)
 
 /*
 * @EqualsAndHashCode(callSuper = true)，那就是用自己的属性和从父类继承的属性 来生成hashcode
@@ -57,7 +60,7 @@ import run.halo.app.model.enums.PostStatus;
 public class BasePost extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id", strategy = "run.halo.app.model.entity.support"
         + ".CustomIdGenerator")
     private Integer id;
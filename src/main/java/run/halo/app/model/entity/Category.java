@@ -2,6 +2,7 @@ package run.halo.app.model.entity;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -12,6 +13,7 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
+import run.halo.app.listener.taxonomy.TaxonomyEntityListener;
 
 /**
  * Category entity.
@@ -25,12 +27,13 @@ import org.hibernate.annotations.GenericGenerator;
 @Table(name = "categories", indexes = {
     @Index(name = "categories_name", columnList = "name"),
     @Index(name = "categories_parent_id", columnList = "parent_id")})
+@EntityListeners(TaxonomyEntityListener.class)
 @ToString
 @EqualsAndHashCode(callSuper = true)
 public class Category extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id",
         strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
     private Integer id;
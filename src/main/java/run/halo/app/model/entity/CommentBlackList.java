@@ -31,7 +31,7 @@ import org.hibernate.annotations.GenericGenerator;
 @NoArgsConstructor
 public class CommentBlackList extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id",
         strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
     private Long id;
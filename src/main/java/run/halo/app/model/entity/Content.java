@@ -2,6 +2,7 @@ package run.halo.app.model.entity;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.Table;
@@ -9,6 +10,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.hibernate.annotations.ColumnDefault;
 import org.springframework.util.Assert;
+import run.halo.app.listener.post.ContentArtifactEntityListener;
 import run.halo.app.model.enums.PostStatus;
 
 /**
@@ -20,6 +22,7 @@ import run.halo.app.model.enums.PostStatus;
 @Data
 @Entity
 @Table(name = "contents")
+@EntityListeners(ContentArtifactEntityListener.class)
 @EqualsAndHashCode(callSuper = true)
 public class Content extends BaseEntity {
 
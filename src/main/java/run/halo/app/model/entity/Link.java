@@ -27,7 +27,7 @@ import org.hibernate.annotations.GenericGenerator;
 public class Link extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id",
         strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
     private Integer id;
@@ -2,6 +2,8 @@ package run.halo.app.model.entity;
 
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
+import run.halo.app.listener.post.PostListCountEntityListener;
 
 /**
  * Post entity.
@@ -10,6 +12,7 @@ import javax.persistence.Entity;
  */
 @Entity(name = "Post")
 @DiscriminatorValue(value = "0")
+@EntityListeners(PostListCountEntityListener.class)
 public class Post extends BasePost {
 
 }
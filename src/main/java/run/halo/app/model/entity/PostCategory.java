@@ -3,6 +3,7 @@ package run.halo.app.model.entity;
 import java.util.Objects;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.GenericGenerator;
+import run.halo.app.listener.post.PostListCountEntityListener;
 
 /**
  * Post category entity.
@@ -24,13 +26,14 @@ import org.hibernate.annotations.GenericGenerator;
 @ToString(callSuper = true)
 @RequiredArgsConstructor
 @Entity
+@EntityListeners(PostListCountEntityListener.class)
 @Table(name = "post_categories", indexes = {
     @Index(name = "post_categories_post_id", columnList = "post_id"),
     @Index(name = "post_categories_category_id", columnList = "category_id")})
 public class PostCategory extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id",
         strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
     private Integer id;
@@ -2,6 +2,7 @@ package run.halo.app.model.entity;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -11,6 +12,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hibernate.annotations.GenericGenerator;
+import run.halo.app.listener.taxonomy.TaxonomyEntityListener;
 
 /**
  * Tag entity
@@ -22,12 +24,13 @@ import org.hibernate.annotations.GenericGenerator;
 @Data
 @Entity
 @Table(name = "tags", indexes = {@Index(name = "tags_name", columnList = "name")})
+@EntityListeners(TaxonomyEntityListener.class)
 @ToString
 @EqualsAndHashCode(callSuper = true)
 public class Tag extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY, generator = "custom-id")
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "custom-id")
     @GenericGenerator(name = "custom-id",
         strategy = "run.halo.app.model.entity.support.CustomIdGenerator")
     private Integer id;
@@ -1,15 +1,49 @@
 package run.halo.app.model.entity.support;
 
 import java.io.Serializable;
+import java.util.Properties;
+import org.hibernate.MappingException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
 import run.halo.app.utils.ReflectionUtils;
 
 /**
+ * Pooled table id generator which keeps the id of the entity if it has been set.
+ *
+ * <p>Ids are allocated in blocks of {@link #INCREMENT_SIZE} from the {@link #TABLE_NAME} table,
+ * one row per entity table, so that inserts can be sent in JDBC batches which is impossible with
+ * identity columns. The rows are seeded from the max ids of the tables by the V7 migration.
+ * After records are imported with their own ids,
+ * {@link run.halo.app.service.support.IdGeneratorSynchronizer} raises the rows above them and
+ * resets the generators.
+ *
  * @author ryanwang
  * @date 2020-03-16
  */
-public class CustomIdGenerator extends IdentityGenerator {
+public class CustomIdGenerator extends TableGenerator {
+
+    public static final String TABLE_NAME = "id_generators";
+
+    public static final int INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry)
+        throws MappingException {
+        params.putIfAbsent(TABLE_PARAM, TABLE_NAME);
+        params.putIfAbsent(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(INCREMENT_SIZE));
+        params.putIfAbsent(OPT_PARAM, ResettablePooledLoOptimizer.class.getName());
+        super.configure(type, params, serviceRegistry);
+
+        // hibernate falls back to no optimizer if the class cannot be loaded
+        if (!(getOptimizer() instanceof ResettablePooledLoOptimizer)) {
+            throw new MappingException("Unexpected optimizer of id generator " + getSegmentValue()
+                + ": " + getOptimizer().getClass().getName());
+        }
+    }
+
     @Override
     public Serializable generate(SharedSessionContractImplementor session, Object object) {
         Object id = ReflectionUtils.getFieldValue("id", object);
@@ -18,4 +52,11 @@ public class CustomIdGenerator extends IdentityGenerator {
         }
         return super.generate(session, object);
     }
+
+    /**
+     * Discards the ids allocated in memory, so that the next id is taken from the table again.
+     */
+    public void reset() {
+        ((ResettablePooledLoOptimizer) getOptimizer()).reset();
+    }
 }
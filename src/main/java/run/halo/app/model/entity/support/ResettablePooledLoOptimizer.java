@@ -0,0 +1,69 @@
+package run.halo.app.model.entity.support;
+
+import java.io.Serializable;
+import org.hibernate.HibernateException;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AbstractOptimizer;
+import org.hibernate.id.enhanced.AccessCallback;
+
+/**
+ * Pooled-lo optimizer whose current block can be discarded.
+ *
+ * <p>It works like the pooled-lo optimizer of Hibernate: the value read from the table is the
+ * low value of the block, and the block ends before the value plus the increment size. After
+ * {@link #reset()}, the next id starts a new block from the table, which is needed once records
+ * with their own ids have been written into the range of the current block.
+ */
+public class ResettablePooledLoOptimizer extends AbstractOptimizer {
+
+    private IntegralDataTypeHolder lastSourceValue;
+
+    private IntegralDataTypeHolder upperLimitValue;
+
+    private IntegralDataTypeHolder value;
+
+    /**
+     * Constructs a resettable pooled-lo optimizer, called by Hibernate.
+     *
+     * @param returnClass the class of the generated ids
+     * @param incrementSize the size of blocks, must be greater than 0
+     */
+    public ResettablePooledLoOptimizer(Class returnClass, int incrementSize) {
+        super(returnClass, incrementSize);
+        if (incrementSize < 1) {
+            throw new HibernateException(
+                "increment size cannot be less than 1 for pooled-lo optimizer");
+        }
+    }
+
+    @Override
+    public synchronized Serializable generate(AccessCallback callback) {
+        if (value == null || !value.lt(upperLimitValue)) {
+            lastSourceValue = callback.getNextValue();
+            upperLimitValue = lastSourceValue.copy().add(incrementSize);
+            value = lastSourceValue.copy();
+            // handle initial values less than 1
+            while (value.lt(1)) {
+                value.increment();
+            }
+        }
+        return value.makeValueThenIncrement();
+    }
+
+    /**
+     * Discards the current block, the next id will be allocated from a new block.
+     */
+    public synchronized void reset() {
+        value = null;
+    }
+
+    @Override
+    public synchronized IntegralDataTypeHolder getLastSourceValue() {
+        return lastSourceValue;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package run.halo.app.model.enums;
+
+/**
+ * Status of a work directory backup job.
+ */
+public enum BackupJobStatus {
+
+    /**
+     * The archive is being written.
+     */
+    RUNNING,
+
+    /**
+     * The archive is complete.
+     */
+    SUCCEEDED,
+
+    /**
+     * The backup failed and the partial archive was deleted.
+     */
+    FAILED,
+
+    /**
+     * The backup was cancelled and the partial archive was deleted.
+     */
+    CANCELLED;
+
+    /**
+     * Whether the job is over.
+     *
+     * @return true if the job is no longer running
+     */
+    public boolean isFinished() {
+        return this != RUNNING;
+    }
+}
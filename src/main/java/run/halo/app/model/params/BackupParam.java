@@ -0,0 +1,23 @@
+package run.halo.app.model.params;
+
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+import lombok.Data;
+
+/**
+ * Work directory backup param.
+ */
+@Data
+public class BackupParam {
+
+    /**
+     * Items of the work directory to back up.
+     */
+    @NotEmpty(message = "备份项不能为空")
+    private List<String> options;
+
+    /**
+     * Whether only files changed since the last backup are archived.
+     */
+    private Boolean incremental = false;
+}
@@ -0,0 +1,25 @@
+package run.halo.app.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Post id with the id of the patch log its content comes from, used to look up stored content
+ * artifacts without loading the contents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentVersionProjection {
+
+    /**
+     * Post id.
+     */
+    private Integer postId;
+
+    /**
+     * Patch log id, 0 if the content has none.
+     */
+    private Integer patchLogId;
+}
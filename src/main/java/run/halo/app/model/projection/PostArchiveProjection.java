@@ -0,0 +1,25 @@
+package run.halo.app.model.projection;
+
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Post id with create time projection, used to build post archives.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostArchiveProjection {
+
+    /**
+     * Post id.
+     */
+    private Integer postId;
+
+    /**
+     * Post create time.
+     */
+    private Date createTime;
+}
@@ -0,0 +1,56 @@
+package run.halo.app.model.projection;
+
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import run.halo.app.model.enums.PostEditorType;
+import run.halo.app.model.enums.PostStatus;
+
+/**
+ * Post projection of the columns shown in the admin post list, i.e. all but the legacy content
+ * columns, used to page posts without loading and managing whole entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostListProjection {
+
+    private Integer id;
+
+    private String title;
+
+    private PostStatus status;
+
+    private String slug;
+
+    private PostEditorType editorType;
+
+    private Date createTime;
+
+    private Date updateTime;
+
+    private Date editTime;
+
+    private String metaKeywords;
+
+    private String metaDescription;
+
+    private String summary;
+
+    private String thumbnail;
+
+    private Long visits;
+
+    private Boolean disallowComment;
+
+    private String password;
+
+    private String template;
+
+    private Integer topPriority;
+
+    private Long likes;
+
+    private Long wordCount;
+}
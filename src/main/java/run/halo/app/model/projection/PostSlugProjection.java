@@ -0,0 +1,24 @@
+package run.halo.app.model.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Post id with slug projection, used to resolve content routes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSlugProjection {
+
+    /**
+     * Post id.
+     */
+    private Integer postId;
+
+    /**
+     * Post slug.
+     */
+    private String slug;
+}
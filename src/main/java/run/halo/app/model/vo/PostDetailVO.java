@@ -9,6 +9,7 @@ import run.halo.app.model.dto.BaseMetaDTO;
 import run.halo.app.model.dto.CategoryDTO;
 import run.halo.app.model.dto.TagDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.dto.post.TocEntryDTO;
 
 /**
  * Post vo.
@@ -33,5 +34,9 @@ public class PostDetailVO extends BasePostDetailDTO {
     private Set<Long> metaIds;
 
     private List<BaseMetaDTO> metas;
-}
 
+    /**
+     * Table of contents, only available when rendering published content.
+     */
+    private List<TocEntryDTO> toc;
+}
@@ -7,6 +7,7 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import run.halo.app.model.dto.BaseMetaDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.dto.post.TocEntryDTO;
 
 /**
  * Sheet detail VO.
@@ -22,4 +23,9 @@ public class SheetDetailVO extends BasePostDetailDTO {
     private Set<Long> metaIds;
 
     private List<BaseMetaDTO> metas;
+
+    /**
+     * Table of contents, only available when rendering published content.
+     */
+    private List<TocEntryDTO> toc;
 }
@@ -1,6 +1,8 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import org.springframework.data.jpa.repository.Query;
 import run.halo.app.model.entity.ContentPatchLog;
 import run.halo.app.model.enums.PostStatus;
@@ -70,4 +72,16 @@ public interface ContentPatchLogRepository extends BaseRepository<ContentPatchLo
      * @return a list of {@link ContentPatchLog} queried by post id
      */
     List<ContentPatchLog> findAllByPostId(Integer postId);
+
+    /**
+     * Finds the ids of the given posts having records in one of the given statuses.
+     *
+     * @param postIds post ids to query
+     * @param statuses record statuses
+     * @return a set of post ids
+     */
+    @Query("select distinct c.postId from ContentPatchLog c where c.postId in ?1"
+        + " and c.status in ?2")
+    Set<Integer> findAllPostIdsByPostIdInAndStatusIn(Collection<Integer> postIds,
+        Collection<PostStatus> statuses);
 }
@@ -1,6 +1,12 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.Content;
+import run.halo.app.model.projection.ContentVersionProjection;
 import run.halo.app.repository.base.BaseRepository;
 
 /**
@@ -11,4 +17,24 @@ import run.halo.app.repository.base.BaseRepository;
  */
 public interface ContentRepository extends BaseRepository<Content, Integer> {
 
+    /**
+     * Finds the id of the patch log the content of the given post comes from, without loading
+     * the content itself.
+     *
+     * @param postId post id must not be null
+     * @return patch log id, 0 if the content has none, or empty if the post has no content
+     */
+    @Query("select coalesce(c.patchLogId, 0) from Content c where c.id = ?1")
+    Optional<Integer> findPatchLogIdById(@NonNull Integer postId);
+
+    /**
+     * Finds the ids of the patch logs the contents of the given posts come from, without loading
+     * the contents themselves.
+     *
+     * @param postIds post ids must not be null
+     * @return a list of post id with patch log id, 0 if the content has none
+     */
+    @Query("select new run.halo.app.model.projection.ContentVersionProjection(c.id,"
+        + " coalesce(c.patchLogId, 0)) from Content c where c.id in ?1")
+    List<ContentVersionProjection> findAllVersionsByIdIn(@NonNull Collection<Integer> postIds);
 }
@@ -1,5 +1,10 @@
 package run.halo.app.repository;
 
+import java.util.Date;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.Log;
 import run.halo.app.repository.base.BaseRepository;
 
@@ -10,4 +15,25 @@ import run.halo.app.repository.base.BaseRepository;
  */
 public interface LogRepository extends BaseRepository<Log, Long> {
 
+    /**
+     * Deletes logs created before the given time.
+     *
+     * @param createTime create time must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from Log l where l.createTime < :createTime")
+    int deleteByCreateTimeBefore(@Param("createTime") @NonNull Date createTime);
+
+    /**
+     * Deletes logs not newer than the given log (ordered by create time and id).
+     *
+     * @param createTime create time of the given log must not be null
+     * @param id id of the given log must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from Log l where l.createTime < :createTime"
+        + " or (l.createTime = :createTime and l.id <= :id)")
+    int deleteUntil(@Param("createTime") @NonNull Date createTime, @Param("id") @NonNull Long id);
 }
@@ -3,7 +3,9 @@ package run.halo.app.repository;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.PostCategory;
 import run.halo.app.model.enums.PostStatus;
@@ -104,6 +106,16 @@ public interface PostCategoryRepository extends BaseRepository<PostCategory, Int
     @NonNull
     List<PostCategory> deleteByPostId(@NonNull Integer postId);
 
+    /**
+     * Deletes post categories by post ids without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from PostCategory pc where pc.postId in :postIds")
+    int deleteByPostIdIn(@Param("postIds") @NonNull Collection<Integer> postIds);
+
     /**
      * Deletes post categories by category id.
      *
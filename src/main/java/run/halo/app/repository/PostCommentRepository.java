@@ -3,6 +3,7 @@ package run.halo.app.repository;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.PostComment;
@@ -82,4 +83,18 @@ public interface PostCommentRepository extends BaseCommentRepository<PostComment
     @Query("SELECT COUNT(id) FROM PostComment WHERE ipAddress=?1 AND updateTime BETWEEN ?2 AND ?3"
         + " AND status <> 2")
     int countByIpAndTime(String ipAddress, Date startTime, Date endTime);
+
+    /**
+     * 根据时间范围和IP地址查询最近的评论时间
+     *
+     * @param ipAddress IP地址
+     * @param startTime 起始时间
+     * @param endTime 结束时间
+     * @param pageable 分页信息
+     * @return 评论时间，按时间倒序排列
+     */
+    @Query("SELECT updateTime FROM PostComment WHERE ipAddress=?1 AND updateTime BETWEEN ?2"
+        + " AND ?3 AND status <> 2 ORDER BY updateTime DESC")
+    List<Date> findUpdateTimesByIpAndTime(String ipAddress, Date startTime, Date endTime,
+        Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package run.halo.app.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.projection.PostListProjection;
+
+/**
+ * Post repository fragment querying projections with specifications.
+ */
+public interface PostProjectionRepository {
+
+    /**
+     * Finds a page of post list projections without counting, the total is left to the caller.
+     *
+     * @param spec post specification, null to find all posts
+     * @param pageable page info must not be null
+     * @return a list of post list projections of the requested page
+     */
+    @NonNull
+    List<PostListProjection> findAllListProjections(@Nullable Specification<Post> spec,
+        @NonNull Pageable pageable);
+}
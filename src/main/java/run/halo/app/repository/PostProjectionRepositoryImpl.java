@@ -0,0 +1,79 @@
+package run.halo.app.repository;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.projection.PostListProjection;
+
+/**
+ * Implementation of post projection repository with criteria constructor queries, so that the
+ * legacy content columns are not selected and no entity is managed.
+ */
+public class PostProjectionRepositoryImpl implements PostProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public PostProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @NonNull
+    @Override
+    public List<PostListProjection> findAllListProjections(@Nullable Specification<Post> spec,
+        @NonNull Pageable pageable) {
+        Assert.notNull(pageable, "Page info must not be null");
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostListProjection> query =
+            criteriaBuilder.createQuery(PostListProjection.class);
+        Root<Post> root = query.from(Post.class);
+        query.select(criteriaBuilder.construct(PostListProjection.class,
+            root.get("id"),
+            root.get("title"),
+            root.get("status"),
+            root.get("slug"),
+            root.get("editorType"),
+            root.get("createTime"),
+            root.get("updateTime"),
+            root.get("editTime"),
+            root.get("metaKeywords"),
+            root.get("metaDescription"),
+            root.get("summary"),
+            root.get("thumbnail"),
+            root.get("visits"),
+            root.get("disallowComment"),
+            root.get("password"),
+            root.get("template"),
+            root.get("topPriority"),
+            root.get("likes"),
+            root.get("wordCount")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<PostListProjection> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+}
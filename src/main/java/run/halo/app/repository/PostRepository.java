@@ -1,11 +1,17 @@
 package run.halo.app.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostArchiveProjection;
 import run.halo.app.repository.base.BasePostRepository;
 
 
@@ -16,7 +22,29 @@ import run.halo.app.repository.base.BasePostRepository;
  * @author ryanwang
  * @date 2019-03-19
  */
-public interface PostRepository extends BasePostRepository<Post>, JpaSpecificationExecutor<Post> {
+public interface PostRepository extends BasePostRepository<Post>, JpaSpecificationExecutor<Post>,
+    PostProjectionRepository {
+
+    /**
+     * Finds posts by ids and status.
+     *
+     * @param ids post ids must not be empty
+     * @param status post status must not be null
+     * @return a list of posts
+     */
+    List<Post> findAllByIdInAndStatus(@NonNull Collection<Integer> ids,
+        @NonNull PostStatus status);
+
+    /**
+     * Finds posts by ids and status by page.
+     *
+     * @param ids post ids must not be empty
+     * @param status post status must not be null
+     * @param pageable page info must not be null
+     * @return a page of posts
+     */
+    Page<Post> findAllByIdInAndStatus(@NonNull Collection<Integer> ids,
+        @NonNull PostStatus status, @NonNull Pageable pageable);
 
     /**
      * Count all post visits.
@@ -103,4 +131,15 @@ public interface PostRepository extends BasePostRepository<Post>, JpaSpecificati
         + ".status = :status")
     Optional<Post> findBy(@Param("year") Integer year, @Param("month") Integer month,
         @Param("day") Integer day, @Param("slug") String slug, @Param("status") PostStatus status);
+
+    /**
+     * Finds archive projections of all posts with the given status.
+     *
+     * @param status post status
+     * @return a list of post id and create time
+     */
+    @Query("select new run.halo.app.model.projection.PostArchiveProjection(post.id, "
+        + "post.createTime) from Post post where post.status = :status")
+    List<PostArchiveProjection> findAllArchiveProjectionsByStatus(
+        @Param("status") PostStatus status);
 }
@@ -3,10 +3,13 @@ package run.halo.app.repository;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.PostTag;
 import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.TagIdPostStatusProjection;
 import run.halo.app.model.projection.TagPostPostCountProjection;
 import run.halo.app.repository.base.BaseRepository;
 
@@ -88,6 +91,16 @@ public interface PostTagRepository extends BaseRepository<PostTag, Integer> {
     @NonNull
     List<PostTag> deleteByPostId(@NonNull Integer postId);
 
+    /**
+     * Deletes post tags by post ids without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from PostTag pt where pt.postId in :postIds")
+    int deleteByPostIdIn(@Param("postIds") @NonNull Collection<Integer> postIds);
+
     /**
      * Deletes post tags by tag id.
      *
@@ -118,4 +131,14 @@ public interface PostTagRepository extends BaseRepository<PostTag, Integer> {
         + " p.status<>2 group by pt.tagId")
     @NonNull
     List<TagPostPostCountProjection> findPostCount();
+
+    /**
+     * Finds all tag ids with post id and status.
+     *
+     * @return a list of tag id and post status
+     */
+    @NonNull
+    @Query("select new run.halo.app.model.projection.TagIdPostStatusProjection(pt.tagId,"
+        + " pt.postId, p.status) from PostTag pt inner join Post p on p.id=pt.postId")
+    List<TagIdPostStatusProjection> findAllWithPostStatus();
 }
@@ -6,8 +6,11 @@ import static run.halo.app.utils.FileUtils.copyFolder;
 import static run.halo.app.utils.FileUtils.deleteFolderQuietly;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -29,6 +32,7 @@ import run.halo.app.exception.ThemeNotSupportException;
 import run.halo.app.handler.theme.config.support.ThemeProperty;
 import run.halo.app.model.entity.Option;
 import run.halo.app.model.support.HaloConst;
+import run.halo.app.service.ThemeService;
 import run.halo.app.theme.ThemePropertyScanner;
 import run.halo.app.utils.FileUtils;
 import run.halo.app.utils.Version;
@@ -126,6 +130,14 @@ public class ThemeRepositoryImpl
 
     @Override
     public ThemeProperty attemptToAdd(ThemeProperty newProperty) {
+        try {
+            return add(newProperty);
+        } finally {
+            deleteStagingFolderQuietly(Paths.get(newProperty.getThemePath()));
+        }
+    }
+
+    private ThemeProperty add(ThemeProperty newProperty) {
         // 1. check existence
         final var alreadyExist = fetchThemePropertyByThemeId(newProperty.getId()).isPresent();
         if (alreadyExist) {
@@ -146,13 +158,18 @@ public class ThemeRepositoryImpl
         // 4. clear target theme folder firstly
         deleteFolderQuietly(targetThemePath);
 
-        log.info("Copying new theme({}) from {} to {}",
+        log.info("Moving new theme({}) from {} to {}",
             newProperty.getId(),
             sourceThemePath,
             targetThemePath);
 
         try {
-            copyFolder(sourceThemePath, targetThemePath);
+            try {
+                Files.move(sourceThemePath, targetThemePath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // e.g. fetched to another file store
+                copyFolder(sourceThemePath, targetThemePath);
+            }
         } catch (IOException e) {
             // clear data
             deleteFolderQuietly(targetThemePath);
@@ -192,6 +209,22 @@ public class ThemeRepositoryImpl
             .orElse(false);
     }
 
+    /**
+     * Deletes the staging folder the given theme was fetched to, which may contain more than the
+     * theme itself, e.g. the top folder of a zip archive.
+     */
+    private void deleteStagingFolderQuietly(Path sourceThemePath) {
+        final var stagingRootPath = Paths.get(properties.getWorkDir(),
+            ThemeService.THEME_STAGING_FOLDER).toAbsolutePath().normalize();
+        final var sourcePath = sourceThemePath.toAbsolutePath().normalize();
+        if (sourcePath.startsWith(stagingRootPath) && !sourcePath.equals(stagingRootPath)) {
+            final var stagingPath =
+                stagingRootPath.resolve(stagingRootPath.relativize(sourcePath).getName(0));
+            log.info("Clean theme staging folder {}", stagingPath);
+            deleteFolderQuietly(stagingPath);
+        }
+    }
+
     private Path getThemeRootPath() {
         return Paths.get(properties.getWorkDir()).resolve("templates/themes");
     }
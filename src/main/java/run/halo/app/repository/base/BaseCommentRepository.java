@@ -5,8 +5,10 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import run.halo.app.annotation.SensitiveConceal;
@@ -125,6 +127,16 @@ public interface BaseCommentRepository<COMMENT extends BaseComment>
     @NonNull
     List<COMMENT> deleteByPostId(@NonNull Integer postId);
 
+    /**
+     * Deletes comments by post ids without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from #{#entityName} c where c.postId in :postIds")
+    int deleteByPostIdIn(@Param("postIds") @NonNull Collection<Integer> postIds);
+
     /**
      * Removes comments by parent id.
      *
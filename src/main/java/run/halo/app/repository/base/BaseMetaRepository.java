@@ -1,9 +1,13 @@
 package run.halo.app.repository.base;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.BaseMeta;
 
@@ -36,6 +40,16 @@ public interface BaseMetaRepository<M extends BaseMeta>
     @NonNull
     List<M> deleteByPostId(@NonNull Integer postId);
 
+    /**
+     * Deletes metas by post ids without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return deleted rows
+     */
+    @Modifying
+    @Query("delete from #{#entityName} m where m.postId in :postIds")
+    int deleteByPostIdIn(@Param("postIds") @NonNull Collection<Integer> postIds);
+
     /**
      * Finds all post metas by post id.
      *
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import run.halo.app.model.entity.BasePost;
 import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostSlugProjection;
 
 /**
  * Base post repository.
@@ -226,4 +227,14 @@ public interface BasePostRepository<POST extends BasePost> extends BaseRepositor
     @Query("update BasePost p set p.status = :status where p.id = :postId")
     int updateStatus(@Param("status") @NonNull PostStatus status,
         @Param("postId") @NonNull Integer postId);
+
+    /**
+     * Lists ids and slugs of all posts.
+     *
+     * @return a list of post id and slug
+     */
+    @NonNull
+    @Query("select new run.halo.app.model.projection.PostSlugProjection(post.id, post.slug) "
+        + "from #{#entityName} post")
+    List<PostSlugProjection> findAllSlugProjections();
 }
@@ -39,6 +39,11 @@ import run.halo.app.annotation.SensitiveConceal;
 public class BaseRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAIN, ID>
     implements BaseRepository<DOMAIN, ID> {
 
+    /**
+     * Max number of ids in a single bulk delete statement.
+     */
+    private static final int DELETE_CHUNK_SIZE = 500;
+
     private final JpaEntityInformation<DOMAIN, ID> entityInformation;
 
     private final EntityManager entityManager;
@@ -127,7 +132,10 @@ public class BaseRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAIN,
     }
 
     /**
-     * Deletes by id list.
+     * Deletes by id list with bulk delete statements, without loading the domains. Ids are
+     * deleted in chunks of {@link #DELETE_CHUNK_SIZE} to bound the size of the in clause.
+     *
+     * <p>Note that the deleted domains are not removed from the persistence context.
      *
      * @param ids id list of domain must not be null
      * @return number of rows affected
@@ -135,16 +143,37 @@ public class BaseRepositoryImpl<DOMAIN, ID> extends SimpleJpaRepository<DOMAIN,
     @Override
     @Transactional
     public long deleteByIdIn(Collection<ID> ids) {
+        Assert.notNull(ids, "The given Collection of Id's must not be null!");
 
         log.debug("Customized deleteByIdIn method was invoked");
-        // Find all domains
-        List<DOMAIN> domains = findAllById(ids);
 
-        // Delete in batch
-        deleteInBatch(domains);
+        if (ids.isEmpty()) {
+            return 0L;
+        }
 
-        // Return the size of domain deleted
-        return domains.size();
+        if (entityInformation.hasCompositeId()) {
+            // Find all domains
+            List<DOMAIN> domains = findAllById(ids);
+
+            // Delete in batch
+            deleteInBatch(domains);
+
+            // Return the size of domain deleted
+            return domains.size();
+        }
+
+        String deleteQuery = String.format("delete from %s x where x.%s in :ids",
+            entityInformation.getEntityName(), entityInformation.getIdAttribute().getName());
+
+        long deleted = 0L;
+        List<ID> idList = new ArrayList<>(ids);
+        for (int from = 0; from < idList.size(); from += DELETE_CHUNK_SIZE) {
+            int to = Math.min(from + DELETE_CHUNK_SIZE, idList.size());
+            deleted += entityManager.createQuery(deleteQuery)
+                .setParameter("ids", idList.subList(from, to))
+                .executeUpdate();
+        }
+        return deleted;
     }
 
     protected <S extends DOMAIN> Page<S> readPage(TypedQuery<S> query, Class<S> domainClass,
@@ -7,7 +7,9 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import javax.annotation.Resource;
 import javax.servlet.FilterChain;
@@ -36,6 +38,7 @@ import run.halo.app.security.handler.AuthenticationFailureHandler;
 import run.halo.app.security.handler.DefaultAuthenticationFailureHandler;
 import run.halo.app.security.service.OneTimeTokenService;
 import run.halo.app.service.OptionService;
+import run.halo.app.utils.PathPatternIndex;
 
 /**
  * Abstract authentication filter.
@@ -60,6 +63,11 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
 
     private Set<String> urlPatterns = new LinkedHashSet<>();
 
+    /**
+     * Compiled url patterns, mapped to true if excluded. Rebuilt when the patterns change.
+     */
+    private volatile PathPatternIndex<Boolean> urlPatternIndex = PathPatternIndex.empty();
+
     AbstractAuthenticationFilter(HaloProperties haloProperties,
         OptionService optionService,
         AbstractStringCacheStore cacheStore,
@@ -116,13 +124,17 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
     protected boolean shouldNotFilter(HttpServletRequest request) {
         Assert.notNull(request, "Http servlet request must not be null");
 
-        // check white list
-        boolean result = excludeUrlPatterns.stream()
-            .anyMatch(p -> antPathMatcher.match(p, urlPathHelper.getRequestUri(request)));
+        // check white list (excluded patterns take precedence)
+        Boolean excluded = urlPatternIndex.match(urlPathHelper.getRequestUri(request));
 
-        return result || urlPatterns.stream()
-            .noneMatch(p -> antPathMatcher.match(p, urlPathHelper.getRequestUri(request)));
+        return excluded == null || excluded;
+    }
 
+    private synchronized void compileUrlPatterns() {
+        Map<String, Boolean> patterns = new LinkedHashMap<>();
+        excludeUrlPatterns.forEach(pattern -> patterns.put(pattern, true));
+        urlPatterns.forEach(pattern -> patterns.putIfAbsent(pattern, false));
+        this.urlPatternIndex = PathPatternIndex.compile(patterns);
     }
 
     /**
@@ -134,6 +146,7 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
         Assert.notNull(excludeUrlPatterns, "Exclude url patterns must not be null");
 
         Collections.addAll(this.excludeUrlPatterns, excludeUrlPatterns);
+        compileUrlPatterns();
     }
 
     /**
@@ -143,7 +156,7 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
      */
     @NonNull
     public Set<String> getExcludeUrlPatterns() {
-        return excludeUrlPatterns;
+        return Collections.unmodifiableSet(excludeUrlPatterns);
     }
 
     /**
@@ -155,20 +168,23 @@ public abstract class AbstractAuthenticationFilter extends OncePerRequestFilter
         Assert.notNull(excludeUrlPatterns, "Exclude url patterns must not be null");
 
         this.excludeUrlPatterns = new HashSet<>(excludeUrlPatterns);
+        compileUrlPatterns();
     }
 
     public Collection<String> getUrlPatterns() {
-        return this.urlPatterns;
+        return Collections.unmodifiableSet(this.urlPatterns);
     }
 
     public void setUrlPatterns(Collection<String> urlPatterns) {
         Assert.notNull(urlPatterns, "UrlPatterns must not be null");
         this.urlPatterns = new LinkedHashSet<>(urlPatterns);
+        compileUrlPatterns();
     }
 
     public void addUrlPatterns(String... urlPatterns) {
         Assert.notNull(urlPatterns, "UrlPatterns must not be null");
         Collections.addAll(this.urlPatterns, urlPatterns);
+        compileUrlPatterns();
     }
 
     /**
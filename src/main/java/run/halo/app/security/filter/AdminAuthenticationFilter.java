@@ -5,7 +5,6 @@ import static run.halo.app.model.support.HaloConst.ADMIN_TOKEN_QUERY_NAME;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
-import java.util.Optional;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -24,6 +23,7 @@ import run.halo.app.security.context.SecurityContextHolder;
 import run.halo.app.security.context.SecurityContextImpl;
 import run.halo.app.security.handler.DefaultAuthenticationFailureHandler;
 import run.halo.app.security.service.OneTimeTokenService;
+import run.halo.app.security.support.PrincipalCache;
 import run.halo.app.security.support.UserDetail;
 import run.halo.app.security.util.SecurityUtils;
 import run.halo.app.service.OptionService;
@@ -43,15 +43,19 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
 
     private final UserService userService;
 
+    private final PrincipalCache principalCache;
+
     public AdminAuthenticationFilter(AbstractStringCacheStore cacheStore,
         UserService userService,
         HaloProperties haloProperties,
         OptionService optionService,
         OneTimeTokenService oneTimeTokenService,
-        ObjectMapper objectMapper) {
+        ObjectMapper objectMapper,
+        PrincipalCache principalCache) {
         super(haloProperties, optionService, cacheStore, oneTimeTokenService);
         this.userService = userService;
         this.haloProperties = haloProperties;
+        this.principalCache = principalCache;
 
 
         addUrlPatterns("/api/admin/**", "/api/content/comments");
@@ -96,7 +100,7 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
         * */
         if (!haloProperties.isAuthEnabled()) {
             // Set security
-            userService.getCurrentUser().ifPresent(user ->
+            principalCache.getCurrentUser(userService::getCurrentUser).ifPresent(user ->
                 SecurityContextHolder.setContext(
                     new SecurityContextImpl(new AuthenticationImpl(new UserDetail(user)))));
 
@@ -114,16 +118,12 @@ public class AdminAuthenticationFilter extends AbstractAuthenticationFilter {
         }
 
         // 根据 token 从 cacheStore 缓存中获取用户 id
-        // Get user id from cache
-        Optional<Integer> optionalUserId =
-            cacheStore.getAny(SecurityUtils.buildTokenAccessKey(token), Integer.class);
-
-        if (!optionalUserId.isPresent()) {
-            throw new AuthenticationException("Token 已过期或不存在").setErrorData(token);
-        }
-
-        // Get the user
-        User user = userService.getById(optionalUserId.get());
+        // Get the user from principal cache, or by user id from cache store
+        User user = principalCache.get(token, () ->
+            cacheStore.getAny(SecurityUtils.buildTokenAccessKey(token), Integer.class)
+                .map(userService::getById))
+            .orElseThrow(
+                () -> new AuthenticationException("Token 已过期或不存在").setErrorData(token));
 
         // Build user detail
         UserDetail userDetail = new UserDetail(user);
@@ -0,0 +1,133 @@
+package run.halo.app.security.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.event.user.UserUpdatedEvent;
+import run.halo.app.model.entity.User;
+import run.halo.app.utils.BeanUtils;
+
+/**
+ * Short-lived cache of authenticated users, keyed by the hash of their access tokens.
+ *
+ * <p>Every call gets its own copy of the cached user, so changes made while handling a request
+ * never leak into the cache. Entries are dropped on logout, token refresh and user updates, and
+ * expire after {@code halo.principal-cache-ttl} otherwise.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    /**
+     * Key of the current user when authentication is disabled. Token keys are hex hashes, so
+     * they never collide with it.
+     */
+    private static final String CURRENT_USER_KEY = "current-user";
+
+    @Nullable
+    private final Cache<String, User> cache;
+
+    /**
+     * Incremented on every invalidation, so that users loaded before it are not cached.
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public PrincipalCache(HaloProperties haloProperties) {
+        if (haloProperties.getPrincipalCacheSize() > 0) {
+            this.cache = CacheBuilder.newBuilder()
+                .maximumSize(haloProperties.getPrincipalCacheSize())
+                .expireAfterWrite(haloProperties.getPrincipalCacheTtl())
+                .build();
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Gets the user authenticated by the given access token, or loads it on a miss. Nothing
+     * is cached if the loader returns empty.
+     *
+     * @param accessToken access token must not be blank
+     * @param loader user loader must not be null
+     * @return a copy of the authenticated user
+     */
+    @NonNull
+    public Optional<User> get(@NonNull String accessToken,
+        @NonNull Supplier<Optional<User>> loader) {
+        Assert.hasText(accessToken, "Access token must not be blank");
+        return get(hash(accessToken), loader);
+    }
+
+    /**
+     * Gets the current user used when authentication is disabled, or loads it on a miss.
+     *
+     * @param loader user loader must not be null
+     * @return a copy of the current user
+     */
+    @NonNull
+    public Optional<User> getCurrentUser(@NonNull Supplier<Optional<User>> loader) {
+        return get(CURRENT_USER_KEY, loader);
+    }
+
+    /**
+     * Invalidates the user authenticated by the given access token.
+     *
+     * @param accessToken access token must not be blank
+     */
+    public void invalidate(@NonNull String accessToken) {
+        Assert.hasText(accessToken, "Access token must not be blank");
+        if (cache != null) {
+            invalidationCount.incrementAndGet();
+            cache.invalidate(hash(accessToken));
+        }
+    }
+
+    /**
+     * Invalidates all cached users.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            invalidationCount.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    @EventListener(UserUpdatedEvent.class)
+    public void onUserUpdated() {
+        invalidateAll();
+        log.debug("Cleared cached principals");
+    }
+
+    private Optional<User> get(String key, Supplier<Optional<User>> loader) {
+        Assert.notNull(loader, "User loader must not be null");
+        if (cache == null) {
+            return loader.get();
+        }
+
+        User user = cache.getIfPresent(key);
+        if (user == null) {
+            long invalidations = invalidationCount.get();
+            Optional<User> loaded = loader.get();
+            if (loaded.isPresent() && invalidations == invalidationCount.get()) {
+                cache.put(key, BeanUtils.transformFrom(loaded.get(), User.class));
+            }
+            return loaded;
+        }
+        return Optional.ofNullable(BeanUtils.transformFrom(user, User.class));
+    }
+
+    private static String hash(String accessToken) {
+        return Hashing.sha256().hashString(accessToken, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.core.io.Resource;
 import org.springframework.lang.NonNull;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.model.dto.BackupDTO;
+import run.halo.app.model.dto.BackupJobDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
+import run.halo.app.model.params.BackupParam;
 import run.halo.app.model.params.PostMarkdownParam;
 
 /**
@@ -38,6 +40,41 @@ public interface BackupService {
     @NonNull
     BackupDTO backupWorkDirectory(List<String> options);
 
+    /**
+     * Starts a backup job of work directory in background.
+     *
+     * @param backupParam backup param must not be null
+     * @return backup job
+     */
+    @NonNull
+    BackupJobDTO startWorkDirectoryBackup(@NonNull BackupParam backupParam);
+
+    /**
+     * Gets a backup job of work directory.
+     *
+     * @param jobId job id must not be blank
+     * @return backup job
+     */
+    @NonNull
+    BackupJobDTO getWorkDirectoryBackupJob(@NonNull String jobId);
+
+    /**
+     * Lists recent backup jobs of work directory, the latest first.
+     *
+     * @return a list of backup jobs
+     */
+    @NonNull
+    List<BackupJobDTO> listWorkDirectoryBackupJobs();
+
+    /**
+     * Cancels a running backup job of work directory.
+     *
+     * @param jobId job id must not be blank
+     * @return backup job
+     */
+    @NonNull
+    BackupJobDTO cancelWorkDirectoryBackupJob(@NonNull String jobId);
+
     /**
      * Lists all backups.
      *
@@ -1,5 +1,6 @@
 package run.halo.app.service;
 
+import java.util.Date;
 import run.halo.app.model.entity.CommentBlackList;
 import run.halo.app.model.enums.CommentViolationTypeEnum;
 import run.halo.app.service.base.CrudService;
@@ -18,4 +19,12 @@ public interface CommentBlackListService extends CrudService<CommentBlackList, L
      * @return boolean
      */
     CommentViolationTypeEnum commentsBanStatus(String ipAddress);
+
+    /**
+     * 封禁IP地址直到指定时间
+     *
+     * @param ipAddress ip地址
+     * @param banTime 封禁结束时间
+     */
+    void ban(String ipAddress, Date banTime);
 }
@@ -1,6 +1,8 @@
 package run.halo.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import run.halo.app.model.entity.Content.ContentDiff;
 import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.entity.ContentPatchLog;
@@ -50,6 +52,14 @@ public interface ContentPatchLogService extends CrudService<ContentPatchLog, Int
      */
     ContentPatchLog getDraftByPostId(Integer postId);
 
+    /**
+     * Lists the ids of the given posts having a patch log record of the draft status.
+     *
+     * @param postIds post ids
+     * @return a set of post ids
+     */
+    Set<Integer> listDraftPostIds(Collection<Integer> postIds);
+
     /**
      * Gets content patch log by post id.
      *
@@ -1,5 +1,7 @@
 package run.halo.app.service;
 
+import java.util.Collection;
+import java.util.Set;
 import run.halo.app.model.entity.Content;
 import run.halo.app.model.entity.ContentPatchLog;
 import run.halo.app.service.base.CrudService;
@@ -42,4 +44,12 @@ public interface ContentService extends CrudService<Content, Integer> {
      *  otherwise {@code false}
      */
     Boolean draftingInProgress(Integer postId);
+
+    /**
+     * Lists the ids of the given posts having a draft being drafted.
+     *
+     * @param postIds post ids must not be null
+     * @return a set of post ids
+     */
+    Set<Integer> listDraftingPostIds(Collection<Integer> postIds);
 }
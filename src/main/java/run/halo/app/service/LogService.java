@@ -1,6 +1,8 @@
 package run.halo.app.service;
 
+import java.util.Date;
 import org.springframework.data.domain.Page;
+import org.springframework.lang.NonNull;
 import run.halo.app.model.dto.LogDTO;
 import run.halo.app.model.entity.Log;
 import run.halo.app.service.base.CrudService;
@@ -20,4 +22,20 @@ public interface LogService extends CrudService<Log, Long> {
      * @return a page of latest logs
      */
     Page<LogDTO> pageLatest(int top);
+
+    /**
+     * Removes logs created before the given time.
+     *
+     * @param createTime create time must not be null
+     * @return number of removed logs
+     */
+    int removeBefore(@NonNull Date createTime);
+
+    /**
+     * Removes the oldest logs exceeding the given count.
+     *
+     * @param maxCount maximum number of logs to keep, must not be less than 0
+     * @return number of removed logs
+     */
+    int removeExceeding(int maxCount);
 }
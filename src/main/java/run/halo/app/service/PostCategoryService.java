@@ -176,6 +176,15 @@ public interface PostCategoryService extends CrudService<PostCategory, Integer>
     @Transactional
     List<PostCategory> removeByPostId(@NonNull Integer postId);
 
+    /**
+     * Removes post categories of the given posts without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return number of post categories removed
+     */
+    @Transactional
+    int removeByPostIds(@NonNull Collection<Integer> postIds);
+
     /**
      * Removes post categories by category id.
      *
@@ -12,6 +12,7 @@ import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostMeta;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.PostQuery;
+import run.halo.app.model.projection.PostListProjection;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
@@ -48,6 +49,16 @@ public interface PostService extends BasePostService<Post> {
     @NonNull
     Page<Post> pageBy(@NonNull String keyword, @NonNull Pageable pageable);
 
+    /**
+     * Pages post list projections, the columns shown in the admin post list.
+     *
+     * @param postQuery post query must not be null
+     * @param pageable page info must not be null
+     * @return a page of post list projection
+     */
+    @NonNull
+    Page<PostListProjection> pageListBy(@NonNull PostQuery postQuery, @NonNull Pageable pageable);
+
     /**
      * Creates post by post param.
      *
@@ -171,7 +182,17 @@ public interface PostService extends BasePostService<Post> {
     List<Post> removeByIds(@NonNull Collection<Integer> ids);
 
     /**
-     * Lists year archives.
+     * Removes posts in batch together with their tags, categories, metas, comments and contents,
+     * without loading any of them. Posts are removed in chunks, each in its own transaction.
+     *
+     * @param ids ids must not be null.
+     * @return number of posts removed.
+     */
+    int removeInChunks(@NonNull Collection<Integer> ids);
+
+    /**
+     * Lists year archives. Groups are taken from the archive index, and only their posts
+     * are loaded.
      *
      * @return a list of year archive
      */
@@ -179,13 +200,32 @@ public interface PostService extends BasePostService<Post> {
     List<ArchiveYearVO> listYearArchives();
 
     /**
-     * Lists month archives.
+     * Lists month archives. Groups are taken from the archive index, and only their posts
+     * are loaded.
      *
      * @return a list of month archive
      */
     @NonNull
     List<ArchiveMonthVO> listMonthArchives();
 
+    /**
+     * Pages year archives. The page is applied to years rather than posts.
+     *
+     * @param pageable page info must not be null
+     * @return a page of year archive
+     */
+    @NonNull
+    Page<ArchiveYearVO> pageYearArchives(@NonNull Pageable pageable);
+
+    /**
+     * Pages month archives. The page is applied to months rather than posts.
+     *
+     * @param pageable page info must not be null
+     * @return a page of month archive
+     */
+    @NonNull
+    Page<ArchiveMonthVO> pageMonthArchives(@NonNull Pageable pageable);
+
     /**
      * Import post from markdown document.
      *
@@ -53,6 +53,16 @@ public interface PostTagService extends CrudService<PostTag, Integer> {
     @NonNull
     Map<Integer, List<Tag>> listTagListMapBy(@Nullable Collection<Integer> postIds);
 
+    /**
+     * Lists published posts related to the given post by their shared tags.
+     *
+     * @param postId post id must not be null
+     * @param top maximum number of posts
+     * @return a list of post, most related first
+     */
+    @NonNull
+    List<Post> listRelatedPosts(@NonNull Integer postId, int top);
+
     /**
      * Lists posts by tag id.
      *
@@ -148,6 +158,15 @@ public interface PostTagService extends CrudService<PostTag, Integer> {
     @Transactional
     List<PostTag> removeByPostId(@NonNull Integer postId);
 
+    /**
+     * Removes post tags of the given posts without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return number of post tags removed
+     */
+    @Transactional
+    int removeByPostIds(@NonNull Collection<Integer> postIds);
+
     /**
      * Removes post tags by tag id.
      *
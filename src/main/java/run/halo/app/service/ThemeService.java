@@ -36,6 +36,11 @@ public interface ThemeService {
      */
     String THEME_FOLDER = "templates/themes";
 
+    /**
+     * Staging folder location of themes being installed.
+     */
+    String THEME_STAGING_FOLDER = ".theme-staging";
+
     /**
      * Theme cache key.
      */
@@ -158,7 +158,14 @@ public class BasePostAssembler<POST extends BasePost> {
             return StringUtils.EMPTY;
         }
 
-        String text = HaloUtils.cleanHtmlTag(htmlContent);
+        return generateSummaryFromText(HaloUtils.cleanHtmlTag(htmlContent));
+    }
+
+    @NonNull
+    protected String generateSummaryFromText(@Nullable String text) {
+        if (StringUtils.isEmpty(text)) {
+            return StringUtils.EMPTY;
+        }
 
         Matcher matcher = summaryPattern.matcher(text);
         text = matcher.replaceAll("");
@@ -4,6 +4,7 @@ import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
 
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -12,6 +13,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -26,6 +28,7 @@ import run.halo.app.model.entity.PostMeta;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.enums.CommentStatus;
 import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.model.projection.PostListProjection;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
@@ -38,6 +41,8 @@ import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostMetaService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
+import run.halo.app.service.support.PublishedContentStore;
+import run.halo.app.service.support.PublishedContentStore.Artifact;
 import run.halo.app.utils.DateUtils;
 import run.halo.app.utils.ServiceUtils;
 
@@ -66,13 +71,16 @@ public class PostAssembler extends BasePostAssembler<Post> {
 
     private final OptionService optionService;
 
+    private final PublishedContentStore publishedContentStore;
+
     public PostAssembler(ContentService contentService,
         OptionService optionService, PostTagService postTagService,
         PostCategoryService postCategoryService,
         PostMetaService postMetaService,
         PostCommentService postCommentService,
         TagService tagService,
-        CategoryService categoryService) {
+        CategoryService categoryService,
+        PublishedContentStore publishedContentStore) {
         super(contentService, optionService);
         this.postTagService = postTagService;
         this.postCategoryService = postCategoryService;
@@ -82,6 +90,7 @@ public class PostAssembler extends BasePostAssembler<Post> {
         this.categoryService = categoryService;
         this.contentService = contentService;
         this.optionService = optionService;
+        this.publishedContentStore = publishedContentStore;
     }
 
     @Override
@@ -300,6 +309,105 @@ public class PostAssembler extends BasePostAssembler<Post> {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Converts a page of post list projections to a page of post list vo. Tags, categories,
+     * metas, comment counts, drafting states and missing summaries are all fetched in batch.
+     *
+     * @param postPage post list projection page must not be null
+     * @return a page of post list vo
+     */
+    @NonNull
+    public Page<PostListVO> convertProjectionToListVo(Page<PostListProjection> postPage) {
+        Assert.notNull(postPage, "Post page must not be null");
+
+        List<PostListProjection> posts = postPage.getContent();
+
+        Set<Integer> postIds = ServiceUtils.fetchProperty(posts, PostListProjection::getId);
+
+        // Get tag list map
+        Map<Integer, List<Tag>> tagListMap = postTagService.listTagListMapBy(postIds);
+
+        // Get category list map
+        Map<Integer, List<Category>> categoryListMap = postCategoryService
+            .listCategoryListMap(postIds);
+
+        // Get comment count
+        Map<Integer, Long> commentCountMap =
+            postCommentService.countByStatusAndPostIds(CommentStatus.PUBLISHED, postIds);
+
+        // Get post meta list map
+        Map<Integer, List<PostMeta>> postMetaListMap = postMetaService.listPostMetaAsMap(postIds);
+
+        // Get posts currently drafting in process
+        Set<Integer> draftingPostIds = contentService.listDraftingPostIds(postIds);
+
+        // Get contents of posts without summary
+        Set<Integer> unsummarizedPostIds = posts.stream()
+            .filter(post -> StringUtils.isBlank(post.getSummary()))
+            .map(PostListProjection::getId)
+            .collect(Collectors.toSet());
+        Map<Integer, Artifact> artifacts = publishedContentStore.getAll(unsummarizedPostIds);
+
+        return postPage.map(post -> {
+            PostListVO postListVO = new PostListVO();
+            postListVO.setId(post.getId());
+            postListVO.setTitle(post.getTitle());
+            postListVO.setStatus(post.getStatus());
+            postListVO.setSlug(post.getSlug());
+            postListVO.setEditorType(post.getEditorType());
+            postListVO.setCreateTime(post.getCreateTime());
+            postListVO.setUpdateTime(post.getUpdateTime());
+            postListVO.setEditTime(post.getEditTime());
+            postListVO.setMetaKeywords(post.getMetaKeywords());
+            postListVO.setMetaDescription(post.getMetaDescription());
+            postListVO.setThumbnail(post.getThumbnail());
+            postListVO.setVisits(post.getVisits());
+            postListVO.setDisallowComment(post.getDisallowComment());
+            postListVO.setPassword(post.getPassword());
+            postListVO.setTemplate(post.getTemplate());
+            postListVO.setTopPriority(post.getTopPriority());
+            postListVO.setLikes(post.getLikes());
+            postListVO.setWordCount(post.getWordCount());
+
+            if (StringUtils.isNotBlank(post.getSummary())) {
+                postListVO.setSummary(post.getSummary());
+            } else {
+                Artifact artifact = artifacts.get(post.getId());
+                postListVO.setSummary(artifact == null
+                    ? StringUtils.EMPTY : generateSummaryFromText(artifact.getText()));
+            }
+
+            // Set tags
+            postListVO.setTags(tagListMap.getOrDefault(post.getId(), Collections.emptyList())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(tagService::convertTo)
+                .collect(Collectors.toList()));
+
+            // Set categories
+            postListVO.setCategories(
+                categoryListMap.getOrDefault(post.getId(), Collections.emptyList())
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .map(categoryService::convertTo)
+                    .collect(Collectors.toList()));
+
+            // Set post metas
+            postListVO.setMetas(postMetaService.convertToMap(
+                postMetaListMap.getOrDefault(post.getId(), Collections.emptyList())));
+
+            // Set comment count
+            postListVO.setCommentCount(commentCountMap.getOrDefault(post.getId(), 0L));
+
+            postListVO.setFullPath(
+                buildFullPath(post.getId(), post.getSlug(), post.getCreateTime()));
+
+            postListVO.setInProgress(draftingPostIds.contains(post.getId()));
+
+            return postListVO;
+        });
+    }
+
 
     /**
      * Converts to post detail vo.
@@ -430,6 +538,10 @@ public class PostAssembler extends BasePostAssembler<Post> {
      * @return full patch to access.
      */
     public String buildFullPath(Post post) {
+        return buildFullPath(post.getId(), post.getSlug(), post.getCreateTime());
+    }
+
+    private String buildFullPath(Integer postId, String slug, Date createTime) {
 
         PostPermalinkType permalinkType = optionService.getPostPermalinkType();
 
@@ -437,11 +549,11 @@ public class PostAssembler extends BasePostAssembler<Post> {
 
         String archivesPrefix = optionService.getArchivesPrefix();
 
-        int month = DateUtils.month(post.getCreateTime()) + 1;
+        int month = DateUtils.month(createTime) + 1;
 
         String monthString = month < 10 ? "0" + month : String.valueOf(month);
 
-        int day = DateUtils.dayOfMonth(post.getCreateTime());
+        int day = DateUtils.dayOfMonth(createTime);
 
         String dayString = day < 10 ? "0" + day : String.valueOf(day);
 
@@ -456,36 +568,36 @@ public class PostAssembler extends BasePostAssembler<Post> {
         if (permalinkType.equals(PostPermalinkType.DEFAULT)) {
             fullPath.append(archivesPrefix)
                 .append(URL_SEPARATOR)
-                .append(post.getSlug())
+                .append(slug)
                 .append(pathSuffix);
         } else if (permalinkType.equals(PostPermalinkType.ID)) {
             fullPath.append("?p=")
-                .append(post.getId());
+                .append(postId);
         } else if (permalinkType.equals(PostPermalinkType.DATE)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
+            fullPath.append(DateUtils.year(createTime))
                 .append(URL_SEPARATOR)
                 .append(monthString)
                 .append(URL_SEPARATOR)
-                .append(post.getSlug())
+                .append(slug)
                 .append(pathSuffix);
         } else if (permalinkType.equals(PostPermalinkType.DAY)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
+            fullPath.append(DateUtils.year(createTime))
                 .append(URL_SEPARATOR)
                 .append(monthString)
                 .append(URL_SEPARATOR)
                 .append(dayString)
                 .append(URL_SEPARATOR)
-                .append(post.getSlug())
+                .append(slug)
                 .append(pathSuffix);
         } else if (permalinkType.equals(PostPermalinkType.YEAR)) {
-            fullPath.append(DateUtils.year(post.getCreateTime()))
+            fullPath.append(DateUtils.year(createTime))
                 .append(URL_SEPARATOR)
-                .append(post.getSlug())
+                .append(slug)
                 .append(pathSuffix);
         } else if (permalinkType.equals(PostPermalinkType.ID_SLUG)) {
             fullPath.append(archivesPrefix)
                 .append(URL_SEPARATOR)
-                .append(post.getId())
+                .append(postId)
                 .append(pathSuffix);
         }
         return fullPath.toString();
@@ -1,8 +1,11 @@
 package run.halo.app.service.assembler;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import run.halo.app.exception.NotFoundException;
+import run.halo.app.model.dto.post.BasePostSimpleDTO;
 import run.halo.app.model.entity.Content;
 import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.entity.Post;
@@ -16,6 +19,8 @@ import run.halo.app.service.PostCommentService;
 import run.halo.app.service.PostMetaService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
+import run.halo.app.service.support.PublishedContentStore;
+import run.halo.app.service.support.PublishedContentStore.Artifact;
 
 /**
  * Post assembler for theme render.
@@ -28,6 +33,7 @@ public class PostRenderAssembler extends PostAssembler {
 
     private final ContentService contentService;
     private final ContentPatchLogService contentPatchLogService;
+    private final PublishedContentStore publishedContentStore;
 
     public PostRenderAssembler(ContentService contentService,
         OptionService optionService,
@@ -37,29 +43,32 @@ public class PostRenderAssembler extends PostAssembler {
         PostCommentService postCommentService,
         TagService tagService,
         CategoryService categoryService,
-        ContentPatchLogService contentPatchLogService) {
+        ContentPatchLogService contentPatchLogService,
+        PublishedContentStore publishedContentStore) {
         super(contentService, optionService, postTagService, postCategoryService, postMetaService,
-            postCommentService, tagService, categoryService);
+            postCommentService, tagService, categoryService, publishedContentStore);
         this.contentService = contentService;
         this.contentPatchLogService = contentPatchLogService;
+        this.publishedContentStore = publishedContentStore;
     }
 
     @Override
     public Page<PostDetailVO> convertToDetailVo(Page<Post> postPage) {
         Assert.notNull(postPage, "Post page must not be null");
-        // Populate post content
-        postPage.getContent().forEach(post -> {
-            Content postContent = contentService.getById(post.getId());
-            post.setContent(Content.PatchedContent.of(postContent));
-        });
         return postPage.map(this::convertToDetailVo);
     }
 
     @Override
     public PostDetailVO convertToDetailVo(Post post) {
         Assert.notNull(post, "The post must not be null.");
-        post.setContent(PatchedContent.of(contentService.getById(post.getId())));
-        return super.convertToDetailVo(post);
+        Artifact artifact = publishedContentStore.get(post.getId());
+        if (artifact == null) {
+            throw new NotFoundException("content was not found or has been deleted");
+        }
+        post.setContent(artifact);
+        PostDetailVO postDetailVO = super.convertToDetailVo(post);
+        postDetailVO.setToc(artifact.getToc());
+        return postDetailVO;
     }
 
     /**
@@ -74,6 +83,27 @@ public class PostRenderAssembler extends PostAssembler {
         return super.convertToDetailVo(post);
     }
 
+    @Override
+    protected <T extends BasePostSimpleDTO> void generateAndSetSummaryIfAbsent(Post post,
+        T postVo) {
+        Assert.notNull(post, "The post must not be null.");
+        if (StringUtils.isNotBlank(postVo.getSummary())) {
+            return;
+        }
+
+        // the summary of a published content is generated from its stored plain text, the one
+        // of a preview from the html
+        PatchedContent patchedContent = post.getContentOfNullable();
+        if (patchedContent == null) {
+            patchedContent = publishedContentStore.get(post.getId());
+        }
+        if (patchedContent instanceof Artifact) {
+            postVo.setSummary(generateSummaryFromText(((Artifact) patchedContent).getText()));
+        } else {
+            super.generateAndSetSummaryIfAbsent(post, postVo);
+        }
+    }
+
     private PatchedContent getLatestContentBy(Integer postId) {
         Content postContent = contentService.getById(postId);
         // Use the head pointer stored in the post content.
@@ -1,7 +1,10 @@
 package run.halo.app.service.assembler;
 
 import java.util.List;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
+import run.halo.app.exception.NotFoundException;
+import run.halo.app.model.dto.post.BasePostSimpleDTO;
 import run.halo.app.model.entity.Content;
 import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.entity.Sheet;
@@ -12,6 +15,8 @@ import run.halo.app.service.ContentService;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.SheetCommentService;
 import run.halo.app.service.SheetMetaService;
+import run.halo.app.service.support.PublishedContentStore;
+import run.halo.app.service.support.PublishedContentStore.Artifact;
 
 /**
  * Sheet assembler for theme render.
@@ -25,25 +30,34 @@ public class SheetRenderAssembler extends SheetAssembler {
     private final SheetMetaService sheetMetaService;
     private final ContentService contentService;
     private final ContentPatchLogService contentPatchLogService;
+    private final PublishedContentStore publishedContentStore;
 
     public SheetRenderAssembler(SheetCommentService sheetCommentService,
         ContentService contentService,
         SheetMetaService sheetMetaService,
         OptionService optionService,
-        ContentPatchLogService contentPatchLogService) {
+        ContentPatchLogService contentPatchLogService,
+        PublishedContentStore publishedContentStore) {
         super(sheetCommentService, contentService, sheetMetaService, optionService);
         this.sheetMetaService = sheetMetaService;
         this.contentService = contentService;
         this.contentPatchLogService = contentPatchLogService;
+        this.publishedContentStore = publishedContentStore;
     }
 
     @Override
     public SheetDetailVO convertToDetailVo(Sheet sheet) {
-        sheet.setContent(Content.PatchedContent.of(contentService.getById(sheet.getId())));
+        Artifact artifact = publishedContentStore.get(sheet.getId());
+        if (artifact == null) {
+            throw new NotFoundException("content was not found or has been deleted");
+        }
+        sheet.setContent(artifact);
         // List metas
         List<SheetMeta> metas = sheetMetaService.listBy(sheet.getId());
         // Convert to detail vo
-        return super.convertTo(sheet, metas);
+        SheetDetailVO sheetDetailVO = super.convertTo(sheet, metas);
+        sheetDetailVO.setToc(artifact.getToc());
+        return sheetDetailVO;
     }
 
     /**
@@ -60,6 +74,19 @@ public class SheetRenderAssembler extends SheetAssembler {
         return super.convertTo(sheet, metas);
     }
 
+    @Override
+    protected <T extends BasePostSimpleDTO> void generateAndSetSummaryIfAbsent(Sheet sheet,
+        T sheetVo) {
+        if (StringUtils.isBlank(sheetVo.getSummary())
+            && sheet.getContentOfNullable() instanceof Artifact) {
+            // published content, generated from its stored plain text
+            Artifact artifact = (Artifact) sheet.getContentOfNullable();
+            sheetVo.setSummary(generateSummaryFromText(artifact.getText()));
+            return;
+        }
+        super.generateAndSetSummaryIfAbsent(sheet, sheetVo);
+    }
+
     private PatchedContent getLatestContentBy(Integer postId) {
         Content postContent = contentService.getById(postId);
         // Use the head pointer stored in the post content.
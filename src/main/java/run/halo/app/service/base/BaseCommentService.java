@@ -196,6 +196,14 @@ public interface BaseCommentService<COMMENT extends BaseComment>
      */
     List<COMMENT> removeByPostId(@NonNull Integer postId);
 
+    /**
+     * Removes comments of the given posts without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return number of comments removed
+     */
+    int removeByPostIds(@NonNull Collection<Integer> postIds);
+
     /**
      * Removes comments in batch.
      *
@@ -1,5 +1,6 @@
 package run.halo.app.service.base;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +35,14 @@ public interface BaseMetaService<M extends BaseMeta> extends CrudService<M, Long
      */
     List<M> removeByPostId(@NonNull Integer postId);
 
+    /**
+     * Removes metas of the given posts without loading them.
+     *
+     * @param postIds post ids must not be null
+     * @return number of metas removed
+     */
+    int removeByPostIds(@NonNull Collection<Integer> postIds);
+
     /**
      * Lists post metas as map.
      *
@@ -2,14 +2,13 @@ package run.halo.app.service.impl;
 
 import static run.halo.app.model.support.HaloConst.DATABASE_PRODUCT_NAME;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.lang.management.ManagementFactory;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -37,11 +36,13 @@ import run.halo.app.model.properties.EmailProperties;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.security.authentication.Authentication;
 import run.halo.app.security.context.SecurityContextHolder;
+import run.halo.app.security.support.PrincipalCache;
 import run.halo.app.security.token.AuthToken;
 import run.halo.app.security.util.SecurityUtils;
 import run.halo.app.service.AdminService;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.UserService;
+import run.halo.app.utils.FileTailUtils;
 import run.halo.app.utils.HaloUtils;
 import run.halo.app.utils.TwoFactorAuthUtils;
 import run.halo.app.utils.ValidationUtils;
@@ -69,19 +70,23 @@ public class AdminServiceImpl implements AdminService {
 
     private final ApplicationEventPublisher eventPublisher;
 
+    private final PrincipalCache principalCache;
+
     public AdminServiceImpl(
         OptionService optionService,
         UserService userService,
         MailService mailService,
         AbstractStringCacheStore cacheStore,
         HaloProperties haloProperties,
-        ApplicationEventPublisher eventPublisher) {
+        ApplicationEventPublisher eventPublisher,
+        PrincipalCache principalCache) {
         this.optionService = optionService;
         this.userService = userService;
         this.mailService = mailService;
         this.cacheStore = cacheStore;
         this.haloProperties = haloProperties;
         this.eventPublisher = eventPublisher;
+        this.principalCache = principalCache;
     }
 
 
@@ -169,20 +174,23 @@ public class AdminServiceImpl implements AdminService {
         // Get current user
         User user = authentication.getDetail().getUser();
 
-        // Clear access token
-        cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class)
-            .ifPresent(accessToken -> {
-                // Delete token
-                cacheStore.delete(SecurityUtils.buildTokenAccessKey(accessToken));
-                cacheStore.delete(SecurityUtils.buildAccessTokenKey(user));
-            });
-
-        // Clear refresh token
-        cacheStore.getAny(SecurityUtils.buildRefreshTokenKey(user), String.class)
-            .ifPresent(refreshToken -> {
-                cacheStore.delete(SecurityUtils.buildTokenRefreshKey(refreshToken));
-                cacheStore.delete(SecurityUtils.buildRefreshTokenKey(user));
-            });
+        // Clear access token and refresh token
+        String accessTokenKey = SecurityUtils.buildAccessTokenKey(user);
+        String refreshTokenKey = SecurityUtils.buildRefreshTokenKey(user);
+        Map<String, String> tokens =
+            cacheStore.getAllAny(List.of(accessTokenKey, refreshTokenKey), String.class);
+
+        List<String> keysToDelete = new ArrayList<>(4);
+        keysToDelete.add(accessTokenKey);
+        keysToDelete.add(refreshTokenKey);
+        Optional<String> accessToken = Optional.ofNullable(tokens.get(accessTokenKey));
+        accessToken.ifPresent(token -> keysToDelete.add(SecurityUtils.buildTokenAccessKey(token)));
+        Optional.ofNullable(tokens.get(refreshTokenKey))
+            .ifPresent(refreshToken -> keysToDelete.add(
+                SecurityUtils.buildTokenRefreshKey(refreshToken)));
+        cacheStore.deleteAll(keysToDelete);
+        // invalidate after the keys are gone, otherwise a concurrent request may reload it
+        accessToken.ifPresent(principalCache::invalidate);
 
         eventPublisher.publishEvent(
             new LogEvent(this, user.getUsername(), LogType.LOGGED_OUT, user.getNickname()));
@@ -285,12 +293,16 @@ public class AdminServiceImpl implements AdminService {
         User user = userService.getById(userId);
 
         // Remove all token
-        cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class)
-            .ifPresent(
-                accessToken -> cacheStore.delete(SecurityUtils.buildTokenAccessKey(accessToken)));
-        cacheStore.delete(SecurityUtils.buildTokenRefreshKey(refreshToken));
-        cacheStore.delete(SecurityUtils.buildAccessTokenKey(user));
-        cacheStore.delete(SecurityUtils.buildRefreshTokenKey(user));
+        List<String> keysToDelete = new ArrayList<>(4);
+        Optional<String> accessToken =
+            cacheStore.getAny(SecurityUtils.buildAccessTokenKey(user), String.class);
+        accessToken.ifPresent(token -> keysToDelete.add(SecurityUtils.buildTokenAccessKey(token)));
+        keysToDelete.add(SecurityUtils.buildTokenRefreshKey(refreshToken));
+        keysToDelete.add(SecurityUtils.buildAccessTokenKey(user));
+        keysToDelete.add(SecurityUtils.buildRefreshTokenKey(user));
+        cacheStore.deleteAll(keysToDelete);
+        // invalidate after the keys are gone, otherwise a concurrent request may reload it
+        accessToken.ifPresent(principalCache::invalidate);
 
         return buildAuthToken(user);
     }
@@ -328,28 +340,24 @@ public class AdminServiceImpl implements AdminService {
         * 服务器使用 cacheStore 存储用户 id 和 token ，cacheStore 是项目中的内部缓存，它使用 ConcurrentHashMap 作为容器。
         * */
 
-        // Cache those tokens, just for clearing
-        //缓存那些令牌，只是为了清理
+        // Cache those tokens (just for clearing) and those tokens with user id
+        //缓存那些令牌，只是为了清理；以及缓存那些带有用户id的令牌
         /*
         * key:"halo.admin.access_token."+ user.getId()
         * value:AccessToken
-        * */
-        cacheStore.putAny(SecurityUtils.buildAccessTokenKey(user), token.getAccessToken(),
-            ACCESS_TOKEN_EXPIRED_SECONDS, TimeUnit.SECONDS);
-        cacheStore.putAny(SecurityUtils.buildRefreshTokenKey(user), token.getRefreshToken(),
-            REFRESH_TOKEN_EXPIRED_DAYS, TimeUnit.DAYS);
-
-        // Cache those tokens with user id
-        //缓存那些带有用户id的令牌
-        /*
+        *
         * key:"halo.admin.access_token."+ AccessToken
         * value:user.getId()
         *
         * 反向存储（自己编的名字
         * */
-        cacheStore.putAny(SecurityUtils.buildTokenAccessKey(token.getAccessToken()), user.getId(),
+        cacheStore.putAllAny(Map.of(
+            SecurityUtils.buildAccessTokenKey(user), token.getAccessToken(),
+            SecurityUtils.buildTokenAccessKey(token.getAccessToken()), user.getId()),
             ACCESS_TOKEN_EXPIRED_SECONDS, TimeUnit.SECONDS);
-        cacheStore.putAny(SecurityUtils.buildTokenRefreshKey(token.getRefreshToken()), user.getId(),
+        cacheStore.putAllAny(Map.of(
+            SecurityUtils.buildRefreshTokenKey(user), token.getRefreshToken(),
+            SecurityUtils.buildTokenRefreshKey(token.getRefreshToken()), user.getId()),
             REFRESH_TOKEN_EXPIRED_DAYS, TimeUnit.DAYS);
 
         return token;
@@ -359,62 +367,12 @@ public class AdminServiceImpl implements AdminService {
     public String getLogFiles(@NonNull Long lines) {
         Assert.notNull(lines, "Lines must not be null");
 
-        File file = new File(haloProperties.getWorkDir(), LOG_PATH);
-
-        List<String> linesArray = new ArrayList<>();
-
-        final StringBuilder result = new StringBuilder();
-
-        if (!file.exists()) {
-            return StringUtils.EMPTY;
-        }
-        long count = 0;
-
-        RandomAccessFile randomAccessFile = null;
         try {
-            randomAccessFile = new RandomAccessFile(file, "r");
-            long length = randomAccessFile.length();
-            if (length == 0L) {
-                return StringUtils.EMPTY;
-            } else {
-                long pos = length - 1;
-                while (pos > 0) {
-                    pos--;
-                    randomAccessFile.seek(pos);
-                    if (randomAccessFile.readByte() == '\n') {
-                        String line = randomAccessFile.readLine();
-                        linesArray.add(new String(line.getBytes(StandardCharsets.ISO_8859_1),
-                            StandardCharsets.UTF_8));
-                        count++;
-                        if (count == lines) {
-                            break;
-                        }
-                    }
-                }
-                if (pos == 0) {
-                    randomAccessFile.seek(0);
-                    linesArray.add(new String(
-                        randomAccessFile.readLine().getBytes(StandardCharsets.ISO_8859_1),
-                        StandardCharsets.UTF_8));
-                }
-            }
-        } catch (Exception e) {
+            return FileTailUtils.readLastLines(Paths.get(haloProperties.getWorkDir(), LOG_PATH),
+                lines);
+        } catch (IOException e) {
             throw new ServiceException("读取日志失败", e);
-        } finally {
-            if (randomAccessFile != null) {
-                try {
-                    randomAccessFile.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
         }
-
-        Collections.reverse(linesArray);
-
-        linesArray.forEach(line -> result.append(line).append(StringUtils.LF));
-
-        return result.toString();
     }
 
     @Override
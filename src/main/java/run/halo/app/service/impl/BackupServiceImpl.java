@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipOutputStream;
@@ -51,6 +52,7 @@ import run.halo.app.exception.NotFoundException;
 import run.halo.app.exception.ServiceException;
 import run.halo.app.handler.file.FileHandler;
 import run.halo.app.model.dto.BackupDTO;
+import run.halo.app.model.dto.BackupJobDTO;
 import run.halo.app.model.dto.post.BasePostDetailDTO;
 import run.halo.app.model.entity.Attachment;
 import run.halo.app.model.entity.Category;
@@ -75,6 +77,8 @@ import run.halo.app.model.entity.SheetMeta;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.entity.ThemeSetting;
 import run.halo.app.model.entity.User;
+import run.halo.app.model.enums.BackupJobStatus;
+import run.halo.app.model.params.BackupParam;
 import run.halo.app.model.params.PostMarkdownParam;
 import run.halo.app.model.support.HaloConst;
 import run.halo.app.model.vo.PostMarkdownVO;
@@ -103,6 +107,8 @@ import run.halo.app.service.SheetService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.ThemeSettingService;
 import run.halo.app.service.UserService;
+import run.halo.app.service.support.IdGeneratorSynchronizer;
+import run.halo.app.service.support.WorkDirBackupExecutor;
 import run.halo.app.utils.DateTimeUtils;
 import run.halo.app.utils.DateUtils;
 import run.halo.app.utils.FileUtils;
@@ -187,6 +193,10 @@ public class BackupServiceImpl implements BackupService {
 
     private final ApplicationContext appContext;
 
+    private final IdGeneratorSynchronizer idGeneratorSynchronizer;
+
+    private final WorkDirBackupExecutor workDirBackupExecutor;
+
     public BackupServiceImpl(AttachmentService attachmentService, CategoryService categoryService,
         CommentBlackListService commentBlackListService, JournalService journalService,
         JournalCommentService journalCommentService, LinkService linkService, LogService logService,
@@ -199,7 +209,9 @@ public class BackupServiceImpl implements BackupService {
         SheetCommentService sheetCommentService, SheetMetaService sheetMetaService,
         TagService tagService, ThemeSettingService themeSettingService, UserService userService,
         OneTimeTokenService oneTimeTokenService, HaloProperties haloProperties,
-        ApplicationEventPublisher eventPublisher, ApplicationContext appContext) {
+        ApplicationEventPublisher eventPublisher, ApplicationContext appContext,
+        IdGeneratorSynchronizer idGeneratorSynchronizer,
+        WorkDirBackupExecutor workDirBackupExecutor) {
         this.attachmentService = attachmentService;
         this.categoryService = categoryService;
         this.commentBlackListService = commentBlackListService;
@@ -227,6 +239,8 @@ public class BackupServiceImpl implements BackupService {
         this.haloProperties = haloProperties;
         this.eventPublisher = eventPublisher;
         this.appContext = appContext;
+        this.idGeneratorSynchronizer = idGeneratorSynchronizer;
+        this.workDirBackupExecutor = workDirBackupExecutor;
     }
 
     @Override
@@ -248,68 +262,115 @@ public class BackupServiceImpl implements BackupService {
         if (CollectionUtils.isEmpty(options)) {
             throw new BadRequestException("The options parameter is missing, at least one.");
         }
-        // Zip work directory to temporary file
+        WorkDirBackupExecutor.Job job = submitWorkDirectoryBackup(options, false);
         try {
-            // Create zip path for halo zip
-            String haloZipFileName = HALO_BACKUP_PREFIX
-                + DateTimeUtils.format(LocalDateTime.now(), HORIZONTAL_LINE_DATETIME_FORMATTER)
-                + HaloUtils.simpleUUID().hashCode() + ".zip";
-            // Create halo zip file
-            Path haloZipFilePath = Paths.get(haloProperties.getBackupDir(), haloZipFileName);
-            if (!Files.exists(haloZipFilePath.getParent())) {
-                Files.createDirectories(haloZipFilePath.getParent());
-            }
-            Path haloZipPath = Files.createFile(haloZipFilePath);
-
-            boolean dbClosed = false;
-            if (options.contains("db") && SystemUtils.IS_OS_WINDOWS) {
-                try {
-                    HikariDataSource dataSource = appContext.getBean(HikariDataSource.class);
-                    if (dataSource.getDriverClassName().equals("org.h2.Driver")) {
-                        try {
-                            Field poolField = HikariDataSource.class.getDeclaredField(
-                                "pool");
-                            HikariPool pool =
-                                (HikariPool) ReflectionUtil.getFieldValue(poolField, dataSource);
-                            pool.shutdown();
-                            dbClosed = true;
-                        } catch (InterruptedException | NoSuchFieldException e) {
-                            throw new ServiceException("Failed to close H2 database", e);
-                        }
-                    }
-                } catch (NoSuchBeanDefinitionException e) {
-                    throw new ServiceException("Bean HikariDataSource doesn't exists");
-                }
-            }
-            // Zip halo
-            run.halo.app.utils.FileUtils
-                .zip(Paths.get(this.haloProperties.getWorkDir()), haloZipPath,
-                    path -> {
-                        for (String itemToBackup : options) {
-                            Path backupItemPath =
-                                Paths.get(this.haloProperties.getWorkDir()).resolve(itemToBackup);
-                            if (path.startsWith(backupItemPath)) {
-                                return true;
-                            }
-                        }
-                        return false;
-                    });
-
-            if (dbClosed) {
-                try {
-                    Field poolField = HikariDataSource.class.getDeclaredField(
-                        "pool");
-                    HikariDataSource dataSource = appContext.getBean(HikariDataSource.class);
-                    ReflectionUtil.setFieldValue(poolField, dataSource, new HikariPool(dataSource));
-                } catch (NoSuchFieldException e) {
-                    throw new ServiceException("Failed to reopen H2 database", e);
-                }
-            }
-            // Build backup dto
-            return buildBackupDto(BACKUP_RESOURCE_BASE_URI, haloZipPath);
-        } catch (IOException e) {
-            throw new ServiceException("Failed to backup halo", e);
+            job.await(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            job.cancel();
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while backing up halo", e);
+        }
+        if (job.getStatus() != BackupJobStatus.SUCCEEDED) {
+            throw new ServiceException("Failed to backup halo: "
+                + StringUtils.defaultString(job.getError(), job.getStatus().name()));
         }
+        return buildBackupDto(BACKUP_RESOURCE_BASE_URI, Objects.requireNonNull(job.getArchive()));
+    }
+
+    @Override
+    public BackupJobDTO startWorkDirectoryBackup(BackupParam backupParam) {
+        Assert.notNull(backupParam, "Backup param must not be null");
+
+        return convertTo(submitWorkDirectoryBackup(backupParam.getOptions(),
+            Boolean.TRUE.equals(backupParam.getIncremental())));
+    }
+
+    @Override
+    public BackupJobDTO getWorkDirectoryBackupJob(String jobId) {
+        return convertTo(getWorkDirectoryBackupJobBy(jobId));
+    }
+
+    @Override
+    public List<BackupJobDTO> listWorkDirectoryBackupJobs() {
+        return workDirBackupExecutor.list().stream()
+            .map(this::convertTo)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public BackupJobDTO cancelWorkDirectoryBackupJob(String jobId) {
+        WorkDirBackupExecutor.Job job = getWorkDirectoryBackupJobBy(jobId);
+        job.cancel();
+        return convertTo(job);
+    }
+
+    @NonNull
+    private WorkDirBackupExecutor.Job getWorkDirectoryBackupJobBy(String jobId) {
+        return workDirBackupExecutor.get(jobId)
+            .orElseThrow(() -> new NotFoundException("备份任务不存在或已过期").setErrorData(jobId));
+    }
+
+    @NonNull
+    private WorkDirBackupExecutor.Job submitWorkDirectoryBackup(List<String> options,
+        boolean incremental) {
+        // H2 database files are locked on Windows, close the pool while archiving them
+        boolean closeDatabase = options.contains("db") && SystemUtils.IS_OS_WINDOWS
+            && isH2DataSource();
+        return workDirBackupExecutor.submit(options, incremental,
+            closeDatabase ? this::closeH2DataSource : null,
+            closeDatabase ? this::reopenH2DataSource : null);
+    }
+
+    private boolean isH2DataSource() {
+        try {
+            HikariDataSource dataSource = appContext.getBean(HikariDataSource.class);
+            return dataSource.getDriverClassName().equals("org.h2.Driver");
+        } catch (NoSuchBeanDefinitionException e) {
+            throw new ServiceException("Bean HikariDataSource doesn't exists");
+        }
+    }
+
+    private void closeH2DataSource() {
+        try {
+            HikariDataSource dataSource = appContext.getBean(HikariDataSource.class);
+            Field poolField = HikariDataSource.class.getDeclaredField("pool");
+            HikariPool pool = (HikariPool) ReflectionUtil.getFieldValue(poolField, dataSource);
+            pool.shutdown();
+        } catch (InterruptedException | NoSuchFieldException e) {
+            throw new ServiceException("Failed to close H2 database", e);
+        }
+    }
+
+    private void reopenH2DataSource() {
+        try {
+            Field poolField = HikariDataSource.class.getDeclaredField("pool");
+            HikariDataSource dataSource = appContext.getBean(HikariDataSource.class);
+            ReflectionUtil.setFieldValue(poolField, dataSource, new HikariPool(dataSource));
+        } catch (NoSuchFieldException e) {
+            throw new ServiceException("Failed to reopen H2 database", e);
+        }
+    }
+
+    @NonNull
+    private BackupJobDTO convertTo(@NonNull WorkDirBackupExecutor.Job job) {
+        BackupJobDTO jobDTO = new BackupJobDTO();
+        jobDTO.setId(job.getId());
+        jobDTO.setStatus(job.getStatus());
+        jobDTO.setOptions(job.getOptions());
+        jobDTO.setIncremental(job.isIncremental());
+        jobDTO.setTotalFiles(job.getTotalFiles());
+        jobDTO.setArchivedFiles(job.getArchivedFiles());
+        jobDTO.setTotalBytes(job.getTotalBytes());
+        jobDTO.setArchivedBytes(job.getArchivedBytes());
+        jobDTO.setStartTime(job.getStartTime());
+        jobDTO.setFinishTime(job.getFinishTime());
+        jobDTO.setError(job.getError());
+        Path archive = job.getArchive();
+        if (job.getStatus() == BackupJobStatus.SUCCEEDED && archive != null
+            && Files.exists(archive)) {
+            jobDTO.setBackup(buildBackupDto(BACKUP_RESOURCE_BASE_URI, archive));
+        }
+        return jobDTO;
     }
 
     @Override
@@ -610,6 +671,9 @@ public class BackupServiceImpl implements BackupService {
         if (users.size() > 0) {
             userService.create(users.get(0));
         }
+
+        // imported records keep their ids
+        idGeneratorSynchronizer.synchronize();
     }
 
     @Override
@@ -407,6 +407,16 @@ public abstract class BaseCommentServiceImpl<COMMENT extends BaseComment>
         return baseCommentRepository.deleteByPostId(postId);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int removeByPostIds(@NonNull Collection<Integer> postIds) {
+        Assert.notNull(postIds, "Post ids must not be null");
+        if (CollectionUtils.isEmpty(postIds)) {
+            return 0;
+        }
+        return baseCommentRepository.deleteByPostIdIn(postIds);
+    }
+
     @Override
     @NonNull
     @Transactional(rollbackFor = Exception.class)
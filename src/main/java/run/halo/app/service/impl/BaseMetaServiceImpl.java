@@ -1,6 +1,7 @@
 package run.halo.app.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -70,6 +71,16 @@ public abstract class BaseMetaServiceImpl<META extends BaseMeta>
         return baseMetaRepository.deleteByPostId(postId);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int removeByPostIds(@NonNull Collection<Integer> postIds) {
+        Assert.notNull(postIds, "Post ids must not be null");
+        if (CollectionUtils.isEmpty(postIds)) {
+            return 0;
+        }
+        return baseMetaRepository.deleteByPostIdIn(postIds);
+    }
+
     @Override
     public Map<Integer, List<META>> listPostMetaAsMap(@NonNull Set<Integer> postIds) {
         Assert.notNull(postIds, "Post ids must not be null");
@@ -1,7 +1,5 @@
 package run.halo.app.service.impl;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -33,9 +31,9 @@ import run.halo.app.model.entity.PostCategory;
 import run.halo.app.model.vo.CategoryVO;
 import run.halo.app.repository.CategoryRepository;
 import run.halo.app.service.CategoryService;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCategoryService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.TaxonomyDictionary;
 import run.halo.app.utils.BeanUtils;
 import run.halo.app.utils.HaloUtils;
 import run.halo.app.utils.ServiceUtils;
@@ -57,18 +55,18 @@ public class CategoryServiceImpl extends AbstractCrudService<Category, Integer>
 
     private final PostCategoryService postCategoryService;
 
-    private final OptionService optionService;
+    private final TaxonomyDictionary taxonomyDictionary;
 
     private final ApplicationContext applicationContext;
 
     public CategoryServiceImpl(CategoryRepository categoryRepository,
         PostCategoryService postCategoryService,
-        OptionService optionService,
+        TaxonomyDictionary taxonomyDictionary,
         ApplicationContext applicationContext) {
         super(categoryRepository);
         this.categoryRepository = categoryRepository;
         this.postCategoryService = postCategoryService;
-        this.optionService = optionService;
+        this.taxonomyDictionary = taxonomyDictionary;
         this.applicationContext = applicationContext;
     }
 
@@ -147,18 +145,7 @@ public class CategoryServiceImpl extends AbstractCrudService<Category, Integer>
     @Override
     public String buildCategoryFullPath(@NonNull String slug) {
         Assert.notNull(slug, "The slug must not be null.");
-        StringBuilder fullPath = new StringBuilder();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        fullPath.append(URL_SEPARATOR)
-            .append(optionService.getCategoriesPrefix())
-            .append(URL_SEPARATOR)
-            .append(slug)
-            .append(optionService.getPathSuffix());
-        return fullPath.toString();
+        return taxonomyDictionary.buildCategoryFullPath(slug);
     }
 
     @Override
@@ -277,11 +264,7 @@ public class CategoryServiceImpl extends AbstractCrudService<Category, Integer>
     public CategoryDTO convertTo(Category category) {
         Assert.notNull(category, "Category must not be null");
 
-        CategoryDTO categoryDto = new CategoryDTO().convertFrom(category);
-
-        categoryDto.setFullPath(buildCategoryFullPath(category.getSlug()));
-
-        return categoryDto;
+        return taxonomyDictionary.getCategoryDto(category);
     }
 
     @Override
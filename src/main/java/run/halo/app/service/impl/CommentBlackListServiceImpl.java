@@ -4,15 +4,16 @@ import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import run.halo.app.event.comment.CommentBannedEvent;
 import run.halo.app.model.entity.CommentBlackList;
 import run.halo.app.model.enums.CommentViolationTypeEnum;
-import run.halo.app.model.properties.CommentProperties;
 import run.halo.app.repository.CommentBlackListRepository;
-import run.halo.app.repository.PostCommentRepository;
 import run.halo.app.service.CommentBlackListService;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.CommentRateLimiter;
 import run.halo.app.utils.DateTimeUtils;
 
 /**
@@ -27,16 +28,16 @@ import run.halo.app.utils.DateTimeUtils;
 public class CommentBlackListServiceImpl extends AbstractCrudService<CommentBlackList, Long>
     implements CommentBlackListService {
     private final CommentBlackListRepository commentBlackListRepository;
-    private final PostCommentRepository postCommentRepository;
-    private final OptionService optionService;
+    private final CommentRateLimiter commentRateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public CommentBlackListServiceImpl(CommentBlackListRepository commentBlackListRepository,
-        PostCommentRepository postCommentRepository, OptionService optionService) {
+        CommentRateLimiter commentRateLimiter, ApplicationEventPublisher eventPublisher) {
         super(commentBlackListRepository);
         this.commentBlackListRepository = commentBlackListRepository;
-        this.postCommentRepository = postCommentRepository;
-        this.optionService = optionService;
+        this.commentRateLimiter = commentRateLimiter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -47,35 +48,38 @@ public class CommentBlackListServiceImpl extends AbstractCrudService<CommentBlac
         2. 判断N分钟内，是否超过规定的次数限制，超过后需要每隔N分钟才能再次评论；
         3. 如果在时隔N分钟内，还有多次评论，可被认定为恶意攻击者；
         4. 对恶意攻击者进行N分钟的封禁；
+        评论次数在内存中按IP滑动统计，只有首次统计时才会查询数据库；封禁记录异步写入。
         */
+        CommentRateLimiter.Result result = commentRateLimiter.tryAcquire(ipAddress);
+        if (result.isAccepted()) {
+            return CommentViolationTypeEnum.NORMAL;
+        }
+        if (result == CommentRateLimiter.Result.BANNED) {
+            Date banTime = getBanTime(LocalDateTime.now(), commentRateLimiter.getBanTime());
+            eventPublisher.publishEvent(new CommentBannedEvent(this, ipAddress, banTime));
+        }
+        return CommentViolationTypeEnum.FREQUENTLY;
+    }
+
+    @Override
+    @Transactional
+    public void ban(String ipAddress, Date banTime) {
         Optional<CommentBlackList> blackList =
             commentBlackListRepository.findByIpAddress(ipAddress);
-        LocalDateTime now = LocalDateTime.now();
-        Date endTime = new Date(DateTimeUtils.toEpochMilli(now));
-        Integer banTime = optionService
-            .getByPropertyOrDefault(CommentProperties.COMMENT_BAN_TIME, Integer.class, 10);
-        Date startTime = new Date(DateTimeUtils.toEpochMilli(now.minusMinutes(banTime)));
-        Integer range = optionService
-            .getByPropertyOrDefault(CommentProperties.COMMENT_RANGE, Integer.class, 30);
-        boolean isPresent =
-            postCommentRepository.countByIpAndTime(ipAddress, startTime, endTime) >= range;
-        if (isPresent && blackList.isPresent()) {
-            update(now, blackList.get(), banTime);
-            return CommentViolationTypeEnum.FREQUENTLY;
-        } else if (isPresent) {
+        if (blackList.isPresent()) {
+            update(blackList.get(), banTime);
+        } else {
             CommentBlackList commentBlackList = CommentBlackList
                 .builder()
-                .banTime(getBanTime(now, banTime))
+                .banTime(banTime)
                 .ipAddress(ipAddress)
                 .build();
             super.create(commentBlackList);
-            return CommentViolationTypeEnum.FREQUENTLY;
         }
-        return CommentViolationTypeEnum.NORMAL;
     }
 
-    private void update(LocalDateTime localDateTime, CommentBlackList blackList, Integer banTime) {
-        blackList.setBanTime(getBanTime(localDateTime, banTime));
+    private void update(CommentBlackList blackList, Date banTime) {
+        blackList.setBanTime(banTime);
         int updateResult = commentBlackListRepository.updateByIpAddress(blackList);
         Optional.of(updateResult)
             .filter(result -> result <= 0).ifPresent(result -> log.error("更新评论封禁时间失败"));
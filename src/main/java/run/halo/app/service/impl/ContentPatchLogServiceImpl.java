@@ -1,8 +1,11 @@
 package run.halo.app.service.impl;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.domain.Example;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -168,6 +171,16 @@ public class ContentPatchLogServiceImpl extends AbstractCrudService<ContentPatch
         return draftPatchLog;
     }
 
+    @Override
+    public Set<Integer> listDraftPostIds(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        // the same statuses as the latest draft is looked up with
+        return contentPatchLogRepository.findAllPostIdsByPostIdInAndStatusIn(postIds,
+            Set.of(PostStatus.DRAFT, PostStatus.RECYCLE));
+    }
+
     private ContentPatchLog findLatestDraftBy(Integer postId) {
         ContentPatchLog draftPatchLog =
             contentPatchLogRepository.findFirstByPostIdAndStatusOrderByVersionDesc(postId,
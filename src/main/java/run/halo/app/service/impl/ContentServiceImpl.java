@@ -1,8 +1,10 @@
 package run.halo.app.service.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -108,4 +110,10 @@ public class ContentServiceImpl extends AbstractCrudService<Content, Integer>
         ContentPatchLog draft = contentPatchLogService.getDraftByPostId(postId);
         return Objects.nonNull(draft);
     }
+
+    @Override
+    public Set<Integer> listDraftingPostIds(Collection<Integer> postIds) {
+        Assert.notNull(postIds, "The postIds must not be null.");
+        return contentPatchLogService.listDraftPostIds(postIds);
+    }
 }
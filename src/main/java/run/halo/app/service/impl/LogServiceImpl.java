@@ -1,9 +1,12 @@
 package run.halo.app.service.impl;
 
+import java.util.Date;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import run.halo.app.model.dto.LogDTO;
 import run.halo.app.model.entity.Log;
@@ -38,4 +41,30 @@ public class LogServiceImpl extends AbstractCrudService<Log, Long> implements Lo
         // List all
         return listAll(latestPageable).map(log -> new LogDTO().convertFrom(log));
     }
+
+    @Override
+    @Transactional
+    public int removeBefore(Date createTime) {
+        Assert.notNull(createTime, "Create time must not be null");
+
+        return logRepository.deleteByCreateTimeBefore(createTime);
+    }
+
+    @Override
+    @Transactional
+    public int removeExceeding(int maxCount) {
+        Assert.isTrue(maxCount >= 0, "Max count must not be less than 0");
+
+        // Find the newest log that exceeds the max count
+        PageRequest exceedingPageable = PageRequest.of(maxCount, 1,
+            Sort.by(Sort.Direction.DESC, "createTime", "id"));
+        List<Log> exceedingLogs = logRepository.findAll(exceedingPageable).getContent();
+        if (exceedingLogs.isEmpty()) {
+            return 0;
+        }
+
+        Log newestExceedingLog = exceedingLogs.get(0);
+        return logRepository.deleteUntil(newestExceedingLog.getCreateTime(),
+            newestExceedingLog.getId());
+    }
 }
@@ -298,6 +298,15 @@ public class PostCategoryServiceImpl extends AbstractCrudService<PostCategory, I
         return postCategoryRepository.deleteByPostId(postId);
     }
 
+    @Override
+    public int removeByPostIds(Collection<Integer> postIds) {
+        Assert.notNull(postIds, "Post ids must not be null");
+        if (CollectionUtils.isEmpty(postIds)) {
+            return 0;
+        }
+        return postCategoryRepository.deleteByPostIdIn(postIds);
+    }
+
     @Override
     public List<PostCategory> removeByCategoryId(Integer categoryId) {
         Assert.notNull(categoryId, "Category id must not be null");
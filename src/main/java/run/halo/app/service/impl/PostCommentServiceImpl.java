@@ -64,9 +64,9 @@ public class PostCommentServiceImpl extends BaseCommentServiceImpl<PostComment>
     public void validateCommentBlackListStatus() {
         CommentViolationTypeEnum banStatus =
             commentBlackListService.commentsBanStatus(ServletUtils.getRequestIp());
-        Integer banTime = optionService
-            .getByPropertyOrDefault(CommentProperties.COMMENT_BAN_TIME, Integer.class, 10);
         if (banStatus == CommentViolationTypeEnum.FREQUENTLY) {
+            Integer banTime = optionService
+                .getByPropertyOrDefault(CommentProperties.COMMENT_BAN_TIME, Integer.class, 10);
             throw new ForbiddenException(String.format("您的评论过于频繁，请%s分钟之后再试。", banTime));
         }
     }
@@ -6,11 +6,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
@@ -21,15 +24,20 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import run.halo.app.event.logger.LogEvent;
+import run.halo.app.event.post.PostRemovedEvent;
 import run.halo.app.event.post.PostUpdatedEvent;
 import run.halo.app.event.post.PostVisitEvent;
 import run.halo.app.exception.NotFoundException;
@@ -38,7 +46,6 @@ import run.halo.app.model.entity.Content;
 import run.halo.app.model.entity.Content.PatchedContent;
 import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostCategory;
-import run.halo.app.model.entity.PostComment;
 import run.halo.app.model.entity.PostMeta;
 import run.halo.app.model.entity.PostTag;
 import run.halo.app.model.entity.Tag;
@@ -46,10 +53,12 @@ import run.halo.app.model.enums.LogType;
 import run.halo.app.model.enums.PostStatus;
 import run.halo.app.model.params.PostParam;
 import run.halo.app.model.params.PostQuery;
+import run.halo.app.model.projection.PostListProjection;
 import run.halo.app.model.properties.PostProperties;
 import run.halo.app.model.vo.ArchiveMonthVO;
 import run.halo.app.model.vo.ArchiveYearVO;
 import run.halo.app.model.vo.PostDetailVO;
+import run.halo.app.model.vo.PostListVO;
 import run.halo.app.model.vo.PostMarkdownVO;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.repository.base.BasePostRepository;
@@ -64,6 +73,9 @@ import run.halo.app.service.PostService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.assembler.PostAssembler;
+import run.halo.app.service.support.PostArchiveIndex;
+import run.halo.app.service.support.PostListCountCache;
+import run.halo.app.service.support.PostTagGraph;
 import run.halo.app.utils.DateUtils;
 import run.halo.app.utils.HaloUtils;
 import run.halo.app.utils.MarkdownUtils;
@@ -85,6 +97,13 @@ import run.halo.app.utils.SlugUtils;
 @Service
 public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostService {
 
+    /**
+     * Number of posts removed in a single transaction by {@link #removeInChunks(Collection)}.
+     */
+    private static final int REMOVAL_CHUNK_SIZE = 100;
+
+    private static final int LOG_KEY_MAX_LENGTH = 1023;
+
     private final PostAssembler postAssembler;
 
     private final PostRepository postRepository;
@@ -111,6 +130,14 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
 
     private final ApplicationContext applicationContext;
 
+    private final PostArchiveIndex postArchiveIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PostListCountCache postListCountCache;
+
+    private final PostTagGraph postTagGraph;
+
     public PostServiceImpl(BasePostRepository<Post> basePostRepository,
         PostAssembler postAssembler, OptionService optionService,
         PostRepository postRepository,
@@ -123,7 +150,11 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         PostMetaService postMetaService,
         ContentService contentService,
         ContentPatchLogService contentPatchLogService,
-        ApplicationContext applicationContext) {
+        ApplicationContext applicationContext,
+        PostArchiveIndex postArchiveIndex,
+        PlatformTransactionManager transactionManager,
+        PostListCountCache postListCountCache,
+        PostTagGraph postTagGraph) {
         super(basePostRepository, optionService, contentService, contentPatchLogService);
         this.postAssembler = postAssembler;
         this.postRepository = postRepository;
@@ -138,6 +169,10 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         this.postContentService = contentService;
         this.postContentPatchLogService = contentPatchLogService;
         this.applicationContext = applicationContext;
+        this.postArchiveIndex = postArchiveIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postListCountCache = postListCountCache;
+        this.postTagGraph = postTagGraph;
     }
 
     @Override
@@ -149,6 +184,19 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         return postRepository.findAll(buildSpecByQuery(postQuery), pageable);
     }
 
+    @Override
+    public Page<PostListProjection> pageListBy(PostQuery postQuery, Pageable pageable) {
+        Assert.notNull(postQuery, "Post query must not be null");
+        Assert.notNull(pageable, "Page info must not be null");
+
+        Specification<Post> specification = buildSpecByQuery(postQuery);
+        List<PostListProjection> posts =
+            postRepository.findAllListProjections(specification, pageable);
+        // the count is skipped for a partial page and cached otherwise
+        return PageableExecutionUtils.getPage(posts, pageable,
+            () -> postListCountCache.get(postQuery, () -> postRepository.count(specification)));
+    }
+
     @Override
     public Page<Post> pageBy(String keyword, Pageable pageable) {
         Assert.notNull(keyword, "keyword must not be null");
@@ -295,6 +343,58 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         return ids.stream().map(this::removeById).collect(Collectors.toList());
     }
 
+    @Override
+    public int removeInChunks(Collection<Integer> ids) {
+        Assert.notNull(ids, "Post ids must not be null");
+
+        List<Integer> postIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int removedPosts = 0;
+        for (int from = 0; from < postIds.size(); from += REMOVAL_CHUNK_SIZE) {
+            List<Integer> chunk =
+                postIds.subList(from, Math.min(from + REMOVAL_CHUNK_SIZE, postIds.size()));
+            Integer removed = transactionTemplate.execute(status -> removeChunk(chunk));
+            removedPosts += removed == null ? 0 : removed;
+        }
+
+        if (!postIds.isEmpty()) {
+            eventPublisher.publishEvent(new PostRemovedEvent(this, postIds));
+        }
+        return removedPosts;
+    }
+
+    private int removeChunk(List<Integer> postIds) {
+        int tags = postTagService.removeByPostIds(postIds);
+        int categories = postCategoryService.removeByPostIds(postIds);
+        int metas = postMetaService.removeByPostIds(postIds);
+        int comments = postCommentService.removeByPostIds(postIds);
+        postContentService.removeInBatch(postIds);
+        int posts = (int) postRepository.deleteByIdIn(postIds);
+
+        log.debug("Removed {} posts with {} tags, {} categories, {} metas and {} comments",
+            posts, tags, categories, metas, comments);
+
+        eventPublisher.publishEvent(new LogEvent(this,
+            StringUtils.abbreviate(StringUtils.join(postIds, ','), LOG_KEY_MAX_LENGTH),
+            LogType.POST_DELETED, "批量删除了 " + posts + " 篇文章及其 " + comments + " 条评论"));
+        return posts;
+    }
+
+    @Override
+    public List<Post> createInBatch(Collection<Post> posts) {
+        List<Post> createdPosts = super.createInBatch(posts);
+        postArchiveIndex.invalidate();
+        postTagGraph.invalidate();
+        return createdPosts;
+    }
+
+    @Override
+    public List<Post> updateInBatch(Collection<Post> posts) {
+        List<Post> updatedPosts = super.updateInBatch(posts);
+        postArchiveIndex.invalidate();
+        postTagGraph.invalidate();
+        return updatedPosts;
+    }
+
     @Override
     public Post getBySlug(String slug) {
         return super.getBySlug(slug);
@@ -313,20 +413,72 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
 
     @Override
     public List<ArchiveYearVO> listYearArchives() {
-        // Get all posts
-        List<Post> posts = postRepository
-            .findAllByStatus(PostStatus.PUBLISHED, Sort.by(DESC, "createTime"));
-
-        return postAssembler.convertToYearArchives(posts);
+        // resolve the grouped post ids from the archive index instead of scanning all posts
+        return pageYearArchives(Pageable.unpaged()).getContent();
     }
 
     @Override
     public List<ArchiveMonthVO> listMonthArchives() {
-        // Get all posts
-        List<Post> posts = postRepository
-            .findAllByStatus(PostStatus.PUBLISHED, Sort.by(DESC, "createTime"));
+        return pageMonthArchives(Pageable.unpaged()).getContent();
+    }
 
-        return postAssembler.convertToMonthArchives(posts);
+    @Override
+    public Page<ArchiveYearVO> pageYearArchives(Pageable pageable) {
+        Assert.notNull(pageable, "Page info must not be null");
+
+        return pageArchives(postArchiveIndex.listYearGroups(), pageable, (group, posts) -> {
+            ArchiveYearVO archive = new ArchiveYearVO();
+            archive.setYear(group.getYear());
+            archive.setPosts(posts);
+            return archive;
+        });
+    }
+
+    @Override
+    public Page<ArchiveMonthVO> pageMonthArchives(Pageable pageable) {
+        Assert.notNull(pageable, "Page info must not be null");
+
+        return pageArchives(postArchiveIndex.listMonthGroups(), pageable, (group, posts) -> {
+            ArchiveMonthVO archive = new ArchiveMonthVO();
+            archive.setYear(group.getYear());
+            archive.setMonth(group.getMonth());
+            archive.setPosts(posts);
+            return archive;
+        });
+    }
+
+    /**
+     * Loads only the posts of archive groups in the requested page.
+     */
+    private <A> Page<A> pageArchives(List<PostArchiveIndex.Group> groups, Pageable pageable,
+        BiFunction<PostArchiveIndex.Group, List<PostListVO>, A> archiveBuilder) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(buildArchives(groups, archiveBuilder), pageable, groups.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), groups.size());
+        int to = Math.min(from + pageable.getPageSize(), groups.size());
+        return new PageImpl<>(buildArchives(groups.subList(from, to), archiveBuilder), pageable,
+            groups.size());
+    }
+
+    private <A> List<A> buildArchives(List<PostArchiveIndex.Group> groups,
+        BiFunction<PostArchiveIndex.Group, List<PostListVO>, A> archiveBuilder) {
+        List<Integer> postIds = groups.stream()
+            .flatMap(group -> group.getPostIds().stream())
+            .collect(Collectors.toList());
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, PostListVO> postMap = ServiceUtils.convertToMap(
+            postAssembler.convertToListVo(listAllByIds(postIds)), PostListVO::getId);
+
+        return groups.stream()
+            .map(group -> archiveBuilder.apply(group, group.getPostIds().stream()
+                .map(postMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())))
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -504,22 +656,24 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
 
         log.debug("Removing post: [{}]", postId);
 
+        List<Integer> postIds = Collections.singletonList(postId);
+
         // Remove post tags
-        List<PostTag> postTags = postTagService.removeByPostId(postId);
+        int postTags = postTagService.removeByPostIds(postIds);
 
         log.debug("Removed post tags: [{}]", postTags);
 
         // Remove post categories
-        List<PostCategory> postCategories = postCategoryService.removeByPostId(postId);
+        int postCategories = postCategoryService.removeByPostIds(postIds);
 
         log.debug("Removed post categories: [{}]", postCategories);
 
         // Remove metas
-        List<PostMeta> metas = postMetaService.removeByPostId(postId);
+        int metas = postMetaService.removeByPostIds(postIds);
         log.debug("Removed post metas: [{}]", metas);
 
         // Remove post comments
-        List<PostComment> postComments = postCommentService.removeByPostId(postId);
+        int postComments = postCommentService.removeByPostIds(postIds);
         log.debug("Removed post comments: [{}]", postComments);
 
         // Remove post content
@@ -532,6 +686,7 @@ public class PostServiceImpl extends BasePostServiceImpl<Post> implements PostSe
         // Log it
         eventPublisher.publishEvent(new LogEvent(this, postId.toString(), LogType.POST_DELETED,
             deletedPost.getTitle()));
+        eventPublisher.publishEvent(new PostUpdatedEvent(this, deletedPost));
 
         return deletedPost;
     }
@@ -1,13 +1,15 @@
 package run.halo.app.service.impl;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
@@ -22,13 +24,13 @@ import run.halo.app.model.entity.Post;
 import run.halo.app.model.entity.PostTag;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.model.enums.PostStatus;
-import run.halo.app.model.projection.TagPostPostCountProjection;
 import run.halo.app.repository.PostRepository;
 import run.halo.app.repository.PostTagRepository;
 import run.halo.app.repository.TagRepository;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.PostTagService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.PostTagGraph;
+import run.halo.app.service.support.TaxonomyDictionary;
 import run.halo.app.utils.ServiceUtils;
 
 /**
@@ -48,17 +50,21 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
 
     private final TagRepository tagRepository;
 
-    private final OptionService optionService;
+    private final PostTagGraph postTagGraph;
+
+    private final TaxonomyDictionary taxonomyDictionary;
 
     public PostTagServiceImpl(PostTagRepository postTagRepository,
         PostRepository postRepository,
         TagRepository tagRepository,
-        OptionService optionService) {
+        PostTagGraph postTagGraph,
+        TaxonomyDictionary taxonomyDictionary) {
         super(postTagRepository);
         this.postTagRepository = postTagRepository;
         this.postRepository = postRepository;
         this.tagRepository = tagRepository;
-        this.optionService = optionService;
+        this.postTagGraph = postTagGraph;
+        this.taxonomyDictionary = taxonomyDictionary;
     }
 
     @Override
@@ -66,7 +72,7 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         Assert.notNull(postId, "Post id must not be null");
 
         // Find all tag ids
-        Set<Integer> tagIds = postTagRepository.findAllTagIdsByPostId(postId);
+        Set<Integer> tagIds = toSet(postTagGraph.getTagIds(postId));
 
         return tagRepository.findAllById(tagIds);
     }
@@ -78,31 +84,15 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         // Find all tags
         List<Tag> tags = tagRepository.findAll(sort);
 
-        // Find all post count
-        Map<Integer, Long> tagPostCountMap = ServiceUtils
-            .convertToMap(postTagRepository.findPostCount(), TagPostPostCountProjection::getTagId,
-                TagPostPostCountProjection::getPostCount);
-
         // Find post count
         return tags.stream().map(
             tag -> {
                 TagWithPostCountDTO tagWithCountOutputDTO =
                     new TagWithPostCountDTO().convertFrom(tag);
-                tagWithCountOutputDTO.setPostCount(tagPostCountMap.getOrDefault(tag.getId(), 0L));
-
-                StringBuilder fullPath = new StringBuilder();
-
-                if (optionService.isEnabledAbsolutePath()) {
-                    fullPath.append(optionService.getBlogBaseUrl());
-                }
-
-                fullPath.append(URL_SEPARATOR)
-                    .append(optionService.getTagsPrefix())
-                    .append(URL_SEPARATOR)
-                    .append(tag.getSlug())
-                    .append(optionService.getPathSuffix());
+                tagWithCountOutputDTO.setPostCount(postTagGraph.getPostCount(tag.getId()));
 
-                tagWithCountOutputDTO.setFullPath(fullPath.toString());
+                tagWithCountOutputDTO.setFullPath(
+                    taxonomyDictionary.buildTagFullPath(tag.getSlug()));
 
                 return tagWithCountOutputDTO;
             }
@@ -115,62 +105,62 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
             return Collections.emptyMap();
         }
 
-        /*
-        * 找到所有PostTag 就是post和tag关联表的内容
-        * 然后获取其中的tagId
-        * 再根据Id去获取所有tags
-        * */
-
-        // Find all post tags
-        List<PostTag> postTags = postTagRepository.findAllByPostIdIn(postIds);
-
-        // Fetch tag ids
-        Set<Integer> tagIds = ServiceUtils.fetchProperty(postTags, PostTag::getTagId);
+        // Resolve tag ids of the posts
+        Map<Integer, int[]> tagIdsMap = new HashMap<>(postIds.size() * 2);
+        Set<Integer> tagIds = new HashSet<>();
+        for (Integer postId : postIds) {
+            int[] postTagIds = postTagGraph.getTagIds(postId);
+            if (postTagIds.length > 0) {
+                tagIdsMap.put(postId, postTagIds);
+                Arrays.stream(postTagIds).forEach(tagIds::add);
+            }
+        }
 
         // Find all tags
-        List<Tag> tags = tagRepository.findAllById(tagIds);
-
-        /*
-         * 这里执行了传进来的方法Tag::getId作为他的key
-         * 遍历list的每一个元素 执行getId作为key 然后该元素（data）作为value
-         * 返回得到一个map
-         * */
-        // Convert to tag map
-        Map<Integer, Tag> tagMap = ServiceUtils.convertToMap(tags, Tag::getId);
+        Map<Integer, Tag> tagMap =
+            ServiceUtils.convertToMap(tagRepository.findAllById(tagIds), Tag::getId);
 
         // Create tag list map
-        Map<Integer, List<Tag>> tagListMap = new HashMap<>();
-
-
-        /*
-        * 对于每个post&Tag 都把其中postId作为key value则对应生成一个LinkedList（不知道这里为什么用postId感觉又歧义---规范定义的是k这样
-        * 这个add就会往value里面加值 虽然有一点不能理解 大概是这个作用
-        *
-        * 规范：
-        * 如果指定的键还没有与值关联(或映射为空)，尝试使用给定的映射函数计算它的值，并将其输入到这个映射中，除非为空。
-        * 如果映射函数返回null，则没有映射记录。 如果映射函数本身抛出(未检查)异常，则重新抛出异常，并且不记录映射。
-        * 最常见的用法是构造一个新对象作为初始映射值或记忆结果，如:
-        *   map.computeIfAbsent(key, k -> new Value(f(k)));
-        * 或实现多值映射，map >，支持每个键多个值:
-        *   map.computeIfAbsent(key, k -> new HashSet<V>()).add(v);
-        *
-        * 所以这里就需要多值映射 因为每个postId可以对应多个tag
-        * */
-        // Foreach and collect
-        postTags.forEach(
-            postTag -> tagListMap.computeIfAbsent(postTag.getPostId(), postId -> new LinkedList<>())
-                .add(tagMap.get(postTag.getTagId())));
+        Map<Integer, List<Tag>> tagListMap = new HashMap<>(tagIdsMap.size() * 2);
+        tagIdsMap.forEach((postId, postTagIds) -> {
+            List<Tag> tags = new ArrayList<>(postTagIds.length);
+            for (int tagId : postTagIds) {
+                Tag tag = tagMap.get(tagId);
+                if (tag != null) {
+                    tags.add(tag);
+                }
+            }
+            tagListMap.put(postId, tags);
+        });
 
         return tagListMap;
     }
 
+    @Override
+    public List<Post> listRelatedPosts(Integer postId, int top) {
+        Assert.notNull(postId, "Post id must not be null");
+
+        List<Integer> relatedPostIds = postTagGraph.listRelatedPostIds(postId, top);
+        if (relatedPostIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Keep the order of relevance
+        Map<Integer, Post> postMap = ServiceUtils.convertToMap(
+            postRepository.findAllByIdInAndStatus(relatedPostIds, PostStatus.PUBLISHED),
+            Post::getId);
+        return relatedPostIds.stream()
+            .map(postMap::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
 
     @Override
     public List<Post> listPostsBy(Integer tagId) {
         Assert.notNull(tagId, "Tag id must not be null");
 
         // Find all post ids
-        Set<Integer> postIds = postTagRepository.findAllPostIdsByTagId(tagId);
+        Set<Integer> postIds = toSet(postTagGraph.getPostIds(tagId));
 
         return postRepository.findAllById(postIds);
     }
@@ -181,9 +171,9 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         Assert.notNull(status, "Post status must not be null");
 
         // Find all post ids
-        Set<Integer> postIds = postTagRepository.findAllPostIdsByTagId(tagId, status);
+        Set<Integer> postIds = toSet(postTagGraph.getPostIds(tagId, status));
 
-        return postRepository.findAllById(postIds);
+        return listPostsBy(postIds, status);
     }
 
     @Override
@@ -194,9 +184,9 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         Tag tag = tagRepository.getBySlug(slug)
             .orElseThrow(() -> new NotFoundException("查询不到该标签的信息").setErrorData(slug));
 
-        Set<Integer> postIds = postTagRepository.findAllPostIdsByTagId(tag.getId(), status);
+        Set<Integer> postIds = toSet(postTagGraph.getPostIds(tag.getId(), status));
 
-        return postRepository.findAllById(postIds);
+        return listPostsBy(postIds, status);
     }
 
     @Override
@@ -205,7 +195,7 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         Assert.notNull(pageable, "Page info must not be null");
 
         // Find all post ids
-        Set<Integer> postIds = postTagRepository.findAllPostIdsByTagId(tagId);
+        Set<Integer> postIds = toSet(postTagGraph.getPostIds(tagId));
 
         return postRepository.findAllByIdIn(postIds, pageable);
     }
@@ -217,9 +207,13 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         Assert.notNull(pageable, "Page info must not be null");
 
         // Find all post ids
-        Set<Integer> postIds = postTagRepository.findAllPostIdsByTagId(tagId, status);
+        Set<Integer> postIds = toSet(postTagGraph.getPostIds(tagId, status));
+        if (postIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
 
-        return postRepository.findAllByIdIn(postIds, pageable);
+        // filter by status as well, the graph may be stale until the transaction commits
+        return postRepository.findAllByIdInAndStatus(postIds, status, pageable);
     }
 
     @Override
@@ -298,7 +292,14 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
     public Set<Integer> listTagIdsByPostId(Integer postId) {
         Assert.notNull(postId, "Post id must not be null");
 
-        return postTagRepository.findAllTagIdsByPostId(postId);
+        return toSet(postTagGraph.getTagIds(postId));
+    }
+
+    @Override
+    public List<PostTag> createInBatch(Collection<PostTag> postTags) {
+        List<PostTag> createdPostTags = super.createInBatch(postTags);
+        postTagGraph.invalidate();
+        return createdPostTags;
     }
 
     @Override
@@ -308,10 +309,39 @@ public class PostTagServiceImpl extends AbstractCrudService<PostTag, Integer>
         return postTagRepository.deleteByPostId(postId);
     }
 
+    @Override
+    public int removeByPostIds(Collection<Integer> postIds) {
+        Assert.notNull(postIds, "Post ids must not be null");
+        if (CollectionUtils.isEmpty(postIds)) {
+            return 0;
+        }
+        int removed = postTagRepository.deleteByPostIdIn(postIds);
+        postTagGraph.invalidate();
+        return removed;
+    }
+
     @Override
     public List<PostTag> removeByTagId(Integer tagId) {
         Assert.notNull(tagId, "Tag id must not be null");
 
-        return postTagRepository.deleteByTagId(tagId);
+        List<PostTag> removedPostTags = postTagRepository.deleteByTagId(tagId);
+        postTagGraph.invalidate();
+        return removedPostTags;
+    }
+
+    private List<Post> listPostsBy(Set<Integer> postIds, PostStatus status) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // filter by status as well, the graph may be stale until the transaction commits
+        return postRepository.findAllByIdInAndStatus(postIds, status);
+    }
+
+    private static Set<Integer> toSet(int[] ids) {
+        Set<Integer> set = new HashSet<>(ids.length * 2);
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
     }
 }
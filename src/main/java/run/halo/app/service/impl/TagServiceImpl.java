@@ -1,7 +1,5 @@
 package run.halo.app.service.impl;
 
-import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
-
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,9 +13,9 @@ import run.halo.app.exception.NotFoundException;
 import run.halo.app.model.dto.TagDTO;
 import run.halo.app.model.entity.Tag;
 import run.halo.app.repository.TagRepository;
-import run.halo.app.service.OptionService;
 import run.halo.app.service.TagService;
 import run.halo.app.service.base.AbstractCrudService;
+import run.halo.app.service.support.TaxonomyDictionary;
 
 /**
  * TagService implementation class.
@@ -32,13 +30,13 @@ public class TagServiceImpl extends AbstractCrudService<Tag, Integer> implements
 
     private final TagRepository tagRepository;
 
-    private final OptionService optionService;
+    private final TaxonomyDictionary taxonomyDictionary;
 
     public TagServiceImpl(TagRepository tagRepository,
-        OptionService optionService) {
+        TaxonomyDictionary taxonomyDictionary) {
         super(tagRepository);
         this.tagRepository = tagRepository;
-        this.optionService = optionService;
+        this.taxonomyDictionary = taxonomyDictionary;
     }
 
     @Override
@@ -78,23 +76,7 @@ public class TagServiceImpl extends AbstractCrudService<Tag, Integer> implements
     public TagDTO convertTo(Tag tag) {
         Assert.notNull(tag, "Tag must not be null");
 
-        TagDTO tagDTO = new TagDTO().convertFrom(tag);
-
-        StringBuilder fullPath = new StringBuilder();
-
-        if (optionService.isEnabledAbsolutePath()) {
-            fullPath.append(optionService.getBlogBaseUrl());
-        }
-
-        fullPath.append(URL_SEPARATOR)
-            .append(optionService.getTagsPrefix())
-            .append(URL_SEPARATOR)
-            .append(tag.getSlug())
-            .append(optionService.getPathSuffix());
-
-        tagDTO.setFullPath(fullPath.toString());
-
-        return tagDTO;
+        return taxonomyDictionary.getTagDto(tag);
     }
 
     @Override
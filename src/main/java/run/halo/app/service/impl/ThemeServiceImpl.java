@@ -46,6 +46,7 @@ import run.halo.app.theme.GitThemeFetcher;
 import run.halo.app.theme.GitThemeUpdater;
 import run.halo.app.theme.MultipartFileThemeUpdater;
 import run.halo.app.theme.MultipartZipFileThemeFetcher;
+import run.halo.app.theme.ThemeAssetPrecompressor;
 import run.halo.app.theme.ThemeFetcherComposite;
 import run.halo.app.theme.ThemeFileScanner;
 import run.halo.app.theme.ThemePropertyScanner;
@@ -94,10 +95,11 @@ public class ThemeServiceImpl implements ThemeService {
         this.themeSettingRepository = themeSettingRepository;
         this.themeRepository = themeRepository;
 
+        final var stagingPath = Paths.get(haloProperties.getWorkDir(), THEME_STAGING_FOLDER);
         this.fetcherComposite = new ThemeFetcherComposite();
-        this.fetcherComposite.addFetcher(new ZipThemeFetcher());
+        this.fetcherComposite.addFetcher(new ZipThemeFetcher(stagingPath));
         this.fetcherComposite.addFetcher(new GitThemeFetcher());
-        this.fetcherComposite.addFetcher(new MultipartZipFileThemeFetcher());
+        this.fetcherComposite.addFetcher(new MultipartZipFileThemeFetcher(stagingPath));
     }
 
     @Override
@@ -219,6 +221,10 @@ public class ThemeServiceImpl implements ThemeService {
         } catch (IOException e) {
             throw new ServiceException("保存模板内容失败 " + absolutePath, e);
         }
+        ThemeAssetPrecompressor.INSTANCE.precompressFile(path);
+
+        // Refresh asset versions and precompressed variants
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
     }
 
     @Override
@@ -234,6 +240,10 @@ public class ThemeServiceImpl implements ThemeService {
         } catch (IOException e) {
             throw new ServiceException("保存模板内容失败 " + absolutePath, e);
         }
+        ThemeAssetPrecompressor.INSTANCE.precompressFile(path);
+
+        // Refresh asset versions and precompressed variants
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
     }
 
     @Transactional
@@ -364,7 +374,9 @@ public class ThemeServiceImpl implements ThemeService {
         Assert.notNull(file, "Multipart file must not be null");
 
         final var newThemeProperty = this.fetcherComposite.fetch(file);
-        return this.themeRepository.attemptToAdd(newThemeProperty);
+        final var themeProperty = this.themeRepository.attemptToAdd(newThemeProperty);
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
+        return themeProperty;
     }
 
     @Override
@@ -372,7 +384,9 @@ public class ThemeServiceImpl implements ThemeService {
         Assert.hasText(uri, "Theme remote uri must not be blank");
 
         final var themeProperty = fetcherComposite.fetch(uri);
-        return this.themeRepository.attemptToAdd(themeProperty);
+        final var addedThemeProperty = this.themeRepository.attemptToAdd(themeProperty);
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
+        return addedThemeProperty;
     }
 
     @Override
@@ -406,11 +420,14 @@ public class ThemeServiceImpl implements ThemeService {
 
         final var themeUpdater =
             new MultipartFileThemeUpdater(file, fetcherComposite, themeRepository);
+        final ThemeProperty themeProperty;
         try {
-            return themeUpdater.update(themeId);
+            themeProperty = themeUpdater.update(themeId);
         } catch (IOException e) {
             throw new ServiceException("更新主题失败：" + e.getMessage(), e);
         }
+        eventPublisher.publishEvent(new ThemeUpdatedEvent(this));
+        return themeProperty;
     }
 
     /**
@@ -0,0 +1,217 @@
+package run.halo.app.service.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.exception.ServiceException;
+import run.halo.app.model.properties.CommentProperties;
+import run.halo.app.repository.PostCommentRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * In-memory sliding window of recent comments per ip address.
+ *
+ * <p>Each ip address keeps the times of its accepted comments within the last
+ * {@code comment_ban_time} minutes, at most {@code comment_range} of them. A window is seeded
+ * from the database the first time its ip address is seen, so that a restart does not reset
+ * the limits, and it expires once the ip address stays quiet for a whole window.
+ *
+ * <p>Windows are kept per node, even with the redis cache store, because mirroring them there
+ * would cost a remote round trip per comment.
+ */
+@Slf4j
+@Component
+public class CommentRateLimiter {
+
+    private final PostCommentRepository postCommentRepository;
+
+    private final OptionService optionService;
+
+    private final long maximumSize;
+
+    private volatile Windows windows;
+
+    public CommentRateLimiter(PostCommentRepository postCommentRepository,
+        OptionService optionService, HaloProperties haloProperties) {
+        this.postCommentRepository = postCommentRepository;
+        this.optionService = optionService;
+        this.maximumSize = haloProperties.getCommentRateLimiterSize();
+    }
+
+    /**
+     * Records a comment attempt of the given ip address. Rejected attempts are not recorded, so
+     * the ip address is allowed to comment again as soon as its oldest comment leaves the window.
+     *
+     * @param ipAddress ip address must not be null
+     * @return result of the attempt
+     */
+    @NonNull
+    public Result tryAcquire(@NonNull String ipAddress) {
+        Assert.notNull(ipAddress, "Ip address must not be null");
+
+        Windows current = getWindows();
+        Window window;
+        try {
+            window = current.cache.get(ipAddress, () -> current.seed(ipAddress));
+        } catch (ExecutionException e) {
+            throw new ServiceException("加载评论记录失败", e.getCause());
+        }
+        return window.acquire(System.currentTimeMillis(), current.windowMillis);
+    }
+
+    /**
+     * Gets the length of the window.
+     *
+     * @return window length in minutes
+     */
+    public int getBanTime() {
+        return getWindows().banTime;
+    }
+
+    @EventListener(OptionUpdatedEvent.class)
+    public void onOptionUpdated() {
+        Windows current = windows;
+        if (current == null) {
+            return;
+        }
+        if (current.banTime != getOption(CommentProperties.COMMENT_BAN_TIME, 10)
+            || current.range != getOption(CommentProperties.COMMENT_RANGE, 30)) {
+            // rebuild the windows lazily with the new options
+            windows = null;
+        }
+    }
+
+    @NonNull
+    private Windows getWindows() {
+        Windows current = windows;
+        if (current == null) {
+            synchronized (this) {
+                current = windows;
+                if (current == null) {
+                    current = new Windows(getOption(CommentProperties.COMMENT_BAN_TIME, 10),
+                        getOption(CommentProperties.COMMENT_RANGE, 30));
+                    windows = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private int getOption(CommentProperties property, int defaultValue) {
+        return optionService.getByPropertyOrDefault(property, Integer.class, defaultValue);
+    }
+
+    /**
+     * Result of a comment attempt.
+     */
+    public enum Result {
+
+        /**
+         * The comment is allowed and recorded.
+         */
+        ACCEPTED,
+
+        /**
+         * The comment is rejected, and so was the previous attempt of the ip address.
+         */
+        REJECTED,
+
+        /**
+         * The comment is rejected right after an accepted one, which is when the ban begins.
+         */
+        BANNED;
+
+        public boolean isAccepted() {
+            return this == ACCEPTED;
+        }
+    }
+
+    private final class Windows {
+
+        private final int banTime;
+
+        private final int range;
+
+        private final long windowMillis;
+
+        private final Cache<String, Window> cache;
+
+        private Windows(int banTime, int range) {
+            this.banTime = banTime;
+            this.range = Math.max(range, 0);
+            this.windowMillis = Duration.ofMinutes(Math.max(banTime, 0)).toMillis();
+            this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(Duration.ofMinutes(Math.max(banTime, 1)))
+                .build();
+        }
+
+        private Window seed(String ipAddress) {
+            Window window = new Window(range);
+            if (range == 0) {
+                return window;
+            }
+            long now = System.currentTimeMillis();
+            List<Date> times = postCommentRepository.findUpdateTimesByIpAndTime(ipAddress,
+                new Date(now - windowMillis), new Date(now), PageRequest.of(0, range));
+            // times are in descending order
+            for (int i = times.size() - 1; i >= 0; i--) {
+                window.record(times.get(i).getTime());
+            }
+            log.debug("Seeded comment window of [{}] with [{}] comments", ipAddress, times.size());
+            return window;
+        }
+    }
+
+    /**
+     * Ring buffer of the comment times of an ip address, oldest first.
+     */
+    private static final class Window {
+
+        private final long[] times;
+
+        private int head;
+
+        private int count;
+
+        private boolean rejected;
+
+        private Window(int capacity) {
+            this.times = new long[capacity];
+        }
+
+        private synchronized Result acquire(long now, long windowMillis) {
+            long start = now - windowMillis;
+            while (count > 0 && times[head] < start) {
+                head = (head + 1) % times.length;
+                count--;
+            }
+            if (count >= times.length) {
+                if (rejected) {
+                    return Result.REJECTED;
+                }
+                rejected = true;
+                return Result.BANNED;
+            }
+            record(now);
+            rejected = false;
+            return Result.ACCEPTED;
+        }
+
+        private void record(long time) {
+            times[(head + count) % times.length] = time;
+            count++;
+        }
+    }
+}
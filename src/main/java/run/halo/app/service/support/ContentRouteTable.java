@@ -0,0 +1,235 @@
+package run.halo.app.service.support;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.model.enums.SheetPermalinkType;
+import run.halo.app.model.projection.PostSlugProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.repository.SheetRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Route table of the content pages.
+ *
+ * <p>Prefixes and permalink types are read from the options once and kept until options are
+ * updated, and the slugs of all posts and sheets are indexed, so that a path can be resolved, or
+ * rejected, without any query. Both parts are immutable snapshots rebuilt lazily after they are
+ * invalidated.
+ */
+@Slf4j
+@Component
+public class ContentRouteTable {
+
+    private final OptionService optionService;
+
+    private final PostRepository postRepository;
+
+    private final SheetRepository sheetRepository;
+
+    private volatile Routes routes;
+
+    private volatile Slugs slugs;
+
+    public ContentRouteTable(OptionService optionService, PostRepository postRepository,
+        SheetRepository sheetRepository) {
+        this.optionService = optionService;
+        this.postRepository = postRepository;
+        this.sheetRepository = sheetRepository;
+    }
+
+    /**
+     * Gets the route of the given prefix.
+     *
+     * @param prefix first path segment must not be null
+     * @return route or null if the prefix is not a route prefix
+     */
+    @Nullable
+    public Route getRoute(@NonNull String prefix) {
+        return getRoutes().prefixes.get(prefix);
+    }
+
+    @NonNull
+    public PostPermalinkType getPostPermalinkType() {
+        return getRoutes().postPermalinkType;
+    }
+
+    @NonNull
+    public SheetPermalinkType getSheetPermalinkType() {
+        return getRoutes().sheetPermalinkType;
+    }
+
+    /**
+     * Checks whether a post with the given slug exists.
+     *
+     * @param slug post slug must not be null
+     * @return true if the post exists, false otherwise
+     */
+    public boolean containsPost(@NonNull String slug) {
+        return getSlugs().postSlugs.contains(slug);
+    }
+
+    /**
+     * Checks whether a post with the given id exists.
+     *
+     * @param postId post id must not be null
+     * @return true if the post exists, false otherwise
+     */
+    public boolean containsPost(@NonNull Integer postId) {
+        return getSlugs().postIds.contains(postId);
+    }
+
+    /**
+     * Checks whether a sheet with the given slug exists.
+     *
+     * @param slug sheet slug must not be null
+     * @return true if the sheet exists, false otherwise
+     */
+    public boolean containsSheet(@NonNull String slug) {
+        return getSlugs().sheetSlugs.contains(slug);
+    }
+
+    @EventListener(OptionUpdatedEvent.class)
+    public void onOptionUpdated() {
+        routes = null;
+    }
+
+    /**
+     * Invalidates the slug index after posts were removed in batch, which fires no entity
+     * callbacks.
+     *
+     * @param event post removed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRemoved(PostRemovedEvent event) {
+        slugs = null;
+    }
+
+    /**
+     * Invalidates the slug index. If a transaction is active, the index will be invalidated
+     * again after commit so that it won't be rebuilt from uncommitted data.
+     */
+    public void invalidateSlugs() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        slugs = null;
+                    }
+                });
+        }
+        this.slugs = null;
+    }
+
+    @NonNull
+    private Routes getRoutes() {
+        Routes current = routes;
+        if (current == null) {
+            current = new Routes(optionService);
+            routes = current;
+        }
+        return current;
+    }
+
+    @NonNull
+    private Slugs getSlugs() {
+        Slugs current = slugs;
+        if (current == null) {
+            synchronized (this) {
+                current = slugs;
+                if (current == null) {
+                    current = new Slugs(postRepository.findAllSlugProjections(),
+                        sheetRepository.findAllSlugProjections());
+                    slugs = current;
+                    log.debug("Built content slug index with {} posts and {} sheets",
+                        current.postIds.size(), current.sheetSlugs.size());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Route of a prefix.
+     */
+    public enum Route {
+        ARCHIVES,
+        CATEGORIES,
+        TAGS,
+        JOURNALS,
+        PHOTOS,
+        LINKS,
+
+        /**
+         * Prefix of sheets, only present when sheets use secondary permalinks.
+         */
+        SHEETS
+    }
+
+    private static class Routes {
+
+        private final Map<String, Route> prefixes;
+
+        private final PostPermalinkType postPermalinkType;
+
+        private final SheetPermalinkType sheetPermalinkType;
+
+        private Routes(OptionService optionService) {
+            this.postPermalinkType = optionService.getPostPermalinkType();
+            this.sheetPermalinkType = optionService.getSheetPermalinkType();
+
+            // the first route wins if prefixes collide
+            Map<String, Route> prefixes = new HashMap<>(8);
+            prefixes.putIfAbsent(optionService.getArchivesPrefix(), Route.ARCHIVES);
+            prefixes.putIfAbsent(optionService.getCategoriesPrefix(), Route.CATEGORIES);
+            prefixes.putIfAbsent(optionService.getTagsPrefix(), Route.TAGS);
+            prefixes.putIfAbsent(optionService.getJournalsPrefix(), Route.JOURNALS);
+            prefixes.putIfAbsent(optionService.getPhotosPrefix(), Route.PHOTOS);
+            prefixes.putIfAbsent(optionService.getLinksPrefix(), Route.LINKS);
+            if (SheetPermalinkType.SECONDARY.equals(sheetPermalinkType)) {
+                prefixes.putIfAbsent(optionService.getSheetPrefix(), Route.SHEETS);
+            }
+            this.prefixes = Collections.unmodifiableMap(prefixes);
+        }
+    }
+
+    private static class Slugs {
+
+        private final Set<String> postSlugs;
+
+        private final Set<Integer> postIds;
+
+        private final Set<String> sheetSlugs;
+
+        private Slugs(List<PostSlugProjection> posts, List<PostSlugProjection> sheets) {
+            Set<String> postSlugs = new HashSet<>(posts.size() * 2);
+            Set<Integer> postIds = new HashSet<>(posts.size() * 2);
+            for (PostSlugProjection post : posts) {
+                postSlugs.add(post.getSlug());
+                postIds.add(post.getPostId());
+            }
+            Set<String> sheetSlugs = new HashSet<>(sheets.size() * 2);
+            for (PostSlugProjection sheet : sheets) {
+                sheetSlugs.add(sheet.getSlug());
+            }
+            this.postSlugs = Collections.unmodifiableSet(postSlugs);
+            this.postIds = Collections.unmodifiableSet(postIds);
+            this.sheetSlugs = Collections.unmodifiableSet(sheetSlugs);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package run.halo.app.service.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import run.halo.app.model.entity.support.CustomIdGenerator;
+
+/**
+ * Synchronizer of id generator rows with the ids in entity tables.
+ *
+ * <p>The rows are seeded by the V7 migration, but records imported with their own ids bypass the
+ * id generators. So the next value of every generator is raised to the max id of its table plus
+ * one, and the ids the generators have allocated in memory are discarded. Next values are never
+ * lowered, and missing rows are created.
+ */
+@Slf4j
+@Component
+public class IdGeneratorSynchronizer {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM "
+        + CustomIdGenerator.TABLE_NAME + " WHERE " + CustomIdGenerator.DEF_SEGMENT_COLUMN
+        + " = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO " + CustomIdGenerator.TABLE_NAME
+        + " (" + CustomIdGenerator.DEF_SEGMENT_COLUMN + ", " + CustomIdGenerator.DEF_VALUE_COLUMN
+        + ") VALUES (?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE " + CustomIdGenerator.TABLE_NAME + " SET "
+        + CustomIdGenerator.DEF_VALUE_COLUMN + " = ? WHERE " + CustomIdGenerator.DEF_SEGMENT_COLUMN
+        + " = ? AND " + CustomIdGenerator.DEF_VALUE_COLUMN + " < ?";
+
+    private final EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorSynchronizer(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Raises the next value of all id generators above the max ids of their tables, then resets
+     * the generators.
+     */
+    public void synchronize() {
+        SessionFactoryImplementor sessionFactory =
+            entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+
+        // single table subclasses share the table and generator of their root entity
+        Map<CustomIdGenerator, EntityPersister> rootPersisters = new LinkedHashMap<>();
+        sessionFactory.getMetamodel().entityPersisters().values().forEach(persister -> {
+            if (persister.getIdentifierGenerator() instanceof CustomIdGenerator) {
+                rootPersisters.putIfAbsent(
+                    (CustomIdGenerator) persister.getIdentifierGenerator(),
+                    sessionFactory.getMetamodel().entityPersister(persister.getRootEntityName()));
+            }
+        });
+
+        rootPersisters.forEach((generator, persister) -> {
+            long nextValue = findMaxId(persister) + 1;
+            String segment = generator.getSegmentValue();
+
+            Integer count = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, segment);
+            if (count == null || count == 0) {
+                jdbcTemplate.update(INSERT_SQL, segment, nextValue);
+            } else {
+                jdbcTemplate.update(UPDATE_SQL, nextValue, segment, nextValue);
+            }
+            generator.reset();
+        });
+
+        log.debug("Synchronized id generators of {} tables", rootPersisters.size());
+    }
+
+    private long findMaxId(EntityPersister persister) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Number> query = builder.createQuery(Number.class);
+        Root<?> root = query.from(persister.getMappedClass());
+        query.select(builder.max(root.<Number>get(persister.getIdentifierPropertyName())));
+        Number maxId = entityManager.createQuery(query).getSingleResult();
+        return maxId == null ? 0L : maxId.longValue();
+    }
+}
@@ -0,0 +1,150 @@
+package run.halo.app.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.core.metrics.HaloMetrics;
+import run.halo.app.model.entity.Log;
+import run.halo.app.service.LogService;
+import run.halo.app.utils.DateUtils;
+
+/**
+ * Buffered writer of operation logs.
+ *
+ * <p>Logs are put into a bounded buffer and written in batches by a single background thread,
+ * either every {@code halo.log-flush-interval} or as soon as {@code halo.log-batch-size} logs
+ * are buffered. Writing never blocks the caller: when the buffer is full, the oldest buffered
+ * log is dropped in favour of the newest one and the number of dropped logs is reported on the
+ * next write. Buffered logs are written on shutdown.
+ */
+@Slf4j
+@Component
+public class LogBatchWriter {
+
+    private static final String EXECUTOR_NAME = "log";
+
+    private final LogService logService;
+
+    private final BlockingQueue<Log> buffer;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService executor;
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final Counter droppedCounter;
+
+    public LogBatchWriter(LogService logService, HaloProperties haloProperties) {
+        Assert.isTrue(haloProperties.getLogBufferCapacity() > 0,
+            "Log buffer capacity must be greater than 0");
+        Assert.isTrue(haloProperties.getLogBatchSize() > 0,
+            "Log batch size must be greater than 0");
+
+        this.logService = logService;
+        this.buffer = new ArrayBlockingQueue<>(haloProperties.getLogBufferCapacity());
+        this.batchSize = haloProperties.getLogBatchSize();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder(HaloMetrics.EXECUTOR_QUEUED, buffer, BlockingQueue::size)
+            .tag(HaloMetrics.TAG_EXECUTOR, EXECUTOR_NAME)
+            .register(Metrics.globalRegistry);
+        this.droppedCounter = Metrics.counter(HaloMetrics.EXECUTOR_DROPPED,
+            HaloMetrics.TAG_EXECUTOR, EXECUTOR_NAME);
+
+        long flushInterval = haloProperties.getLogFlushInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a log into the buffer.
+     *
+     * @param logToWrite log to write must not be null
+     */
+    public void write(@NonNull Log logToWrite) {
+        Assert.notNull(logToWrite, "Log must not be null");
+
+        // Keep the time the log occurred rather than the time it is written
+        if (logToWrite.getCreateTime() == null) {
+            logToWrite.setCreateTime(DateUtils.now());
+        }
+
+        if (executor.isShutdown()) {
+            logService.create(logToWrite);
+            return;
+        }
+
+        while (!buffer.offer(logToWrite)) {
+            // Drop the oldest log
+            if (buffer.poll() != null) {
+                droppedCount.incrementAndGet();
+                droppedCounter.increment();
+            }
+        }
+
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down, logs will be written by close
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered logs.
+     */
+    public synchronized void flush() {
+        long dropped = droppedCount.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Log buffer was full, {} operation logs have been dropped", dropped);
+        }
+
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                logService.createInBatch(batch);
+                log.debug("Wrote {} operation logs", batch.size());
+            } catch (Exception e) {
+                log.error("Failed to write " + batch.size() + " operation logs", e);
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Log batch writer did not terminate in time");
+        }
+        flush();
+    }
+}
@@ -0,0 +1,145 @@
+package run.halo.app.service.support;
+
+import static run.halo.app.service.AdminService.LOG_PATH;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.exception.ServiceException;
+import run.halo.app.utils.FileTailUtils;
+
+/**
+ * Follows the halo log file and streams new lines to server-sent event emitters.
+ *
+ * <p>Every follower remembers its position in the file, so only appended bytes are read on each
+ * poll. If the file shrinks (e.g. it was rolled over), the follower starts over from the
+ * beginning of the new file.
+ */
+@Slf4j
+@Component
+public class LogFileFollower {
+
+    private static final long POLL_INTERVAL_MILLIS = 500L;
+
+    private static final long FOLLOW_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private static final String LINES_EVENT_NAME = "lines";
+
+    private final Path logPath;
+
+    private final Set<Follower> followers = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService executor;
+
+    public LogFileFollower(HaloProperties haloProperties) {
+        this.logPath = Paths.get(haloProperties.getWorkDir(), LOG_PATH);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-file-follower");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Follows the log file, starting with the last lines.
+     *
+     * @param lines number of the last lines to send first, must not be less than 0
+     * @return server-sent event emitter
+     */
+    @NonNull
+    public SseEmitter follow(long lines) {
+        Assert.isTrue(lines >= 0, "Lines must not be less than 0");
+
+        long position = 0;
+        if (Files.exists(logPath)) {
+            try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+                position = FileTailUtils.findTailPosition(channel, lines);
+            } catch (IOException e) {
+                throw new ServiceException("读取日志失败", e);
+            }
+        }
+
+        SseEmitter emitter = new SseEmitter(FOLLOW_TIMEOUT_MILLIS);
+        Follower follower = new Follower(emitter, position);
+        emitter.onCompletion(() -> followers.remove(follower));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> followers.remove(follower));
+        followers.add(follower);
+
+        log.debug("Started following log file from position: [{}]", position);
+        return emitter;
+    }
+
+    private void poll() {
+        if (followers.isEmpty() || Files.notExists(logPath)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (Follower follower : followers) {
+                if (follower.position > size) {
+                    // The log file was rolled over
+                    follower.position = 0;
+                }
+
+                List<String> lines = new ArrayList<>();
+                follower.position = FileTailUtils.readLines(channel, follower.position, lines::add);
+                if (lines.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    follower.emitter.send(SseEmitter.event()
+                        .name(LINES_EVENT_NAME)
+                        .data(String.join(StringUtils.LF, lines)));
+                } catch (IOException | IllegalStateException e) {
+                    // Client has gone
+                    followers.remove(follower);
+                    follower.emitter.completeWithError(e);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read log file: " + logPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        followers.forEach(follower -> follower.emitter.complete());
+        followers.clear();
+    }
+
+    private static class Follower {
+
+        private final SseEmitter emitter;
+
+        private long position;
+
+        private Follower(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
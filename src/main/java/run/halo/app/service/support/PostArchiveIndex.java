@@ -0,0 +1,197 @@
+package run.halo.app.service.support;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostArchiveProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.utils.DateUtils;
+
+/**
+ * In-memory archive index of published posts (year -> month -> post ids).
+ *
+ * <p>The index is built lazily from a lightweight projection query and then maintained
+ * incrementally for single post changes. Batch changes simply invalidate it. Readers always see
+ * an immutable snapshot, so no locking is required on the read path.
+ */
+@Slf4j
+@Component
+public class PostArchiveIndex {
+
+    private static final Comparator<PostArchiveProjection> ARCHIVE_ORDER =
+        Comparator.comparing(PostArchiveProjection::getCreateTime,
+                Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(PostArchiveProjection::getPostId, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+
+    private volatile Snapshot snapshot;
+
+    public PostArchiveIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Lists year groups ordered by year descending.
+     *
+     * @return a list of year groups
+     */
+    @NonNull
+    public List<Group> listYearGroups() {
+        return getSnapshot().yearGroups;
+    }
+
+    /**
+     * Lists month groups ordered by year and month descending.
+     *
+     * @return a list of month groups
+     */
+    @NonNull
+    public List<Group> listMonthGroups() {
+        return getSnapshot().monthGroups;
+    }
+
+    /**
+     * Updates the index entry of the given post with its current state in database.
+     *
+     * @param postId post id must not be null
+     */
+    public void refresh(@NonNull Integer postId) {
+        Objects.requireNonNull(postId, "Post id must not be null");
+
+        synchronized (this) {
+            Snapshot current = this.snapshot;
+            if (current == null) {
+                // will be rebuilt on next read
+                return;
+            }
+
+            List<PostArchiveProjection> entries = new ArrayList<>(current.entries);
+            entries.removeIf(entry -> postId.equals(entry.getPostId()));
+
+            Optional<Post> post = postRepository.findById(postId);
+            post.filter(p -> PostStatus.PUBLISHED.equals(p.getStatus()))
+                .ifPresent(p -> entries.add(new PostArchiveProjection(p.getId(),
+                    p.getCreateTime())));
+
+            this.snapshot = new Snapshot(entries);
+        }
+    }
+
+    /**
+     * Invalidates the whole index. If a transaction is active, the index will be invalidated
+     * again after commit so that it won't be rebuilt from uncommitted data.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        snapshot = null;
+                    }
+                });
+        }
+        this.snapshot = null;
+    }
+
+    @NonNull
+    private Snapshot getSnapshot() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = this.snapshot;
+                if (current == null) {
+                    current = new Snapshot(
+                        postRepository.findAllArchiveProjectionsByStatus(PostStatus.PUBLISHED));
+                    this.snapshot = current;
+                    log.debug("Built post archive index with {} posts", current.entries.size());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Archive group.
+     */
+    @Getter
+    public static class Group {
+
+        private final int year;
+
+        /**
+         * Month (1-12), or 0 for year groups.
+         */
+        private final int month;
+
+        private final List<Integer> postIds;
+
+        private Group(int year, int month, List<Integer> postIds) {
+            this.year = year;
+            this.month = month;
+            this.postIds = Collections.unmodifiableList(postIds);
+        }
+    }
+
+    private static class Snapshot {
+
+        private final List<PostArchiveProjection> entries;
+
+        private final List<Group> yearGroups;
+
+        private final List<Group> monthGroups;
+
+        private Snapshot(List<PostArchiveProjection> entries) {
+            List<PostArchiveProjection> sortedEntries = new ArrayList<>(entries);
+            sortedEntries.removeIf(entry -> entry.getCreateTime() == null);
+            sortedEntries.sort(ARCHIVE_ORDER);
+            this.entries = Collections.unmodifiableList(sortedEntries);
+
+            List<Group> years = new ArrayList<>();
+            List<Group> months = new ArrayList<>();
+            List<Integer> yearPostIds = new ArrayList<>();
+            List<Integer> monthPostIds = new ArrayList<>();
+            int currentYear = -1;
+            int currentMonth = -1;
+            for (PostArchiveProjection entry : sortedEntries) {
+                Calendar calendar = DateUtils.convertTo(entry.getCreateTime());
+                int year = calendar.get(Calendar.YEAR);
+                int month = calendar.get(Calendar.MONTH) + 1;
+                if (year != currentYear || month != currentMonth) {
+                    if (!monthPostIds.isEmpty()) {
+                        months.add(new Group(currentYear, currentMonth, monthPostIds));
+                        monthPostIds = new ArrayList<>();
+                    }
+                    if (year != currentYear && !yearPostIds.isEmpty()) {
+                        years.add(new Group(currentYear, 0, yearPostIds));
+                        yearPostIds = new ArrayList<>();
+                    }
+                    currentYear = year;
+                    currentMonth = month;
+                }
+                yearPostIds.add(entry.getPostId());
+                monthPostIds.add(entry.getPostId());
+            }
+            if (!monthPostIds.isEmpty()) {
+                months.add(new Group(currentYear, currentMonth, monthPostIds));
+                years.add(new Group(currentYear, 0, yearPostIds));
+            }
+
+            this.yearGroups = Collections.unmodifiableList(years);
+            this.monthGroups = Collections.unmodifiableList(months);
+        }
+    }
+}
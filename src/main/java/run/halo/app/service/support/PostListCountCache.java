@@ -0,0 +1,101 @@
+package run.halo.app.service.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import run.halo.app.event.post.PostRemovedEvent;
+import run.halo.app.model.params.PostQuery;
+
+/**
+ * Cache of the total counts of the admin post list keyed by query, so that paging through the
+ * list counts once instead of once per page.
+ *
+ * <p>The cache is invalidated when a post or a post category is saved or deleted, and when
+ * posts are removed in batch. Counts of keyword queries depend on contents as well and are only
+ * bounded by expiry.
+ */
+@Component
+public class PostListCountCache {
+
+    private static final long MAXIMUM_SIZE = 256L;
+
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    private final Cache<List<Object>, Long> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_SIZE)
+        .expireAfterWrite(EXPIRE_AFTER_WRITE)
+        .build();
+
+    /**
+     * Incremented on invalidation, so that a count loaded concurrently is not cached after it.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Gets the cached count of the given query or counts it.
+     *
+     * @param postQuery post query must not be null
+     * @param counter counter of the query must not be null
+     * @return total count of the query
+     */
+    public long get(@NonNull PostQuery postQuery, @NonNull LongSupplier counter) {
+        Objects.requireNonNull(postQuery, "Post query must not be null");
+        Objects.requireNonNull(counter, "Counter must not be null");
+
+        List<Object> key = Arrays.asList(postQuery.getKeyword(), postQuery.getStatus(),
+            postQuery.getStatuses() == null ? null : Set.copyOf(postQuery.getStatuses()),
+            postQuery.getCategoryId());
+        Long count = cache.getIfPresent(key);
+        if (count == null) {
+            long current = generation.get();
+            count = counter.getAsLong();
+            if (current == generation.get()) {
+                cache.put(key, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Invalidates all counts. If a transaction is active, the counts will be invalidated again
+     * after commit so that no count of uncommitted data is kept.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        clear();
+                    }
+                });
+        }
+        clear();
+    }
+
+    /**
+     * Invalidates all counts after posts were removed in batch, which fires no entity callbacks.
+     *
+     * @param event post removed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRemoved(PostRemovedEvent event) {
+        clear();
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,448 @@
+package run.halo.app.service.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.TagIdPostStatusProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.repository.PostTagRepository;
+
+/**
+ * In-memory bipartite graph of posts and tags.
+ *
+ * <p>Both directions are kept as sorted int arrays: the tag ids of every post and the post ids
+ * of every tag, along with the status of every post and the number of posts not in the recycle
+ * bin of every tag. The graph is built lazily from a single projection query and then
+ * maintained incrementally for single post changes; batch changes simply invalidate it. Readers
+ * always see an immutable snapshot, so no locking is required on the read path.
+ */
+@Slf4j
+@Component
+public class PostTagGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final PostTagRepository postTagRepository;
+
+    private final PostRepository postRepository;
+
+    private volatile Graph graph;
+
+    public PostTagGraph(PostTagRepository postTagRepository, PostRepository postRepository) {
+        this.postTagRepository = postTagRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Gets the tag ids of the given post.
+     *
+     * @param postId post id
+     * @return sorted tag ids, empty if the post has no tags
+     */
+    @NonNull
+    public int[] getTagIds(int postId) {
+        return getGraph().tagsOf(postId).clone();
+    }
+
+    /**
+     * Gets the post ids of the given tag.
+     *
+     * @param tagId tag id
+     * @return sorted post ids, empty if the tag has no posts
+     */
+    @NonNull
+    public int[] getPostIds(int tagId) {
+        return getGraph().postsOf(tagId).clone();
+    }
+
+    /**
+     * Gets the ids of the posts with the given status of the given tag.
+     *
+     * @param tagId tag id
+     * @param status post status must not be null
+     * @return sorted post ids, empty if the tag has no such posts
+     */
+    @NonNull
+    public int[] getPostIds(int tagId, @NonNull PostStatus status) {
+        Graph current = getGraph();
+        int[] postIds = current.postsOf(tagId);
+        int[] matched = new int[postIds.length];
+        int count = 0;
+        for (int postId : postIds) {
+            if (status == current.statusOf(postId)) {
+                matched[count++] = postId;
+            }
+        }
+        return Arrays.copyOf(matched, count);
+    }
+
+    /**
+     * Gets the number of posts of the given tag, not counting the posts in the recycle bin.
+     *
+     * @param tagId tag id
+     * @return post count
+     */
+    public long getPostCount(int tagId) {
+        Graph current = getGraph();
+        int index = Arrays.binarySearch(current.tagIds, tagId);
+        return index < 0 ? 0 : current.postCounts[index];
+    }
+
+    /**
+     * Lists the published posts related to the given post, ranked by the Jaccard similarity of
+     * their tags (shared tags over all tags of both posts), then by the number of shared tags,
+     * then by post id descending.
+     *
+     * @param postId post id
+     * @param top maximum number of posts
+     * @return ids of the related posts, most related first
+     */
+    @NonNull
+    public List<Integer> listRelatedPostIds(int postId, int top) {
+        Graph current = getGraph();
+        int[] tagIds = current.tagsOf(postId);
+        if (top <= 0 || tagIds.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // all posts sharing a tag, once per shared tag
+        int total = 0;
+        for (int tagId : tagIds) {
+            total += current.postsOf(tagId).length;
+        }
+        int[] neighbours = new int[total];
+        int offset = 0;
+        for (int tagId : tagIds) {
+            int[] postIds = current.postsOf(tagId);
+            System.arraycopy(postIds, 0, neighbours, offset, postIds.length);
+            offset += postIds.length;
+        }
+        Arrays.sort(neighbours);
+
+        List<Related> related = new ArrayList<>();
+        for (int start = 0, end; start < neighbours.length; start = end) {
+            int neighbour = neighbours[start];
+            end = start + 1;
+            while (end < neighbours.length && neighbours[end] == neighbour) {
+                end++;
+            }
+            if (neighbour == postId || current.statusOf(neighbour) != PostStatus.PUBLISHED) {
+                continue;
+            }
+            int shared = end - start;
+            int union = tagIds.length + current.tagsOf(neighbour).length - shared;
+            related.add(new Related(neighbour, shared, (double) shared / union));
+        }
+        related.sort(Related.ORDER);
+
+        List<Integer> relatedPostIds = new ArrayList<>(Math.min(top, related.size()));
+        for (int i = 0; i < related.size() && i < top; i++) {
+            relatedPostIds.add(related.get(i).postId);
+        }
+        return relatedPostIds;
+    }
+
+    /**
+     * Updates the tags and status of the given post with its current state in database.
+     *
+     * @param postId post id must not be null
+     */
+    public void refresh(@NonNull Integer postId) {
+        Objects.requireNonNull(postId, "Post id must not be null");
+
+        synchronized (this) {
+            Graph current = this.graph;
+            if (current == null) {
+                // will be rebuilt on next read
+                return;
+            }
+
+            Optional<Post> post = postRepository.findById(postId);
+            Set<Integer> tagIds = post.isPresent()
+                ? postTagRepository.findAllTagIdsByPostId(postId) : Collections.emptySet();
+            int[] sortedTagIds = tagIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+            this.graph = current.withPost(postId, post.map(Post::getStatus).orElse(null),
+                sortedTagIds);
+        }
+    }
+
+    /**
+     * Invalidates the whole graph. If a transaction is active, the graph will be invalidated
+     * again after commit so that it won't be rebuilt from uncommitted data.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        graph = null;
+                    }
+                });
+        }
+        this.graph = null;
+    }
+
+    @NonNull
+    private Graph getGraph() {
+        Graph current = this.graph;
+        if (current == null) {
+            synchronized (this) {
+                current = this.graph;
+                if (current == null) {
+                    current = Graph.build(postTagRepository.findAllWithPostStatus());
+                    this.graph = current;
+                    log.debug("Built post tag graph with {} posts and {} tags",
+                        current.postIds.length, current.tagIds.length);
+                }
+            }
+        }
+        return current;
+    }
+
+    private static final class Related {
+
+        private static final Comparator<Related> ORDER =
+            Comparator.comparingDouble((Related related) -> related.similarity).reversed()
+                .thenComparing(Comparator.comparingInt((Related related) -> related.shared)
+                    .reversed())
+                .thenComparing(Comparator.comparingInt((Related related) -> related.postId)
+                    .reversed());
+
+        private final int postId;
+
+        private final int shared;
+
+        private final double similarity;
+
+        private Related(int postId, int shared, double similarity) {
+            this.postId = postId;
+            this.shared = shared;
+            this.similarity = similarity;
+        }
+    }
+
+    private static final class Graph {
+
+        private final int[] postIds;
+
+        private final PostStatus[] postStatuses;
+
+        private final int[][] tagsOfPosts;
+
+        private final int[] tagIds;
+
+        private final int[][] postsOfTags;
+
+        private final int[] postCounts;
+
+        private Graph(int[] postIds, PostStatus[] postStatuses, int[][] tagsOfPosts,
+            int[] tagIds, int[][] postsOfTags, int[] postCounts) {
+            this.postIds = postIds;
+            this.postStatuses = postStatuses;
+            this.tagsOfPosts = tagsOfPosts;
+            this.tagIds = tagIds;
+            this.postsOfTags = postsOfTags;
+            this.postCounts = postCounts;
+        }
+
+        private static Graph build(List<TagIdPostStatusProjection> edges) {
+            // group the edges by post, then by tag
+            Map<Integer, List<Integer>> tagsByPost = new TreeMap<>();
+            Map<Integer, PostStatus> statusByPost = new TreeMap<>();
+            Map<Integer, List<Integer>> postsByTag = new TreeMap<>();
+            for (TagIdPostStatusProjection edge : edges) {
+                tagsByPost.computeIfAbsent(edge.getPostId(), id -> new ArrayList<>())
+                    .add(edge.getTagId());
+                statusByPost.put(edge.getPostId(), edge.getPostStatus());
+                postsByTag.computeIfAbsent(edge.getTagId(), id -> new ArrayList<>())
+                    .add(edge.getPostId());
+            }
+
+            int[] postIds = new int[tagsByPost.size()];
+            PostStatus[] postStatuses = new PostStatus[postIds.length];
+            int[][] tagsOfPosts = new int[postIds.length][];
+            int index = 0;
+            for (Map.Entry<Integer, List<Integer>> post : tagsByPost.entrySet()) {
+                postIds[index] = post.getKey();
+                postStatuses[index] = statusByPost.get(post.getKey());
+                tagsOfPosts[index] = toSortedArray(post.getValue());
+                index++;
+            }
+
+            int[] tagIds = new int[postsByTag.size()];
+            int[][] postsOfTags = new int[tagIds.length][];
+            int[] postCounts = new int[tagIds.length];
+            index = 0;
+            for (Map.Entry<Integer, List<Integer>> tag : postsByTag.entrySet()) {
+                tagIds[index] = tag.getKey();
+                postsOfTags[index] = toSortedArray(tag.getValue());
+                postCounts[index] = countPosts(postsOfTags[index], postIds, postStatuses);
+                index++;
+            }
+            return new Graph(postIds, postStatuses, tagsOfPosts, tagIds, postsOfTags,
+                postCounts);
+        }
+
+        private int[] tagsOf(int postId) {
+            int index = Arrays.binarySearch(postIds, postId);
+            return index < 0 ? EMPTY : tagsOfPosts[index];
+        }
+
+        private int[] postsOf(int tagId) {
+            int index = Arrays.binarySearch(tagIds, tagId);
+            return index < 0 ? EMPTY : postsOfTags[index];
+        }
+
+        @Nullable
+        private PostStatus statusOf(int postId) {
+            return statusOf(postId, postIds, postStatuses);
+        }
+
+        /**
+         * Copies the graph with the given tags and status of a post, the tag rows not touching
+         * the post are shared with this graph.
+         */
+        private Graph withPost(int postId, @Nullable PostStatus status, int[] newTagIds) {
+            int[] oldTagIds = tagsOf(postId);
+
+            // the post row
+            int index = Arrays.binarySearch(postIds, postId);
+            int[] nextPostIds = postIds;
+            PostStatus[] nextStatuses = postStatuses;
+            int[][] nextTagsOfPosts = tagsOfPosts;
+            if (newTagIds.length == 0 && index >= 0) {
+                nextPostIds = removeAt(postIds, index);
+                nextStatuses = removeAt(postStatuses, index);
+                nextTagsOfPosts = removeAt(tagsOfPosts, index);
+            } else if (newTagIds.length > 0 && index >= 0) {
+                nextStatuses = postStatuses.clone();
+                nextStatuses[index] = status;
+                nextTagsOfPosts = tagsOfPosts.clone();
+                nextTagsOfPosts[index] = newTagIds;
+            } else if (newTagIds.length > 0) {
+                int insertion = -index - 1;
+                nextPostIds = insertAt(postIds, insertion, postId);
+                nextStatuses = insertAt(postStatuses, insertion, status);
+                nextTagsOfPosts = insertAt(tagsOfPosts, insertion, newTagIds);
+            }
+
+            // the tag rows of the old and new tags of the post
+            TreeMap<Integer, int[]> changedRows = new TreeMap<>();
+            for (int tagId : oldTagIds) {
+                changedRows.put(tagId, remove(postsOf(tagId), postId));
+            }
+            for (int tagId : newTagIds) {
+                changedRows.put(tagId, insert(postsOf(tagId), postId));
+            }
+
+            // merge the changed rows into the others, dropping the empty ones
+            int[] nextTagIds = new int[tagIds.length + changedRows.size()];
+            int[][] nextPostsOfTags = new int[nextTagIds.length][];
+            int[] nextPostCounts = new int[nextTagIds.length];
+            int count = 0;
+            int tagIndex = 0;
+            for (Map.Entry<Integer, int[]> changedRow : changedRows.entrySet()) {
+                int tagId = changedRow.getKey();
+                while (tagIndex < tagIds.length && tagIds[tagIndex] < tagId) {
+                    nextTagIds[count] = tagIds[tagIndex];
+                    nextPostsOfTags[count] = postsOfTags[tagIndex];
+                    nextPostCounts[count++] = postCounts[tagIndex++];
+                }
+                if (tagIndex < tagIds.length && tagIds[tagIndex] == tagId) {
+                    tagIndex++;
+                }
+                int[] row = changedRow.getValue();
+                if (row.length > 0) {
+                    nextTagIds[count] = tagId;
+                    nextPostsOfTags[count] = row;
+                    nextPostCounts[count++] = countPosts(row, nextPostIds, nextStatuses);
+                }
+            }
+            while (tagIndex < tagIds.length) {
+                nextTagIds[count] = tagIds[tagIndex];
+                nextPostsOfTags[count] = postsOfTags[tagIndex];
+                nextPostCounts[count++] = postCounts[tagIndex++];
+            }
+
+            return new Graph(nextPostIds, nextStatuses, nextTagsOfPosts,
+                Arrays.copyOf(nextTagIds, count), Arrays.copyOf(nextPostsOfTags, count),
+                Arrays.copyOf(nextPostCounts, count));
+        }
+
+        @Nullable
+        private static PostStatus statusOf(int postId, int[] postIds,
+            PostStatus[] postStatuses) {
+            int index = Arrays.binarySearch(postIds, postId);
+            return index < 0 ? null : postStatuses[index];
+        }
+
+        private static int countPosts(int[] posts, int[] postIds, PostStatus[] postStatuses) {
+            int count = 0;
+            for (int postId : posts) {
+                if (statusOf(postId, postIds, postStatuses) != PostStatus.RECYCLE) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static int[] toSortedArray(List<Integer> ids) {
+            return ids.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        }
+
+        private static int[] insert(int[] sorted, int value) {
+            int index = Arrays.binarySearch(sorted, value);
+            return index >= 0 ? sorted : insertAt(sorted, -index - 1, value);
+        }
+
+        private static int[] remove(int[] sorted, int value) {
+            int index = Arrays.binarySearch(sorted, value);
+            return index < 0 ? sorted : removeAt(sorted, index);
+        }
+
+        private static int[] insertAt(int[] array, int index, int value) {
+            int[] result = new int[array.length + 1];
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            return result;
+        }
+
+        private static int[] removeAt(int[] array, int index) {
+            int[] result = new int[array.length - 1];
+            System.arraycopy(array, 0, result, 0, index);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+
+        private static <T> T[] insertAt(T[] array, int index, T value) {
+            T[] result = Arrays.copyOf(array, array.length + 1);
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+            result[index] = value;
+            return result;
+        }
+
+        private static <T> T[] removeAt(T[] array, int index) {
+            T[] result = Arrays.copyOf(array, array.length - 1);
+            System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+            return result;
+        }
+    }
+}
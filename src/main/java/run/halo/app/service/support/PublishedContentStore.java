@@ -0,0 +1,360 @@
+package run.halo.app.service.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.util.HtmlUtils;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.dto.post.TocEntryDTO;
+import run.halo.app.model.entity.Content;
+import run.halo.app.model.entity.Content.PatchedContent;
+import run.halo.app.model.projection.ContentVersionProjection;
+import run.halo.app.repository.ContentRepository;
+import run.halo.app.utils.FileUtils;
+import run.halo.app.utils.HaloUtils;
+import run.halo.app.utils.JsonUtils;
+
+/**
+ * Store of the rendered artifacts of post contents: the html, the plain text the summary is
+ * generated from and the table of contents.
+ *
+ * <p>An artifact is built once whenever a content is saved, i.e. when a post is published,
+ * and written gzipped under <code>{work dir}/.contents/{post id}/{patch log id}.json.gz</code>.
+ * Readers only look up the id of the patch log the content currently comes from, which is a
+ * cheap query, and get the artifact of that version from memory or disk. Artifacts that are
+ * missing or out of date, e.g. those of contents saved before this store existed, are rebuilt
+ * from the content on first read.
+ *
+ * <p>Recently read artifacts are kept in memory, except large ones which are read from disk
+ * every time. Artifacts are shared by all readers and must not be modified.
+ */
+@Slf4j
+@Component
+public class PublishedContentStore {
+
+    static final String CONTENTS_FOLDER = ".contents";
+
+    static final String ARTIFACT_SUFFIX = ".json.gz";
+
+    /**
+     * Maximum total length in chars of the artifacts kept in memory.
+     */
+    private static final long MAXIMUM_WEIGHT = 32L * 1024 * 1024;
+
+    /**
+     * Artifacts longer than this are not kept in memory.
+     */
+    private static final int LARGE_ARTIFACT_WEIGHT = 1024 * 1024;
+
+    private static final long MAXIMUM_FINGERPRINTS = 10000L;
+
+    private static final Pattern HEADING_PATTERN =
+        Pattern.compile("<h([1-6])(?:\\s[^>]*)?>(.*?)</h\\1>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final ContentRepository contentRepository;
+
+    private final Path contentsDir;
+
+    private final Cache<Integer, Artifact> cache = CacheBuilder.newBuilder()
+        .maximumWeight(MAXIMUM_WEIGHT)
+        .weigher((Integer postId, Artifact artifact) -> artifact.weight())
+        .build();
+
+    /**
+     * Fingerprints of the stored artifacts by post id, so that saving an unchanged content
+     * writes nothing even if its artifact is too large to be kept in memory.
+     */
+    private final Cache<Integer, String> storedFingerprints = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_FINGERPRINTS)
+        .build();
+
+    public PublishedContentStore(ContentRepository contentRepository,
+        HaloProperties haloProperties) {
+        this.contentRepository = contentRepository;
+        this.contentsDir = Paths.get(haloProperties.getWorkDir(), CONTENTS_FOLDER);
+    }
+
+    /**
+     * Gets the artifact of the current content of the given post.
+     *
+     * @param postId post id must not be null
+     * @return artifact of the current content or null if the post has no content
+     */
+    @Nullable
+    public Artifact get(@NonNull Integer postId) {
+        Objects.requireNonNull(postId, "Post id must not be null");
+
+        return contentRepository.findPatchLogIdById(postId)
+            .map(version -> get(postId, version))
+            .orElse(null);
+    }
+
+    /**
+     * Gets the artifacts of the current contents of the given posts.
+     *
+     * @param postIds post ids must not be null
+     * @return a map of post id with artifact, without posts having no content
+     */
+    @NonNull
+    public Map<Integer, Artifact> getAll(@NonNull Collection<Integer> postIds) {
+        Objects.requireNonNull(postIds, "Post ids must not be null");
+
+        if (postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, Artifact> artifacts = new HashMap<>(postIds.size() * 4 / 3 + 1);
+        for (ContentVersionProjection version : contentRepository.findAllVersionsByIdIn(postIds)) {
+            Artifact artifact = get(version.getPostId(), version.getPatchLogId());
+            if (artifact != null) {
+                artifacts.put(version.getPostId(), artifact);
+            }
+        }
+        return artifacts;
+    }
+
+    @Nullable
+    private Artifact get(Integer postId, Integer version) {
+        Artifact artifact = cache.getIfPresent(postId);
+        if (artifact != null && artifact.getVersion().equals(version)) {
+            return artifact;
+        }
+
+        artifact = read(postId, version);
+        if (artifact == null) {
+            Optional<Content> content = contentRepository.findById(postId);
+            if (content.isEmpty()) {
+                return null;
+            }
+            artifact = build(content.get());
+            write(artifact);
+        }
+        if (artifact.weight() <= LARGE_ARTIFACT_WEIGHT) {
+            cache.put(postId, artifact);
+        }
+        return artifact;
+    }
+
+    /**
+     * Builds and stores the artifact of the given content. If a transaction is active, the
+     * artifact is stored after commit so that no artifact of uncommitted content is served.
+     *
+     * @param content content must not be null
+     */
+    public void save(@NonNull Content content) {
+        Objects.requireNonNull(content, "Content must not be null");
+
+        // saving a draft only moves the head of the content
+        if (content.getId() != null) {
+            Artifact cached = cache.getIfPresent(content.getId());
+            if (cached != null ? cached.isOf(content)
+                : fingerprint(content).equals(storedFingerprints.getIfPresent(content.getId()))) {
+                return;
+            }
+        }
+
+        Artifact artifact = build(content);
+        afterCommit(() -> {
+            write(artifact);
+            if (artifact.weight() <= LARGE_ARTIFACT_WEIGHT) {
+                cache.put(artifact.getPostId(), artifact);
+            } else {
+                cache.invalidate(artifact.getPostId());
+            }
+        });
+    }
+
+    /**
+     * Removes all artifacts of the given post, after commit if a transaction is active.
+     *
+     * @param postId post id must not be null
+     */
+    public void remove(@NonNull Integer postId) {
+        Objects.requireNonNull(postId, "Post id must not be null");
+
+        afterCommit(() -> {
+            cache.invalidate(postId);
+            storedFingerprints.invalidate(postId);
+            Path postDir = contentsDir.resolve(postId.toString());
+            try {
+                if (Files.exists(postDir)) {
+                    FileUtils.deleteFolder(postDir);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to remove content artifacts of post {}", postId, e);
+            }
+        });
+    }
+
+    @NonNull
+    static Artifact build(@NonNull Content content) {
+        String html = StringUtils.defaultString(content.getContent());
+
+        List<TocEntryDTO> toc = new ArrayList<>();
+        Matcher matcher = HEADING_PATTERN.matcher(html);
+        while (matcher.find()) {
+            String title = HtmlUtils.htmlUnescape(HaloUtils.cleanHtmlTag(matcher.group(2)));
+            toc.add(new TocEntryDTO(Integer.parseInt(matcher.group(1)), title.trim()));
+        }
+
+        Artifact artifact = new Artifact();
+        artifact.setPostId(content.getId());
+        artifact.setVersion(content.getPatchLogId() == null ? 0 : content.getPatchLogId());
+        artifact.setContent(html);
+        artifact.setOriginalContent(StringUtils.defaultString(content.getOriginalContent()));
+        artifact.setText(HaloUtils.cleanHtmlTag(html));
+        artifact.setToc(toc);
+        return artifact;
+    }
+
+    @Nullable
+    private Artifact read(Integer postId, Integer version) {
+        Path path = resolve(postId, version);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            Artifact artifact = JsonUtils.DEFAULT_JSON_MAPPER.readValue(in, Artifact.class);
+            if (postId.equals(artifact.getPostId()) && version.equals(artifact.getVersion())) {
+                storedFingerprints.put(postId, artifact.fingerprint());
+                return artifact;
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Failed to read content artifact {}, it will be rebuilt", path, e);
+        }
+        return null;
+    }
+
+    private void write(Artifact artifact) {
+        Path path = resolve(artifact.getPostId(), artifact.getVersion());
+        try {
+            Files.createDirectories(path.getParent());
+            // write aside then move, so that readers never see a partial artifact
+            Path temp = Files.createTempFile(path.getParent(), "artifact", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                JsonUtils.DEFAULT_JSON_MAPPER.writeValue(out, artifact);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            storedFingerprints.put(artifact.getPostId(), artifact.fingerprint());
+
+            // only the current version is ever read, temp files belong to concurrent writers
+            try (Stream<Path> siblings = Files.list(path.getParent())) {
+                siblings.filter(sibling -> !sibling.equals(path))
+                    .filter(sibling -> sibling.getFileName().toString().endsWith(ARTIFACT_SUFFIX))
+                    .forEach(sibling -> {
+                        try {
+                            Files.deleteIfExists(sibling);
+                        } catch (IOException e) {
+                            log.debug("Failed to delete stale content artifact {}", sibling, e);
+                        }
+                    });
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write content artifact {}", path, e);
+        }
+    }
+
+    private static String fingerprint(Content content) {
+        return fingerprint(content.getPatchLogId() == null ? 0 : content.getPatchLogId(),
+            StringUtils.defaultString(content.getContent()),
+            StringUtils.defaultString(content.getOriginalContent()));
+    }
+
+    private static String fingerprint(int version, String content, String originalContent) {
+        return Hashing.murmur3_128().newHasher()
+            .putInt(version)
+            .putInt(content.length())
+            .putString(content, StandardCharsets.UTF_8)
+            .putString(originalContent, StandardCharsets.UTF_8)
+            .hash()
+            .toString();
+    }
+
+    private Path resolve(Integer postId, Integer version) {
+        return contentsDir.resolve(postId.toString()).resolve(version + ARTIFACT_SUFFIX);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Rendered artifact of a post content.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Artifact extends PatchedContent {
+
+        private Integer postId;
+
+        /**
+         * Id of the patch log the content comes from.
+         */
+        private Integer version;
+
+        /**
+         * Content without html tags.
+         */
+        private String text;
+
+        private List<TocEntryDTO> toc;
+
+        boolean isOf(Content content) {
+            int patchLogId = content.getPatchLogId() == null ? 0 : content.getPatchLogId();
+            return version == patchLogId
+                && getContent().equals(StringUtils.defaultString(content.getContent()))
+                && getOriginalContent().equals(
+                StringUtils.defaultString(content.getOriginalContent()));
+        }
+
+        String fingerprint() {
+            return PublishedContentStore.fingerprint(version, getContent(), getOriginalContent());
+        }
+
+        int weight() {
+            return getContent().length() + getOriginalContent().length() + text.length();
+        }
+    }
+}
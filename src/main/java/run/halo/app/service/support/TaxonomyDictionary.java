@@ -0,0 +1,278 @@
+package run.halo.app.service.support;
+
+import static run.halo.app.model.support.HaloConst.URL_SEPARATOR;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import run.halo.app.event.options.OptionUpdatedEvent;
+import run.halo.app.model.dto.CategoryDTO;
+import run.halo.app.model.dto.TagDTO;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Tag;
+import run.halo.app.model.support.HaloConst;
+import run.halo.app.repository.CategoryRepository;
+import run.halo.app.repository.TagRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Dictionary of ready-made tag and category dtos keyed by id.
+ *
+ * <p>Tags and categories change rarely but are converted for every post of every page, so all
+ * of them are converted once, full paths included, into an immutable snapshot of id-sorted
+ * arrays. Each snapshot carries a version which is increased whenever it is rebuilt. The
+ * snapshot is invalidated when a tag or category is saved or deleted and when options are
+ * updated, and rebuilt lazily on next read.
+ *
+ * <p>The dtos handed out are shared by all readers and must not be modified.
+ */
+@Slf4j
+@Component
+public class TaxonomyDictionary {
+
+    private final TagRepository tagRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final OptionService optionService;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Paths paths;
+
+    private volatile Snapshot snapshot;
+
+    public TaxonomyDictionary(TagRepository tagRepository,
+        CategoryRepository categoryRepository,
+        OptionService optionService) {
+        this.tagRepository = tagRepository;
+        this.categoryRepository = categoryRepository;
+        this.optionService = optionService;
+    }
+
+    /**
+     * Gets the dto of the given tag. The ready-made dto is returned if the dictionary holds the
+     * tag as it is, otherwise the tag is converted on its own.
+     *
+     * @param tag tag must not be null
+     * @return tag dto
+     */
+    @NonNull
+    public TagDTO getTagDto(@NonNull Tag tag) {
+        Objects.requireNonNull(tag, "Tag must not be null");
+
+        if (tag.getId() != null) {
+            Snapshot current = getSnapshot();
+            int index = Arrays.binarySearch(current.tagIds, tag.getId());
+            if (index >= 0 && isCurrent(current.tags[index], tag)) {
+                return current.tags[index];
+            }
+        }
+        return convert(tag, getPaths());
+    }
+
+    /**
+     * Gets the dto of the given category. The ready-made dto is returned if the dictionary holds
+     * the category as it is, otherwise the category is converted on its own.
+     *
+     * @param category category must not be null
+     * @return category dto
+     */
+    @NonNull
+    public CategoryDTO getCategoryDto(@NonNull Category category) {
+        Objects.requireNonNull(category, "Category must not be null");
+
+        if (category.getId() != null) {
+            Snapshot current = getSnapshot();
+            int index = Arrays.binarySearch(current.categoryIds, category.getId());
+            if (index >= 0 && isCurrent(current.categories[index], category)) {
+                return current.categories[index];
+            }
+        }
+        return convert(category, getPaths());
+    }
+
+    /**
+     * Builds the full path of the tag with the given slug.
+     *
+     * @param slug tag slug must not be null
+     * @return full path of the tag
+     */
+    @NonNull
+    public String buildTagFullPath(@NonNull String slug) {
+        Paths current = getPaths();
+        return current.tagPrefix + slug + current.suffix;
+    }
+
+    /**
+     * Builds the full path of the category with the given slug.
+     *
+     * @param slug category slug must not be null
+     * @return full path of the category
+     */
+    @NonNull
+    public String buildCategoryFullPath(@NonNull String slug) {
+        Paths current = getPaths();
+        return current.categoryPrefix + slug + current.suffix;
+    }
+
+    /**
+     * Gets the version of the current snapshot, which changes whenever it is rebuilt.
+     *
+     * @return version of the current snapshot
+     */
+    public long getVersion() {
+        return getSnapshot().version;
+    }
+
+    @EventListener(OptionUpdatedEvent.class)
+    public void onOptionUpdated() {
+        paths = null;
+        snapshot = null;
+    }
+
+    /**
+     * Invalidates the dictionary. If a transaction is active, the dictionary will be invalidated
+     * again after commit so that it won't be rebuilt from uncommitted data.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        snapshot = null;
+                    }
+                });
+        }
+        this.snapshot = null;
+    }
+
+    @NonNull
+    private Paths getPaths() {
+        Paths current = paths;
+        if (current == null) {
+            current = new Paths(optionService);
+            paths = current;
+        }
+        return current;
+    }
+
+    @NonNull
+    private Snapshot getSnapshot() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = this.snapshot;
+                if (current == null) {
+                    current = new Snapshot(versions.incrementAndGet(), tagRepository.findAll(),
+                        categoryRepository.findAll(), getPaths());
+                    this.snapshot = current;
+                    log.debug("Built taxonomy dictionary version {} with {} tags and {} categories",
+                        current.version, current.tags.length, current.categories.length);
+                }
+            }
+        }
+        return current;
+    }
+
+    private static TagDTO convert(Tag tag, Paths paths) {
+        TagDTO tagDto = new TagDTO().convertFrom(tag);
+        tagDto.setFullPath(paths.tagPrefix + tag.getSlug() + paths.suffix);
+        return tagDto;
+    }
+
+    private static CategoryDTO convert(Category category, Paths paths) {
+        CategoryDTO categoryDto = new CategoryDTO().convertFrom(category);
+        categoryDto.setFullPath(paths.categoryPrefix + category.getSlug() + paths.suffix);
+        return categoryDto;
+    }
+
+    /**
+     * Checks whether the dto still reflects the given tag, which may have been changed since the
+     * snapshot was built, e.g. earlier in the current transaction.
+     */
+    private static boolean isCurrent(TagDTO tagDto, Tag tag) {
+        String color = tag.getColor() == null ? HaloConst.DEFAULT_TAG_COLOR : tag.getColor();
+        return Objects.equals(tagDto.getSlug(), tag.getSlug())
+            && Objects.equals(tagDto.getName(), tag.getName())
+            && Objects.equals(tagDto.getColor(), color)
+            && Objects.equals(tagDto.getThumbnail(), tag.getThumbnail());
+    }
+
+    private static boolean isCurrent(CategoryDTO categoryDto, Category category) {
+        return Objects.equals(categoryDto.getSlug(), category.getSlug())
+            && Objects.equals(categoryDto.getName(), category.getName())
+            && Objects.equals(categoryDto.getDescription(), category.getDescription())
+            && Objects.equals(categoryDto.getThumbnail(), category.getThumbnail())
+            && Objects.equals(categoryDto.getParentId(), category.getParentId())
+            && Objects.equals(categoryDto.getPassword(), category.getPassword())
+            && Objects.equals(categoryDto.getPriority(), category.getPriority());
+    }
+
+    private static class Paths {
+
+        private final String tagPrefix;
+
+        private final String categoryPrefix;
+
+        private final String suffix;
+
+        private Paths(OptionService optionService) {
+            String base = optionService.isEnabledAbsolutePath()
+                ? optionService.getBlogBaseUrl() : "";
+            this.tagPrefix =
+                base + URL_SEPARATOR + optionService.getTagsPrefix() + URL_SEPARATOR;
+            this.categoryPrefix =
+                base + URL_SEPARATOR + optionService.getCategoriesPrefix() + URL_SEPARATOR;
+            this.suffix = optionService.getPathSuffix();
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long version;
+
+        private final int[] tagIds;
+
+        private final TagDTO[] tags;
+
+        private final int[] categoryIds;
+
+        private final CategoryDTO[] categories;
+
+        private Snapshot(long version, List<Tag> tags, List<Category> categories, Paths paths) {
+            this.version = version;
+
+            Tag[] sortedTags = tags.stream()
+                .filter(tag -> tag.getId() != null)
+                .sorted(Comparator.comparing(Tag::getId))
+                .toArray(Tag[]::new);
+            this.tagIds = new int[sortedTags.length];
+            this.tags = new TagDTO[sortedTags.length];
+            for (int i = 0; i < sortedTags.length; i++) {
+                this.tagIds[i] = sortedTags[i].getId();
+                this.tags[i] = convert(sortedTags[i], paths);
+            }
+
+            Category[] sortedCategories = categories.stream()
+                .filter(category -> category.getId() != null)
+                .sorted(Comparator.comparing(Category::getId))
+                .toArray(Category[]::new);
+            this.categoryIds = new int[sortedCategories.length];
+            this.categories = new CategoryDTO[sortedCategories.length];
+            for (int i = 0; i < sortedCategories.length; i++) {
+                this.categoryIds[i] = sortedCategories[i].getId();
+                this.categories[i] = convert(sortedCategories[i], paths);
+            }
+        }
+    }
+}
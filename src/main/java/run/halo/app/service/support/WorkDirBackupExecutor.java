@@ -0,0 +1,640 @@
+package run.halo.app.service.support;
+
+import static run.halo.app.model.support.HaloConst.HALO_BACKUP_PREFIX;
+import static run.halo.app.utils.DateTimeUtils.HORIZONTAL_LINE_DATETIME_FORMATTER;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.exception.BadRequestException;
+import run.halo.app.model.enums.BackupJobStatus;
+import run.halo.app.service.ThemeService;
+import run.halo.app.utils.DateTimeUtils;
+import run.halo.app.utils.HaloUtils;
+import run.halo.app.utils.JsonUtils;
+import run.halo.app.utils.ZipStreamWriter;
+
+/**
+ * Executor of work directory backup jobs.
+ *
+ * <p>A job runs in the background and writes the archive as a stream with bounded memory:
+ * files up to {@link #MAX_CHUNK_SIZE} are read and deflated in parallel across cores, at most
+ * {@link #MAX_PENDING_BYTES} at a time, while larger files are streamed by the writing thread.
+ * Files which are compressed already, e.g. images and videos, are stored as they are. Caches
+ * of the work directory are never archived.
+ *
+ * <p>Every successful backup writes a manifest of the archived files with their size and last
+ * modified time, so that an incremental backup archives only the files changed since.
+ *
+ * <p>Only one job runs at a time. The last {@link #MAX_FINISHED_JOBS} finished jobs are kept.
+ */
+@Slf4j
+@Component
+public class WorkDirBackupExecutor {
+
+    /**
+     * Items of the work directory which are never archived: the level db cache and the rendered
+     * content artifacts, both rebuilt on demand, and themes being installed.
+     */
+    public static final Set<String> EXCLUDED_ITEMS = Set.of(".leveldb",
+        PublishedContentStore.CONTENTS_FOLDER, ThemeService.THEME_STAGING_FOLDER);
+
+    static final String MANIFEST_FILE_NAME = ".work-dir-manifest.json";
+
+    static final int MAX_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    static final long MAX_PENDING_BYTES = 32L * 1024 * 1024;
+
+    private static final int MAX_FINISHED_JOBS = 16;
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+        "jpg", "jpeg", "png", "gif", "webp", "avif", "heic",
+        "mp3", "m4a", "aac", "ogg", "flac", "mp4", "m4v", "mov", "webm", "mkv",
+        "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar",
+        "woff", "woff2", "pdf", "docx", "xlsx", "pptx");
+
+    private final HaloProperties haloProperties;
+
+    private final ExecutorService jobExecutor;
+
+    private final ExecutorService deflateExecutor;
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public WorkDirBackupExecutor(HaloProperties haloProperties) {
+        this.haloProperties = haloProperties;
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "backup-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.deflateExecutor =
+            Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread =
+                    new Thread(runnable, "backup-deflate-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Submits a backup job.
+     *
+     * @param options items of the work directory to back up must not be empty
+     * @param incremental whether only files changed since the last backup are archived
+     * @param beforeArchive action run right before the archive is written, e.g. to close a
+     *     database
+     * @param afterArchive action run once the archive is written, even if it failed
+     * @return the job submitted
+     * @throws BadRequestException if a job is running already
+     */
+    @NonNull
+    public synchronized Job submit(@NonNull List<String> options, boolean incremental,
+        @Nullable Runnable beforeArchive, @Nullable Runnable afterArchive) {
+        Assert.notEmpty(options, "Backup options must not be empty");
+
+        boolean running = jobs.values().stream().anyMatch(job -> !job.getStatus().isFinished());
+        if (running) {
+            throw new BadRequestException("已有备份正在进行中，请稍后再试");
+        }
+
+        Job job = new Job(HaloUtils.simpleUUID(), List.copyOf(options), incremental);
+        jobs.put(job.getId(), job);
+        evictFinishedJobs();
+        jobExecutor.execute(() -> run(job, beforeArchive, afterArchive));
+        return job;
+    }
+
+    /**
+     * Gets a job by id.
+     *
+     * @param jobId job id
+     * @return job or empty if not found
+     */
+    @NonNull
+    public synchronized Optional<Job> get(@Nullable String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Lists jobs, the latest first.
+     *
+     * @return a list of jobs
+     */
+    @NonNull
+    public synchronized List<Job> list() {
+        List<Job> result = new ArrayList<>(jobs.values());
+        Collections.reverse(result);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            jobs.values().forEach(Job::cancel);
+        }
+        jobExecutor.shutdownNow();
+        deflateExecutor.shutdownNow();
+    }
+
+    private void evictFinishedJobs() {
+        long finished = jobs.values().stream().filter(job -> job.getStatus().isFinished()).count();
+        var iterator = jobs.values().iterator();
+        while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    private void run(Job job, @Nullable Runnable beforeArchive, @Nullable Runnable afterArchive) {
+        Path workDir = Paths.get(haloProperties.getWorkDir()).toAbsolutePath().normalize();
+        Path backupDir = Paths.get(haloProperties.getBackupDir()).toAbsolutePath().normalize();
+        Path tempArchive = backupDir.resolve("." + job.getId() + ".zip.tmp");
+        try {
+            Files.createDirectories(backupDir);
+
+            List<Item> items = scan(workDir, backupDir, job.getOptions());
+            Map<String, String> manifest = new LinkedHashMap<>(items.size() * 4 / 3 + 1);
+            items.stream()
+                .filter(item -> !item.directory)
+                .forEach(item -> manifest.put(item.name, item.stamp()));
+
+            if (job.isIncremental()) {
+                Map<String, String> lastManifest = readManifest(backupDir);
+                items.removeIf(item -> item.directory
+                    || Objects.equals(lastManifest.get(item.name), item.stamp()));
+            }
+            job.totalFiles = items.stream().filter(item -> !item.directory).count();
+            job.totalBytes = items.stream().mapToLong(item -> item.size).sum();
+
+            if (beforeArchive != null) {
+                beforeArchive.run();
+            }
+            try {
+                archive(job, items, tempArchive);
+            } finally {
+                if (afterArchive != null) {
+                    afterArchive.run();
+                }
+            }
+
+            String archiveName = HALO_BACKUP_PREFIX
+                + DateTimeUtils.format(LocalDateTime.now(), HORIZONTAL_LINE_DATETIME_FORMATTER)
+                + HaloUtils.simpleUUID().hashCode()
+                + (job.isIncremental() ? "-incremental" : "") + ".zip";
+            Path archive = Files.move(tempArchive, backupDir.resolve(archiveName),
+                StandardCopyOption.ATOMIC_MOVE);
+            writeManifest(backupDir, manifest);
+            job.finish(BackupJobStatus.SUCCEEDED, archive, null);
+            log.info("Backed up {} files of work directory to {}", job.totalFiles, archive);
+        } catch (CancellationException e) {
+            job.finish(BackupJobStatus.CANCELLED, null, null);
+            log.info("Cancelled backup job {}", job.getId());
+        } catch (Exception e) {
+            job.finish(BackupJobStatus.FAILED, null, e.getMessage());
+            log.error("Failed to back up work directory", e);
+        } finally {
+            try {
+                Files.deleteIfExists(tempArchive);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary backup {}", tempArchive, e);
+            }
+        }
+    }
+
+    /**
+     * Lists the files and directories of the given items in walk order, named as in the
+     * archive, i.e. relative to the parent of the work directory.
+     */
+    List<Item> scan(Path workDir, Path backupDir, List<String> options) throws IOException {
+        String rootName = workDir.getFileName().toString();
+        List<Item> items = new ArrayList<>();
+        items.add(new Item(workDir, rootName + "/", true, 0,
+            Files.getLastModifiedTime(workDir).toMillis()));
+
+        for (String option : options) {
+            Path itemPath = workDir.resolve(option).normalize();
+            if (!itemPath.startsWith(workDir) || itemPath.equals(workDir)) {
+                throw new BadRequestException("备份项 " + option + " 不在工作目录中");
+            }
+            if (EXCLUDED_ITEMS.contains(workDir.relativize(itemPath).getName(0).toString())
+                || Files.notExists(itemPath)) {
+                continue;
+            }
+
+            Files.walkFileTree(itemPath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (dir.startsWith(backupDir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    items.add(new Item(dir, name(dir) + "/", true, 0,
+                        attrs.lastModifiedTime().toMillis()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        items.add(new Item(file, name(file), false, attrs.size(),
+                            attrs.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private String name(Path path) {
+                    StringBuilder name = new StringBuilder(rootName);
+                    for (Path element : workDir.relativize(path)) {
+                        name.append('/').append(element);
+                    }
+                    return name.toString();
+                }
+            });
+        }
+        return items;
+    }
+
+    private void archive(Job job, List<Item> items, Path tempArchive) throws Exception {
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        long pendingBytes = 0;
+        try (ZipStreamWriter writer = new ZipStreamWriter(
+            new BufferedOutputStream(Files.newOutputStream(tempArchive), 64 * 1024))) {
+            for (Item item : items) {
+                job.checkCancelled();
+
+                if (item.directory) {
+                    writer.putDirectory(item.name, item.lastModified);
+                } else if (item.size > MAX_CHUNK_SIZE) {
+                    // large files are streamed by this thread
+                    archiveLargeFile(writer, item);
+                    job.archived(item.size);
+                } else {
+                    while (!pending.isEmpty() && pendingBytes + item.size > MAX_PENDING_BYTES) {
+                        pendingBytes -= write(writer, pending.poll(), job);
+                    }
+                    pending.add(deflateExecutor.submit(() -> compress(item)));
+                    pendingBytes += item.size;
+                }
+
+                while (!pending.isEmpty() && pending.peek().isDone()) {
+                    pendingBytes -= write(writer, pending.poll(), job);
+                }
+            }
+            while (!pending.isEmpty()) {
+                job.checkCancelled();
+                pendingBytes -= write(writer, pending.poll(), job);
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private long write(ZipStreamWriter writer, Future<Chunk> future, Job job) throws Exception {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+        if (chunk.data != null) {
+            writer.putEntry(chunk.item.name, chunk.item.lastModified, chunk.method, chunk.crc,
+                chunk.size, chunk.data, 0, chunk.length);
+            job.archived(chunk.size);
+        }
+        return chunk.item.size;
+    }
+
+    private void archiveLargeFile(ZipStreamWriter writer, Item item) throws IOException {
+        if (isCompressed(item.name)) {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream in = Files.newInputStream(item.path)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            try (InputStream in = Files.newInputStream(item.path)) {
+                writer.putStored(item.name, item.lastModified, crc.getValue(),
+                    Files.size(item.path), in);
+            }
+        } else {
+            try (InputStream in = Files.newInputStream(item.path)) {
+                writer.putDeflated(item.name, item.lastModified, in,
+                    Deflater.DEFAULT_COMPRESSION);
+            }
+        }
+    }
+
+    /**
+     * Reads and compresses a file. Files which are compressed already or don't get smaller are
+     * stored.
+     */
+    static Chunk compress(Item item) throws IOException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(item.path);
+        } catch (NoSuchFileException e) {
+            // deleted since scanned
+            return new Chunk(item, ZipEntry.STORED, 0, 0, null, 0);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        if (!isCompressed(item.name) && data.length > 0) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                byte[] output = new byte[Math.max(64, data.length / 2)];
+                int length = 0;
+                while (!deflater.finished() && length < data.length) {
+                    if (length == output.length) {
+                        output = Arrays.copyOf(output, Math.min(output.length * 2,
+                            data.length + 64));
+                    }
+                    length += deflater.deflate(output, length, output.length - length);
+                }
+                if (deflater.finished() && length < data.length) {
+                    return new Chunk(item, ZipEntry.DEFLATED, crc.getValue(), data.length,
+                        output, length);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return new Chunk(item, ZipEntry.STORED, crc.getValue(), data.length, data, data.length);
+    }
+
+    static boolean isCompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > name.lastIndexOf('/')
+            && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private Map<String, String> readManifest(Path backupDir) {
+        Path manifestPath = backupDir.resolve(MANIFEST_FILE_NAME);
+        if (Files.notExists(manifestPath)) {
+            return Collections.emptyMap();
+        }
+        try {
+            return JsonUtils.jsonToObject(Files.readString(manifestPath),
+                new TypeReference<Map<String, String>>() {
+                });
+        } catch (Exception e) {
+            log.warn("Failed to read backup manifest {}, all files will be archived",
+                manifestPath, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private void writeManifest(Path backupDir, Map<String, String> manifest) {
+        Path manifestPath = backupDir.resolve(MANIFEST_FILE_NAME);
+        try {
+            Files.writeString(manifestPath, JsonUtils.objectToJson(manifest));
+        } catch (IOException e) {
+            log.warn("Failed to write backup manifest {}", manifestPath, e);
+        }
+    }
+
+    /**
+     * File or directory to archive.
+     */
+    static class Item {
+
+        private final Path path;
+
+        private final String name;
+
+        private final boolean directory;
+
+        private final long size;
+
+        private final long lastModified;
+
+        Item(Path path, String name, boolean directory, long size, long lastModified) {
+            this.path = path;
+            this.name = name;
+            this.directory = directory;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        private String stamp() {
+            return size + ":" + lastModified;
+        }
+    }
+
+    /**
+     * Entry data of a file compressed ahead of writing, without data if the file was deleted.
+     */
+    static class Chunk {
+
+        private final Item item;
+
+        private final int method;
+
+        private final long crc;
+
+        private final long size;
+
+        private final byte[] data;
+
+        private final int length;
+
+        Chunk(Item item, int method, long crc, long size, @Nullable byte[] data, int length) {
+            this.item = item;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+            this.length = length;
+        }
+
+        int getMethod() {
+            return method;
+        }
+
+        int getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Backup job, whose state is read by other threads while it is running.
+     */
+    public static class Job {
+
+        private final String id;
+
+        private final List<String> options;
+
+        private final boolean incremental;
+
+        private final long startTime = System.currentTimeMillis();
+
+        private final AtomicLong archivedFiles = new AtomicLong();
+
+        private final AtomicLong archivedBytes = new AtomicLong();
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private volatile BackupJobStatus status = BackupJobStatus.RUNNING;
+
+        private volatile boolean cancelled;
+
+        private volatile long totalFiles;
+
+        private volatile long totalBytes;
+
+        private volatile Long finishTime;
+
+        private volatile Path archive;
+
+        private volatile String error;
+
+        Job(String id, List<String> options, boolean incremental) {
+            this.id = id;
+            this.options = options;
+            this.incremental = incremental;
+        }
+
+        /**
+         * Requests cancellation, which is effective before the next file is archived.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Waits for the job to finish.
+         *
+         * @param timeout maximum time to wait
+         * @param unit unit of the timeout
+         * @return true if the job finished
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return finished.await(timeout, unit);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getOptions() {
+            return options;
+        }
+
+        public boolean isIncremental() {
+            return incremental;
+        }
+
+        public BackupJobStatus getStatus() {
+            return status;
+        }
+
+        public long getTotalFiles() {
+            return totalFiles;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public long getArchivedFiles() {
+            return archivedFiles.get();
+        }
+
+        public long getArchivedBytes() {
+            return archivedBytes.get();
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        @Nullable
+        public Long getFinishTime() {
+            return finishTime;
+        }
+
+        @Nullable
+        public Path getArchive() {
+            return archive;
+        }
+
+        @Nullable
+        public String getError() {
+            return error;
+        }
+
+        private void checkCancelled() {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+        }
+
+        private void archived(long bytes) {
+            archivedFiles.incrementAndGet();
+            archivedBytes.addAndGet(bytes);
+        }
+
+        private void finish(BackupJobStatus status, @Nullable Path archive,
+            @Nullable String error) {
+            this.archive = archive;
+            this.error = error;
+            this.finishTime = System.currentTimeMillis();
+            this.status = status;
+            finished.countDown();
+        }
+    }
+}
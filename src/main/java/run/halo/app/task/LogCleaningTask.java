@@ -0,0 +1,39 @@
+package run.halo.app.task;
+
+import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.service.LogService;
+
+/**
+ * Deletes operation logs exceeding the configured retention or count.
+ */
+@Slf4j
+@Component
+public class LogCleaningTask {
+
+    private final LogService logService;
+
+    private final HaloProperties haloProperties;
+
+    public LogCleaningTask(LogService logService, HaloProperties haloProperties) {
+        this.logService = logService;
+        this.haloProperties = haloProperties;
+    }
+
+    @Scheduled(cron = "0 30 */1 * * ?")
+    public synchronized void run() {
+        Date expiredBefore =
+            new Date(System.currentTimeMillis() - haloProperties.getLogRetention().toMillis());
+        int expiredCount = logService.removeBefore(expiredBefore);
+
+        int exceedingCount = logService.removeExceeding(haloProperties.getLogMaxCount());
+
+        if (expiredCount > 0 || exceedingCount > 0) {
+            log.info("Operation logs cleaning has been completed, {} expired and {} exceeding logs"
+                + " have been deleted", expiredCount, exceedingCount);
+        }
+    }
+}
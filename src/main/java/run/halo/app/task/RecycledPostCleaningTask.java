@@ -84,10 +84,10 @@ public class RecycledPostCleaningTask {
         }
 
         log.info("Start cleaning recycled posts");
-        List<Post> posts = postService.removeByIds(ids);
+        int removed = postService.removeInChunks(ids);
         log.info(
             "Recycled posts cleaning has been completed, {} posts has been permanently deleted",
-            posts.size());
+            removed);
     }
 
 }
@@ -3,8 +3,9 @@ package run.halo.app.theme;
 import static run.halo.app.utils.FileUtils.unzip;
 
 import java.io.IOException;
-import java.util.zip.ZipInputStream;
+import java.nio.file.Path;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import org.springframework.web.multipart.MultipartFile;
 import run.halo.app.exception.ServiceException;
 import run.halo.app.exception.ThemePropertyMissingException;
@@ -19,6 +20,21 @@ import run.halo.app.utils.FileUtils;
 @Slf4j
 public class MultipartZipFileThemeFetcher implements ThemeFetcher {
 
+    private final Path stagingPath;
+
+    public MultipartZipFileThemeFetcher() {
+        this(null);
+    }
+
+    /**
+     * Creates a fetcher unzipping themes under the given staging path.
+     *
+     * @param stagingPath staging path, the default temporary-file directory if null
+     */
+    public MultipartZipFileThemeFetcher(@Nullable Path stagingPath) {
+        this.stagingPath = stagingPath;
+    }
+
     @Override
     public boolean support(Object source) {
         if (source instanceof MultipartFile) {
@@ -32,14 +48,26 @@ public class MultipartZipFileThemeFetcher implements ThemeFetcher {
     public ThemeProperty fetch(Object source) {
         final var file = (MultipartFile) source;
 
-        try (var zis = new ZipInputStream(file.getInputStream())) {
-            final var tempDirectory = FileUtils.createTempDirectory();
+        Path zipPath = null;
+        Path tempDirectory = null;
+        try {
+            tempDirectory = FileUtils.createTempDirectory(stagingPath);
+            // the upload is usually on disk already, so that this is a move
+            zipPath = tempDirectory.resolveSibling(tempDirectory.getFileName() + ".zip");
+            file.transferTo(zipPath.toFile());
+
             log.info("Unzipping {} to path {}", file.getOriginalFilename(), tempDirectory);
-            unzip(zis, tempDirectory);
+            unzip(zipPath, tempDirectory, THEME_UNZIP_LIMITS);
             return ThemePropertyScanner.INSTANCE.fetchThemeProperty(tempDirectory)
-                    .orElseThrow(() -> new ThemePropertyMissingException("主题配置文件缺失！请确认后重试。"));
+                .orElseThrow(() -> new ThemePropertyMissingException("主题配置文件缺失！请确认后重试。"));
         } catch (IOException e) {
+            FileUtils.deleteFolderQuietly(tempDirectory);
             throw new ServiceException("主题上传失败！", e);
+        } catch (RuntimeException e) {
+            FileUtils.deleteFolderQuietly(tempDirectory);
+            throw e;
+        } finally {
+            FileUtils.deleteFolderQuietly(zipPath);
         }
     }
 
@@ -0,0 +1,157 @@
+package run.halo.app.theme;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Theme asset precompressor.
+ *
+ * <p>Generates {@code .gz} siblings of compressible theme assets so that they can be served by
+ * {@link org.springframework.web.servlet.resource.EncodedResourceResolver} without compressing
+ * on every request. Variants are regenerated only when the source file is newer than them.
+ */
+@Slf4j
+public enum ThemeAssetPrecompressor {
+
+    INSTANCE;
+
+    /**
+     * Suffix of gzip variants.
+     */
+    public static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * Files smaller than this size are not worth compressing.
+     */
+    private static final long MIN_COMPRESS_SIZE = 1024L;
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS =
+        Set.of("css", "js", "mjs", "json", "map", "svg", "html", "htm", "txt", "xml", "ttf",
+            "otf", "eot");
+
+    /**
+     * Precompresses all compressible assets under the given theme root path.
+     *
+     * @param themeRootPath theme root path must not be null
+     */
+    public void precompress(@NonNull Path themeRootPath) {
+        Assert.notNull(themeRootPath, "Theme root path must not be null");
+
+        if (!Files.isDirectory(themeRootPath)) {
+            return;
+        }
+
+        try {
+            Files.walkFileTree(themeRootPath, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (!isGzipVariant(file) && isCompressible(file, attrs)) {
+                        compressIfStale(file, attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to precompress theme assets under {}", themeRootPath, e);
+        }
+    }
+
+    /**
+     * Precompresses the given asset right after it was written, regardless of modification
+     * times. The variant of an asset which is no longer compressible is deleted, so that it is
+     * never served instead of the asset.
+     *
+     * @param file asset path must not be null
+     */
+    public void precompressFile(@NonNull Path file) {
+        Assert.notNull(file, "File path must not be null");
+
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attrs.isRegularFile() || isGzipVariant(file)) {
+                return;
+            }
+            if (isCompressible(file, attrs)) {
+                compress(file, variantOf(file));
+            } else {
+                Files.deleteIfExists(variantOf(file));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to precompress theme asset {}", file, e);
+        }
+    }
+
+    /**
+     * Checks if the given path is a variant generated from an existing source file.
+     *
+     * @param path path must not be null
+     * @return true if the path is a gzip variant of an existing file; false otherwise
+     */
+    public boolean isGeneratedVariant(@NonNull Path path) {
+        return isGzipVariant(path)
+            && Files.isRegularFile(sourceOf(path));
+    }
+
+    private boolean isGzipVariant(Path path) {
+        return path.getFileName().toString().endsWith(GZIP_SUFFIX);
+    }
+
+    private Path sourceOf(Path variant) {
+        String fileName = variant.getFileName().toString();
+        return variant.resolveSibling(StringUtils.removeEnd(fileName, GZIP_SUFFIX));
+    }
+
+    private boolean isCompressible(Path file, BasicFileAttributes attrs) {
+        if (attrs.size() < MIN_COMPRESS_SIZE) {
+            return false;
+        }
+        String extension =
+            StringUtils.substringAfterLast(file.getFileName().toString(), ".");
+        return COMPRESSIBLE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    private void compressIfStale(Path file, BasicFileAttributes attrs) {
+        Path variant = variantOf(file);
+        try {
+            if (Files.exists(variant) && Files.getLastModifiedTime(variant)
+                .compareTo(attrs.lastModifiedTime()) >= 0) {
+                // up to date
+                return;
+            }
+            compress(file, variant);
+        } catch (IOException e) {
+            log.warn("Failed to precompress theme asset {}", file, e);
+        }
+    }
+
+    private void compress(Path file, Path variant) throws IOException {
+        Path tempVariant = Files.createTempFile(file.getParent(), ".precompress", ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempVariant))) {
+                Files.copy(file, out);
+            }
+            Files.move(tempVariant, variant, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempVariant);
+        }
+        log.debug("Precompressed theme asset {}", file);
+    }
+
+    private Path variantOf(Path file) {
+        return file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+    }
+}
@@ -1,6 +1,7 @@
 package run.halo.app.theme;
 
 import run.halo.app.handler.theme.config.support.ThemeProperty;
+import run.halo.app.utils.FileUtils.UnzipLimits;
 
 /**
  * Remote theme fetcher interface.
@@ -9,6 +10,11 @@ import run.halo.app.handler.theme.config.support.ThemeProperty;
  */
 public interface ThemeFetcher {
 
+    /**
+     * Limits of theme archives: 10000 files, 256 MB and a compression ratio of 100 per file.
+     */
+    UnzipLimits THEME_UNZIP_LIMITS = new UnzipLimits(10000, 256L * 1024 * 1024, 100);
+
     /**
      * Check whether source is supported or not.
      *
@@ -56,6 +56,11 @@ public enum ThemeFileScanner {
             List<ThemeFile> themeFiles = new LinkedList<>();
 
             pathStream.forEach(path -> {
+                if (ThemeAssetPrecompressor.INSTANCE.isGeneratedVariant(path)) {
+                    // Hide precompressed variants
+                    return;
+                }
+
                 // Build theme file
                 ThemeFile themeFile = new ThemeFile();
                 themeFile.setName(path.getFileName().toString());
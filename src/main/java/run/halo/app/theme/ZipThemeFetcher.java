@@ -7,9 +7,10 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.zip.ZipInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
 import run.halo.app.exception.ThemePropertyMissingException;
 import run.halo.app.handler.theme.config.support.ThemeProperty;
 import run.halo.app.utils.FileUtils;
@@ -24,11 +25,23 @@ public class ZipThemeFetcher implements ThemeFetcher {
 
     private final HttpClient httpClient;
 
+    private final Path stagingPath;
+
     public ZipThemeFetcher() {
+        this(null);
+    }
+
+    /**
+     * Creates a fetcher unzipping themes under the given staging path.
+     *
+     * @param stagingPath staging path, the default temporary-file directory if null
+     */
+    public ZipThemeFetcher(@Nullable Path stagingPath) {
         this.httpClient = HttpClient.newBuilder()
             .followRedirects(HttpClient.Redirect.ALWAYS)
             .connectTimeout(Duration.ofMinutes(5))
             .build();
+        this.stagingPath = stagingPath;
     }
 
     @Override
@@ -50,25 +63,31 @@ public class ZipThemeFetcher implements ThemeFetcher {
             .GET()
             .build();
 
+        Path zipPath = null;
+        Path tempDirectory = null;
         try {
-            // request from remote
+            tempDirectory = FileUtils.createTempDirectory(stagingPath);
+            zipPath = tempDirectory.resolveSibling(tempDirectory.getFileName() + ".zip");
+
+            // download to a file, so that the archive is read with random access
             log.info("Fetching theme from {}", themeZipLink);
-            var inputStreamResponse =
-                httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-            var inputStream = inputStreamResponse.body();
+            httpClient.send(request, HttpResponse.BodyHandlers.ofFile(zipPath));
 
             // unzip zip archive
-            try (var zipInputStream = new ZipInputStream(inputStream)) {
-                var tempDirectory = FileUtils.createTempDirectory();
-                log.info("Unzipping theme {} to {}", themeZipLink, tempDirectory);
-                unzip(zipInputStream, tempDirectory);
+            log.info("Unzipping theme {} to {}", themeZipLink, tempDirectory);
+            unzip(zipPath, tempDirectory, THEME_UNZIP_LIMITS);
 
-                // resolve theme property
-                return ThemePropertyScanner.INSTANCE.fetchThemeProperty(tempDirectory)
-                    .orElseThrow(() -> new ThemePropertyMissingException("主题配置文件缺失！请确认后重试。"));
-            }
+            // resolve theme property
+            return ThemePropertyScanner.INSTANCE.fetchThemeProperty(tempDirectory)
+                .orElseThrow(() -> new ThemePropertyMissingException("主题配置文件缺失！请确认后重试。"));
         } catch (InterruptedException | IOException e) {
+            FileUtils.deleteFolderQuietly(tempDirectory);
             throw new RuntimeException("主题拉取失败！（" + e.getMessage() + "）", e);
+        } catch (RuntimeException e) {
+            FileUtils.deleteFolderQuietly(tempDirectory);
+            throw e;
+        } finally {
+            FileUtils.deleteFolderQuietly(zipPath);
         }
     }
 
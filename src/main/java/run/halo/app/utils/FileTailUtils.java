@@ -0,0 +1,216 @@
+package run.halo.app.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Utilities for reading the tail of (log) files.
+ *
+ * <p>Files are read through {@link FileChannel} in blocks of {@link #BLOCK_SIZE} bytes, and
+ * bytes are decoded as UTF-8 only once the line boundaries are found.
+ */
+public class FileTailUtils {
+
+    /**
+     * Block size for reading files.
+     */
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Maximum size of the tail returned by {@link #readLastLines(Path, long)}.
+     */
+    static final int MAX_TAIL_SIZE = 16 * 1024 * 1024;
+
+    private FileTailUtils() {
+    }
+
+    /**
+     * Reads the last lines of the file. At most {@link #MAX_TAIL_SIZE} bytes of whole lines are
+     * read, however many lines are requested.
+     *
+     * @param path file path must not be null
+     * @param lines number of lines, must not be less than 0
+     * @return the last lines, each of them ends with a line feed; or empty string if the file
+     * does not exist
+     * @throws IOException if an I/O error occurs
+     */
+    @NonNull
+    public static String readLastLines(@NonNull Path path, long lines) throws IOException {
+        return readLastLines(path, lines, MAX_TAIL_SIZE);
+    }
+
+    @NonNull
+    static String readLastLines(@NonNull Path path, long lines, int maxSize) throws IOException {
+        Assert.notNull(path, "File path must not be null");
+
+        if (Files.notExists(path)) {
+            return StringUtils.EMPTY;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = findTailPosition(channel, lines);
+            if (size - position > maxSize) {
+                position = findLineStart(channel, size - maxSize);
+            }
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream((int) (size - position));
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, size - position));
+            while (position < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), size - position));
+                readFully(channel, buffer, position);
+                if (buffer.position() == 0) {
+                    // file was truncated
+                    break;
+                }
+                content.write(buffer.array(), 0, buffer.position());
+                position += buffer.position();
+            }
+
+            String tail = content.toString(StandardCharsets.UTF_8);
+            if (!tail.isEmpty() && !tail.endsWith(StringUtils.LF)) {
+                tail += StringUtils.LF;
+            }
+            return tail;
+        }
+    }
+
+    /**
+     * Finds the start position of the last lines of the file. A line feed at the end of the
+     * file doesn't start a new line.
+     *
+     * @param channel file channel must not be null
+     * @param lines number of lines, must not be less than 0
+     * @return the start position of the last lines
+     * @throws IOException if an I/O error occurs
+     */
+    public static long findTailPosition(@NonNull FileChannel channel, long lines)
+        throws IOException {
+        Assert.notNull(channel, "File channel must not be null");
+        Assert.isTrue(lines >= 0, "Lines must not be less than 0");
+
+        long size = channel.size();
+        if (lines == 0 || size == 0) {
+            return size;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, size));
+        long count = 0;
+        long end = size;
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear();
+            buffer.limit((int) (end - start));
+            readFully(channel, buffer, start);
+
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                long position = start + i;
+                if (buffer.get(i) == '\n' && position != size - 1 && ++count == lines) {
+                    return position + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads complete lines starting at the given position. An incomplete last line is left
+     * unread.
+     *
+     * @param channel file channel must not be null
+     * @param position start position, must be the start of a line
+     * @param lineConsumer consumer of lines without line separators, must not be null
+     * @return the position after the last complete line
+     * @throws IOException if an I/O error occurs
+     */
+    public static long readLines(@NonNull FileChannel channel, long position,
+        @NonNull Consumer<String> lineConsumer) throws IOException {
+        Assert.notNull(channel, "File channel must not be null");
+        Assert.notNull(lineConsumer, "Line consumer must not be null");
+
+        long size = channel.size();
+        if (position >= size) {
+            return position;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, size - position));
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long lineEnd = position;
+        long start = position;
+        while (start < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - start));
+            readFully(channel, buffer, start);
+            if (buffer.position() == 0) {
+                // file was truncated
+                break;
+            }
+
+            int lineStart = 0;
+            for (int i = 0; i < buffer.position(); i++) {
+                if (buffer.get(i) != '\n') {
+                    continue;
+                }
+                line.write(buffer.array(), lineStart, i - lineStart);
+                lineConsumer.accept(
+                    StringUtils.removeEnd(line.toString(StandardCharsets.UTF_8), "\r"));
+                line.reset();
+                lineStart = i + 1;
+                lineEnd = start + lineStart;
+            }
+            line.write(buffer.array(), lineStart, buffer.position() - lineStart);
+            start += buffer.position();
+        }
+        return lineEnd;
+    }
+
+    /**
+     * Finds the start of the first line beginning at or after the given position.
+     */
+    private static long findLineStart(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        if (position <= 0) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, size - position + 1));
+        // a line starts right after a line feed
+        long start = position - 1;
+        while (start < size) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), size - start));
+            readFully(channel, buffer, start);
+            if (buffer.position() == 0) {
+                break;
+            }
+            for (int i = 0; i < buffer.position(); i++) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
+                }
+            }
+            start += buffer.position();
+        }
+        return size;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+        throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryNotEmptyException;
@@ -15,14 +16,24 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +41,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.ForbiddenException;
 
 /**
@@ -41,6 +53,16 @@ import run.halo.app.exception.ForbiddenException;
 @Slf4j
 public class FileUtils {
 
+    /**
+     * Maximum number of threads decompressing an archive.
+     */
+    private static final int UNZIP_PARALLELISM = 4;
+
+    /**
+     * Size in bytes above which the compression ratio of an entry is checked.
+     */
+    private static final long UNZIP_RATIO_THRESHOLD = 1024 * 1024;
+
     private FileUtils() {
     }
 
@@ -175,6 +197,136 @@ public class FileUtils {
         unzip(zis, targetPath);
     }
 
+    /**
+     * Unzips an archive file to the target path with random access, decompressing entries in
+     * parallel. The limits are enforced on the actual decompressed data, so an archive declaring
+     * wrong sizes is rejected as well, and nothing is extracted if the declared sizes exceed
+     * them.
+     *
+     * @param zipPath archive file path must not be null
+     * @param targetPath target path must not be null and not empty
+     * @param limits limits of the archive must not be null
+     * @throws IOException throws when failed to read the archive or write the target
+     * @throws BadRequestException throws when the archive exceeds the limits
+     */
+    public static void unzip(@NonNull Path zipPath, @NonNull Path targetPath,
+        @NonNull UnzipLimits limits) throws IOException {
+        Assert.notNull(zipPath, "Zip path must not be null");
+        Assert.notNull(targetPath, "Target path must not be null");
+        Assert.notNull(limits, "Unzip limits must not be null");
+
+        createIfAbsent(targetPath);
+        ensureEmpty(targetPath);
+
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            if (zipFile.size() > limits.getMaxEntries()) {
+                throw new BadRequestException(
+                    "压缩包的文件数量超过了 " + limits.getMaxEntries() + " 个的限制");
+            }
+
+            // create directories up front and check what the archive declares
+            List<ZipEntry> fileEntries = new ArrayList<>(zipFile.size());
+            long declaredSize = 0;
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry zipEntry = entries.nextElement();
+                Path entryPath = targetPath.resolve(zipEntry.getName());
+                checkDirectoryTraversal(targetPath, entryPath);
+
+                if (zipEntry.isDirectory()) {
+                    Files.createDirectories(entryPath);
+                } else {
+                    Files.createDirectories(entryPath.getParent());
+                    fileEntries.add(zipEntry);
+                    declaredSize += Math.max(zipEntry.getSize(), 0);
+                }
+            }
+            if (declaredSize > limits.getMaxSize()) {
+                throw new BadRequestException(
+                    "压缩包解压后的大小超过了 " + limits.getMaxSize() + " 字节的限制");
+            }
+
+            AtomicLong totalSize = new AtomicLong();
+            ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                    UNZIP_PARALLELISM)));
+            try {
+                List<Future<?>> futures = new ArrayList<>(fileEntries.size());
+                for (ZipEntry zipEntry : fileEntries) {
+                    futures.add(executor.submit(() -> {
+                        extract(zipFile, zipEntry, targetPath.resolve(zipEntry.getName()),
+                            limits, totalSize);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Failed to unzip " + zipPath, cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while unzipping " + zipPath);
+            } finally {
+                executor.shutdownNow();
+                // workers must not read the archive or write files once this returns
+                awaitTermination(executor);
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                        return;
+                    }
+                    log.warn("Still waiting for unzipping threads to terminate");
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void extract(ZipFile zipFile, ZipEntry zipEntry, Path entryPath,
+        UnzipLimits limits, AtomicLong totalSize) throws IOException {
+        long compressedSize = Math.max(zipEntry.getCompressedSize(), 1);
+        byte[] buffer = new byte[8192];
+        long size = 0;
+        try (InputStream in = zipFile.getInputStream(zipEntry);
+             OutputStream out = Files.newOutputStream(entryPath, StandardOpenOption.CREATE_NEW,
+                 StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (totalSize.addAndGet(read) > limits.getMaxSize()) {
+                    throw new BadRequestException(
+                        "压缩包解压后的大小超过了 " + limits.getMaxSize() + " 字节的限制");
+                }
+                // tiny entries may compress well without being a bomb
+                if (size > UNZIP_RATIO_THRESHOLD && size / compressedSize > limits.getMaxRatio()) {
+                    throw new BadRequestException("压缩包中的文件 " + zipEntry.getName()
+                        + " 的压缩比超过了 " + limits.getMaxRatio() + " 的限制");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
     /**
      * Zips folder or file.
      *
@@ -568,6 +720,25 @@ public class FileUtils {
         return tempDirectory;
     }
 
+    /**
+     * Creates temp directory under the given directory, e.g. to move it into place later on the
+     * same file store.
+     *
+     * @param parentPath parent directory, the default temporary-file directory if null
+     * @return temp directory path
+     * @throws IOException if an I/O error occurs
+     */
+    @NonNull
+    public static Path createTempDirectory(@Nullable Path parentPath) throws IOException {
+        if (parentPath == null) {
+            return createTempDirectory();
+        }
+        Files.createDirectories(parentPath);
+        final var tempDirectory = Files.createTempDirectory(parentPath, "halo");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteFolderQuietly(tempDirectory)));
+        return tempDirectory;
+    }
+
     /**
      * Convert an InputStream to a String.
      *
@@ -592,4 +763,41 @@ public class FileUtils {
     public static void writeStringToFile(File file, String content) throws IOException {
         org.apache.commons.io.FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
     }
+
+    /**
+     * Limits of an archive to unzip, against zip bombs.
+     */
+    public static class UnzipLimits {
+
+        private final int maxEntries;
+
+        private final long maxSize;
+
+        private final int maxRatio;
+
+        /**
+         * Creates limits.
+         *
+         * @param maxEntries maximum number of entries
+         * @param maxSize maximum total size in bytes of the decompressed files
+         * @param maxRatio maximum ratio of decompressed to compressed size of an entry
+         */
+        public UnzipLimits(int maxEntries, long maxSize, int maxRatio) {
+            this.maxEntries = maxEntries;
+            this.maxSize = maxSize;
+            this.maxRatio = maxRatio;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public int getMaxRatio() {
+            return maxRatio;
+        }
+    }
 }
@@ -28,8 +28,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
-import run.halo.app.model.support.HaloConst;
 import run.halo.app.utils.footnotes.FootnoteExtension;
+import run.halo.app.utils.markdown.HtmlSanitizer;
+import run.halo.app.utils.markdown.MarkdownPipeline;
+import run.halo.app.utils.markdown.embed.EmbedExtension;
 
 /**
  * Markdown utils.
@@ -53,7 +55,8 @@ public class MarkdownUtils {
             SuperscriptExtension.create(),
             YamlFrontMatterExtension.create(),
             FootnoteExtension.create(),
-            GitLabExtension.create()))
+            GitLabExtension.create(),
+            EmbedExtension.create()))
             .set(TocExtension.LEVELS, 255)
             .set(TablesExtension.WITH_CAPTION, false)
             .set(TablesExtension.COLUMN_SPANS, false)
@@ -70,7 +73,12 @@ public class MarkdownUtils {
 
     private static final Parser PARSER = Parser.builder(OPTIONS).build();
 
-    private static final HtmlRenderer RENDERER = HtmlRenderer.builder(OPTIONS).build();
+    private static final MarkdownPipeline PIPELINE =
+        MarkdownPipeline.builder("default", OPTIONS).build();
+
+    private static final MarkdownPipeline SAFE_PIPELINE =
+        MarkdownPipeline.builder("safe", OPTIONS).stage(new HtmlSanitizer()).build();
+
     private static final Pattern FRONT_MATTER = Pattern.compile("^(---)?[\\s\\S]*?---");
     private static final Pattern TABLE = Pattern.compile("\\|\\s*:?---");
 
@@ -95,27 +103,22 @@ public class MarkdownUtils {
             return StringUtils.EMPTY;
         }
 
-        // Render netease music short url.
-        if (markdown.contains(HaloConst.NETEASE_MUSIC_PREFIX)) {
-            markdown = markdown
-                .replaceAll(HaloConst.NETEASE_MUSIC_REG_PATTERN, HaloConst.NETEASE_MUSIC_IFRAME);
-        }
-
-        // Render bilibili video short url.
-        if (markdown.contains(HaloConst.BILIBILI_VIDEO_PREFIX)) {
-            markdown = markdown
-                .replaceAll(HaloConst.BILIBILI_VIDEO_REG_PATTERN, HaloConst.BILIBILI_VIDEO_IFRAME);
-        }
+        return PIPELINE.render(markdown);
+    }
 
-        // Render youtube video short url.
-        if (markdown.contains(HaloConst.YOUTUBE_VIDEO_PREFIX)) {
-            markdown = markdown
-                .replaceAll(HaloConst.YOUTUBE_VIDEO_REG_PATTERN, HaloConst.YOUTUBE_VIDEO_IFRAME);
+    /**
+     * Render untrusted Markdown content without raw html and unsafe links.
+     *
+     * @param markdown content
+     * @return String
+     * @see HtmlSanitizer
+     */
+    public static String renderSafeHtml(String markdown) {
+        if (StringUtils.isBlank(markdown)) {
+            return StringUtils.EMPTY;
         }
 
-        Node document = PARSER.parse(markdown);
-
-        return RENDERER.render(document);
+        return SAFE_PIPELINE.render(markdown);
     }
 
     /**
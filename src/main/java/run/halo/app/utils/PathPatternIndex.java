@@ -0,0 +1,169 @@
+package run.halo.app.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable index of ant-style path patterns.
+ *
+ * <p>Patterns are stored in a trie keyed by their leading literal segments, so that a lookup
+ * walks the path segments once and only matches the patterns sharing a literal prefix with the
+ * path (plus those starting with a wildcard) against it. Matching itself is delegated to
+ * {@link AntPathMatcher}, so the results are the same as matching every pattern in turn.
+ *
+ * @param <T> type of the values attached to patterns
+ */
+public final class PathPatternIndex<T> {
+
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final PathPatternIndex<?> EMPTY =
+        new PathPatternIndex<>(Collections.emptyMap());
+
+    private final Node<T> root = new Node<>();
+
+    private final int size;
+
+    private PathPatternIndex(Map<String, T> patterns) {
+        int order = 0;
+        for (Map.Entry<String, T> pattern : patterns.entrySet()) {
+            Assert.notNull(pattern.getKey(), "Path pattern must not be null");
+            Assert.notNull(pattern.getValue(), "Value of path pattern must not be null");
+            root.insert(new Entry<>(pattern.getKey(), pattern.getValue(), order++));
+        }
+        this.size = order;
+    }
+
+    /**
+     * Compiles the given patterns, the iteration order of the map is the priority order of the
+     * patterns.
+     *
+     * @param patterns patterns with their values must not be null
+     * @param <T> value type
+     * @return path pattern index
+     */
+    @NonNull
+    public static <T> PathPatternIndex<T> compile(@NonNull Map<String, T> patterns) {
+        Assert.notNull(patterns, "Path patterns must not be null");
+        return new PathPatternIndex<>(patterns);
+    }
+
+    /**
+     * Gets an empty index.
+     *
+     * @param <T> value type
+     * @return empty index
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <T> PathPatternIndex<T> empty() {
+        return (PathPatternIndex<T>) EMPTY;
+    }
+
+    /**
+     * Finds the value of the first pattern matching the given path.
+     *
+     * @param path path must not be null
+     * @return value of the matched pattern with the highest priority, or null if none matches
+     */
+    @Nullable
+    public T match(@NonNull String path) {
+        Assert.notNull(path, "Path must not be null");
+
+        Entry<T> matched = null;
+        Node<T> node = root;
+        int start = 0;
+        while (node != null) {
+            for (Entry<T> entry : node.entries) {
+                if ((matched == null || entry.order < matched.order)
+                    && PATH_MATCHER.match(entry.pattern, path)) {
+                    matched = entry;
+                }
+            }
+
+            // next non-empty segment
+            while (path.startsWith(PATH_SEPARATOR, start)) {
+                start++;
+            }
+            if (start >= path.length() || node.children.isEmpty()) {
+                break;
+            }
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end < 0) {
+                end = path.length();
+            }
+            node = node.children.get(path.substring(start, end));
+            start = end;
+        }
+        return matched == null ? null : matched.value;
+    }
+
+    /**
+     * Checks whether any pattern matches the given path.
+     *
+     * @param path path must not be null
+     * @return true if any pattern matches the path, false otherwise
+     */
+    public boolean matches(@NonNull String path) {
+        return match(path) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>(4);
+
+        private final List<Entry<T>> entries = new ArrayList<>(2);
+
+        private void insert(Entry<T> entry) {
+            Node<T> node = this;
+            for (String segment : entry.pattern.split(PATH_SEPARATOR)) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (!isLiteral(segment)) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, key -> new Node<>());
+            }
+            node.entries.add(entry);
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final String pattern;
+
+        private final T value;
+
+        private final int order;
+
+        private Entry(String pattern, T value, int order) {
+            this.pattern = pattern;
+            this.value = value;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package run.halo.app.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Zip archive writer streaming entries to an output stream.
+ *
+ * <p>Unlike {@link java.util.zip.ZipOutputStream}, entries may be put already deflated, so that
+ * they can be compressed on other threads, and stored entries are copied from a stream of known
+ * size and checksum. Only the central directory is kept in memory, a few dozens of bytes per
+ * entry. Zip64 records are written when sizes, offsets or the entry count need them.
+ */
+public class ZipStreamWriter implements Closeable {
+
+    private static final long LOCAL_HEADER_SIGNATURE = 0x04034b50L;
+
+    private static final long DATA_DESCRIPTOR_SIGNATURE = 0x08074b50L;
+
+    private static final long CENTRAL_HEADER_SIGNATURE = 0x02014b50L;
+
+    private static final long ZIP64_END_SIGNATURE = 0x06064b50L;
+
+    private static final long ZIP64_LOCATOR_SIGNATURE = 0x07064b50L;
+
+    private static final long END_SIGNATURE = 0x06054b50L;
+
+    private static final int VERSION = 20;
+
+    private static final int ZIP64_VERSION = 45;
+
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+
+    private static final int FLAG_UTF8 = 0x800;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final byte[] scratch = new byte[8];
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private long position;
+
+    private boolean closed;
+
+    public ZipStreamWriter(@NonNull OutputStream out) {
+        Assert.notNull(out, "Output stream must not be null");
+        this.out = out;
+    }
+
+    /**
+     * Puts a directory entry.
+     *
+     * @param name directory name, a trailing '/' is appended if missing
+     * @param time last modified time in milliseconds
+     * @throws IOException if writing failed
+     */
+    public void putDirectory(@NonNull String name, long time) throws IOException {
+        String directoryName = name.endsWith("/") ? name : name + "/";
+        Entry entry = new Entry(directoryName, time, ZipEntry.STORED, 0);
+        writeLocalHeader(entry);
+        entries.add(entry);
+    }
+
+    /**
+     * Puts an entry whose data is ready, i.e. raw deflated data for {@link ZipEntry#DEFLATED}
+     * entries or the file content for {@link ZipEntry#STORED} entries.
+     *
+     * @param name entry name
+     * @param time last modified time in milliseconds
+     * @param method {@link ZipEntry#DEFLATED} or {@link ZipEntry#STORED}
+     * @param crc crc-32 of the uncompressed data
+     * @param size size of the uncompressed data
+     * @param data entry data
+     * @param offset offset of the entry data
+     * @param length length of the entry data
+     * @throws IOException if writing failed
+     */
+    public void putEntry(@NonNull String name, long time, int method, long crc, long size,
+        @NonNull byte[] data, int offset, int length) throws IOException {
+        Assert.isTrue(method == ZipEntry.DEFLATED || method == ZipEntry.STORED,
+            "Unsupported compression method " + method);
+        Assert.isTrue(method == ZipEntry.DEFLATED || size == length,
+            "Size of a stored entry must be its length");
+
+        Entry entry = new Entry(name, time, method, 0);
+        entry.crc = crc;
+        entry.size = size;
+        entry.compressedSize = length;
+        writeLocalHeader(entry);
+        write(data, offset, length);
+        entries.add(entry);
+    }
+
+    /**
+     * Puts a stored entry copied from the given stream, which must supply the given size and
+     * checksum.
+     *
+     * @param name entry name
+     * @param time last modified time in milliseconds
+     * @param crc crc-32 of the data
+     * @param size size of the data
+     * @param in data to copy
+     * @throws IOException if writing failed or the data doesn't match the size or checksum,
+     *     e.g. the file was modified meanwhile
+     */
+    public void putStored(@NonNull String name, long time, long crc, long size,
+        @NonNull InputStream in) throws IOException {
+        Entry entry = new Entry(name, time, ZipEntry.STORED, 0);
+        entry.crc = crc;
+        entry.size = size;
+        entry.compressedSize = size;
+        writeLocalHeader(entry);
+
+        CRC32 actualCrc = new CRC32();
+        long remaining = size;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                break;
+            }
+            actualCrc.update(buffer, 0, read);
+            write(buffer, 0, read);
+            remaining -= read;
+        }
+        if (remaining != 0 || in.read() != -1 || actualCrc.getValue() != crc) {
+            throw new ZipException("Content of " + name + " changed while archiving");
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Puts a deflated entry compressed from the given stream on the calling thread. Sizes and
+     * checksum are written after the data.
+     *
+     * @param name entry name
+     * @param time last modified time in milliseconds
+     * @param in data to compress
+     * @param level compression level
+     * @throws IOException if writing failed
+     */
+    public void putDeflated(@NonNull String name, long time, @NonNull InputStream in, int level)
+        throws IOException {
+        Entry entry = new Entry(name, time, ZipEntry.DEFLATED, FLAG_DATA_DESCRIPTOR);
+        writeLocalHeader(entry);
+
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(level, true);
+        byte[] output = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                entry.size += read;
+                deflater.setInput(buffer, 0, read);
+                while (!deflater.needsInput()) {
+                    entry.compressedSize += deflate(deflater, output);
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                entry.compressedSize += deflate(deflater, output);
+            }
+        } finally {
+            deflater.end();
+        }
+        entry.crc = crc.getValue();
+
+        writeInt(DATA_DESCRIPTOR_SIGNATURE);
+        writeInt(entry.crc);
+        if (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC) {
+            writeLong(entry.compressedSize);
+            writeLong(entry.size);
+        } else {
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Gets the number of bytes written so far.
+     *
+     * @return number of bytes written
+     */
+    public long getBytesWritten() {
+        return position;
+    }
+
+    /**
+     * Writes the central directory and closes the underlying stream.
+     *
+     * @throws IOException if writing failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            long centralOffset = position;
+            for (Entry entry : entries) {
+                writeCentralHeader(entry);
+            }
+            long centralSize = position - centralOffset;
+
+            if (entries.size() >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC
+                || centralSize >= ZIP64_MAGIC) {
+                long zip64EndOffset = position;
+                writeInt(ZIP64_END_SIGNATURE);
+                // size of the remaining record
+                writeLong(44);
+                writeShort(ZIP64_VERSION);
+                writeShort(ZIP64_VERSION);
+                writeInt(0);
+                writeInt(0);
+                writeLong(entries.size());
+                writeLong(entries.size());
+                writeLong(centralSize);
+                writeLong(centralOffset);
+
+                writeInt(ZIP64_LOCATOR_SIGNATURE);
+                writeInt(0);
+                writeLong(zip64EndOffset);
+                writeInt(1);
+            }
+
+            int count = Math.min(entries.size(), ZIP64_MAGIC_COUNT);
+            writeInt(END_SIGNATURE);
+            writeShort(0);
+            writeShort(0);
+            writeShort(count);
+            writeShort(count);
+            writeInt(Math.min(centralSize, ZIP64_MAGIC));
+            writeInt(Math.min(centralOffset, ZIP64_MAGIC));
+            writeShort(0);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeLocalHeader(Entry entry) throws IOException {
+        Assert.state(!closed, "Zip stream writer is closed");
+
+        entry.offset = position;
+        boolean descriptor = (entry.flags & FLAG_DATA_DESCRIPTOR) != 0;
+        boolean zip64 = !descriptor
+            && (entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC);
+
+        writeInt(LOCAL_HEADER_SIGNATURE);
+        writeShort(zip64 ? ZIP64_VERSION : VERSION);
+        writeShort(entry.flags | FLAG_UTF8);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        if (descriptor) {
+            writeInt(0);
+            writeInt(0);
+            writeInt(0);
+        } else {
+            writeInt(entry.crc);
+            writeInt(zip64 ? ZIP64_MAGIC : entry.compressedSize);
+            writeInt(zip64 ? ZIP64_MAGIC : entry.size);
+        }
+        writeShort(entry.name.length);
+        writeShort(zip64 ? 20 : 0);
+        write(entry.name, 0, entry.name.length);
+        if (zip64) {
+            writeShort(ZIP64_EXTRA_ID);
+            writeShort(16);
+            writeLong(entry.size);
+            writeLong(entry.compressedSize);
+        }
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        boolean sizes64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+        boolean offset64 = entry.offset >= ZIP64_MAGIC;
+        int extraLength = (sizes64 ? 16 : 0) + (offset64 ? 8 : 0);
+        int version = extraLength > 0 ? ZIP64_VERSION : VERSION;
+
+        writeInt(CENTRAL_HEADER_SIGNATURE);
+        // version made by and version needed
+        writeShort(version);
+        writeShort(version);
+        writeShort(entry.flags | FLAG_UTF8);
+        writeShort(entry.method);
+        writeInt(entry.dosTime);
+        writeInt(entry.crc);
+        writeInt(sizes64 ? ZIP64_MAGIC : entry.compressedSize);
+        writeInt(sizes64 ? ZIP64_MAGIC : entry.size);
+        writeShort(entry.name.length);
+        writeShort(extraLength > 0 ? extraLength + 4 : 0);
+        // comment length, disk number, internal and external attributes
+        writeShort(0);
+        writeShort(0);
+        writeShort(0);
+        writeInt(0);
+        writeInt(offset64 ? ZIP64_MAGIC : entry.offset);
+        write(entry.name, 0, entry.name.length);
+        if (extraLength > 0) {
+            writeShort(ZIP64_EXTRA_ID);
+            writeShort(extraLength);
+            if (sizes64) {
+                writeLong(entry.size);
+                writeLong(entry.compressedSize);
+            }
+            if (offset64) {
+                writeLong(entry.offset);
+            }
+        }
+    }
+
+    private int deflate(Deflater deflater, byte[] output) throws IOException {
+        int length = deflater.deflate(output);
+        write(output, 0, length);
+        return length;
+    }
+
+    private void writeShort(int value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        write(scratch, 0, 2);
+    }
+
+    private void writeInt(long value) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        write(scratch, 0, 4);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        write(scratch, 0, 8);
+    }
+
+    private void write(byte[] data, int offset, int length) throws IOException {
+        out.write(data, offset, length);
+        position += length;
+    }
+
+    /**
+     * Converts a time to the ms-dos date (high 16 bits) and time (low 16 bits) format.
+     */
+    static long toDosTime(long time) {
+        LocalDateTime dateTime =
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        if (dateTime.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return ((long) (dateTime.getYear() - 1980) << 25)
+            | (dateTime.getMonthValue() << 21)
+            | (dateTime.getDayOfMonth() << 16)
+            | (dateTime.getHour() << 11)
+            | (dateTime.getMinute() << 5)
+            | (dateTime.getSecond() >> 1);
+    }
+
+    private static class Entry {
+
+        private final byte[] name;
+
+        private final long dosTime;
+
+        private final int method;
+
+        private final int flags;
+
+        private long crc;
+
+        private long size;
+
+        private long compressedSize;
+
+        private long offset;
+
+        private Entry(String name, long time, int method, int flags) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.dosTime = toDosTime(time);
+            this.method = method;
+            this.flags = flags;
+        }
+    }
+}
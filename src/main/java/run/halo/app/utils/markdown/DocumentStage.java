@@ -0,0 +1,29 @@
+package run.halo.app.utils.markdown;
+
+import com.vladsch.flexmark.util.ast.Document;
+import org.springframework.lang.NonNull;
+
+/**
+ * A stage of a {@link MarkdownPipeline} which processes the parsed document before it is
+ * rendered.
+ *
+ * <p>Stages are shared by all the threads rendering through the pipeline, so they must keep no
+ * state between documents.
+ */
+public interface DocumentStage {
+
+    /**
+     * Gets the name of the stage, used to tag its timer.
+     *
+     * @return stage name
+     */
+    @NonNull
+    String getName();
+
+    /**
+     * Processes the parsed document in place.
+     *
+     * @param document parsed document
+     */
+    void process(@NonNull Document document);
+}
@@ -0,0 +1,117 @@
+package run.halo.app.utils.markdown;
+
+import com.vladsch.flexmark.ast.AutoLink;
+import com.vladsch.flexmark.ast.HtmlBlockBase;
+import com.vladsch.flexmark.ast.HtmlInlineBase;
+import com.vladsch.flexmark.ast.Image;
+import com.vladsch.flexmark.ast.Link;
+import com.vladsch.flexmark.ast.Paragraph;
+import com.vladsch.flexmark.ast.RefNode;
+import com.vladsch.flexmark.ast.Reference;
+import com.vladsch.flexmark.ast.Text;
+import com.vladsch.flexmark.ext.attributes.AttributesExtension;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.ast.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+
+/**
+ * Document stage sanitizing untrusted markdown before it is rendered.
+ *
+ * <ul>
+ *     <li>raw html blocks and inline html are kept as text, so they are rendered escaped</li>
+ *     <li>links and images whose url has a scheme other than http, https, mailto or tel are
+ *     replaced by their text</li>
+ *     <li>attributes assigned with the <code>{...}</code> syntax are dropped</li>
+ * </ul>
+ *
+ * <p>Embeds are rendered from validated arguments only and are kept.
+ */
+public class HtmlSanitizer implements DocumentStage {
+
+    private static final Set<String> SAFE_SCHEMES = Set.of("http", "https", "mailto", "tel");
+
+    @NonNull
+    @Override
+    public String getName() {
+        return "sanitize";
+    }
+
+    @Override
+    public void process(@NonNull Document document) {
+        AttributesExtension.NODE_ATTRIBUTES.get(document).clear();
+
+        // collect first, the tree is changed below
+        List<Node> nodes = new ArrayList<>();
+        for (Node node : document.getDescendants()) {
+            nodes.add(node);
+        }
+
+        for (Node node : nodes) {
+            if (node instanceof HtmlBlockBase) {
+                Paragraph paragraph = new Paragraph(node.getChars());
+                paragraph.appendChild(new Text(node.getChars()));
+                replace(node, paragraph);
+            } else if (node instanceof HtmlInlineBase) {
+                replace(node, new Text(node.getChars()));
+            } else if (node instanceof AutoLink) {
+                if (!isSafe(((AutoLink) node).getText().unescape())) {
+                    replace(node, new Text(((AutoLink) node).getText()));
+                }
+            } else if (node instanceof Image) {
+                if (!isSafe(((Image) node).getUrl().unescape())) {
+                    replace(node, new Text(((Image) node).getText()));
+                }
+            } else if (node instanceof Link) {
+                if (!isSafe(((Link) node).getUrl().unescape())) {
+                    unwrap(node);
+                }
+            } else if (node instanceof RefNode) {
+                Reference reference = ((RefNode) node).getReferenceNode(document);
+                if (reference != null && !isSafe(reference.getUrl().unescape())) {
+                    unwrap(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the url is relative or has a safe scheme. Whitespace and control characters
+     * are skipped, as browsers do.
+     */
+    static boolean isSafe(String url) {
+        StringBuilder scheme = new StringBuilder();
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c <= ' ') {
+                continue;
+            }
+            if (c == ':') {
+                return SAFE_SCHEMES.contains(scheme.toString().toLowerCase(Locale.ROOT));
+            }
+            if (c == '/' || c == '?' || c == '#') {
+                return true;
+            }
+            scheme.append(c);
+        }
+        return true;
+    }
+
+    private static void replace(Node node, Node replacement) {
+        node.insertBefore(replacement);
+        node.unlink();
+    }
+
+    private static void unwrap(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null) {
+            Node next = child.getNext();
+            node.insertBefore(child);
+            child = next;
+        }
+        node.unlink();
+    }
+}
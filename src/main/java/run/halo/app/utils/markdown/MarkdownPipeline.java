@@ -0,0 +1,134 @@
+package run.halo.app.utils.markdown;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataHolder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import run.halo.app.core.metrics.HaloMetrics;
+
+/**
+ * Markdown rendering pipeline: the markdown is parsed, the document is processed by every
+ * {@link DocumentStage} in turn and then rendered to html.
+ *
+ * <p>The parser, renderer and stages are built once and shared by all threads. The html is
+ * rendered in a single pass into a buffer sized after the markdown. The time spent in every
+ * stage is recorded by a {@link HaloMetrics#MARKDOWN_STAGE} timer.
+ */
+public class MarkdownPipeline {
+
+    private static final String PARSE = "parse";
+
+    private static final String RENDER = "render";
+
+    private final Parser parser;
+
+    private final HtmlRenderer renderer;
+
+    private final DocumentStage[] stages;
+
+    private final Timer parseTimer;
+
+    private final Timer[] stageTimers;
+
+    private final Timer renderTimer;
+
+    private MarkdownPipeline(Builder builder) {
+        this.parser = Parser.builder(builder.options).build();
+        this.renderer = HtmlRenderer.builder(builder.options).build();
+        this.stages = builder.stages.toArray(new DocumentStage[0]);
+        this.parseTimer = timer(builder.name, PARSE);
+        this.stageTimers = new Timer[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            stageTimers[i] = timer(builder.name, stages[i].getName());
+        }
+        this.renderTimer = timer(builder.name, RENDER);
+    }
+
+    /**
+     * Creates a pipeline builder.
+     *
+     * @param name pipeline name, used to tag its timers
+     * @param options parser and renderer options
+     * @return pipeline builder
+     */
+    @NonNull
+    public static Builder builder(@NonNull String name, @NonNull DataHolder options) {
+        return new Builder(name, options);
+    }
+
+    /**
+     * Renders the given markdown to html.
+     *
+     * @param markdown markdown must not be null
+     * @return html
+     */
+    @NonNull
+    public String render(@NonNull String markdown) {
+        long start = System.nanoTime();
+        Document document = parser.parse(markdown);
+        long end = System.nanoTime();
+        parseTimer.record(end - start, TimeUnit.NANOSECONDS);
+
+        for (int i = 0; i < stages.length; i++) {
+            start = end;
+            stages[i].process(document);
+            end = System.nanoTime();
+            stageTimers[i].record(end - start, TimeUnit.NANOSECONDS);
+        }
+
+        start = end;
+        StringBuilder html = new StringBuilder(markdown.length() + (markdown.length() >> 1));
+        renderer.render(document, html);
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return html.toString();
+    }
+
+    private static Timer timer(String pipeline, String stage) {
+        return Metrics.timer(HaloMetrics.MARKDOWN_STAGE,
+            HaloMetrics.TAG_PIPELINE, pipeline, HaloMetrics.TAG_STAGE, stage);
+    }
+
+    /**
+     * Markdown pipeline builder.
+     */
+    public static class Builder {
+
+        private final String name;
+
+        private final DataHolder options;
+
+        private final List<DocumentStage> stages = new ArrayList<>();
+
+        private Builder(String name, DataHolder options) {
+            Assert.hasText(name, "Pipeline name must not be blank");
+            Assert.notNull(options, "Options must not be null");
+            this.name = name;
+            this.options = options;
+        }
+
+        /**
+         * Appends a stage processing the document after it is parsed.
+         *
+         * @param stage document stage must not be null
+         * @return this builder
+         */
+        @NonNull
+        public Builder stage(@NonNull DocumentStage stage) {
+            Assert.notNull(stage, "Document stage must not be null");
+            stages.add(stage);
+            return this;
+        }
+
+        @NonNull
+        public MarkdownPipeline build() {
+            return new MarkdownPipeline(this);
+        }
+    }
+}
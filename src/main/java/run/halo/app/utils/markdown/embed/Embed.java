@@ -0,0 +1,82 @@
+package run.halo.app.utils.markdown.embed;
+
+import com.vladsch.flexmark.util.ast.DelimitedNode;
+import com.vladsch.flexmark.util.ast.DoNotDecorate;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.springframework.lang.NonNull;
+
+/**
+ * An embed short code, e.g. {@code [music:1234]}.
+ */
+public class Embed extends Node implements DelimitedNode, DoNotDecorate {
+
+    protected BasedSequence openingMarker = BasedSequence.NULL;
+    protected BasedSequence text = BasedSequence.NULL;
+    protected BasedSequence closingMarker = BasedSequence.NULL;
+
+    private final EmbedType type;
+
+    private final String[] arguments;
+
+    public Embed(BasedSequence openingMarker, BasedSequence text, BasedSequence closingMarker,
+        EmbedType type, String[] arguments) {
+        super(openingMarker
+            .baseSubSequence(openingMarker.getStartOffset(), closingMarker.getEndOffset()));
+        this.openingMarker = openingMarker;
+        this.text = text;
+        this.closingMarker = closingMarker;
+        this.type = type;
+        this.arguments = arguments;
+    }
+
+    public EmbedType getType() {
+        return type;
+    }
+
+    public String[] getArguments() {
+        return arguments;
+    }
+
+    @NonNull
+    @Override
+    public BasedSequence[] getSegments() {
+        return new BasedSequence[] {openingMarker, text, closingMarker};
+    }
+
+    @Override
+    public void getAstExtra(@NonNull StringBuilder out) {
+        out.append(" type: ").append(type).append(" ");
+        delimitedSegmentSpanChars(out, openingMarker, text, closingMarker, "text");
+    }
+
+    @Override
+    public BasedSequence getOpeningMarker() {
+        return openingMarker;
+    }
+
+    @Override
+    public void setOpeningMarker(BasedSequence openingMarker) {
+        this.openingMarker = openingMarker;
+    }
+
+    @Override
+    public BasedSequence getText() {
+        return text;
+    }
+
+    @Override
+    public void setText(BasedSequence text) {
+        this.text = text;
+    }
+
+    @Override
+    public BasedSequence getClosingMarker() {
+        return closingMarker;
+    }
+
+    @Override
+    public void setClosingMarker(BasedSequence closingMarker) {
+        this.closingMarker = closingMarker;
+    }
+}
@@ -0,0 +1,45 @@
+package run.halo.app.utils.markdown.embed;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.MutableDataHolder;
+import org.springframework.lang.NonNull;
+
+/**
+ * Extension for the embed short codes of NetEase music, bilibili and YouTube videos.
+ *
+ * <p>Short codes are recognized by the inline parser, so those within code spans and code
+ * blocks are kept as they are, and rendered straight into the html output.
+ */
+public class EmbedExtension implements Parser.ParserExtension, HtmlRenderer.HtmlRendererExtension {
+
+    private EmbedExtension() {
+    }
+
+    public static EmbedExtension create() {
+        return new EmbedExtension();
+    }
+
+    @Override
+    public void extend(Parser.Builder parserBuilder) {
+        parserBuilder.linkRefProcessorFactory(new EmbedLinkRefProcessor.Factory());
+    }
+
+    @Override
+    public void extend(@NonNull HtmlRenderer.Builder htmlRendererBuilder,
+        @NonNull String rendererType) {
+        if (htmlRendererBuilder.isRendererType("HTML")) {
+            htmlRendererBuilder.nodeRendererFactory(new EmbedNodeRenderer.Factory());
+        }
+    }
+
+    @Override
+    public void parserOptions(MutableDataHolder options) {
+
+    }
+
+    @Override
+    public void rendererOptions(@NonNull MutableDataHolder options) {
+
+    }
+}
@@ -0,0 +1,87 @@
+package run.halo.app.utils.markdown.embed;
+
+import com.vladsch.flexmark.parser.LinkRefProcessor;
+import com.vladsch.flexmark.parser.LinkRefProcessorFactory;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.DataHolder;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.springframework.lang.NonNull;
+
+/**
+ * Turns bracketed short codes such as {@code [bilibili:170001,640,360]} into {@link Embed}
+ * nodes. Short codes of unknown types or with malformed arguments are left as they are.
+ */
+public class EmbedLinkRefProcessor implements LinkRefProcessor {
+
+    static final boolean WANT_EXCLAMATION_PREFIX = false;
+    static final int BRACKET_NESTING_LEVEL = 0;
+
+    @Override
+    public boolean getWantExclamationPrefix() {
+        return WANT_EXCLAMATION_PREFIX;
+    }
+
+    @Override
+    public int getBracketNestingLevel() {
+        return BRACKET_NESTING_LEVEL;
+    }
+
+    @Override
+    public boolean isMatch(@NonNull BasedSequence nodeChars) {
+        int colon = nodeChars.indexOf(':');
+        if (colon < 2 || nodeChars.charAt(0) != '[' || nodeChars.endCharAt(1) != ']') {
+            return false;
+        }
+        EmbedType type = EmbedType.of(nodeChars.subSequence(1, colon));
+        return type != null
+            && type.parseArguments(nodeChars.subSequence(colon + 1, nodeChars.length() - 1))
+            != null;
+    }
+
+    @NonNull
+    @Override
+    public Node createNode(@NonNull BasedSequence nodeChars) {
+        int colon = nodeChars.indexOf(':');
+        EmbedType type = EmbedType.of(nodeChars.subSequence(1, colon));
+        BasedSequence text = nodeChars.subSequence(colon + 1, nodeChars.length() - 1);
+        return new Embed(nodeChars.subSequence(0, colon + 1), text, nodeChars.endSequence(1),
+            type, type.parseArguments(text));
+    }
+
+    @NonNull
+    @Override
+    public BasedSequence adjustInlineText(@NonNull Document document, @NonNull Node node) {
+        return ((Embed) node).getText();
+    }
+
+    @Override
+    public boolean allowDelimiters(@NonNull BasedSequence chars, @NonNull Document document,
+        @NonNull Node node) {
+        return false;
+    }
+
+    @Override
+    public void updateNodeElements(@NonNull Document document, @NonNull Node node) {
+
+    }
+
+    public static class Factory implements LinkRefProcessorFactory {
+
+        @NonNull
+        @Override
+        public LinkRefProcessor apply(@NonNull Document document) {
+            return new EmbedLinkRefProcessor();
+        }
+
+        @Override
+        public boolean getWantExclamationPrefix(@NonNull DataHolder options) {
+            return WANT_EXCLAMATION_PREFIX;
+        }
+
+        @Override
+        public int getBracketNestingLevel(@NonNull DataHolder options) {
+            return BRACKET_NESTING_LEVEL;
+        }
+    }
+}
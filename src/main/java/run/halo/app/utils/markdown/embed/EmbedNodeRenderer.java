@@ -0,0 +1,35 @@
+package run.halo.app.utils.markdown.embed;
+
+import com.vladsch.flexmark.html.HtmlWriter;
+import com.vladsch.flexmark.html.renderer.NodeRenderer;
+import com.vladsch.flexmark.html.renderer.NodeRendererContext;
+import com.vladsch.flexmark.html.renderer.NodeRendererFactory;
+import com.vladsch.flexmark.html.renderer.NodeRenderingHandler;
+import com.vladsch.flexmark.util.data.DataHolder;
+import java.util.Collections;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+
+/**
+ * Renders {@link Embed} nodes as iframes.
+ */
+public class EmbedNodeRenderer implements NodeRenderer {
+
+    @Override
+    public Set<NodeRenderingHandler<?>> getNodeRenderingHandlers() {
+        return Collections.singleton(new NodeRenderingHandler<>(Embed.class, this::render));
+    }
+
+    private void render(Embed node, NodeRendererContext context, HtmlWriter html) {
+        node.getType().render(node.getArguments(), html);
+    }
+
+    public static class Factory implements NodeRendererFactory {
+
+        @NonNull
+        @Override
+        public NodeRenderer apply(@NonNull DataHolder options) {
+            return new EmbedNodeRenderer();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package run.halo.app.utils.markdown.embed;
+
+import com.vladsch.flexmark.html.HtmlWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import run.halo.app.model.support.HaloConst;
+
+/**
+ * Types of the embed short codes, e.g. {@code [bilibili:aid,width,height]}.
+ *
+ * <p>The iframe template of every type is split at its {@code $n} placeholders once, so that an
+ * embed is rendered by appending the literal parts and the arguments in turn.
+ */
+public enum EmbedType {
+
+    /**
+     * {@code [music:id]}.
+     */
+    NETEASE_MUSIC("music", 1, false, HaloConst.NETEASE_MUSIC_IFRAME),
+
+    /**
+     * {@code [bilibili:aid,width,height]}.
+     */
+    BILIBILI_VIDEO("bilibili", 3, false, HaloConst.BILIBILI_VIDEO_IFRAME),
+
+    /**
+     * {@code [youtube:id,width,height]}.
+     */
+    YOUTUBE_VIDEO("youtube", 3, true, HaloConst.YOUTUBE_VIDEO_IFRAME);
+
+    private final String prefix;
+
+    private final int arity;
+
+    /**
+     * Whether the first argument is a word rather than a number.
+     */
+    private final boolean wordId;
+
+    private final String[] literals;
+
+    private final int[] placeholders;
+
+    EmbedType(String prefix, int arity, boolean wordId, String template) {
+        this.prefix = prefix;
+        this.arity = arity;
+        this.wordId = wordId;
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> placeholders = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < template.length() - 1; i++) {
+            char next = template.charAt(i + 1);
+            if (template.charAt(i) == '$' && next >= '1' && next <= '9') {
+                literals.add(template.substring(start, i));
+                placeholders.add(next - '1');
+                start = i + 2;
+                i++;
+            }
+        }
+        literals.add(template.substring(start));
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @NonNull
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Resolves the embed type of the given short code name.
+     *
+     * @param name short code name, e.g. {@code music}
+     * @return embed type or null if the name is unknown
+     */
+    @Nullable
+    public static EmbedType of(@NonNull CharSequence name) {
+        for (EmbedType type : values()) {
+            if (type.prefix.contentEquals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits and validates the arguments of a short code.
+     *
+     * @param arguments comma separated arguments, e.g. {@code 170001,640,360}
+     * @return arguments or null if they don't match this type
+     */
+    @Nullable
+    public String[] parseArguments(@NonNull CharSequence arguments) {
+        String[] result = new String[arity];
+        int start = 0;
+        for (int i = 0; i < arity; i++) {
+            int end = start;
+            while (end < arguments.length() && arguments.charAt(end) != ',') {
+                end++;
+            }
+            boolean last = i == arity - 1;
+            if (end == start || (last != (end == arguments.length()))) {
+                return null;
+            }
+            for (int j = start; j < end; j++) {
+                char c = arguments.charAt(j);
+                boolean valid = (c >= '0' && c <= '9')
+                    || (i == 0 && wordId
+                    && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'));
+                if (!valid) {
+                    return null;
+                }
+            }
+            result[i] = arguments.subSequence(start, end).toString();
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Renders the iframe of the given arguments.
+     *
+     * @param arguments arguments returned by {@link #parseArguments(CharSequence)}
+     * @param html html writer
+     */
+    public void render(@NonNull String[] arguments, @NonNull HtmlWriter html) {
+        html.raw(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            html.raw(arguments[placeholders[i]]).raw(literals[i + 1]);
+        }
+    }
+}
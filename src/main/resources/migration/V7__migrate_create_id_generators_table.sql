@@ -0,0 +1,77 @@
+-- Create id generators table for pooled table id generation
+CREATE TABLE IF NOT EXISTS id_generators
+(
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Seed next values from the max ids of entity tables
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'attachments', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM attachments) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'attachments');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'categories', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM categories) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'categories');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'comment_black_list', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM comment_black_list) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'comment_black_list');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'comments', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM comments) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'comments');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'content_patch_logs', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM content_patch_logs) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'content_patch_logs');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'journals', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM journals) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'journals');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'links', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM links) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'links');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'logs', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM logs) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'logs');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'menus', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM menus) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'menus');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'metas', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM metas) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'metas');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'options', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM options) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'options');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'photos', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM photos) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'photos');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'post_categories', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM post_categories) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'post_categories');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'post_tags', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM post_tags) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'post_tags');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'posts', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM posts) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'posts');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'tags', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM tags) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'tags');
+INSERT INTO id_generators(sequence_name, next_val)
+SELECT 'theme_settings', t.next_val
+FROM (SELECT COALESCE(MAX(id), 0) + 1 AS next_val FROM theme_settings) t
+WHERE NOT EXISTS(SELECT 1 FROM id_generators WHERE sequence_name = 'theme_settings');
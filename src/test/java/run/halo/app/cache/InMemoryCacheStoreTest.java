@@ -5,6 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
@@ -116,4 +119,26 @@ class InMemoryCacheStoreTest {
         assertEquals("{test_key_2=test_value_2, test_key_1=test_value_1}",
             localCacheStore.toMap().toString());
     }
+
+    @Test
+    void batchOperationsTest() throws InterruptedException {
+        cacheStore.putAll(Map.of("batch.a", "1", "batch.b", "2"));
+        cacheStore.putAll(Map.of("batch.c", "3"), 500, TimeUnit.MILLISECONDS);
+        cacheStore.put("other", "4");
+
+        assertEquals(Map.of("batch.a", "1", "batch.c", "3"),
+            cacheStore.getAll(List.of("batch.a", "batch.c", "batch.d")));
+
+        Map<String, String> scanned = new LinkedHashMap<>();
+        cacheStore.scan("batch.", scanned::put);
+        assertEquals(Map.of("batch.a", "1", "batch.b", "2", "batch.c", "3"), scanned);
+
+        TimeUnit.SECONDS.sleep(1L);
+        assertEquals(Map.of("batch.a", "1"), cacheStore.getAll(List.of("batch.a", "batch.c")));
+
+        cacheStore.deleteAll(List.of("batch.a", "batch.b"));
+        assertTrue(cacheStore.getAll(List.of("batch.a", "batch.b")).isEmpty());
+        assertEquals(Optional.of("4"), cacheStore.get("other"));
+        cacheStore.delete("other");
+    }
 }
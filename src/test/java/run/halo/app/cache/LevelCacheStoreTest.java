@@ -5,7 +5,11 @@ import static run.halo.app.model.support.HaloConst.FILE_SEPARATOR;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.iq80.leveldb.DB;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 import run.halo.app.config.properties.HaloProperties;
 import run.halo.app.utils.FileUtils;
+import run.halo.app.utils.JsonUtils;
 
 /**
  * @author guqing
@@ -46,6 +51,57 @@ public class LevelCacheStoreTest {
         assertThat(cacheStore.toMap().toString()).isEqualTo("{A=B, B=null}");
     }
 
+    @Test
+    public void batchOperationsTest() {
+        cacheStore.putAll(Map.of("batch.a", "1", "batch.b", "2"));
+        cacheStore.put("batch", "3");
+        cacheStore.put("batcha", "4");
+
+        assertThat(cacheStore.getAll(List.of("batch.a", "batch.b", "batch.c")))
+            .isEqualTo(Map.of("batch.a", "1", "batch.b", "2"));
+
+        Map<String, String> scanned = new LinkedHashMap<>();
+        cacheStore.scan("batch.", scanned::put);
+        assertThat(scanned).isEqualTo(Map.of("batch.a", "1", "batch.b", "2"));
+
+        cacheStore.deleteAll(List.of("batch.a", "batch.b", "batch", "batcha"));
+        assertThat(cacheStore.getAll(List.of("batch.a", "batch.b", "batch", "batcha"))).isEmpty();
+    }
+
+    @Test
+    public void cleanExpiredTest() throws InterruptedException {
+        cacheStore.put("A", "B", 100, TimeUnit.MILLISECONDS);
+        cacheStore.put("B", "C", 1, TimeUnit.HOURS);
+        assertThat(cacheStore.cleanExpired()).isZero();
+
+        TimeUnit.MILLISECONDS.sleep(200L);
+
+        assertThat(cacheStore.cleanExpired()).isEqualTo(1);
+        DB levelDb = (DB) ReflectionTestUtils.getField(cacheStore, "LEVEL_DB");
+        assertThat(levelDb.get("A".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(cacheStore.get("B")).contains("C");
+
+        // Index entry of the overwritten expiration must be removed as well
+        cacheStore.put("B", "D");
+        assertThat(cacheStore.toMap().toString()).isEqualTo("{B=D}");
+        assertThat(cacheStore.cleanExpired()).isZero();
+    }
+
+    @Test
+    public void convertJsonRecordTest() throws Exception {
+        CacheWrapper<String> cacheWrapper = new CacheWrapper<>();
+        cacheWrapper.setData("B");
+        DB levelDb = (DB) ReflectionTestUtils.getField(cacheStore, "LEVEL_DB");
+        levelDb.put("A".getBytes(StandardCharsets.UTF_8),
+            JsonUtils.objectToJson(cacheWrapper).getBytes(StandardCharsets.UTF_8));
+
+        assertThat(cacheStore.get("A")).contains("B");
+
+        byte[] bytes = levelDb.get("A".getBytes(StandardCharsets.UTF_8));
+        assertThat(bytes[0]).isNotEqualTo((byte) '{');
+        assertThat(cacheStore.get("A")).contains("B");
+    }
+
     @AfterEach
     public void cleanUp() {
         cacheStore.delete("A");
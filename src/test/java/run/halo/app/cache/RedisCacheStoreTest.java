@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -144,6 +146,29 @@ class RedisCacheStoreTest {
         assertThat(map.get("halo.redis.test_key_1")).isEqualTo("test_value_1");
     }
 
+    @Test
+    void batchOperationsTest() {
+        cacheStore.putAll(Map.of("batch.a", "1", "batch.b", "2"));
+        cacheStore.putAll(Map.of("batch.c", "3"), 1, TimeUnit.MINUTES);
+        cacheStore.put("batch*", "4");
+
+        assertThat(cacheStore.getAll(List.of("batch.a", "batch.c", "batch.d")))
+            .isEqualTo(Map.of("batch.a", "1", "batch.c", "3"));
+        assertThat(redisTemplate.getExpire("halo.redis.batch.c")).isPositive();
+
+        Map<String, String> scanned = new LinkedHashMap<>();
+        cacheStore.scan("batch.", scanned::put);
+        assertThat(scanned).isEqualTo(Map.of("batch.a", "1", "batch.b", "2", "batch.c", "3"));
+
+        scanned.clear();
+        cacheStore.scan("batch*", scanned::put);
+        assertThat(scanned).isEqualTo(Map.of("batch*", "4"));
+
+        cacheStore.deleteAll(List.of("batch.a", "batch.b", "batch.c"));
+        assertThat(cacheStore.getAll(List.of("batch.a", "batch.b", "batch.c"))).isEmpty();
+        assertThat(cacheStore.get("batch*")).contains("4");
+    }
+
     public void clearAllCache() {
         Set<String> keys = redisTemplate.keys("*");
         if (keys == null) {
@@ -0,0 +1,129 @@
+package run.halo.app.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+/**
+ * Near cache test of redis cache store with two nodes sharing one redis.
+ */
+class RedisNearCacheTest {
+
+    static final int PORT = 6380;
+
+    RedisServer redisServer;
+
+    LettuceConnectionFactory connectionFactoryA;
+
+    LettuceConnectionFactory connectionFactoryB;
+
+    RedisCacheStore nodeA;
+
+    RedisCacheStore nodeB;
+
+    StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        redisServer = RedisServer.builder().port(PORT).build();
+        redisServer.start();
+
+        connectionFactoryA = createConnectionFactory();
+        connectionFactoryB = createConnectionFactory();
+        redisTemplate = new StringRedisTemplate(connectionFactoryA);
+        nodeA = new RedisCacheStore(new StringRedisTemplate(connectionFactoryA), 100,
+            Duration.ofMinutes(1));
+        nodeB = new RedisCacheStore(new StringRedisTemplate(connectionFactoryB), 100,
+            Duration.ofMinutes(1));
+
+        // Wait for subscriptions
+        nodeB.get("ready");
+        await(() -> {
+            nodeA.put("ready", "true");
+            return nodeB.get("ready").isPresent();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        nodeA.preDestroy();
+        nodeB.preDestroy();
+        connectionFactoryA.destroy();
+        connectionFactoryB.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void getShouldHitNearCache() {
+        // Put on the same node, so that no invalidation message arrives later
+        nodeB.put("key", "value");
+        assertEquals(Optional.of("value"), nodeB.get("key"));
+
+        // Delete behind the cache store's back
+        redisTemplate.delete("halo.redis.key");
+
+        assertEquals(Optional.of("value"), nodeB.get("key"));
+    }
+
+    @Test
+    void putShouldInvalidateOtherNodes() throws InterruptedException {
+        nodeA.put("key", "value1");
+        assertEquals(Optional.of("value1"), nodeB.get("key"));
+
+        nodeA.put("key", "value2");
+        await(() -> Optional.of("value2").equals(nodeB.get("key")));
+
+        nodeB.put("key", "value3");
+        await(() -> Optional.of("value3").equals(nodeA.get("key")));
+    }
+
+    @Test
+    void deleteShouldInvalidateOtherNodes() throws InterruptedException {
+        nodeA.put("key", "value");
+        assertTrue(nodeB.get("key").isPresent());
+
+        nodeA.delete("key");
+        assertFalse(nodeA.get("key").isPresent());
+        await(() -> nodeB.get("key").isEmpty());
+    }
+
+    @Test
+    void nearCacheShouldNotOutliveExpiration() throws InterruptedException {
+        nodeA.put("key", "value", 500, TimeUnit.MILLISECONDS);
+        assertTrue(nodeB.get("key").isPresent());
+
+        TimeUnit.SECONDS.sleep(1L);
+
+        assertFalse(nodeB.get("key").isPresent());
+    }
+
+    LettuceConnectionFactory createConnectionFactory() {
+        LettuceConnectionFactory connectionFactory =
+            new LettuceConnectionFactory("localhost", PORT);
+        connectionFactory.afterPropertiesSet();
+        return connectionFactory;
+    }
+
+    void await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.get()) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        fail("Condition was not met in time");
+    }
+}
@@ -0,0 +1,73 @@
+package run.halo.app.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.AntPathMatcher;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.event.StaticStorageChangedEvent;
+
+/**
+ * Halo request mapping handler mapping test.
+ */
+class HaloRequestMappingHandlerMappingTest {
+
+    static final List<String> BLACK_PATTERNS = List.of("/themes/**", "/js/**", "/images/**",
+        "/fonts/**", "/css/**", "/assets/**", "/color.less", "/swagger-ui.html", "/swagger-ui/**",
+        "/csrf", "/webjars/**", "/upload/**", "/admin/?*/**");
+
+    static final List<String> PATHS = List.of("/", "/js/app.js", "/themes/anatole/style.css",
+        "/color.less", "/color.less/", "/csrf", "/upload/2022/01/a.png", "/admin", "/admin/",
+        "/admin/index.html", "/archives/hello", "/robots.txt", "/robots.txt/", "//robots.txt",
+        "/robots.txt/more", "/docs", "/docs/", "/docs/a/b.html", "//docs//a", "/doc",
+        "/api/admin/posts", "robots.txt");
+
+    @TempDir
+    Path staticPath;
+
+    HaloRequestMappingHandlerMapping handlerMapping;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createFile(staticPath.resolve("robots.txt"));
+        Files.createDirectories(staticPath.resolve("docs").resolve("a"));
+        handlerMapping = new HaloRequestMappingHandlerMapping(new HaloProperties());
+        handlerMapping.onApplicationEvent(new StaticStorageChangedEvent(this, staticPath));
+    }
+
+    @Test
+    void shouldSkipLikeAntPathMatcher() {
+        List<String> patterns = new ArrayList<>(BLACK_PATTERNS);
+        patterns.add("/robots.txt");
+        patterns.add("/docs/**");
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+        for (String path : PATHS) {
+            boolean expected = patterns.stream().anyMatch(p -> antPathMatcher.match(p, path));
+            assertEquals(expected, handlerMapping.isBlacklisted(path), path);
+        }
+    }
+
+    @Test
+    void staticStorageChangeShouldReplaceStaticPaths() throws IOException {
+        assertTrue(handlerMapping.isBlacklisted("/robots.txt"));
+
+        Files.delete(staticPath.resolve("robots.txt"));
+        Files.createFile(staticPath.resolve("favicon.ico"));
+        handlerMapping.onApplicationEvent(new StaticStorageChangedEvent(this, staticPath));
+
+        assertFalse(handlerMapping.isBlacklisted("/robots.txt"));
+        assertTrue(handlerMapping.isBlacklisted("/favicon.ico"));
+        assertTrue(handlerMapping.isBlacklisted("/docs/a"));
+        assertTrue(handlerMapping.isBlacklisted("/js/app.js"));
+    }
+}
@@ -44,7 +44,7 @@ public class AdminControllerTest {
     @BeforeEach
     public void setUp() {
         AdminController adminController =
-            new AdminController(new MockAdminService(), null);
+            new AdminController(new MockAdminService(), null, null);
         mockMvc = MockMvcBuilders.standaloneSetup(adminController)
             .setControllerAdvice(ControllerExceptionHandler.class)
             .addFilter((request, response, chain) -> {
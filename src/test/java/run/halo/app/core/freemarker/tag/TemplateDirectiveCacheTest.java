@@ -0,0 +1,84 @@
+package run.halo.app.core.freemarker.tag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import run.halo.app.model.vo.PostListVO;
+
+/**
+ * Template directive cache test.
+ */
+class TemplateDirectiveCacheTest {
+
+    final TemplateDirectiveCache directiveCache = new TemplateDirectiveCache();
+
+    @Test
+    void getShouldLoadOncePerParams() {
+        var loads = new AtomicInteger();
+        Map<String, Object> params = new HashMap<>();
+        params.put("method", "latest");
+        params.put("top", 5);
+
+        directiveCache.get("postTag", params, loads::incrementAndGet);
+        directiveCache.get("postTag", new HashMap<>(params), loads::incrementAndGet);
+        assertEquals(1, loads.get());
+
+        params.put("top", 10);
+        directiveCache.get("postTag", params, loads::incrementAndGet);
+        assertEquals(2, loads.get());
+
+        directiveCache.get("categoryTag", params, loads::incrementAndGet);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void clearShouldDropAllResults() {
+        var loads = new AtomicInteger();
+        Map<String, Object> params = Map.of("method", "count");
+
+        directiveCache.get("postTag", params, loads::incrementAndGet);
+        directiveCache.onContentUpdated();
+        directiveCache.get("postTag", params, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getShouldNotCacheNullResults() {
+        var loads = new AtomicInteger();
+        Map<String, Object> params = Map.of("method", "listByTagSlug");
+
+        assertNull(directiveCache.get("postTag", params, () -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(1, directiveCache.get("postTag", params, loads::incrementAndGet));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getShouldNotShareResultsAcrossReads() {
+        Map<String, Object> params = Map.of("method", "latest", "top", 1);
+        PostListVO post = new PostListVO();
+        post.setId(1);
+        post.setTitle("Title");
+        directiveCache.get("postTag", params, () -> List.of(post));
+
+        List<PostListVO> first = (List<PostListVO>) directiveCache.get("postTag", params,
+            () -> null);
+        first.get(0).setTitle("Changed");
+
+        List<PostListVO> second = (List<PostListVO>) directiveCache.get("postTag", params,
+            () -> null);
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals("Title", second.get(0).getTitle());
+        assertEquals(1, second.get(0).getId());
+    }
+}
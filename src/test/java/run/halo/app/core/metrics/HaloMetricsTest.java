@@ -0,0 +1,61 @@
+package run.halo.app.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.cache.InMemoryCacheStore;
+
+/**
+ * Halo metrics test.
+ */
+class HaloMetricsTest {
+
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+        meterRegistry.close();
+    }
+
+    @Test
+    void cacheStoreShouldRecordHitsMissesAndPuts() {
+        InMemoryCacheStore cacheStore = new InMemoryCacheStore();
+        cacheStore.put("key", "value");
+        cacheStore.get("key");
+        cacheStore.get("key");
+        cacheStore.get("missing");
+
+        assertEquals(2, meterRegistry.get(HaloMetrics.CACHE_GETS)
+            .tags(HaloMetrics.TAG_CACHE, "InMemoryCacheStore",
+                HaloMetrics.TAG_RESULT, HaloMetrics.RESULT_HIT)
+            .timer().count());
+        assertEquals(1, meterRegistry.get(HaloMetrics.CACHE_GETS)
+            .tag(HaloMetrics.TAG_RESULT, HaloMetrics.RESULT_MISS)
+            .timer().count());
+        assertEquals(1, meterRegistry.get(HaloMetrics.CACHE_PUTS).timer().count());
+    }
+
+    @Test
+    void queryCountInspectorShouldOnlyCountStartedThreads() {
+        QueryCountInspector inspector = new QueryCountInspector();
+        inspector.inspect("select 1");
+
+        QueryCountInspector.start();
+        inspector.inspect("select 1");
+        assertEquals("select 2", inspector.inspect("select 2"));
+
+        assertEquals(2, QueryCountInspector.stop());
+        assertEquals(0, QueryCountInspector.stop());
+    }
+}
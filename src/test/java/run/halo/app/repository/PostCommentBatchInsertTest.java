@@ -0,0 +1,101 @@
+package run.halo.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import run.halo.app.model.entity.BaseComment;
+import run.halo.app.model.entity.PostComment;
+import run.halo.app.service.support.IdGeneratorSynchronizer;
+
+/**
+ * Batch insert test of post comments with pooled table ids.
+ */
+@Slf4j
+@DataJpaTest
+@AutoConfigureDataJpa
+@Import(IdGeneratorSynchronizer.class)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class PostCommentBatchInsertTest {
+
+    @Autowired
+    private PostCommentRepository postCommentRepository;
+
+    @Autowired
+    private IdGeneratorSynchronizer idGeneratorSynchronizer;
+
+    @Test
+    void saveAllWithGeneratedIds() {
+        List<PostComment> saved = postCommentRepository.saveAll(createComments(1, 500));
+
+        Set<Long> ids = saved.stream().map(BaseComment::getId).collect(Collectors.toSet());
+        assertThat(ids).hasSize(500).doesNotContainNull();
+        assertThat(postCommentRepository.count()).isEqualTo(500);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void saveAllAfterAssignedIdsAndSynchronization() {
+        // allocates a block in memory
+        postCommentRepository.saveAndFlush(createComments(1, 1).get(0));
+
+        PostComment imported = createComments(1, 1).get(0);
+        imported.setId(1000L);
+        postCommentRepository.saveAndFlush(imported);
+        idGeneratorSynchronizer.synchronize();
+
+        List<PostComment> saved = postCommentRepository.saveAll(createComments(1, 100));
+
+        try {
+            assertThat(saved)
+                .allSatisfy(comment -> assertThat(comment.getId()).isGreaterThan(1000L));
+            assertThat(postCommentRepository.count()).isEqualTo(102);
+        } finally {
+            // not rolled back
+            postCommentRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    @Disabled("Time consumption")
+    void importOneHundredThousandComments() {
+        int total = 100_000;
+        int batchSize = 1_000;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i += batchSize) {
+            postCommentRepository.saveAll(createComments(i / batchSize + 1, batchSize));
+            postCommentRepository.flush();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Imported {} comments in {} ms ({} comments/s)", total, elapsedMillis,
+            total * 1000L / Math.max(elapsedMillis, 1));
+        assertThat(postCommentRepository.count()).isEqualTo(total);
+    }
+
+    private List<PostComment> createComments(int postId, int count) {
+        List<PostComment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PostComment comment = new PostComment();
+            comment.setAuthor("author-" + i);
+            comment.setEmail("author-" + i + "@halo.run");
+            comment.setContent("Comment " + i + " of post " + postId);
+            comment.setPostId(postId);
+            comments.add(comment);
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,61 @@
+package run.halo.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import run.halo.app.model.entity.PostTag;
+
+/**
+ * Bulk delete test of post tags.
+ */
+@DataJpaTest
+@AutoConfigureDataJpa
+class PostTagRepositoryTest {
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<PostTag> postTags = new ArrayList<>();
+        for (int postId = 1; postId <= 3; postId++) {
+            for (int tagId = 1; tagId <= 2; tagId++) {
+                PostTag postTag = new PostTag();
+                postTag.setPostId(postId);
+                postTag.setTagId(tagId);
+                postTags.add(postTag);
+            }
+        }
+        postTagRepository.saveAllAndFlush(postTags);
+    }
+
+    @Test
+    void deleteByPostIdIn() {
+        int deleted = postTagRepository.deleteByPostIdIn(Arrays.asList(1, 2, 4));
+
+        assertThat(deleted).isEqualTo(4);
+        assertThat(postTagRepository.findAllByPostId(3)).hasSize(2);
+        assertThat(postTagRepository.findAllByPostId(1)).isEmpty();
+    }
+
+    @Test
+    void deleteByIdIn() {
+        List<Integer> ids = postTagRepository.findAllByPostId(1).stream()
+            .map(PostTag::getId)
+            .collect(Collectors.toList());
+        ids.add(Integer.MAX_VALUE);
+
+        long deleted = postTagRepository.deleteByIdIn(ids);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(postTagRepository.count()).isEqualTo(4);
+    }
+}
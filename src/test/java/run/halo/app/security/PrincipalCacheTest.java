@@ -0,0 +1,94 @@
+package run.halo.app.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.entity.User;
+import run.halo.app.security.support.PrincipalCache;
+
+/**
+ * Principal cache test.
+ */
+class PrincipalCacheTest {
+
+    PrincipalCache principalCache;
+
+    AtomicInteger loads;
+
+    Supplier<Optional<User>> loader;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(new HaloProperties());
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            User user = new User();
+            user.setId(1);
+            user.setUsername("admin");
+            return Optional.of(user);
+        };
+    }
+
+    @Test
+    void getShouldLoadOnceAndReturnCopies() {
+        User first = principalCache.get("token", loader).orElseThrow();
+        first.setUsername("changed");
+        User second = principalCache.get("token", loader).orElseThrow();
+
+        assertEquals(1, loads.get());
+        assertEquals("admin", second.getUsername());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void invalidateShouldDropToken() {
+        principalCache.get("token", loader);
+        principalCache.get("another-token", loader);
+
+        principalCache.invalidate("token");
+        principalCache.get("token", loader);
+        principalCache.get("another-token", loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void userUpdatedShouldDropAll() {
+        principalCache.get("token", loader);
+        principalCache.getCurrentUser(loader);
+
+        principalCache.onUserUpdated();
+        principalCache.get("token", loader);
+        principalCache.getCurrentUser(loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void emptyResultShouldNotBeCached() {
+        assertFalse(principalCache.get("token", Optional::empty).isPresent());
+        assertTrue(principalCache.get("token", loader).isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void disabledCacheShouldAlwaysLoad() {
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setPrincipalCacheSize(0);
+        principalCache = new PrincipalCache(haloProperties);
+
+        principalCache.get("token", loader);
+        principalCache.get("token", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
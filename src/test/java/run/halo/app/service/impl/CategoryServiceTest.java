@@ -15,8 +15,10 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import run.halo.app.model.entity.Category;
 import run.halo.app.model.vo.CategoryVO;
 import run.halo.app.repository.CategoryRepository;
+import run.halo.app.repository.TagRepository;
 import run.halo.app.service.OptionService;
 import run.halo.app.service.PostCategoryService;
+import run.halo.app.service.support.TaxonomyDictionary;
 import run.halo.app.utils.JsonUtils;
 
 /**
@@ -34,6 +36,9 @@ public class CategoryServiceTest {
     @MockBean
     private CategoryRepository categoryRepository;
 
+    @MockBean
+    private TagRepository tagRepository;
+
     @MockBean
     private PostCategoryService postCategoryService;
 
@@ -45,7 +50,8 @@ public class CategoryServiceTest {
     @BeforeEach
     public void setUp() {
         categoryService =
-            new CategoryServiceImpl(categoryRepository, postCategoryService, optionService,
+            new CategoryServiceImpl(categoryRepository, postCategoryService,
+                new TaxonomyDictionary(tagRepository, categoryRepository, optionService),
                 applicationContext);
 
         when(optionService.isEnabledAbsolutePath()).thenReturn(true);
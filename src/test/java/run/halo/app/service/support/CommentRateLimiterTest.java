@@ -0,0 +1,88 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.properties.CommentProperties;
+import run.halo.app.repository.PostCommentRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Comment rate limiter test.
+ */
+class CommentRateLimiterTest {
+
+    PostCommentRepository postCommentRepository;
+
+    OptionService optionService;
+
+    CommentRateLimiter commentRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        postCommentRepository = mock(PostCommentRepository.class);
+        optionService = mock(OptionService.class);
+        when(optionService.getByPropertyOrDefault(CommentProperties.COMMENT_BAN_TIME,
+            Integer.class, 10)).thenReturn(10);
+        when(optionService.getByPropertyOrDefault(CommentProperties.COMMENT_RANGE,
+            Integer.class, 30)).thenReturn(3);
+        when(postCommentRepository.findUpdateTimesByIpAndTime(anyString(), any(), any(), any()))
+            .thenReturn(Collections.emptyList());
+        commentRateLimiter = new CommentRateLimiter(postCommentRepository, optionService,
+            new HaloProperties());
+    }
+
+    @Test
+    void shouldBanOnceWindowIsFull() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CommentRateLimiter.Result.ACCEPTED,
+                commentRateLimiter.tryAcquire("127.0.0.1"));
+        }
+        assertEquals(CommentRateLimiter.Result.BANNED, commentRateLimiter.tryAcquire("127.0.0.1"));
+        assertEquals(CommentRateLimiter.Result.REJECTED,
+            commentRateLimiter.tryAcquire("127.0.0.1"));
+        assertEquals(CommentRateLimiter.Result.ACCEPTED,
+            commentRateLimiter.tryAcquire("127.0.0.2"));
+
+        // the database is only queried once per ip address
+        verify(postCommentRepository, times(1))
+            .findUpdateTimesByIpAndTime(eq("127.0.0.1"), any(), any(), any());
+    }
+
+    @Test
+    void shouldSeedFromDatabase() {
+        long now = System.currentTimeMillis();
+        List<Date> times = List.of(new Date(now - 1000), new Date(now - 2000));
+        when(postCommentRepository.findUpdateTimesByIpAndTime(eq("127.0.0.1"), any(), any(),
+            any())).thenReturn(times);
+
+        assertEquals(CommentRateLimiter.Result.ACCEPTED,
+            commentRateLimiter.tryAcquire("127.0.0.1"));
+        assertEquals(CommentRateLimiter.Result.BANNED, commentRateLimiter.tryAcquire("127.0.0.1"));
+    }
+
+    @Test
+    void optionUpdateShouldRebuildWindows() {
+        for (int i = 0; i < 3; i++) {
+            commentRateLimiter.tryAcquire("127.0.0.1");
+        }
+        when(optionService.getByPropertyOrDefault(CommentProperties.COMMENT_RANGE,
+            Integer.class, 30)).thenReturn(5);
+        commentRateLimiter.onOptionUpdated();
+
+        assertEquals(CommentRateLimiter.Result.ACCEPTED,
+            commentRateLimiter.tryAcquire("127.0.0.1"));
+    }
+}
@@ -0,0 +1,101 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.model.enums.PostPermalinkType;
+import run.halo.app.model.enums.SheetPermalinkType;
+import run.halo.app.model.projection.PostSlugProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.repository.SheetRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Content route table test.
+ */
+class ContentRouteTableTest {
+
+    OptionService optionService;
+
+    PostRepository postRepository;
+
+    SheetRepository sheetRepository;
+
+    ContentRouteTable contentRouteTable;
+
+    @BeforeEach
+    void setUp() {
+        optionService = mock(OptionService.class);
+        postRepository = mock(PostRepository.class);
+        sheetRepository = mock(SheetRepository.class);
+        when(optionService.getArchivesPrefix()).thenReturn("archives");
+        when(optionService.getCategoriesPrefix()).thenReturn("categories");
+        when(optionService.getTagsPrefix()).thenReturn("tags");
+        when(optionService.getJournalsPrefix()).thenReturn("journals");
+        when(optionService.getPhotosPrefix()).thenReturn("photos");
+        when(optionService.getLinksPrefix()).thenReturn("links");
+        when(optionService.getSheetPrefix()).thenReturn("s");
+        when(optionService.getPostPermalinkType()).thenReturn(PostPermalinkType.DEFAULT);
+        when(optionService.getSheetPermalinkType()).thenReturn(SheetPermalinkType.SECONDARY);
+        when(postRepository.findAllSlugProjections())
+            .thenReturn(List.of(new PostSlugProjection(1, "hello-halo")));
+        when(sheetRepository.findAllSlugProjections())
+            .thenReturn(List.of(new PostSlugProjection(2, "about")));
+        contentRouteTable = new ContentRouteTable(optionService, postRepository, sheetRepository);
+    }
+
+    @Test
+    void shouldResolveRoutes() {
+        assertEquals(ContentRouteTable.Route.ARCHIVES, contentRouteTable.getRoute("archives"));
+        assertEquals(ContentRouteTable.Route.LINKS, contentRouteTable.getRoute("links"));
+        assertEquals(ContentRouteTable.Route.SHEETS, contentRouteTable.getRoute("s"));
+        assertNull(contentRouteTable.getRoute("about"));
+        assertEquals(PostPermalinkType.DEFAULT, contentRouteTable.getPostPermalinkType());
+
+        verify(optionService, times(1)).getArchivesPrefix();
+    }
+
+    @Test
+    void optionUpdateShouldRebuildRoutes() {
+        contentRouteTable.getRoute("archives");
+        when(optionService.getArchivesPrefix()).thenReturn("archive");
+        when(optionService.getSheetPermalinkType()).thenReturn(SheetPermalinkType.ROOT);
+        contentRouteTable.onOptionUpdated();
+
+        assertNull(contentRouteTable.getRoute("archives"));
+        assertNull(contentRouteTable.getRoute("s"));
+        assertEquals(ContentRouteTable.Route.ARCHIVES, contentRouteTable.getRoute("archive"));
+    }
+
+    @Test
+    void shouldIndexSlugs() {
+        assertTrue(contentRouteTable.containsPost("hello-halo"));
+        assertTrue(contentRouteTable.containsPost(1));
+        assertFalse(contentRouteTable.containsPost(2));
+        assertFalse(contentRouteTable.containsPost("about"));
+        assertTrue(contentRouteTable.containsSheet("about"));
+        assertFalse(contentRouteTable.containsSheet("missing"));
+
+        verify(postRepository, times(1)).findAllSlugProjections();
+    }
+
+    @Test
+    void invalidateShouldRebuildSlugs() {
+        contentRouteTable.containsPost("hello-halo");
+        when(postRepository.findAllSlugProjections())
+            .thenReturn(List.of(new PostSlugProjection(3, "new-post")));
+        contentRouteTable.invalidateSlugs();
+
+        assertTrue(contentRouteTable.containsPost("new-post"));
+        assertFalse(contentRouteTable.containsPost("hello-halo"));
+    }
+}
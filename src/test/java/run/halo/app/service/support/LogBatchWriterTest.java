@@ -0,0 +1,99 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.entity.Log;
+import run.halo.app.model.enums.LogType;
+import run.halo.app.service.LogService;
+
+/**
+ * Log batch writer test.
+ */
+class LogBatchWriterTest {
+
+    LogService logService;
+
+    LogBatchWriter logBatchWriter;
+
+    List<Log> writtenLogs;
+
+    @BeforeEach
+    void setUp() {
+        writtenLogs = Collections.synchronizedList(new ArrayList<>());
+        logService = mock(LogService.class);
+        when(logService.createInBatch(anyCollection())).then(invocation -> {
+            Collection<Log> logs = invocation.getArgument(0);
+            writtenLogs.addAll(logs);
+            return new ArrayList<>(logs);
+        });
+
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setLogBufferCapacity(4);
+        haloProperties.setLogBatchSize(2);
+        haloProperties.setLogFlushInterval(Duration.ofHours(1));
+        logBatchWriter = new LogBatchWriter(logService, haloProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        logBatchWriter.close();
+    }
+
+    @Test
+    void writeShouldFlushWhenBatchIsFull() {
+        logBatchWriter.write(createLog("1"));
+        verify(logService, never()).createInBatch(anyCollection());
+
+        logBatchWriter.write(createLog("2"));
+        verify(logService, timeout(1000)).createInBatch(anyCollection());
+        assertEquals(2, writtenLogs.size());
+        assertNotNull(writtenLogs.get(0).getCreateTime());
+    }
+
+    @Test
+    void writeShouldDropOldestWhenBufferIsFull() throws InterruptedException {
+        // Hold the writer lock so that nothing is written while buffering
+        synchronized (logBatchWriter) {
+            for (int i = 0; i < 6; i++) {
+                logBatchWriter.write(createLog(String.valueOf(i)));
+            }
+        }
+        logBatchWriter.close();
+
+        assertEquals(4, writtenLogs.size());
+        assertEquals("2", writtenLogs.get(0).getContent());
+        assertEquals("5", writtenLogs.get(3).getContent());
+    }
+
+    @Test
+    void closeShouldFlushBufferedLogs() throws InterruptedException {
+        logBatchWriter.write(createLog("1"));
+
+        logBatchWriter.close();
+
+        assertEquals(1, writtenLogs.size());
+    }
+
+    Log createLog(String content) {
+        Log log = new Log();
+        log.setType(LogType.LOGGED_IN);
+        log.setContent(content);
+        return log;
+    }
+}
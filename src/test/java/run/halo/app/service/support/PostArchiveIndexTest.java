@@ -0,0 +1,88 @@
+package run.halo.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.PostArchiveProjection;
+import run.halo.app.repository.PostRepository;
+
+/**
+ * Test for post archive index.
+ */
+@ExtendWith(SpringExtension.class)
+class PostArchiveIndexTest {
+
+    @MockBean
+    private PostRepository postRepository;
+
+    private PostArchiveIndex postArchiveIndex;
+
+    @BeforeEach
+    void setUp() {
+        postArchiveIndex = new PostArchiveIndex(postRepository);
+
+        when(postRepository.findAllArchiveProjectionsByStatus(PostStatus.PUBLISHED))
+            .thenReturn(List.of(
+                new PostArchiveProjection(1, date(2021, 12, 1)),
+                new PostArchiveProjection(2, date(2022, 1, 5)),
+                new PostArchiveProjection(3, date(2022, 1, 20)),
+                new PostArchiveProjection(4, date(2022, 3, 2))));
+    }
+
+    @Test
+    void groupByYearAndMonth() {
+        var years = postArchiveIndex.listYearGroups();
+        assertThat(years).extracting(PostArchiveIndex.Group::getYear)
+            .containsExactly(2022, 2021);
+        assertThat(years.get(0).getPostIds()).containsExactly(4, 3, 2);
+
+        var months = postArchiveIndex.listMonthGroups();
+        assertThat(months).extracting(PostArchiveIndex.Group::getMonth)
+            .containsExactly(3, 1, 12);
+        assertThat(months.get(1).getPostIds()).containsExactly(3, 2);
+
+        // built only once
+        postArchiveIndex.listMonthGroups();
+        verify(postRepository, times(1)).findAllArchiveProjectionsByStatus(any());
+    }
+
+    @Test
+    void refreshSinglePost() {
+        postArchiveIndex.listYearGroups();
+
+        Post newPost = new Post();
+        newPost.setId(5);
+        newPost.setStatus(PostStatus.PUBLISHED);
+        newPost.setCreateTime(date(2023, 2, 1));
+        when(postRepository.findById(5)).thenReturn(Optional.of(newPost));
+        when(postRepository.findById(1)).thenReturn(Optional.empty());
+
+        postArchiveIndex.refresh(5);
+        postArchiveIndex.refresh(1);
+
+        assertThat(postArchiveIndex.listYearGroups()).extracting(PostArchiveIndex.Group::getYear)
+            .containsExactly(2023, 2022);
+        verify(postRepository, times(1)).findAllArchiveProjectionsByStatus(any());
+    }
+
+    private static Date date(int year, int month, int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month - 1, day);
+        return calendar.getTime();
+    }
+}
@@ -0,0 +1,50 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.params.PostQuery;
+
+/**
+ * Post list count cache test.
+ */
+class PostListCountCacheTest {
+
+    PostListCountCache postListCountCache = new PostListCountCache();
+
+    AtomicLong counts = new AtomicLong();
+
+    @Test
+    void shouldCountOncePerQuery() {
+        assertEquals(1, postListCountCache.get(query(null, 1), counts::incrementAndGet));
+        assertEquals(1, postListCountCache.get(query(null, 1), counts::incrementAndGet));
+        assertEquals(2, postListCountCache.get(query("halo", 1), counts::incrementAndGet));
+        assertEquals(3, postListCountCache.get(query(null, 2), counts::incrementAndGet));
+        assertEquals(2, postListCountCache.get(query("halo", 1), counts::incrementAndGet));
+    }
+
+    @Test
+    void shouldCountAgainAfterInvalidation() {
+        assertEquals(1, postListCountCache.get(query(null, null), counts::incrementAndGet));
+        postListCountCache.invalidate();
+        assertEquals(2, postListCountCache.get(query(null, null), counts::incrementAndGet));
+
+        // invalidated while counting
+        assertEquals(3, postListCountCache.get(query(null, null), () -> {
+            postListCountCache.invalidate();
+            return counts.incrementAndGet();
+        }));
+        assertEquals(4, postListCountCache.get(query(null, null), counts::incrementAndGet));
+    }
+
+    static PostQuery query(String keyword, Integer categoryId) {
+        PostQuery postQuery = new PostQuery();
+        postQuery.setKeyword(keyword);
+        postQuery.setCategoryId(categoryId);
+        postQuery.setStatuses(Set.of(PostStatus.PUBLISHED, PostStatus.DRAFT));
+        return postQuery;
+    }
+}
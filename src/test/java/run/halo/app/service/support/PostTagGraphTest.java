@@ -0,0 +1,117 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.model.entity.Post;
+import run.halo.app.model.enums.PostStatus;
+import run.halo.app.model.projection.TagIdPostStatusProjection;
+import run.halo.app.repository.PostRepository;
+import run.halo.app.repository.PostTagRepository;
+
+/**
+ * Post tag graph test.
+ */
+class PostTagGraphTest {
+
+    PostTagRepository postTagRepository;
+
+    PostRepository postRepository;
+
+    PostTagGraph postTagGraph;
+
+    @BeforeEach
+    void setUp() {
+        postTagRepository = mock(PostTagRepository.class);
+        postRepository = mock(PostRepository.class);
+        // post 1: tags 1, 2, 3; post 2: tags 1, 2; post 3: tag 3; post 4 (draft): tags 1, 2, 3;
+        // post 5 (recycled): tag 1
+        when(postTagRepository.findAllWithPostStatus()).thenReturn(List.of(
+            edge(1, 1, PostStatus.PUBLISHED), edge(2, 1, PostStatus.PUBLISHED),
+            edge(3, 1, PostStatus.PUBLISHED), edge(1, 2, PostStatus.PUBLISHED),
+            edge(2, 2, PostStatus.PUBLISHED), edge(3, 3, PostStatus.PUBLISHED),
+            edge(1, 4, PostStatus.DRAFT), edge(2, 4, PostStatus.DRAFT),
+            edge(3, 4, PostStatus.DRAFT), edge(1, 5, PostStatus.RECYCLE)));
+        postTagGraph = new PostTagGraph(postTagRepository, postRepository);
+    }
+
+    @Test
+    void shouldResolveBothDirections() {
+        assertArrayEquals(new int[] {1, 2, 3}, postTagGraph.getTagIds(1));
+        assertArrayEquals(new int[0], postTagGraph.getTagIds(6));
+        assertArrayEquals(new int[] {1, 2, 4, 5}, postTagGraph.getPostIds(1));
+        assertArrayEquals(new int[] {1, 2}, postTagGraph.getPostIds(1, PostStatus.PUBLISHED));
+
+        // recycled posts are not counted
+        assertEquals(3, postTagGraph.getPostCount(1));
+        assertEquals(0, postTagGraph.getPostCount(9));
+        verify(postTagRepository, times(1)).findAllWithPostStatus();
+    }
+
+    @Test
+    void shouldRankPublishedRelatedPostsBySimilarity() {
+        // post 2 shares 2 of 3 tags, post 3 shares 1 of 3 tags, draft post 4 is skipped
+        assertEquals(List.of(2, 3), postTagGraph.listRelatedPostIds(1, 5));
+        assertEquals(List.of(2), postTagGraph.listRelatedPostIds(1, 1));
+        assertEquals(List.of(1), postTagGraph.listRelatedPostIds(2, 5));
+        assertEquals(List.of(), postTagGraph.listRelatedPostIds(6, 5));
+    }
+
+    @Test
+    void refreshShouldUpdatePostIncrementally() {
+        postTagGraph.getTagIds(1);
+
+        // post 3 moves from tag 3 to tags 1 and 4
+        Post post = new Post();
+        post.setId(3);
+        post.setStatus(PostStatus.PUBLISHED);
+        when(postRepository.findById(3)).thenReturn(Optional.of(post));
+        when(postTagRepository.findAllTagIdsByPostId(3)).thenReturn(Set.of(4, 1));
+        postTagGraph.refresh(3);
+
+        assertArrayEquals(new int[] {1, 4}, postTagGraph.getTagIds(3));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, postTagGraph.getPostIds(1));
+        assertArrayEquals(new int[] {1, 4}, postTagGraph.getPostIds(3));
+        assertArrayEquals(new int[] {3}, postTagGraph.getPostIds(4));
+        assertEquals(4, postTagGraph.getPostCount(1));
+
+        // post 1 is recycled, then deleted
+        Post recycled = new Post();
+        recycled.setId(1);
+        recycled.setStatus(PostStatus.RECYCLE);
+        when(postRepository.findById(1)).thenReturn(Optional.of(recycled));
+        when(postTagRepository.findAllTagIdsByPostId(1)).thenReturn(Set.of(1, 2, 3));
+        postTagGraph.refresh(1);
+        assertEquals(3, postTagGraph.getPostCount(1));
+
+        when(postRepository.findById(1)).thenReturn(Optional.empty());
+        postTagGraph.refresh(1);
+        assertArrayEquals(new int[0], postTagGraph.getTagIds(1));
+        assertArrayEquals(new int[] {2, 3, 4, 5}, postTagGraph.getPostIds(1));
+        assertArrayEquals(new int[] {4}, postTagGraph.getPostIds(3));
+
+        verify(postTagRepository, times(1)).findAllWithPostStatus();
+    }
+
+    @Test
+    void invalidateShouldRebuild() {
+        postTagGraph.getTagIds(1);
+        postTagGraph.invalidate();
+        postTagGraph.getTagIds(1);
+
+        verify(postTagRepository, times(2)).findAllWithPostStatus();
+    }
+
+    static TagIdPostStatusProjection edge(int tagId, int postId, PostStatus status) {
+        return new TagIdPostStatusProjection(tagId, postId, status);
+    }
+}
@@ -0,0 +1,170 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.dto.post.TocEntryDTO;
+import run.halo.app.model.entity.Content;
+import run.halo.app.repository.ContentRepository;
+import run.halo.app.service.support.PublishedContentStore.Artifact;
+
+/**
+ * Published content store test.
+ */
+class PublishedContentStoreTest {
+
+    @TempDir
+    Path workDir;
+
+    ContentRepository contentRepository;
+
+    PublishedContentStore publishedContentStore;
+
+    @BeforeEach
+    void setUp() {
+        contentRepository = mock(ContentRepository.class);
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        publishedContentStore = new PublishedContentStore(contentRepository, haloProperties);
+    }
+
+    @Test
+    void buildShouldExtractTextAndToc() {
+        Artifact artifact = PublishedContentStore.build(content(1, 2,
+            "<h1>Title</h1><p>Hello <em>world</em></p><h2 id=\"a\">A &amp; <code>B</code></h2>"
+                + "<pre><code>&lt;h3&gt;no&lt;/h3&gt;</code></pre>"));
+
+        assertEquals(1, artifact.getPostId());
+        assertEquals(2, artifact.getVersion());
+        assertEquals("TitleHello worldA &amp; B&lt;h3&gt;no&lt;/h3&gt;", artifact.getText());
+        assertEquals(List.of(new TocEntryDTO(1, "Title"), new TocEntryDTO(2, "A & B")),
+            artifact.getToc());
+    }
+
+    @Test
+    void getShouldBuildOnceAndServeCurrentVersion() {
+        Content content = content(1, 2, "<h1>Title</h1>");
+        when(contentRepository.findPatchLogIdById(1)).thenReturn(Optional.of(2));
+        when(contentRepository.findById(1)).thenReturn(Optional.of(content));
+
+        Artifact artifact = publishedContentStore.get(1);
+        assertNotNull(artifact);
+        assertEquals("<h1>Title</h1>", artifact.getContent());
+        assertTrue(Files.exists(artifactPath(1, 2)));
+        assertSame(artifact, publishedContentStore.get(1));
+        verify(contentRepository, times(1)).findById(1);
+
+        // a newer version is published
+        publishedContentStore.save(content(1, 3, "<h1>Changed</h1>"));
+        when(contentRepository.findPatchLogIdById(1)).thenReturn(Optional.of(3));
+        assertEquals("<h1>Changed</h1>", publishedContentStore.get(1).getContent());
+        assertTrue(Files.exists(artifactPath(1, 3)));
+        assertFalse(Files.exists(artifactPath(1, 2)));
+        verify(contentRepository, times(1)).findById(1);
+
+        assertNull(publishedContentStore.get(9));
+    }
+
+    @Test
+    void getShouldReadStoredArtifact() {
+        publishedContentStore.save(content(1, 2, "<h2>Stored</h2>"));
+
+        // e.g. after restart
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        PublishedContentStore restarted =
+            new PublishedContentStore(contentRepository, haloProperties);
+        when(contentRepository.findPatchLogIdById(1)).thenReturn(Optional.of(2));
+
+        Artifact artifact = restarted.get(1);
+        assertNotNull(artifact);
+        assertEquals("<h2>Stored</h2>", artifact.getContent());
+        assertEquals(List.of(new TocEntryDTO(2, "Stored")), artifact.getToc());
+        verify(contentRepository, never()).findById(any());
+    }
+
+    @Test
+    void saveShouldSkipUnchangedContent() {
+        Content content = content(1, 2, "<p>same</p>");
+        publishedContentStore.save(content);
+        when(contentRepository.findPatchLogIdById(1)).thenReturn(Optional.of(2));
+        Artifact artifact = publishedContentStore.get(1);
+
+        // only the head moved, e.g. a draft was saved
+        content.setHeadPatchLogId(5);
+        publishedContentStore.save(content);
+        assertSame(artifact, publishedContentStore.get(1));
+
+        publishedContentStore.remove(1);
+        assertFalse(Files.exists(artifactPath(1, 2)));
+        when(contentRepository.findById(1)).thenReturn(Optional.of(content));
+        assertNotSame(artifact, publishedContentStore.get(1));
+    }
+
+    @Test
+    void saveShouldSkipUnchangedLargeContent() throws IOException {
+        Content content = content(1, 2, "<p>" + "large ".repeat(200_000) + "</p>");
+        publishedContentStore.save(content);
+        Path path = artifactPath(1, 2);
+        assertTrue(Files.exists(path));
+
+        // large artifacts are not kept in memory
+        FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(path, written);
+        content.setHeadPatchLogId(5);
+        publishedContentStore.save(content);
+        assertEquals(written, Files.getLastModifiedTime(path));
+
+        content.setContent("<p>changed</p>");
+        publishedContentStore.save(content);
+        assertNotEquals(written, Files.getLastModifiedTime(path));
+    }
+
+    @Test
+    void saveShouldKeepTempFilesOfConcurrentWriters() throws IOException {
+        publishedContentStore.save(content(1, 2, "<p>first</p>"));
+        Path temp = Files.createTempFile(artifactPath(1, 2).getParent(), "artifact", ".tmp");
+
+        publishedContentStore.save(content(1, 3, "<p>second</p>"));
+        assertTrue(Files.exists(artifactPath(1, 3)));
+        assertFalse(Files.exists(artifactPath(1, 2)));
+        assertTrue(Files.exists(temp));
+    }
+
+    Path artifactPath(int postId, int version) {
+        return workDir.resolve(PublishedContentStore.CONTENTS_FOLDER)
+            .resolve(String.valueOf(postId))
+            .resolve(version + PublishedContentStore.ARTIFACT_SUFFIX);
+    }
+
+    static Content content(int postId, int patchLogId, String html) {
+        Content content = new Content();
+        content.setId(postId);
+        content.setPatchLogId(patchLogId);
+        content.setContent(html);
+        content.setOriginalContent("# markdown");
+        return content;
+    }
+}
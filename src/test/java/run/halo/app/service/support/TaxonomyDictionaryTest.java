@@ -0,0 +1,122 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.model.dto.CategoryDTO;
+import run.halo.app.model.dto.TagDTO;
+import run.halo.app.model.entity.Category;
+import run.halo.app.model.entity.Tag;
+import run.halo.app.model.support.HaloConst;
+import run.halo.app.repository.CategoryRepository;
+import run.halo.app.repository.TagRepository;
+import run.halo.app.service.OptionService;
+
+/**
+ * Taxonomy dictionary test.
+ */
+class TaxonomyDictionaryTest {
+
+    TagRepository tagRepository;
+
+    CategoryRepository categoryRepository;
+
+    OptionService optionService;
+
+    TaxonomyDictionary taxonomyDictionary;
+
+    @BeforeEach
+    void setUp() {
+        tagRepository = mock(TagRepository.class);
+        categoryRepository = mock(CategoryRepository.class);
+        optionService = mock(OptionService.class);
+        when(optionService.isEnabledAbsolutePath()).thenReturn(true);
+        when(optionService.getBlogBaseUrl()).thenReturn("http://127.0.0.1:8090");
+        when(optionService.getTagsPrefix()).thenReturn("tags");
+        when(optionService.getCategoriesPrefix()).thenReturn("categories");
+        when(optionService.getPathSuffix()).thenReturn("");
+        when(tagRepository.findAll()).thenReturn(List.of(tag(3, "java"), tag(1, "halo")));
+        when(categoryRepository.findAll()).thenReturn(List.of(category(2, "notes")));
+        taxonomyDictionary =
+            new TaxonomyDictionary(tagRepository, categoryRepository, optionService);
+    }
+
+    @Test
+    void shouldReuseReadyMadeDtos() {
+        TagDTO tagDto = taxonomyDictionary.getTagDto(tag(3, "java"));
+        assertEquals(3, tagDto.getId());
+        assertEquals(HaloConst.DEFAULT_TAG_COLOR, tagDto.getColor());
+        assertEquals("http://127.0.0.1:8090/tags/java", tagDto.getFullPath());
+        assertSame(tagDto, taxonomyDictionary.getTagDto(tag(3, "java")));
+
+        CategoryDTO categoryDto = taxonomyDictionary.getCategoryDto(category(2, "notes"));
+        assertEquals("http://127.0.0.1:8090/categories/notes", categoryDto.getFullPath());
+        assertSame(categoryDto, taxonomyDictionary.getCategoryDto(category(2, "notes")));
+
+        verify(tagRepository, times(1)).findAll();
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldConvertTaxonomiesMissingOrChanged() {
+        // a tag created after the snapshot
+        TagDTO created = taxonomyDictionary.getTagDto(tag(5, "spring"));
+        assertEquals("http://127.0.0.1:8090/tags/spring", created.getFullPath());
+
+        // a tag renamed within the current transaction
+        TagDTO renamed = taxonomyDictionary.getTagDto(tag(1, "halo-blog"));
+        assertEquals("http://127.0.0.1:8090/tags/halo-blog", renamed.getFullPath());
+        assertNotSame(renamed, taxonomyDictionary.getTagDto(tag(1, "halo-blog")));
+
+        Category category = category(2, "notes");
+        category.setPassword("secret");
+        assertEquals("secret", taxonomyDictionary.getCategoryDto(category).getPassword());
+    }
+
+    @Test
+    void shouldRebuildAfterInvalidation() {
+        long version = taxonomyDictionary.getVersion();
+        TagDTO tagDto = taxonomyDictionary.getTagDto(tag(1, "halo"));
+
+        taxonomyDictionary.invalidate();
+        assertNotEquals(version, taxonomyDictionary.getVersion());
+        assertNotSame(tagDto, taxonomyDictionary.getTagDto(tag(1, "halo")));
+
+        when(optionService.getTagsPrefix()).thenReturn("t");
+        when(optionService.getPathSuffix()).thenReturn(".html");
+        taxonomyDictionary.onOptionUpdated();
+        assertEquals("http://127.0.0.1:8090/t/halo.html",
+            taxonomyDictionary.getTagDto(tag(1, "halo")).getFullPath());
+        assertEquals("http://127.0.0.1:8090/categories/notes.html",
+            taxonomyDictionary.buildCategoryFullPath("notes"));
+
+        verify(tagRepository, times(3)).findAll();
+    }
+
+    static Tag tag(int id, String slug) {
+        Tag tag = new Tag();
+        tag.setId(id);
+        tag.setName(slug);
+        tag.setSlug(slug);
+        return tag;
+    }
+
+    static Category category(int id, String slug) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(slug);
+        category.setSlug(slug);
+        category.setParentId(0);
+        category.setPriority(0);
+        return category;
+    }
+}
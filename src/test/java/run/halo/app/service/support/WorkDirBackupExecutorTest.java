@@ -0,0 +1,158 @@
+package run.halo.app.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import run.halo.app.config.properties.HaloProperties;
+import run.halo.app.model.enums.BackupJobStatus;
+import run.halo.app.service.support.WorkDirBackupExecutor.Chunk;
+import run.halo.app.service.support.WorkDirBackupExecutor.Item;
+import run.halo.app.service.support.WorkDirBackupExecutor.Job;
+
+/**
+ * Work directory backup executor test.
+ */
+class WorkDirBackupExecutorTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path workDir;
+
+    WorkDirBackupExecutor executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createDirectories(tempDir.resolve(".halo"));
+        HaloProperties haloProperties = new HaloProperties();
+        haloProperties.setWorkDir(workDir.toString());
+        haloProperties.setBackupDir(tempDir.resolve("backups").toString());
+        executor = new WorkDirBackupExecutor(haloProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void fullBackupShouldArchiveSelectedItems() throws Exception {
+        byte[] large = new byte[WorkDirBackupExecutor.MAX_CHUNK_SIZE + 1];
+        new Random(0).nextBytes(large);
+        write("templates/themes/anatole/index.ftl", "<html>".repeat(100));
+        write("templates/themes/anatole/logo.png", "png");
+        Files.write(Files.createDirectories(workDir.resolve("upload")).resolve("big.bin"), large);
+        write("application.yaml", "server:\n  port: 8090\n");
+        write(".leveldb/000001.log", "cache");
+        write("logs/spring.log", "not selected");
+
+        Job job = await(executor.submit(
+            List.of("templates", "upload", "application.yaml", ".leveldb"), false, null, null));
+
+        assertEquals(BackupJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(4, job.getTotalFiles());
+        assertEquals(job.getTotalFiles(), job.getArchivedFiles());
+        assertEquals(job.getTotalBytes(), job.getArchivedBytes());
+        assertNotNull(job.getArchive());
+        assertTrue(job.getArchive().getFileName().toString().startsWith("halo-backup-"));
+
+        try (ZipFile zipFile = new ZipFile(job.getArchive().toFile())) {
+            assertEquals("<html>".repeat(100),
+                read(zipFile, ".halo/templates/themes/anatole/index.ftl"));
+            assertEquals(ZipEntry.DEFLATED,
+                zipFile.getEntry(".halo/templates/themes/anatole/index.ftl").getMethod());
+            assertEquals(ZipEntry.STORED,
+                zipFile.getEntry(".halo/templates/themes/anatole/logo.png").getMethod());
+            ZipEntry bigEntry = zipFile.getEntry(".halo/upload/big.bin");
+            try (InputStream in = zipFile.getInputStream(bigEntry)) {
+                assertArrayEquals(large, in.readAllBytes());
+            }
+            assertTrue(zipFile.getEntry(".halo/templates/themes/").isDirectory());
+            assertNull(zipFile.getEntry(".halo/.leveldb/000001.log"));
+            assertNull(zipFile.getEntry(".halo/logs/spring.log"));
+        }
+    }
+
+    @Test
+    void incrementalBackupShouldArchiveChangedFilesOnly() throws Exception {
+        write("templates/a.ftl", "a");
+        Path unchanged = write("templates/b.ftl", "b");
+        await(executor.submit(List.of("templates"), false, null, null));
+
+        Path changed = write("templates/a.ftl", "changed");
+        Files.setLastModifiedTime(changed,
+            FileTime.fromMillis(Files.getLastModifiedTime(unchanged).toMillis() + 2000));
+        write("templates/c.ftl", "c");
+        Job job = await(executor.submit(List.of("templates"), true, null, null));
+
+        assertEquals(BackupJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(2, job.getTotalFiles());
+        try (ZipFile zipFile = new ZipFile(job.getArchive().toFile())) {
+            assertEquals(2, zipFile.size());
+            assertEquals("changed", read(zipFile, ".halo/templates/a.ftl"));
+            assertEquals("c", read(zipFile, ".halo/templates/c.ftl"));
+        }
+    }
+
+    @Test
+    void submitShouldRejectItemsOutsideWorkDir() throws Exception {
+        Job job = await(executor.submit(List.of("../backups"), false, null, null));
+
+        assertEquals(BackupJobStatus.FAILED, job.getStatus());
+        assertNull(job.getArchive());
+        assertThrows(IllegalArgumentException.class,
+            () -> executor.submit(List.of(), false, null, null));
+    }
+
+    @Test
+    void compressShouldStoreIncompressibleData() throws IOException {
+        byte[] random = new byte[4096];
+        new Random(0).nextBytes(random);
+        Path file = Files.write(tempDir.resolve("random.bin"), random);
+
+        Chunk chunk = WorkDirBackupExecutor.compress(
+            new Item(file, ".halo/random.bin", false, random.length, 0));
+        assertEquals(ZipEntry.STORED, chunk.getMethod());
+        assertEquals(random.length, chunk.getLength());
+
+        assertTrue(WorkDirBackupExecutor.isCompressed(".halo/upload/photo.JPG"));
+        assertFalse(WorkDirBackupExecutor.isCompressed(".halo/jpg.d/readme"));
+    }
+
+    Job await(Job job) throws InterruptedException {
+        assertTrue(job.await(30, TimeUnit.SECONDS));
+        return job;
+    }
+
+    Path write(String name, String content) throws IOException {
+        Path path = workDir.resolve(name);
+        Files.createDirectories(path.getParent());
+        return Files.writeString(path, content);
+    }
+
+    static String read(ZipFile zipFile, String name) throws IOException {
+        try (InputStream in = zipFile.getInputStream(zipFile.getEntry(name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package run.halo.app.theme;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import run.halo.app.utils.FileUtils;
+
+/**
+ * Theme asset precompressor test.
+ */
+class ThemeAssetPrecompressorTest {
+
+    Path themeRoot;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        themeRoot = FileUtils.createTempDirectory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteFolderQuietly(themeRoot);
+    }
+
+    @Test
+    void precompressCompressibleAssets() throws IOException {
+        var css = themeRoot.resolve("source/css/style.css");
+        Files.createDirectories(css.getParent());
+        var content = StringUtils.repeat("body { color: red; }\n", 100);
+        Files.writeString(css, content);
+        var png = themeRoot.resolve("source/logo.png");
+        Files.write(png, new byte[4096]);
+        var smallJs = themeRoot.resolve("source/small.js");
+        Files.writeString(smallJs, "var a = 1;");
+
+        ThemeAssetPrecompressor.INSTANCE.precompress(themeRoot);
+
+        var gzipCss = themeRoot.resolve("source/css/style.css.gz");
+        assertTrue(Files.exists(gzipCss));
+        assertTrue(ThemeAssetPrecompressor.INSTANCE.isGeneratedVariant(gzipCss));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipCss))) {
+            assertArrayEquals(content.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+        assertFalse(Files.exists(themeRoot.resolve("source/logo.png.gz")));
+        assertFalse(Files.exists(themeRoot.resolve("source/small.js.gz")));
+    }
+
+    @Test
+    void recompressStaleVariant() throws IOException {
+        var js = themeRoot.resolve("main.js");
+        Files.writeString(js, StringUtils.repeat("console.log('old');\n", 100));
+        ThemeAssetPrecompressor.INSTANCE.precompress(themeRoot);
+
+        var gzipJs = themeRoot.resolve("main.js.gz");
+        Files.setLastModifiedTime(gzipJs, FileTime.fromMillis(0L));
+        var newContent = StringUtils.repeat("console.log('new');\n", 100);
+        Files.writeString(js, newContent);
+
+        ThemeAssetPrecompressor.INSTANCE.precompress(themeRoot);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gzipJs))) {
+            assertArrayEquals(newContent.getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package run.halo.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * File tail utilities test.
+ */
+class FileTailUtilsTest {
+
+    Path tempDirectory;
+
+    Path logFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDirectory = FileUtils.createTempDirectory();
+        logFile = tempDirectory.resolve("spring.log");
+    }
+
+    @AfterEach
+    void tearDown() {
+        FileUtils.deleteFolderQuietly(tempDirectory);
+    }
+
+    @Test
+    void readLastLinesAcrossBlocks() throws IOException {
+        // about 5 blocks, with multi-byte characters crossing block boundaries
+        List<String> lines = IntStream.range(0, 10000)
+            .mapToObj(i -> "第 " + i + " 行日志")
+            .collect(Collectors.toList());
+        Files.write(logFile, lines);
+
+        String expected = lines.subList(lines.size() - 3000, lines.size()).stream()
+            .map(line -> line + "\n")
+            .collect(Collectors.joining());
+        assertEquals(expected, FileTailUtils.readLastLines(logFile, 3000));
+    }
+
+    @Test
+    void readLastLinesShouldBeBoundedToWholeLines() throws IOException {
+        Files.writeString(logFile, "first\nsecond\nthird\n");
+
+        // the window starts in the middle of "second"
+        assertEquals("third\n", FileTailUtils.readLastLines(logFile, Long.MAX_VALUE, 10));
+        // the window starts right after a line feed
+        assertEquals("second\nthird\n",
+            FileTailUtils.readLastLines(logFile, Long.MAX_VALUE, 13));
+        assertEquals("", FileTailUtils.readLastLines(logFile, Long.MAX_VALUE, 3));
+    }
+
+    @Test
+    void readLastLinesMoreThanFile() throws IOException {
+        Files.writeString(logFile, "a\nb\nc");
+
+        assertEquals("a\nb\nc\n", FileTailUtils.readLastLines(logFile, 10));
+        assertEquals("b\nc\n", FileTailUtils.readLastLines(logFile, 2));
+        assertEquals("", FileTailUtils.readLastLines(logFile, 0));
+    }
+
+    @Test
+    void readLastLinesOfMissingFile() throws IOException {
+        assertEquals("", FileTailUtils.readLastLines(logFile, 10));
+    }
+
+    @Test
+    void readLinesLeavesIncompleteLine() throws IOException {
+        Files.writeString(logFile, "a\r\nb\nc");
+
+        List<String> lines = new ArrayList<>();
+        long position;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            position = FileTailUtils.readLines(channel, 0, lines::add);
+        }
+        assertEquals(List.of("a", "b"), lines);
+        assertEquals(5, position);
+
+        Files.writeString(logFile, "\nd\n", StandardOpenOption.APPEND);
+        lines.clear();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            position = FileTailUtils.readLines(channel, position, lines::add);
+        }
+        assertEquals(List.of("c", "d"), lines);
+        assertEquals(9, position);
+    }
+}
@@ -10,6 +10,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -18,13 +19,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import run.halo.app.exception.BadRequestException;
 import run.halo.app.exception.ForbiddenException;
 import run.halo.app.model.support.HaloConst;
+import run.halo.app.utils.FileUtils.UnzipLimits;
 
 /**
  * @author johnniang
@@ -327,4 +331,60 @@ class FileUtilsTest {
 
         assertEquals(originalString, FileUtils.readString(inputStream));
     }
+
+    @Test
+    void unzipArchiveFileWithinLimits() throws IOException {
+        final var zipPath = tempDirectory.resolve("theme.zip");
+        try (var zipOut = new ZipOutputStream(Files.newOutputStream(zipPath))) {
+            zipOut.putNextEntry(new ZipEntry("theme/"));
+            zipOut.putNextEntry(new ZipEntry("theme/theme.yaml"));
+            zipOut.write("id: test".getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 20; i++) {
+                zipOut.putNextEntry(new ZipEntry("theme/source/js/" + i + ".js"));
+                zipOut.write(randomAlphabetic(10000).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        final var target = tempDirectory.resolve("target");
+        FileUtils.unzip(zipPath, target, new UnzipLimits(100, 1024 * 1024, 100));
+
+        assertEquals("id: test", Files.readString(target.resolve("theme/theme.yaml")));
+        try (var files = Files.list(target.resolve("theme/source/js"))) {
+            assertEquals(20, files.count());
+        }
+    }
+
+    @Test
+    void unzipShouldRejectArchiveExceedingLimits() throws IOException {
+        final var zipPath = tempDirectory.resolve("bomb.zip");
+        try (var zipOut = new ZipOutputStream(Files.newOutputStream(zipPath))) {
+            zipOut.putNextEntry(new ZipEntry("a.txt"));
+            zipOut.putNextEntry(new ZipEntry("zeros.bin"));
+            zipOut.write(new byte[4 * 1024 * 1024]);
+        }
+
+        final var limits = new UnzipLimits(10, 64L * 1024 * 1024, 100);
+        assertThrows(BadRequestException.class,
+            () -> FileUtils.unzip(zipPath, tempDirectory.resolve("ratio"), limits));
+        assertThrows(BadRequestException.class,
+            () -> FileUtils.unzip(zipPath, tempDirectory.resolve("size"),
+                new UnzipLimits(10, 1024 * 1024, 10000)));
+        assertThrows(BadRequestException.class,
+            () -> FileUtils.unzip(zipPath, tempDirectory.resolve("entries"),
+                new UnzipLimits(1, 64L * 1024 * 1024, 10000)));
+        assertFalse(Files.exists(tempDirectory.resolve("entries/a.txt")));
+    }
+
+    @Test
+    void unzipShouldRejectDirectoryTraversal() throws IOException {
+        final var zipPath = tempDirectory.resolve("traversal.zip");
+        try (var zipOut = new ZipOutputStream(Files.newOutputStream(zipPath))) {
+            zipOut.putNextEntry(new ZipEntry("../evil.txt"));
+        }
+
+        assertThrows(ForbiddenException.class,
+            () -> FileUtils.unzip(zipPath, tempDirectory.resolve("target"),
+                new UnzipLimits(10, 1024, 100)));
+        assertFalse(Files.exists(tempDirectory.resolve("evil.txt")));
+    }
 }
@@ -1,6 +1,7 @@
 package run.halo.app.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -110,4 +111,46 @@ class MarkdownUtilsTest {
         assertEquals("default category", frontMatter.get("categories").get(0));
         assertEquals("multi category", frontMatter.get("categories").get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void renderEmbeds() {
+        assertEquals("<p><iframe frameborder=\"no\" border=\"0\" marginwidth=\"0\" "
+                + "marginheight=\"0\" width=330 height=86 "
+                + "src=\"//music.163.com/outchain/player?type=2&id=1234&auto=1&height=66\">"
+                + "</iframe></p>\n",
+            MarkdownUtils.renderHtml("[music:1234]"));
+
+        String html = MarkdownUtils.renderHtml("Video [bilibili:170001,640,360] and "
+            + "[youtube:dQw4w9WgXcQ,560,315]");
+        assertTrue(html.startsWith("<p>Video <iframe height=360 width=640 "
+            + "src=\"//player.bilibili.com/player.html?aid=170001\" "));
+        assertTrue(html.contains(" and <iframe width=560 height=315 "
+            + "src=\"https://www.youtube.com/embed/dQw4w9WgXcQ\" "));
+    }
+
+    @Test
+    void keepInvalidOrQuotedEmbeds() {
+        assertEquals("<p>[music:abc]</p>\n", MarkdownUtils.renderHtml("[music:abc]"));
+        assertEquals("<p>[bilibili:1,2]</p>\n", MarkdownUtils.renderHtml("[bilibili:1,2]"));
+        assertEquals("<p><code>[music:1234]</code></p>\n",
+            MarkdownUtils.renderHtml("`[music:1234]`"));
+    }
+
+    @Test
+    void renderSafeHtml() {
+        String markdown = "<script>alert(1)</script>\n\n"
+            + "Hi <b onclick=\"alert(1)\">there</b> [click](javascript:alert(1)) "
+            + "[home](https://halo.run){onclick=\"alert(1)\"} [music:1234]";
+        String html = MarkdownUtils.renderSafeHtml(markdown);
+        assertFalse(html.contains("<script>"));
+        assertFalse(html.contains("<b "));
+        assertFalse(html.contains("javascript:"));
+        assertFalse(html.contains("onclick=\""));
+        assertTrue(html.contains("&lt;script&gt;"));
+        assertTrue(html.contains("click <a href=\"https://halo.run\">home</a>"));
+        assertTrue(html.contains("id=1234"));
+
+        // trusted content keeps its html
+        assertTrue(MarkdownUtils.renderHtml(markdown).contains("<script>alert(1)</script>"));
+    }
+}
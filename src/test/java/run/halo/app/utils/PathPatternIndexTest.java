@@ -0,0 +1,133 @@
+package run.halo.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Path pattern index test.
+ */
+@Slf4j
+class PathPatternIndexTest {
+
+    /**
+     * Exclude and include patterns of the authentication filters.
+     */
+    static final List<List<String>> FILTER_PATTERNS = List.of(
+        // content filter
+        List.of("/admin/**", "/api/**", "/install", "/version", "/js/**", "/css/**"),
+        List.of("/**"),
+        // admin authentication filter
+        List.of("/api/admin/login", "/api/admin/refresh/*", "/api/admin/installations",
+            "/api/admin/migrations/halo", "/api/admin/is_installed", "/api/admin/password/code",
+            "/api/admin/password/reset", "/api/admin/login/precheck"),
+        List.of("/api/admin/**", "/api/content/comments"),
+        // api authentication filter
+        List.of("/api/content/**/comments", "/api/content/**/comments/**",
+            "/api/content/options/comment", "/api/content/journals/*/likes",
+            "/api/content/posts/*/likes"),
+        List.of("/api/content/**"));
+
+    static final List<String> PATHS = List.of(
+        "/", "", "/admin", "/admin/", "/admin/index.html", "/api", "/api/admin",
+        "/api/admin/login", "/api/admin/login/", "/api/admin/login/precheck",
+        "/api/admin/refresh/token", "/api/admin/refresh/token/more", "/api/admin/posts",
+        "/api/admin/posts/1", "/api/content/comments", "/api/content/posts/1/comments",
+        "/api/content/posts/1/comments/2/children", "/api/content/posts/1/likes",
+        "/api/content/options/comment", "/api/content/journals", "/install", "/install/",
+        "/version", "/js/app.js", "/css/style.css", "/themes/anatole/source/css/style.css",
+        "/archives/hello-world", "//api//admin//posts", "/upload/2022/01/a.png");
+
+    @Test
+    void shouldMatchLikeAntPathMatcher() {
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        for (int i = 0; i < FILTER_PATTERNS.size(); i += 2) {
+            List<String> excludes = FILTER_PATTERNS.get(i);
+            List<String> includes = FILTER_PATTERNS.get(i + 1);
+            PathPatternIndex<Boolean> index = compile(excludes, includes);
+
+            for (String path : PATHS) {
+                boolean expected = excludes.stream().anyMatch(p -> antPathMatcher.match(p, path))
+                    || includes.stream().noneMatch(p -> antPathMatcher.match(p, path));
+                Boolean excluded = index.match(path);
+                assertEquals(expected, excluded == null || excluded, path);
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnValueOfFirstMatchedPattern() {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        patterns.put("/api/admin/login", "login");
+        patterns.put("/**", "all");
+        patterns.put("/api/**", "api");
+        PathPatternIndex<String> index = PathPatternIndex.compile(patterns);
+
+        assertEquals("login", index.match("/api/admin/login"));
+        assertEquals("all", index.match("/api/admin/posts"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void emptyIndexShouldMatchNothing() {
+        PathPatternIndex<String> index = PathPatternIndex.empty();
+
+        assertNull(index.match("/api"));
+        assertFalse(index.matches("/"));
+        assertTrue(PathPatternIndex.compile(Map.of("/**", 1)).matches("/"));
+    }
+
+    @Test
+    @Disabled("Time consumption")
+    void benchmark() {
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+        int iterations = 200_000;
+        for (int round = 0; round < 3; round++) {
+            long streamNanos = 0;
+            long indexNanos = 0;
+            int mismatches = 0;
+            for (int i = 0; i < FILTER_PATTERNS.size(); i += 2) {
+                List<String> excludes = FILTER_PATTERNS.get(i);
+                List<String> includes = FILTER_PATTERNS.get(i + 1);
+                PathPatternIndex<Boolean> index = compile(excludes, includes);
+
+                long start = System.nanoTime();
+                for (int n = 0; n < iterations; n++) {
+                    String path = PATHS.get(n % PATHS.size());
+                    boolean skipped = excludes.stream()
+                        .anyMatch(p -> antPathMatcher.match(p, path))
+                        || includes.stream().noneMatch(p -> antPathMatcher.match(p, path));
+                    mismatches += skipped ? 1 : 0;
+                }
+                streamNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int n = 0; n < iterations; n++) {
+                    Boolean excluded = index.match(PATHS.get(n % PATHS.size()));
+                    mismatches -= excluded == null || excluded ? 1 : 0;
+                }
+                indexNanos += System.nanoTime() - start;
+            }
+            int lookups = iterations * FILTER_PATTERNS.size() / 2;
+            log.info("Round {}: stream {} ns/lookup, index {} ns/lookup", round,
+                streamNanos / lookups, indexNanos / lookups);
+            assertEquals(0, mismatches);
+        }
+    }
+
+    static PathPatternIndex<Boolean> compile(List<String> excludes, List<String> includes) {
+        Map<String, Boolean> patterns = new LinkedHashMap<>();
+        excludes.forEach(pattern -> patterns.put(pattern, true));
+        includes.forEach(pattern -> patterns.putIfAbsent(pattern, false));
+        return PathPatternIndex.compile(patterns);
+    }
+}
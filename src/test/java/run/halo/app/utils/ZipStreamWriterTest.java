@@ -0,0 +1,91 @@
+package run.halo.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Zip stream writer test.
+ */
+class ZipStreamWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writtenEntriesShouldBeReadable() throws IOException {
+        byte[] text = "halo ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        byte[] deflated = deflate(text);
+        long time = System.currentTimeMillis();
+
+        Path zipPath = tempDir.resolve("test.zip");
+        try (ZipStreamWriter writer = new ZipStreamWriter(Files.newOutputStream(zipPath))) {
+            writer.putDirectory("root/", time);
+            writer.putEntry("root/pre-deflated.txt", time, ZipEntry.DEFLATED, crc(text),
+                text.length, deflated, 0, deflated.length);
+            writer.putStored("root/stored.txt", time, crc(text), text.length,
+                new ByteArrayInputStream(text));
+            writer.putDeflated("root/streamed.txt", time, new ByteArrayInputStream(text),
+                Deflater.DEFAULT_COMPRESSION);
+        }
+
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            assertEquals(4, zipFile.size());
+            assertTrue(zipFile.getEntry("root/").isDirectory());
+            for (String name : new String[] {"root/pre-deflated.txt", "root/stored.txt",
+                "root/streamed.txt"}) {
+                ZipEntry entry = zipFile.getEntry(name);
+                assertNotNull(entry);
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    assertArrayEquals(text, in.readAllBytes());
+                }
+            }
+            assertEquals(ZipEntry.STORED, zipFile.getEntry("root/stored.txt").getMethod());
+        }
+    }
+
+    @Test
+    void putStoredShouldRejectChangedContent() throws IOException {
+        byte[] text = "halo".getBytes(StandardCharsets.UTF_8);
+        try (ZipStreamWriter writer = new ZipStreamWriter(new ByteArrayOutputStream())) {
+            assertThrows(ZipException.class, () -> writer.putStored("halo.txt", 0L,
+                crc(text) + 1, text.length, new ByteArrayInputStream(text)));
+        }
+    }
+
+    static long crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}